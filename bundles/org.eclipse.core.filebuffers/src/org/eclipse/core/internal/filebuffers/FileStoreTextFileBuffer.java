@@ -57,6 +57,7 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
@@ -305,9 +306,11 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			cacheEncodingState();
-			setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			MappedFileTextStore content= createMappedContent();
+			fDocument= fManager.createDocument(getLocationOrName(), LocationKind.LOCATION, content, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+			if (!(fDocument instanceof MappedFileDocument))
+				setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
 		} catch (CoreException x) {
 			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			fStatus= x.getStatus();
@@ -328,6 +331,13 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		super.disconnected();
 	}
 
+	@Override
+	protected void dispose() {
+		if (fDocument instanceof MappedFileDocument mappedDocument)
+			mappedDocument.releaseMappedContent();
+		super.dispose();
+	}
+
 	protected void cacheEncodingState() {
 		fEncoding= fExplicitEncoding;
 		fHasBOM= false;
@@ -524,6 +534,18 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		}
 	}
 
+	/**
+	 * Indexes the content of the underlying file store if it is a large enough local file.
+	 *
+	 * @return the mapped content or <code>null</code> if the file is read as usual
+	 * @throws CoreException if the local file can not be determined
+	 */
+	private MappedFileTextStore createMappedContent() throws CoreException {
+		String encoding= fEncoding != null ? fEncoding : fManager.getDefaultEncoding();
+		boolean skipUTF8BOM= fHasBOM && StandardCharsets.UTF_8.name().equals(encoding);
+		return TextFileBufferManager.createMappedContent(fFileStore.toLocalFile(EFS.NONE, null), encoding, skipUTF8BOM);
+	}
+
 	/**
 	 * Checks whether the given file is synchronized with the local file system.
 	 * If the file has been changed, a <code>CoreException</code> is thrown.
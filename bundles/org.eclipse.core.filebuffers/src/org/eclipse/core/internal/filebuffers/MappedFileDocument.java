@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.ITextStoreFactory;
+
+
+/**
+ * Synchronizable document whose initial content is provided by a {@link MappedFileTextStore}.
+ * <p>
+ * Both the text store and the line tracker read the file until the first modification. Then the
+ * content is copied into a {@link org.eclipse.jface.text.PieceTableTextStore} and a
+ * {@link DefaultLineTracker}, similar to {@link org.eclipse.jface.text.CopyOnWriteTextStore}, and
+ * the mapped store is no longer referenced, so that its index can be reclaimed.
+ * </p>
+ */
+public class MappedFileDocument extends SynchronizableDocument {
+
+	/** The mapped store, <code>null</code> once neither the text store nor the line tracker read it. */
+	private MappedFileTextStore fMappedStore;
+
+	private final CopyOnWriteMappedStore fCopyOnWriteStore;
+
+	private final CopyOnWriteMappedLineTracker fCopyOnWriteTracker;
+
+	/**
+	 * Text store that reads from the mapped store until the first modification.
+	 */
+	private class CopyOnWriteMappedStore implements ITextStore {
+
+		private ITextStore fStore;
+
+		CopyOnWriteMappedStore(MappedFileTextStore mappedStore) {
+			fStore= mappedStore;
+		}
+
+		@Override
+		public char get(int offset) {
+			return fStore.get(offset);
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			return fStore.get(offset, length);
+		}
+
+		@Override
+		public int getLength() {
+			return fStore.getLength();
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			if (length == 0 && (text == null || text.isEmpty()))
+				return;
+			copyMappedContent();
+			fStore.replace(offset, length, text);
+		}
+
+		@Override
+		public void set(String text) {
+			fStore= createTextStore(text);
+			releaseUnusedMappedStore();
+		}
+	}
+
+	/**
+	 * Line tracker that reads from the mapped store until the first modification.
+	 */
+	private class CopyOnWriteMappedLineTracker implements ILineTracker {
+
+		private ILineTracker fTracker;
+
+		CopyOnWriteMappedLineTracker(MappedFileTextStore mappedStore) {
+			fTracker= new MappedFileLineTracker(mappedStore);
+		}
+
+		@Override
+		public String[] getLegalLineDelimiters() {
+			return fTracker.getLegalLineDelimiters();
+		}
+
+		@Override
+		public String getLineDelimiter(int line) throws BadLocationException {
+			return fTracker.getLineDelimiter(line);
+		}
+
+		@Override
+		public int computeNumberOfLines(String text) {
+			return fTracker.computeNumberOfLines(text);
+		}
+
+		@Override
+		public int getNumberOfLines() {
+			return fTracker.getNumberOfLines();
+		}
+
+		@Override
+		public int getNumberOfLines(int offset, int length) throws BadLocationException {
+			return fTracker.getNumberOfLines(offset, length);
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			return fTracker.getLineOffset(line);
+		}
+
+		@Override
+		public int getLineLength(int line) throws BadLocationException {
+			return fTracker.getLineLength(line);
+		}
+
+		@Override
+		public int getLineNumberOfOffset(int offset) throws BadLocationException {
+			return fTracker.getLineNumberOfOffset(offset);
+		}
+
+		@Override
+		public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+			return fTracker.getLineInformationOfOffset(offset);
+		}
+
+		@Override
+		public IRegion getLineInformation(int line) throws BadLocationException {
+			return fTracker.getLineInformation(line);
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) throws BadLocationException {
+			if (length == 0 && (text == null || text.isEmpty()))
+				return;
+			copyMappedContent();
+			fTracker.replace(offset, length, text);
+		}
+
+		@Override
+		public void set(String text) {
+			fTracker= createLineTracker(text);
+			releaseUnusedMappedStore();
+		}
+	}
+
+	/**
+	 * Creates a new document with the content of the given store.
+	 *
+	 * @param store the store providing the initial content
+	 * @param modificationStamp the modification stamp of the initial content or
+	 *            {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	public MappedFileDocument(MappedFileTextStore store, long modificationStamp) {
+		fMappedStore= store;
+		fCopyOnWriteStore= new CopyOnWriteMappedStore(store);
+		fCopyOnWriteTracker= new CopyOnWriteMappedLineTracker(store);
+		setTextStore(fCopyOnWriteStore);
+		setLineTracker(fCopyOnWriteTracker);
+		if (modificationStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			try {
+				// empty change, only updates the modification stamp
+				replace(0, 0, "", modificationStamp); //$NON-NLS-1$
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * Releases the mapped store. The document must no longer be used, e.g. because its file buffer
+	 * has been disposed. If the content has not been copied yet, the document is empty afterwards.
+	 */
+	public void releaseMappedContent() {
+		if (fMappedStore == null)
+			return;
+		fCopyOnWriteStore.fStore= createTextStore(""); //$NON-NLS-1$
+		fCopyOnWriteTracker.fTracker= createLineTracker(""); //$NON-NLS-1$
+		releaseMappedStore();
+	}
+
+	/**
+	 * Copies the mapped content into the text store and the line tracker, unless this has been done
+	 * already, and releases the mapped store.
+	 */
+	private void copyMappedContent() {
+		if (fMappedStore == null)
+			return;
+		String content= fMappedStore.get(0, fMappedStore.getLength());
+		if (fCopyOnWriteStore.fStore == fMappedStore)
+			fCopyOnWriteStore.fStore= createTextStore(content);
+		if (fCopyOnWriteTracker.fTracker instanceof MappedFileLineTracker)
+			fCopyOnWriteTracker.fTracker= createLineTracker(content);
+		releaseMappedStore();
+	}
+
+	/**
+	 * Releases the mapped store once both the text store and the line tracker have been replaced.
+	 */
+	private void releaseUnusedMappedStore() {
+		if (fMappedStore != null && fCopyOnWriteStore.fStore != fMappedStore && !(fCopyOnWriteTracker.fTracker instanceof MappedFileLineTracker))
+			releaseMappedStore();
+	}
+
+	/**
+	 * Closes the mapped store and no longer references it.
+	 */
+	private void releaseMappedStore() {
+		fMappedStore.close();
+		fMappedStore= null;
+	}
+
+	private static ITextStore createTextStore(String text) {
+		ITextStore store= ITextStoreFactory.PIECE_TABLE_TEXT_STORE.createTextStore();
+		store.set(text);
+		return store;
+	}
+
+	private static ILineTracker createLineTracker(String text) {
+		ILineTracker tracker= new DefaultLineTracker();
+		tracker.set(text);
+		return tracker;
+	}
+}
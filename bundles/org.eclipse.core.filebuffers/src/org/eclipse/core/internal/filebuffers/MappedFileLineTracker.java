@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextUtilities;
+
+
+/**
+ * Read-only line tracker for the content of a {@link MappedFileTextStore}. It behaves like a
+ * {@link DefaultLineTracker} but only scans the content between the closest line sample recorded by
+ * the store, or the line looked up last, and the requested line or offset.
+ * <p>
+ * Attempts to modify the tracker throw an <code>UnsupportedOperationException</code>.
+ * </p>
+ */
+public class MappedFileLineTracker implements ILineTracker {
+
+	/**
+	 * The start of a line. Replaced as a whole so that concurrent readers always see a consistent
+	 * line.
+	 */
+	private static final class LineStart {
+		final int fLine;
+		final int fOffset;
+
+		LineStart(int line, int offset) {
+			fLine= line;
+			fOffset= offset;
+		}
+	}
+
+	/** The tracked store. */
+	private final MappedFileTextStore fStore;
+
+	/** The line looked up last, <code>null</code> if none. */
+	private volatile LineStart fLastLine;
+
+	/**
+	 * Creates a line tracker for the given store.
+	 *
+	 * @param store the store to track
+	 */
+	public MappedFileLineTracker(MappedFileTextStore store) {
+		fStore= store;
+	}
+
+	@Override
+	public String[] getLegalLineDelimiters() {
+		return TextUtilities.copy(DefaultLineTracker.DELIMITERS);
+	}
+
+	@Override
+	public String getLineDelimiter(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		int end= fStore.lineEnd(offset);
+		if (end == fStore.getLength())
+			return null;
+		int delimiterEnd= fStore.nextLineStart(offset);
+		return fStore.get(end, delimiterEnd - end);
+	}
+
+	@Override
+	public int computeNumberOfLines(String text) {
+		return new DefaultLineTracker().computeNumberOfLines(text);
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		return fStore.getNumberOfLines();
+	}
+
+	@Override
+	public int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (length == 0)
+			return 1;
+		return getLineNumberOfOffset(offset + length) - getLineNumberOfOffset(offset) + 1;
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		if (line < 0 || line >= fStore.getNumberOfLines())
+			throw new BadLocationException(Integer.toString(line));
+
+		int current= MappedFileTextStore.getLineSampleLine(line);
+		int offset= fStore.getLineSampleOffset(line);
+		LineStart last= fLastLine;
+		if (last != null && last.fLine > current && last.fLine <= line) {
+			current= last.fLine;
+			offset= last.fOffset;
+		}
+		while (current < line) {
+			offset= fStore.nextLineStart(offset);
+			current++;
+		}
+		fLastLine= new LineStart(line, offset);
+		return offset;
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		return fStore.nextLineStart(offset) - offset;
+	}
+
+	@Override
+	public int getLineNumberOfOffset(int offset) throws BadLocationException {
+		int length= fStore.getLength();
+		if (offset < 0 || offset > length)
+			throw new BadLocationException(Integer.toString(offset));
+
+		int line= fStore.getLineSampleLineOfOffset(offset);
+		int lineStart= fStore.getLineSampleOffset(line);
+		LineStart last= fLastLine;
+		if (last != null && last.fOffset > lineStart && last.fOffset <= offset) {
+			line= last.fLine;
+			lineStart= last.fOffset;
+		}
+		int lastLine= fStore.getNumberOfLines() - 1;
+		while (line < lastLine) {
+			int next= fStore.nextLineStart(lineStart);
+			if (next > offset)
+				break;
+			lineStart= next;
+			line++;
+		}
+		fLastLine= new LineStart(line, lineStart);
+		return line;
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		int line= getLineNumberOfOffset(offset);
+		return getLineInformation(line);
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		int numberOfLines= fStore.getNumberOfLines();
+		if (line > 0 && line == numberOfLines) {
+			// compatibility with DefaultLineTracker, see LineTrackerTest3#testFunnyLastLineCompatibility()
+			int offset= getLineOffset(line - 1);
+			int lineLength= fStore.nextLineStart(offset) - offset;
+			if (lineLength > 0)
+				return new Region(offset + lineLength, 0);
+		}
+		int offset= getLineOffset(line);
+		return new Region(offset, fStore.lineEnd(offset) - offset);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String text) {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,526 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.jface.text.ITextStore;
+
+
+/**
+ * Read-only text store that reads its content from a file on demand.
+ * <p>
+ * The file is decoded once on creation to build a sparse index. The index records a checkpoint
+ * (character offset and byte offset) every {@link #BLOCK_SIZE} characters and the start offset of
+ * every 2<sup>{@link #LINE_SAMPLE_SHIFT}</sup>th line. Afterwards only the blocks covering a
+ * requested range are read and decoded again, so the content never has to be held in memory as a
+ * whole. The last {@link #CACHED_BLOCKS} decoded blocks are kept.
+ * </p>
+ * <p>
+ * The blocks are read with positional reads from a channel that stays open until {@link #close()}
+ * is called. The file is not memory-mapped, since a mapping stays in place until it is garbage
+ * collected and prevents the file from being written on some platforms.
+ * </p>
+ * <p>
+ * Only charsets whose decoders are stateless are supported, see {@link #isSupported(Charset)}. The
+ * store reflects the file content at the time of creation as long as the file is not modified
+ * afterwards. If the file is truncated, the characters that can no longer be read are returned as
+ * {@link #REPLACEMENT_CHARACTER}. Attempts to modify the store throw an
+ * <code>UnsupportedOperationException</code>.
+ * </p>
+ */
+public class MappedFileTextStore implements ITextStore {
+
+	/** The number of characters between two checkpoints. */
+	static final int BLOCK_SIZE= 64 * 1024;
+
+	/** Every 2<sup>LINE_SAMPLE_SHIFT</sup>th line start is recorded. */
+	static final int LINE_SAMPLE_SHIFT= 6;
+
+	/** The number of decoded blocks that are kept. */
+	private static final int CACHED_BLOCKS= 4;
+
+	/** The character returned for content that can no longer be read from the file. */
+	static final char REPLACEMENT_CHARACTER= '\uFFFD';
+
+	/** The number of bytes read at once while the index is built. */
+	private static final int READ_SIZE= 256 * 1024;
+
+	/**
+	 * A decoded block. Replaced as a whole so that concurrent readers always see a consistent
+	 * block.
+	 */
+	private static final class Block {
+		final int fIndex;
+		final char[] fChars;
+
+		Block(int index, char[] chars) {
+			fIndex= index;
+			fChars= chars;
+		}
+	}
+
+	/** The file. */
+	private final Path fFile;
+	/** The offset of the content in the file. */
+	private final int fByteOffset;
+	/** The number of content bytes at the time of creation. */
+	private int fByteLength;
+	/** The charset used to decode the content. */
+	private final Charset fCharset;
+	/** The number of characters in this store. */
+	private int fLength;
+	/** The character offset of each block. */
+	private int[] fBlockCharOffsets= new int[16];
+	/** The byte offset of each block. */
+	private int[] fBlockByteOffsets= new int[16];
+	/** The number of blocks. */
+	private int fBlockCount;
+	/** The start offsets of every 2<sup>LINE_SAMPLE_SHIFT</sup>th line. */
+	private int[] fLineSamples= new int[16];
+	/** The number of lines. */
+	private int fNumberOfLines;
+	/** The last used block. */
+	private volatile Block fLastBlock;
+	/** The recently used blocks, the most recently used first. */
+	private final Block[] fCachedBlocks= new Block[CACHED_BLOCKS];
+	/** The channel to read the blocks from, <code>null</code> if not open. */
+	private FileChannel fChannel;
+
+	/**
+	 * Tells whether the given charset can be used by this store. These are the charsets whose
+	 * decoders do not carry state from one character to the next.
+	 *
+	 * @param charset the charset
+	 * @return <code>true</code> if the charset is supported
+	 */
+	public static boolean isSupported(Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset))
+			return true;
+		try {
+			return charset.newDecoder().maxCharsPerByte() == 1 && charset.newEncoder().maxBytesPerChar() == 1;
+		} catch (UnsupportedOperationException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Reads the given file once and builds the index.
+	 *
+	 * @param file the file to read
+	 * @param byteOffset the number of leading bytes to skip, e.g. for a byte order mark
+	 * @param charset the charset, must be {@linkplain #isSupported(Charset) supported}
+	 * @throws IOException if the file can not be read or is too large
+	 */
+	public MappedFileTextStore(Path file, int byteOffset, Charset charset) throws IOException {
+		fFile= file;
+		fCharset= charset;
+		try (FileChannel channel= FileChannel.open(file, StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("File too large to be indexed: " + file); //$NON-NLS-1$
+			fByteOffset= Math.min(byteOffset, (int) size);
+			buildIndex(channel);
+		}
+	}
+
+	/**
+	 * Decodes the whole content once, recording block checkpoints and line samples.
+	 *
+	 * @param channel the channel to read the file from
+	 * @throws IOException if the file can not be read or has more characters than a store can hold
+	 */
+	private void buildIndex(FileChannel channel) throws IOException {
+		CharsetDecoder decoder= newDecoder();
+		ByteBuffer in= ByteBuffer.allocate(READ_SIZE);
+		in.flip();
+		CharBuffer out= CharBuffer.allocate(BLOCK_SIZE);
+		char[] chars= out.array();
+		// the byte offset of the start of the buffer, relative to the content
+		int bufferStart= 0;
+		int blockByteStart= 0;
+		boolean endOfInput= false;
+		long length= 0;
+		boolean previousCR= false;
+		fNumberOfLines= 1;
+		fLineSamples[0]= 0;
+
+		while (true) {
+			CoderResult result= decoder.decode(in, out, endOfInput);
+			if (result.isUnderflow() && endOfInput)
+				result= decoder.flush(out);
+			if (result.isError())
+				result.throwException();
+
+			if (result.isUnderflow() && !endOfInput) {
+				bufferStart+= in.position();
+				in.compact();
+				int read;
+				do {
+					read= channel.read(in, (long) fByteOffset + bufferStart + in.position());
+				} while (read > 0 && in.hasRemaining());
+				endOfInput= read < 0;
+				in.flip();
+				continue;
+			}
+
+			int blockLength= out.position();
+			if (blockLength > 0) {
+				if (length + blockLength > Integer.MAX_VALUE)
+					throw new IOException("Too many characters to be indexed"); //$NON-NLS-1$
+				addBlock((int) length, blockByteStart);
+				for (int i= 0; i < blockLength; i++) {
+					char c= chars[i];
+					int offset= (int) length + i;
+					if (previousCR && c != '\n')
+						addLine(offset);
+					if (c == '\n')
+						addLine(offset + 1);
+					previousCR= c == '\r';
+				}
+				length+= blockLength;
+			}
+			blockByteStart= bufferStart + in.position();
+			out.clear();
+
+			if (!result.isOverflow())
+				break;
+		}
+		if (previousCR)
+			addLine((int) length);
+		fLength= (int) length;
+		fByteLength= blockByteStart;
+	}
+
+	private void addBlock(int charOffset, int byteOffset) {
+		if (fBlockCount == fBlockCharOffsets.length) {
+			fBlockCharOffsets= Arrays.copyOf(fBlockCharOffsets, fBlockCount * 2);
+			fBlockByteOffsets= Arrays.copyOf(fBlockByteOffsets, fBlockCount * 2);
+		}
+		fBlockCharOffsets[fBlockCount]= charOffset;
+		fBlockByteOffsets[fBlockCount]= byteOffset;
+		fBlockCount++;
+	}
+
+	private void addLine(int lineStart) {
+		if ((fNumberOfLines & ((1 << LINE_SAMPLE_SHIFT) - 1)) == 0) {
+			int sample= fNumberOfLines >> LINE_SAMPLE_SHIFT;
+			if (sample == fLineSamples.length)
+				fLineSamples= Arrays.copyOf(fLineSamples, sample * 2);
+			fLineSamples[sample]= lineStart;
+		}
+		fNumberOfLines++;
+	}
+
+	private CharsetDecoder newDecoder() {
+		return fCharset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Returns the decoded characters of the given block.
+	 *
+	 * @param index the block index
+	 * @return the characters of the block
+	 */
+	private char[] getBlock(int index) {
+		Block block= fLastBlock;
+		if (block != null && block.fIndex == index)
+			return block.fChars;
+
+		block= findCachedBlock(index);
+		if (block == null) {
+			char[] chars= readBlock(index);
+			if (chars == null) {
+				// the file has been truncated, the block is not cached so that it is read again
+				chars= new char[blockLength(index)];
+				Arrays.fill(chars, REPLACEMENT_CHARACTER);
+				return chars;
+			}
+			block= new Block(index, chars);
+			synchronized (fCachedBlocks) {
+				System.arraycopy(fCachedBlocks, 0, fCachedBlocks, 1, CACHED_BLOCKS - 1);
+				fCachedBlocks[0]= block;
+			}
+		}
+		fLastBlock= block;
+		return block.fChars;
+	}
+
+	/**
+	 * Returns the cached block with the given index and makes it the most recently used one.
+	 *
+	 * @param index the block index
+	 * @return the block or <code>null</code> if it is not cached
+	 */
+	private Block findCachedBlock(int index) {
+		synchronized (fCachedBlocks) {
+			for (int i= 0; i < CACHED_BLOCKS; i++) {
+				Block block= fCachedBlocks[i];
+				if (block != null && block.fIndex == index) {
+					System.arraycopy(fCachedBlocks, 0, fCachedBlocks, 1, i);
+					fCachedBlocks[0]= block;
+					return block;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads and decodes the given block.
+	 *
+	 * @param index the block index
+	 * @return the characters of the block or <code>null</code> if the file no longer contains the
+	 *         block
+	 */
+	private char[] readBlock(int index) {
+		int byteEnd= index + 1 < fBlockCount ? fBlockByteOffsets[index + 1] : fByteLength;
+		ByteBuffer in= readBytes(fBlockByteOffsets[index], byteEnd);
+		if (in == null)
+			return null;
+		char[] chars= new char[blockLength(index)];
+		CharBuffer out= CharBuffer.wrap(chars);
+		CharsetDecoder decoder= newDecoder();
+		decoder.decode(in, out, true);
+		decoder.flush(out);
+		Arrays.fill(chars, out.position(), chars.length, REPLACEMENT_CHARACTER);
+		return chars;
+	}
+
+	private int blockLength(int index) {
+		int charEnd= index + 1 < fBlockCount ? fBlockCharOffsets[index + 1] : fLength;
+		return charEnd - fBlockCharOffsets[index];
+	}
+
+	/**
+	 * Reads the given range of the content.
+	 *
+	 * @param start the start of the range relative to the content
+	 * @param end the end of the range relative to the content
+	 * @return the bytes or <code>null</code> if the file no longer contains the range
+	 */
+	private ByteBuffer readBytes(int start, int end) {
+		boolean retry= true;
+		while (true) {
+			try {
+				FileChannel channel= getChannel();
+				if (channel.size() < (long) fByteOffset + end)
+					return null;
+				ByteBuffer in= ByteBuffer.allocate(end - start);
+				while (in.hasRemaining()) {
+					if (channel.read(in, (long) fByteOffset + start + in.position()) < 0)
+						return null;
+				}
+				in.flip();
+				return in;
+			} catch (ClosedChannelException e) {
+				// closed by close() or by the interrupt of another reading thread, reopen it once
+				if (!retry || Thread.currentThread().isInterrupted())
+					return null;
+				retry= false;
+			} catch (IOException e) {
+				// the file can no longer be read
+				return null;
+			}
+		}
+	}
+
+	private synchronized FileChannel getChannel() throws IOException {
+		if (fChannel == null || !fChannel.isOpen())
+			fChannel= FileChannel.open(fFile, StandardOpenOption.READ);
+		return fChannel;
+	}
+
+	/**
+	 * Closes the file and drops the decoded blocks. The file is opened again if the store is read
+	 * afterwards.
+	 */
+	public void close() {
+		synchronized (this) {
+			if (fChannel != null) {
+				try {
+					fChannel.close();
+				} catch (IOException e) {
+					// nothing has been written
+				}
+				fChannel= null;
+			}
+		}
+		synchronized (fCachedBlocks) {
+			Arrays.fill(fCachedBlocks, null);
+		}
+		fLastBlock= null;
+	}
+
+	/**
+	 * Returns the index of the block containing the given offset.
+	 *
+	 * @param offset the offset
+	 * @return the block index
+	 */
+	private int blockOf(int offset) {
+		int index= Arrays.binarySearch(fBlockCharOffsets, 0, fBlockCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	@Override
+	public char get(int offset) {
+		if (offset < 0 || offset >= fLength)
+			throw new IndexOutOfBoundsException(offset);
+		Block block= fLastBlock;
+		if (block != null) {
+			int blockStart= fBlockCharOffsets[block.fIndex];
+			if (offset >= blockStart && offset < blockStart + block.fChars.length)
+				return block.fChars[offset - blockStart];
+		}
+		int index= blockOf(offset);
+		return getBlock(index)[offset - fBlockCharOffsets[index]];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > fLength)
+			throw new IndexOutOfBoundsException();
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		int index= blockOf(offset);
+		int blockStart= fBlockCharOffsets[index];
+		char[] chars= getBlock(index);
+		if (offset + length <= blockStart + chars.length)
+			return new String(chars, offset - blockStart, length);
+
+		char[] result= new char[length];
+		int copied= 0;
+		while (copied < length) {
+			int from= offset + copied - blockStart;
+			int count= Math.min(chars.length - from, length - copied);
+			System.arraycopy(chars, from, result, copied, count);
+			copied+= count;
+			if (copied < length) {
+				index++;
+				blockStart= fBlockCharOffsets[index];
+				chars= getBlock(index);
+			}
+		}
+		return new String(result);
+	}
+
+	@Override
+	public int getLength() {
+		return fLength;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String text) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns the number of lines, using "\n", "\r" and "\r\n" as line delimiters.
+	 *
+	 * @return the number of lines
+	 */
+	public int getNumberOfLines() {
+		return fNumberOfLines;
+	}
+
+	/**
+	 * Returns the offset of the first line delimiter at or after the given offset, or the length of
+	 * the store if there is none.
+	 *
+	 * @param offset the offset to start searching at
+	 * @return the end of the line containing the offset, excluding the delimiter
+	 */
+	int lineEnd(int offset) {
+		while (offset < fLength) {
+			int index= blockOf(offset);
+			int blockStart= fBlockCharOffsets[index];
+			char[] chars= getBlock(index);
+			for (int i= offset - blockStart; i < chars.length; i++) {
+				char c= chars[i];
+				if (c == '\r' || c == '\n')
+					return blockStart + i;
+			}
+			offset= blockStart + chars.length;
+		}
+		return fLength;
+	}
+
+	/**
+	 * Returns the start of the line following the line containing the given offset, or the length
+	 * of the store if there is none.
+	 *
+	 * @param offset the offset to start searching at
+	 * @return the end of the line containing the offset, including the delimiter
+	 */
+	int nextLineStart(int offset) {
+		int end= lineEnd(offset);
+		if (end == fLength)
+			return fLength;
+		if (get(end) == '\r' && end + 1 < fLength && get(end + 1) == '\n')
+			return end + 2;
+		return end + 1;
+	}
+
+	/**
+	 * Returns the start offset of the closest recorded line at or before the given line.
+	 *
+	 * @param line a valid line number
+	 * @return the start offset of line <code>getLineSampleLine(line)</code>
+	 */
+	int getLineSampleOffset(int line) {
+		return fLineSamples[line >> LINE_SAMPLE_SHIFT];
+	}
+
+	/**
+	 * Returns the line number of the closest recorded line at or before the given line.
+	 *
+	 * @param line a valid line number
+	 * @return the line number of the sample
+	 */
+	static int getLineSampleLine(int line) {
+		return (line >> LINE_SAMPLE_SHIFT) << LINE_SAMPLE_SHIFT;
+	}
+
+	/**
+	 * Returns the line number of the closest recorded line starting at or before the given offset.
+	 *
+	 * @param offset a valid offset
+	 * @return the line number of the sample
+	 */
+	int getLineSampleLineOfOffset(int offset) {
+		int samples= ((fNumberOfLines - 1) >> LINE_SAMPLE_SHIFT) + 1;
+		int index= Arrays.binarySearch(fLineSamples, 0, samples, offset);
+		if (index < 0)
+			index= -index - 2;
+		return index << LINE_SAMPLE_SHIFT;
+	}
+}
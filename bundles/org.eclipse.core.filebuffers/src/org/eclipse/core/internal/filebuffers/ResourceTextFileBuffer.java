@@ -34,9 +34,11 @@ import org.eclipse.core.filebuffers.IPersistableAnnotationModel;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.manipulation.ContainerCreator;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -232,8 +234,10 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			}
 
 
-			fDocument= getManager().createEmptyDocument(fFile);
-			setDocumentContent(fDocument, fFile, fEncoding);
+			MappedFileTextStore content= createMappedContent();
+			fDocument= getManager().createDocument(fFile, content, fFile.getModificationStamp());
+			if (!(fDocument instanceof MappedFileDocument))
+				setDocumentContent(fDocument, fFile, fEncoding);
 
 		} catch (CoreException x) {
 			fDocument= getManager().createEmptyDocument(fFile);
@@ -273,6 +277,8 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		}
 		if (fAnnotationModel != null)
 			fAnnotationModel.disconnect(fDocument);
+		if (fDocument instanceof MappedFileDocument mappedDocument)
+			mappedDocument.releaseMappedContent();
 		fDocument= null;
 		super.dispose();
 	}
@@ -466,6 +472,21 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		fManager.fireDirtyStateChanged(this, fCanBeSaved);
 	}
 
+	/**
+	 * Indexes the content of the underlying file if it is large enough. A file that is not in sync with
+	 * the file system is read as usual, so that this is reported like by {@link IFile#getContents()}.
+	 *
+	 * @return the mapped content or <code>null</code> if the file is read as usual
+	 */
+	private MappedFileTextStore createMappedContent() {
+		IPath location= fFile.getLocation();
+		if (location == null || !fFile.isSynchronized(IResource.DEPTH_ZERO))
+			return null;
+		String encoding= fEncoding != null ? fEncoding : fManager.getDefaultEncoding();
+		boolean skipUTF8BOM= fBOM != null && StandardCharsets.UTF_8.name().equals(encoding);
+		return TextFileBufferManager.createMappedContent(location.toFile(), encoding, skipUTF8BOM);
+	}
+
 	/**
 	 * Initializes the given document with the given stream using the given encoding.
 	 *
@@ -125,10 +125,26 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 	}
 
 	public IDocument createEmptyDocument(final IFile file) {
+		return createDocument(file, null, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+	}
+
+	/**
+	 * Creates a new document for the given file like {@link #createEmptyDocument(IFile)}. If
+	 * <code>content</code> is not <code>null</code> and no document factory is contributed for the
+	 * file, the document is a {@link MappedFileDocument} holding the given content.
+	 *
+	 * @param file the file
+	 * @param content the initial content or <code>null</code>
+	 * @param modificationStamp the modification stamp of the initial content
+	 * @return the new document
+	 */
+	IDocument createDocument(final IFile file, MappedFileTextStore content, long modificationStamp) {
 		IDocument documentFromFactory= createEmptyDocumentFromFactory(file);
 		final IDocument document;
 		if (documentFromFactory != null)
 			document= documentFromFactory;
+		else if (content != null)
+			document= new MappedFileDocument(content, modificationStamp);
 		else
 			document= new SynchronizableDocument();
 
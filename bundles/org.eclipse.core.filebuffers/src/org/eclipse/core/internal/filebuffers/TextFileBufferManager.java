@@ -14,8 +14,10 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -72,6 +74,12 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/**
+	 * The size in bytes above which the content of local files is accessed through a
+	 * {@link MappedFileTextStore} instead of being read into memory.
+	 */
+	static final long MAPPED_CONTENT_THRESHOLD= Long.getLong("org.eclipse.core.filebuffers.mappedContentThreshold", 64 * 1024 * 1024).longValue(); //$NON-NLS-1$
+
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
@@ -433,10 +441,28 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	@Override
 	public IDocument createEmptyDocument(final IPath location, final LocationKind locationKind) {
+		return createDocument(location, locationKind, null, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+	}
+
+	/**
+	 * Creates a new document for the given location like
+	 * {@link #createEmptyDocument(IPath, LocationKind)}. If <code>content</code> is not
+	 * <code>null</code> and no document factory is contributed for the location, the document is a
+	 * {@link MappedFileDocument} holding the given content.
+	 *
+	 * @param location the location of the file
+	 * @param locationKind the kind of the given location
+	 * @param content the initial content or <code>null</code>
+	 * @param modificationStamp the modification stamp of the initial content
+	 * @return the new document
+	 */
+	IDocument createDocument(final IPath location, final LocationKind locationKind, MappedFileTextStore content, long modificationStamp) {
 		IDocument documentFromFactory= createDocumentFromFactory(location, locationKind);
 		final IDocument document;
 		if (documentFromFactory != null)
 			document= documentFromFactory;
+		else if (content != null)
+			document= new MappedFileDocument(content, modificationStamp);
 		else
 			document= new SynchronizableDocument();
 
@@ -480,6 +506,30 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		return document;
 	}
 
+	/**
+	 * Indexes the given local file if it is larger than {@link #MAPPED_CONTENT_THRESHOLD} and its
+	 * encoding is supported by {@link MappedFileTextStore}.
+	 *
+	 * @param file the local file
+	 * @param encoding the encoding of the file
+	 * @param skipUTF8BOM whether the file starts with a UTF-8 byte order mark to be skipped
+	 * @return the mapped content or <code>null</code> if the file should be read as usual
+	 */
+	static MappedFileTextStore createMappedContent(File file, String encoding, boolean skipUTF8BOM) {
+		if (file == null || file.length() <= MAPPED_CONTENT_THRESHOLD)
+			return null;
+		try {
+			Charset charset= Charset.forName(encoding);
+			if (!MappedFileTextStore.isSupported(charset))
+				return null;
+			int byteOffset= skipUTF8BOM ? IContentDescription.BOM_UTF_8.length : 0;
+			return new MappedFileTextStore(file.toPath(), byteOffset, charset);
+		} catch (IllegalArgumentException | IOException x) {
+			// read the file as usual, which reports the problem if there is one
+			return null;
+		}
+	}
+
 	/**
 	 * Helper to get rid of deprecation warnings.
 	 *
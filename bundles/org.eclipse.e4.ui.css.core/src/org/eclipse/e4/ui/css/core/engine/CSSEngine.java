@@ -193,6 +193,18 @@ public interface CSSEngine {
 	 */
 	void setErrorHandler(CSSErrorHandler errorHandler);
 
+	/**
+	 * Set the {@link CSSStyleSheetCache} used to rebuild style sheets with a URI
+	 * that have been parsed before without parsing them again.
+	 *
+	 * @param styleSheetCache the cache, or <code>null</code> to parse all style
+	 *                        sheets
+	 * @since 0.15
+	 */
+	default void setStyleSheetCache(CSSStyleSheetCache styleSheetCache) {
+		// empty default implementation, style sheets are always parsed
+	}
+
 	/*--------------- Resources -----------------*/
 
 	/**
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.engine;
+
+import java.io.File;
+import java.io.IOException;
+import org.eclipse.e4.ui.css.core.dom.parsers.CSSParser;
+import org.eclipse.e4.ui.css.core.impl.engine.StyleSheetCache;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.css.CSSStyleSheet;
+
+/**
+ * A cache of parsed style sheets kept in a file, so that style sheets with a
+ * URI do not have to be parsed again on every start.
+ *
+ * @see CSSEngine#setStyleSheetCache(CSSStyleSheetCache)
+ * @since 0.15
+ */
+public interface CSSStyleSheetCache {
+
+	/**
+	 * Creates a cache that is kept in the given file.
+	 *
+	 * @param file    the file of the cache, which does not need to exist
+	 * @param version the version of the cached style sheets, a cache written
+	 *                with another version is discarded
+	 * @return the cache
+	 */
+	static CSSStyleSheetCache create(File file, String version) {
+		return new StyleSheetCache(file, version);
+	}
+
+	/**
+	 * Parses the style sheet of the given source with the given parser, or
+	 * rebuilds it from the cache if the source has a URI and its content has
+	 * been parsed before.
+	 *
+	 * @param parser the parser
+	 * @param source the source of the style sheet
+	 * @return the style sheet
+	 * @throws IOException if the source cannot be read
+	 */
+	CSSStyleSheet parseStyleSheet(CSSParser parser, InputSource source) throws IOException;
+
+	/**
+	 * Writes the style sheets parsed since the cache was loaded to the file of
+	 * the cache, if any of them was not in the cache.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	void save() throws IOException;
+}
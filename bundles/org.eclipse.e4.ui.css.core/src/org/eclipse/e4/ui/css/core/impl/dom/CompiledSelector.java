@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAndConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSChildSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSConditionalSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSDescendantSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSOneOfAttributeConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedCondition;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.dom.Element;
+
+/**
+ * A selector compiled into a chain of compound selectors, which are matched
+ * against the facts that a {@link SelectorMatcher} collects about an element
+ * and its ancestors.
+ * <p>
+ * Element names, ids and classes are compared as symbols of the
+ * {@link StyleRuleIndex} instead of strings, and the chain is matched from the
+ * element up its ancestors without creating any objects. Conditions without a
+ * compiled form, like attribute conditions, are matched by their SAC
+ * implementation. Selectors that cannot be compiled at all, like sibling
+ * selectors, are matched by their SAC implementation as a whole.
+ * </p>
+ */
+final class CompiledSelector {
+
+	private static final int DESCENDANT = 0;
+
+	private static final int CHILD = 1;
+
+	private static final int[] NO_SYMBOLS = new int[0];
+
+	private static final String[] NO_STRINGS = new String[0];
+
+	private static final ExtendedCondition[] NO_CONDITIONS = new ExtendedCondition[0];
+
+	/**
+	 * A sequence of simple selectors without combinators, like
+	 * <code>Button.primary:hover</code>.
+	 */
+	private static final class Compound {
+
+		/**
+		 * The symbol of the element name, or -1 for the universal selector.
+		 */
+		int name = -1;
+
+		/**
+		 * The symbols of the required ids, usually none or one.
+		 */
+		int[] ids = NO_SYMBOLS;
+
+		int[] classes = NO_SYMBOLS;
+
+		String[] pseudoClasses = NO_STRINGS;
+
+		/**
+		 * The attributes of the <code>[attribute~=value]</code> conditions, and
+		 * their values.
+		 */
+		String[] oneOfAttributes = NO_STRINGS;
+
+		String[] oneOfValues = NO_STRINGS;
+
+		/**
+		 * The conditions that are matched by their SAC implementation.
+		 */
+		ExtendedCondition[] conditions = NO_CONDITIONS;
+
+		boolean match(SelectorMatcher matcher, int position, String pseudoElt) {
+			if (name != -1 && matcher.getName(position) != name) {
+				return false;
+			}
+			for (int id : ids) {
+				if (matcher.getId(position) != id) {
+					return false;
+				}
+			}
+			if (classes.length > 0) {
+				int[] elementClasses = matcher.getClasses(position);
+				for (int className : classes) {
+					if (!contains(elementClasses, className)) {
+						return false;
+					}
+				}
+			}
+			Element elt = (Element) matcher.getNode(position);
+			for (String pseudoClass : pseudoClasses) {
+				if (!matchPseudoClass(elt, pseudoClass, pseudoElt)) {
+					return false;
+				}
+			}
+			for (int i = 0; i < oneOfAttributes.length; i++) {
+				if (!matchOneOf(elt.getAttribute(oneOfAttributes[i]), oneOfValues[i])) {
+					return false;
+				}
+			}
+			for (ExtendedCondition condition : conditions) {
+				if (!condition.match(elt, pseudoElt)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Same as {@link CSSPseudoClassConditionImpl#match(Element, String)}.
+		 */
+		private static boolean matchPseudoClass(Element elt, String pseudoClass, String pseudoElt) {
+			if (pseudoElt != null && !pseudoElt.equals(pseudoClass)) {
+				return false;
+			}
+			if (!(elt instanceof CSSStylableElement)) {
+				return false;
+			}
+			CSSStylableElement element = (CSSStylableElement) elt;
+			if (!element.isPseudoInstanceOf(pseudoClass)) {
+				return false;
+			}
+			return pseudoElt != null || !element.isStaticPseudoInstance(pseudoClass);
+		}
+
+		/**
+		 * Same as {@link CSSOneOfAttributeConditionImpl#match(Element, String)},
+		 * without tokenizing the attribute value.
+		 */
+		private static boolean matchOneOf(String attribute, String value) {
+			if (attribute == null) {
+				return false;
+			}
+			int length = attribute.length();
+			int start = 0;
+			for (int i = 0; i <= length; i++) {
+				if (i == length || isWhitespace(attribute.charAt(i))) {
+					if (i - start == value.length() && attribute.regionMatches(start, value, 0, i - start)) {
+						return true;
+					}
+					start = i + 1;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns whether the character is one of the default delimiters of a
+		 * {@link java.util.StringTokenizer}.
+		 */
+		private static boolean isWhitespace(char c) {
+			return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+		}
+
+		private static boolean contains(int[] symbols, int symbol) {
+			for (int s : symbols) {
+				if (s == symbol) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * The compound selectors from the element to its outermost ancestor.
+	 */
+	private final Compound[] compounds;
+
+	/**
+	 * The combinator between each compound selector and the next one.
+	 */
+	private final int[] combinators;
+
+	private CompiledSelector(Compound[] compounds, int[] combinators) {
+		this.compounds = compounds;
+		this.combinators = combinators;
+	}
+
+	/**
+	 * Compiles the given selector.
+	 *
+	 * @param selector the selector
+	 * @param index    the index that interns the symbols
+	 * @return the compiled selector, or <code>null</code> if the selector
+	 *         cannot be compiled
+	 */
+	static CompiledSelector compile(Selector selector, StyleRuleIndex index) {
+		List<Compound> compounds = new ArrayList<>();
+		List<Integer> combinators = new ArrayList<>();
+		Selector s = selector;
+		// the SAC implementations are matched exactly, subclasses may match
+		// differently
+		while (s.getClass() == CSSDescendantSelectorImpl.class || s.getClass() == CSSChildSelectorImpl.class) {
+			Compound compound = compileCompound(((DescendantSelector) s).getSimpleSelector(), index);
+			if (compound == null) {
+				return null;
+			}
+			compounds.add(compound);
+			combinators.add(s.getClass() == CSSChildSelectorImpl.class ? CHILD : DESCENDANT);
+			s = ((DescendantSelector) s).getAncestorSelector();
+		}
+		Compound compound = compileCompound(s, index);
+		if (compound == null) {
+			return null;
+		}
+		compounds.add(compound);
+		int[] combinatorArray = new int[combinators.size()];
+		for (int i = 0; i < combinatorArray.length; i++) {
+			combinatorArray[i] = combinators.get(i).intValue();
+		}
+		return new CompiledSelector(compounds.toArray(new Compound[compounds.size()]), combinatorArray);
+	}
+
+	private static Compound compileCompound(Selector selector, StyleRuleIndex index) {
+		Compound compound = new Compound();
+		Selector simple = selector;
+		if (simple.getClass() == CSSConditionalSelectorImpl.class) {
+			List<Condition> conditions = new ArrayList<>();
+			if (!addConditions(((CSSConditionalSelectorImpl) simple).getCondition(), conditions)) {
+				return null;
+			}
+			List<String> pseudoClasses = new ArrayList<>();
+			List<String> oneOfAttributes = new ArrayList<>();
+			List<String> oneOfValues = new ArrayList<>();
+			List<ExtendedCondition> others = new ArrayList<>();
+			for (Condition condition : conditions) {
+				String value = condition instanceof AttributeCondition ? ((AttributeCondition) condition).getValue()
+						: null;
+				if (condition.getClass() == CSSIdConditionImpl.class && value != null) {
+					compound.ids = append(compound.ids, index.intern(value));
+				} else if (condition.getClass() == CSSClassConditionImpl.class && isClassName(value)) {
+					compound.classes = append(compound.classes, index.intern(value));
+				} else if (condition.getClass() == CSSPseudoClassConditionImpl.class && value != null) {
+					pseudoClasses.add(value);
+				} else if (condition.getClass() == CSSOneOfAttributeConditionImpl.class && value != null
+						&& ((AttributeCondition) condition).getLocalName() != null) {
+					oneOfAttributes.add(((AttributeCondition) condition).getLocalName());
+					oneOfValues.add(value);
+				} else {
+					others.add((ExtendedCondition) condition);
+				}
+			}
+			if (!pseudoClasses.isEmpty()) {
+				compound.pseudoClasses = pseudoClasses.toArray(new String[pseudoClasses.size()]);
+			}
+			if (!oneOfAttributes.isEmpty()) {
+				compound.oneOfAttributes = oneOfAttributes.toArray(new String[oneOfAttributes.size()]);
+				compound.oneOfValues = oneOfValues.toArray(new String[oneOfValues.size()]);
+			}
+			if (!others.isEmpty()) {
+				compound.conditions = others.toArray(new ExtendedCondition[others.size()]);
+			}
+			simple = ((CSSConditionalSelectorImpl) simple).getSimpleSelector();
+		}
+		if (simple.getClass() != CSSElementSelectorImpl.class
+				|| ((CSSElementSelectorImpl) simple).getNamespaceURI() != null) {
+			return null;
+		}
+		String name = ((CSSElementSelectorImpl) simple).getLocalName();
+		if (name != null) {
+			compound.name = index.intern(name);
+		}
+		return compound;
+	}
+
+	/**
+	 * Adds the conditions that must all be fulfilled.
+	 *
+	 * @return <code>false</code> if a condition cannot be matched
+	 */
+	private static boolean addConditions(Condition condition, List<Condition> conditions) {
+		if (condition.getClass() == CSSAndConditionImpl.class) {
+			return addConditions(((CombinatorCondition) condition).getFirstCondition(), conditions)
+					&& addConditions(((CombinatorCondition) condition).getSecondCondition(), conditions);
+		}
+		if (!(condition instanceof ExtendedCondition)) {
+			return false;
+		}
+		conditions.add(condition);
+		return true;
+	}
+
+	/**
+	 * Returns whether the value of a class condition is a single class name,
+	 * which is the only case where the condition matches if and only if the
+	 * element has the class.
+	 */
+	private static boolean isClassName(String value) {
+		if (value == null || value.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.isSpaceChar(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int[] append(int[] symbols, int symbol) {
+		int[] result = new int[symbols.length + 1];
+		System.arraycopy(symbols, 0, result, 0, symbols.length);
+		result[symbols.length] = symbol;
+		return result;
+	}
+
+	/**
+	 * Returns whether the element at the given position of the matcher matches
+	 * the selector.
+	 *
+	 * @param matcher   the matcher that holds the element and its ancestors
+	 * @param pseudoElt the pseudo instance to match, may be <code>null</code>
+	 * @return <code>true</code> if the element matches
+	 */
+	boolean match(SelectorMatcher matcher, String pseudoElt) {
+		return match(matcher, 0, 0, pseudoElt);
+	}
+
+	private boolean match(SelectorMatcher matcher, int compound, int position, String pseudoElt) {
+		if (!compounds[compound].match(matcher, position, compound == 0 ? pseudoElt : null)) {
+			return false;
+		}
+		if (compound == combinators.length) {
+			return true;
+		}
+		int length = matcher.getLength();
+		if (combinators[compound] == CHILD) {
+			int parent = position + 1;
+			return parent < length && matcher.isElement(parent) && match(matcher, compound + 1, parent, null);
+		}
+		for (int ancestor = position + 1; ancestor < length; ancestor++) {
+			if (matcher.isElement(ancestor) && match(matcher, compound + 1, ancestor, null)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
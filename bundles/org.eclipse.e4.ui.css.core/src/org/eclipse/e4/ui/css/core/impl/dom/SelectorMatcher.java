@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.Arrays;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.impl.dom.StyleRuleIndex.IndexedSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Matches the selectors of a {@link StyleRuleIndex} against elements.
+ * <p>
+ * The matcher keeps the element and its ancestors in reused arrays, together
+ * with the symbols of their names, ids and classes, which are looked up the
+ * first time a selector tests them. Once the arrays are large enough for the
+ * depth of the document, matching an element does not create any objects, so
+ * styling a large widget tree does not produce garbage.
+ * </p>
+ * <p>
+ * A matcher is not thread safe and not reentrant, the matches of an element
+ * are only valid until the next element is matched.
+ * </p>
+ */
+final class SelectorMatcher {
+
+	private static final int INITIAL_DEPTH = 16;
+
+	private final StyleRuleIndex index;
+
+	/**
+	 * The element at position 0, followed by its ancestors.
+	 */
+	private Node[] nodes = new Node[INITIAL_DEPTH];
+
+	private int length;
+
+	/**
+	 * Whether the symbols of the node at a position have been looked up.
+	 */
+	private boolean[] known = new boolean[INITIAL_DEPTH];
+
+	private int[] names = new int[INITIAL_DEPTH];
+
+	private int[] ids = new int[INITIAL_DEPTH];
+
+	private int[][] classes = new int[INITIAL_DEPTH][];
+
+	/**
+	 * The ancestors of the element, passed to selectors that are not compiled.
+	 * The SAC implementations ignore the <code>null</code> entries after the
+	 * ancestors.
+	 */
+	private Node[] hierarchy = new Node[INITIAL_DEPTH];
+
+	private final IndexedSelector[] matches;
+
+	private int matchCount;
+
+	private boolean matching;
+
+	SelectorMatcher(StyleRuleIndex index) {
+		this.index = index;
+		this.matches = new IndexedSelector[index.size()];
+	}
+
+	/**
+	 * Returns whether the matcher is currently matching an element, in which
+	 * case another matcher must be used.
+	 */
+	boolean isMatching() {
+		return matching;
+	}
+
+	/**
+	 * Matches the selectors of the index against the given element.
+	 *
+	 * @param elt       the element
+	 * @param pseudoElt the pseudo instance to match, may be <code>null</code>
+	 * @return the number of matching selectors, see {@link #getMatch(int)}
+	 */
+	int match(Element elt, String pseudoElt) {
+		matching = true;
+		try {
+			setElement(elt);
+			matchCount = 0;
+			matchAll(index.universalBucket, pseudoElt);
+			int name = getName(0);
+			if (name != -1) {
+				matchAll(index.elementBuckets[name], pseudoElt);
+			}
+			int id = getId(0);
+			if (id != -1) {
+				matchAll(index.idBuckets[id], pseudoElt);
+			}
+			for (int className : getClasses(0)) {
+				matchAll(index.classBuckets[className], pseudoElt);
+			}
+			if (elt instanceof CSSStylableElement) {
+				String[] pseudoClasses = index.pseudoClasses;
+				for (int i = 0; i < pseudoClasses.length; i++) {
+					// only conditions for the requested pseudo instance can match
+					if (pseudoElt == null ? ((CSSStylableElement) elt).isPseudoInstanceOf(pseudoClasses[i])
+							: pseudoElt.equals(pseudoClasses[i])) {
+						matchAll(index.pseudoClassBuckets[i], pseudoElt);
+					}
+				}
+			}
+			return matchCount;
+		} finally {
+			// do not keep the elements alive
+			Arrays.fill(nodes, 0, length, null);
+			Arrays.fill(hierarchy, 0, length - 1, null);
+			matching = false;
+		}
+	}
+
+	/**
+	 * Returns a selector that matched the last element, in no particular order.
+	 *
+	 * @param i the index of the match, less than the number of matches
+	 * @return the matching selector
+	 */
+	IndexedSelector getMatch(int i) {
+		return matches[i];
+	}
+
+	private void setElement(Element elt) {
+		length = 0;
+		for (Node n = elt; n != null; n = n.getParentNode()) {
+			if (length == nodes.length) {
+				int capacity = length * 2;
+				nodes = Arrays.copyOf(nodes, capacity);
+				hierarchy = Arrays.copyOf(hierarchy, capacity);
+				known = Arrays.copyOf(known, capacity);
+				names = Arrays.copyOf(names, capacity);
+				ids = Arrays.copyOf(ids, capacity);
+				classes = Arrays.copyOf(classes, capacity);
+			}
+			nodes[length] = n;
+			if (length > 0) {
+				hierarchy[length - 1] = n;
+			}
+			known[length] = false;
+			length++;
+		}
+	}
+
+	private void matchAll(IndexedSelector[] bucket, String pseudoElt) {
+		if (bucket == null) {
+			return;
+		}
+		for (IndexedSelector candidate : bucket) {
+			boolean match;
+			if (candidate.compiled != null) {
+				match = candidate.compiled.match(this, pseudoElt);
+			} else {
+				match = candidate.selector.match((Element) nodes[0], hierarchy, 0, pseudoElt);
+			}
+			if (match) {
+				matches[matchCount++] = candidate;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of nodes, the element and its ancestors.
+	 */
+	int getLength() {
+		return length;
+	}
+
+	Node getNode(int position) {
+		return nodes[position];
+	}
+
+	boolean isElement(int position) {
+		return nodes[position].getNodeType() == Node.ELEMENT_NODE;
+	}
+
+	/**
+	 * Returns the symbol of the name of the element at the given position, or
+	 * -1 if no selector tests the name.
+	 */
+	int getName(int position) {
+		lookUp(position);
+		return names[position];
+	}
+
+	/**
+	 * Returns the symbol of the id of the element at the given position, or -1
+	 * if no selector tests the id.
+	 */
+	int getId(int position) {
+		lookUp(position);
+		return ids[position];
+	}
+
+	/**
+	 * Returns the symbols of the classes of the element at the given position
+	 * that selectors test.
+	 */
+	int[] getClasses(int position) {
+		lookUp(position);
+		return classes[position];
+	}
+
+	private void lookUp(int position) {
+		if (known[position]) {
+			return;
+		}
+		Element elt = (Element) nodes[position];
+		names[position] = index.getSymbol(elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName());
+		if (elt instanceof CSSStylableElement) {
+			CSSStylableElement stylableElement = (CSSStylableElement) elt;
+			ids[position] = index.getSymbol(stylableElement.getCSSId());
+			classes[position] = index.getClassSymbols(stylableElement.getCSSClass());
+		} else {
+			ids[position] = index.getSymbol(elt.getAttribute("id"));
+			classes[position] = index.getClassSymbols(elt.getAttribute("class"));
+		}
+		known[position] = true;
+	}
+}
@@ -0,0 +1,506 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAndConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedCondition;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * An index of the selectors of the style rules of a {@link ViewCSSImpl}.
+ * <p>
+ * Like the style engines of web browsers, the index puts each selector into a
+ * bucket for the id, class, pseudo-class or element name that its rightmost
+ * simple selector requires, in this order of preference. Selectors that require
+ * none of them go into a bucket that applies to all elements. Only the
+ * selectors of the buckets of an element can match the element, so only these
+ * candidates have to be matched against it.
+ * </p>
+ * <p>
+ * Element names, ids and classes are interned as symbols, which index the
+ * buckets. The selectors are compiled into {@link CompiledSelector}s over these
+ * symbols, and matched against elements by a {@link SelectorMatcher}.
+ * </p>
+ * <p>
+ * The index also records which element names, ids, classes, pseudo-classes
+ * and attributes the selectors test on an element, on its ancestors and on its
+ * preceding sibling. This allows to tell whether the rules that match an
+ * element may have changed since its styles were applied, see
+ * {@link #getStyleState(Element)} and {@link #getContextState(Element)}.
+ * </p>
+ */
+final class StyleRuleIndex {
+
+	/**
+	 * A selector of a style rule, together with its position in the combined
+	 * rules of the style sheets.
+	 */
+	static final class IndexedSelector {
+
+		final ExtendedSelector selector;
+
+		/**
+		 * The compiled selector, <code>null</code> if the selector is matched
+		 * by its SAC implementation.
+		 */
+		final CompiledSelector compiled;
+
+		final CSSStyleDeclaration style;
+
+		final int specificity;
+
+		final int order;
+
+		IndexedSelector(ExtendedSelector selector, CompiledSelector compiled, CSSStyleDeclaration style,
+				int order) {
+			this.selector = selector;
+			this.compiled = compiled;
+			this.style = style;
+			this.specificity = selector.getSpecificity();
+			this.order = order;
+		}
+	}
+
+	/**
+	 * The element names, ids, classes, pseudo-classes and attributes that
+	 * selectors test on an element in a certain position.
+	 */
+	private static final class Dependencies {
+
+		final Set<String> names = new HashSet<>();
+
+		final Set<String> ids = new HashSet<>();
+
+		final Set<String> classes = new HashSet<>();
+
+		final Set<String> pseudoClasses = new HashSet<>();
+
+		final Set<String> attributes = new HashSet<>();
+
+		boolean isEmpty() {
+			return names.isEmpty() && ids.isEmpty() && classes.isEmpty() && pseudoClasses.isEmpty()
+					&& attributes.isEmpty();
+		}
+
+		/**
+		 * Appends the part of the state of the element that is tested.
+		 */
+		void appendState(StringBuilder state, Element elt) {
+			String name = elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+			if (names.contains(name)) {
+				state.append(name);
+			}
+			String id;
+			String classNames;
+			if (elt instanceof CSSStylableElement) {
+				CSSStylableElement stylableElement = (CSSStylableElement) elt;
+				id = stylableElement.getCSSId();
+				classNames = stylableElement.getCSSClass();
+				for (String pseudoClass : pseudoClasses) {
+					if (stylableElement.isPseudoInstanceOf(pseudoClass)) {
+						state.append(':').append(pseudoClass);
+					}
+				}
+			} else {
+				id = elt.getAttribute("id");
+				classNames = elt.getAttribute("class");
+			}
+			if (id != null && ids.contains(id)) {
+				state.append('#').append(id);
+			}
+			if (classNames != null && !classes.isEmpty()) {
+				int length = classNames.length();
+				int start = 0;
+				for (int i = 0; i <= length; i++) {
+					if (i == length || Character.isSpaceChar(classNames.charAt(i))) {
+						if (i > start) {
+							String className = classNames.substring(start, i);
+							if (classes.contains(className)) {
+								state.append('.').append(className);
+							}
+						}
+						start = i + 1;
+					}
+				}
+			}
+			for (String attribute : attributes) {
+				state.append('[').append(attribute).append('=').append(elt.getAttribute(attribute)).append(']');
+			}
+		}
+	}
+
+	private static final int[] NO_SYMBOLS = new int[0];
+
+	/**
+	 * The maximum number of remembered class sets, to bound the memory used for
+	 * unusual sets of elements.
+	 */
+	private static final int MAX_CLASS_SETS = 1024;
+
+	private final Map<String, Integer> symbols = new HashMap<>();
+
+	/**
+	 * The symbols of the classes of the elements, by their class attribute.
+	 */
+	private final Map<String, int[]> classSets = new HashMap<>();
+
+	private int size;
+
+	/**
+	 * The buckets of the ids, classes and element names, by their symbol.
+	 */
+	IndexedSelector[][] idBuckets;
+
+	IndexedSelector[][] classBuckets;
+
+	IndexedSelector[][] elementBuckets;
+
+	/**
+	 * The pseudo-classes that have a bucket, and their buckets.
+	 */
+	String[] pseudoClasses;
+
+	IndexedSelector[][] pseudoClassBuckets;
+
+	IndexedSelector[] universalBucket;
+
+	/**
+	 * What the selectors test on the element itself.
+	 */
+	private final Dependencies subject = new Dependencies();
+
+	/**
+	 * What the selectors test on the ancestors of the element.
+	 */
+	private final Dependencies context = new Dependencies();
+
+	/**
+	 * What the selectors test on the preceding sibling of the element.
+	 */
+	private final Dependencies sibling = new Dependencies();
+
+	/**
+	 * Whether all selectors only test the element, its ancestors and its
+	 * preceding sibling in ways that are recorded by the index.
+	 */
+	private boolean trackable = true;
+
+	/**
+	 * Creates the index of the given rules.
+	 *
+	 * @param rules the combined rules of the style sheets
+	 */
+	StyleRuleIndex(List<CSSRule> rules) {
+		Map<Integer, List<IndexedSelector>> idBucketMap = new HashMap<>();
+		Map<Integer, List<IndexedSelector>> classBucketMap = new HashMap<>();
+		Map<Integer, List<IndexedSelector>> elementBucketMap = new HashMap<>();
+		Map<String, List<IndexedSelector>> pseudoClassBucketMap = new HashMap<>();
+		List<IndexedSelector> universal = new ArrayList<>();
+		int order = 0;
+		for (CSSRule rule : rules) {
+			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule))) {
+				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
+			}
+			CSSStyleDeclaration style = ((CSSStyleRule) rule).getStyle();
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector) {
+					IndexedSelector indexed = new IndexedSelector((ExtendedSelector) selector,
+							CompiledSelector.compile(selector, this), style, order++);
+					add(indexed, idBucketMap, classBucketMap, elementBucketMap, pseudoClassBucketMap, universal);
+					addDependencies(selector, subject);
+				}
+			}
+		}
+		size = order;
+		idBuckets = toBuckets(idBucketMap);
+		classBuckets = toBuckets(classBucketMap);
+		elementBuckets = toBuckets(elementBucketMap);
+		pseudoClasses = pseudoClassBucketMap.keySet().toArray(new String[pseudoClassBucketMap.size()]);
+		pseudoClassBuckets = new IndexedSelector[pseudoClasses.length][];
+		for (int i = 0; i < pseudoClasses.length; i++) {
+			List<IndexedSelector> bucket = pseudoClassBucketMap.get(pseudoClasses[i]);
+			pseudoClassBuckets[i] = bucket.toArray(new IndexedSelector[bucket.size()]);
+		}
+		universalBucket = universal.toArray(new IndexedSelector[universal.size()]);
+	}
+
+	private IndexedSelector[][] toBuckets(Map<Integer, List<IndexedSelector>> bucketMap) {
+		IndexedSelector[][] buckets = new IndexedSelector[symbols.size()][];
+		for (Map.Entry<Integer, List<IndexedSelector>> entry : bucketMap.entrySet()) {
+			List<IndexedSelector> bucket = entry.getValue();
+			buckets[entry.getKey().intValue()] = bucket.toArray(new IndexedSelector[bucket.size()]);
+		}
+		return buckets;
+	}
+
+	private void add(IndexedSelector indexed, Map<Integer, List<IndexedSelector>> idBucketMap,
+			Map<Integer, List<IndexedSelector>> classBucketMap, Map<Integer, List<IndexedSelector>> elementBucketMap,
+			Map<String, List<IndexedSelector>> pseudoClassBucketMap, List<IndexedSelector> universal) {
+		Selector subject = indexed.selector;
+		if (subject instanceof DescendantSelector) {
+			subject = ((DescendantSelector) subject).getSimpleSelector();
+		} else if (subject instanceof SiblingSelector) {
+			subject = ((SiblingSelector) subject).getSiblingSelector();
+		}
+		if (subject instanceof ConditionalSelector) {
+			ConditionalSelector conditional = (ConditionalSelector) subject;
+			AttributeCondition key = getKeyCondition(conditional.getCondition());
+			if (key instanceof CSSIdConditionImpl) {
+				addToBucket(idBucketMap, Integer.valueOf(intern(key.getValue())), indexed);
+				return;
+			}
+			if (key instanceof CSSClassConditionImpl) {
+				addToBucket(classBucketMap, Integer.valueOf(intern(key.getValue())), indexed);
+				return;
+			}
+			if (key instanceof CSSPseudoClassConditionImpl) {
+				addToBucket(pseudoClassBucketMap, key.getValue(), indexed);
+				return;
+			}
+			subject = conditional.getSimpleSelector();
+		}
+		if (subject instanceof CSSElementSelectorImpl) {
+			String name = ((CSSElementSelectorImpl) subject).getLocalName();
+			if (name != null) {
+				addToBucket(elementBucketMap, Integer.valueOf(intern(name)), indexed);
+				return;
+			}
+		}
+		universal.add(indexed);
+	}
+
+	private static <K> void addToBucket(Map<K, List<IndexedSelector>> buckets, K key, IndexedSelector indexed) {
+		buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(indexed);
+	}
+
+	/**
+	 * Records what the selector tests on the element in the position of the
+	 * given dependencies.
+	 */
+	private void addDependencies(Selector selector, Dependencies dependencies) {
+		if (selector instanceof DescendantSelector) {
+			// descendant and child selectors
+			addDependencies(((DescendantSelector) selector).getAncestorSelector(), context);
+			addDependencies(((DescendantSelector) selector).getSimpleSelector(), dependencies);
+		} else if (selector instanceof SiblingSelector && dependencies == subject) {
+			addDependencies(((SiblingSelector) selector).getSelector(), sibling);
+			addDependencies(((SiblingSelector) selector).getSiblingSelector(), dependencies);
+		} else if (selector instanceof ConditionalSelector) {
+			addDependencies(((ConditionalSelector) selector).getSimpleSelector(), dependencies);
+			addDependencies(((ConditionalSelector) selector).getCondition(), dependencies);
+		} else if (selector instanceof CSSElementSelectorImpl) {
+			String name = ((CSSElementSelectorImpl) selector).getLocalName();
+			if (name != null) {
+				dependencies.names.add(name);
+			}
+		} else {
+			// for example the siblings of ancestors
+			trackable = false;
+		}
+	}
+
+	private void addDependencies(Condition condition, Dependencies dependencies) {
+		if (condition instanceof CSSAndConditionImpl) {
+			addDependencies(((CombinatorCondition) condition).getFirstCondition(), dependencies);
+			addDependencies(((CombinatorCondition) condition).getSecondCondition(), dependencies);
+		} else if (condition instanceof CSSIdConditionImpl) {
+			dependencies.ids.add(((AttributeCondition) condition).getValue());
+		} else if (condition instanceof CSSClassConditionImpl) {
+			dependencies.classes.add(((AttributeCondition) condition).getValue());
+		} else if (condition instanceof CSSPseudoClassConditionImpl) {
+			dependencies.pseudoClasses.add(((AttributeCondition) condition).getValue());
+		} else if (condition instanceof ExtendedCondition && !(condition instanceof CombinatorCondition)) {
+			// attribute and language conditions
+			((ExtendedCondition) condition).fillAttributeSet(dependencies.attributes);
+		} else {
+			trackable = false;
+		}
+	}
+
+	/**
+	 * Returns the condition that a matching element must fulfill and that
+	 * selects the smallest bucket.
+	 */
+	private static AttributeCondition getKeyCondition(Condition condition) {
+		if (condition instanceof CSSIdConditionImpl || condition instanceof CSSClassConditionImpl
+				|| condition instanceof CSSPseudoClassConditionImpl) {
+			return (AttributeCondition) condition;
+		}
+		if (condition instanceof CSSAndConditionImpl) {
+			AttributeCondition first = getKeyCondition(((CombinatorCondition) condition).getFirstCondition());
+			AttributeCondition second = getKeyCondition(((CombinatorCondition) condition).getSecondCondition());
+			return getRank(first) >= getRank(second) ? first : second;
+		}
+		return null;
+	}
+
+	private static int getRank(AttributeCondition condition) {
+		if (condition instanceof CSSIdConditionImpl) {
+			return 3;
+		}
+		if (condition instanceof CSSClassConditionImpl) {
+			return 2;
+		}
+		if (condition instanceof CSSPseudoClassConditionImpl) {
+			return 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the symbol of the given string, adding it to the symbols of the
+	 * index if necessary.
+	 */
+	int intern(String string) {
+		Integer symbol = symbols.get(string);
+		if (symbol == null) {
+			symbol = Integer.valueOf(symbols.size());
+			symbols.put(string, symbol);
+		}
+		return symbol.intValue();
+	}
+
+	/**
+	 * Returns the symbol of the given element name, id or class.
+	 *
+	 * @param string the string, may be <code>null</code>
+	 * @return the symbol, or -1 if no selector tests the string
+	 */
+	int getSymbol(String string) {
+		if (string == null) {
+			return -1;
+		}
+		Integer symbol = symbols.get(string);
+		return symbol == null ? -1 : symbol.intValue();
+	}
+
+	/**
+	 * Returns the symbols of the classes of an element that selectors test.
+	 * The symbols are remembered for each class attribute, which the elements
+	 * of a widget usually share.
+	 *
+	 * @param classNames the class attribute of the element, may be
+	 *                   <code>null</code>
+	 * @return the distinct symbols of the classes, must not be modified
+	 */
+	int[] getClassSymbols(String classNames) {
+		if (classNames == null || classNames.isEmpty()) {
+			return NO_SYMBOLS;
+		}
+		int[] result = classSets.get(classNames);
+		if (result != null) {
+			return result;
+		}
+		int[] classSymbols = new int[classNames.length()];
+		int count = 0;
+		int length = classNames.length();
+		int start = 0;
+		for (int i = 0; i <= length; i++) {
+			if (i == length || Character.isSpaceChar(classNames.charAt(i))) {
+				if (i > start) {
+					int symbol = getSymbol(classNames.substring(start, i));
+					if (symbol != -1) {
+						classSymbols[count++] = symbol;
+					}
+				}
+				start = i + 1;
+			}
+		}
+		result = Arrays.stream(classSymbols, 0, count).distinct().toArray();
+		if (classSets.size() >= MAX_CLASS_SETS) {
+			classSets.clear();
+		}
+		classSets.put(classNames, result);
+		return result;
+	}
+
+	/**
+	 * Returns the number of indexed selectors.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns whether the rules that match an element only depend on the
+	 * states returned by {@link #getStyleState(Element)} and
+	 * {@link #getContextState(Element)}.
+	 */
+	boolean isTrackable() {
+		return trackable;
+	}
+
+	/**
+	 * Returns the state of the element that the selectors test on the element
+	 * itself and on its preceding sibling: the ids, classes and pseudo-classes
+	 * that the selectors test, and the values of the attributes that they test.
+	 *
+	 * @param elt the element
+	 * @return the state of the element
+	 */
+	String getStyleState(Element elt) {
+		StringBuilder state = new StringBuilder();
+		subject.appendState(state, elt);
+		if (!sibling.isEmpty()) {
+			Node n = elt;
+			while ((n = n.getPreviousSibling()) != null && n.getNodeType() != Node.ELEMENT_NODE) {
+			}
+			if (n != null) {
+				state.append('+');
+				sibling.appendState(state, (Element) n);
+			}
+		}
+		return state.toString();
+	}
+
+	/**
+	 * Returns the state of the element that the selectors test on the
+	 * ancestors of an element: the element names, ids, classes, pseudo-classes
+	 * and attribute values that the ancestor part of a selector tests.
+	 *
+	 * @param elt the element
+	 * @return the state of the element as an ancestor of other elements
+	 */
+	String getContextState(Element elt) {
+		StringBuilder state = new StringBuilder();
+		context.appendState(state, elt);
+		return state.toString();
+	}
+}
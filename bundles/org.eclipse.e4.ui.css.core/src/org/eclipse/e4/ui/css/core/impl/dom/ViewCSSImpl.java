@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
+import org.eclipse.e4.ui.css.core.impl.dom.StyleRuleIndex.IndexedSelector;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
@@ -47,6 +48,12 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Cached index of the combined CSS rules for the current stylesheets */
+	private StyleRuleIndex currentRuleIndex;
+	/** Reused matcher of the selectors of the current rule index */
+	private SelectorMatcher currentMatcher;
+	/** Incremented whenever a stylesheet is added or removed */
+	private int styleSheetsRevision;
 
 	/**
 	 * Creates a new ViewCSS.
@@ -73,6 +80,9 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
+		if (this.ruleCachingEnabled) {
+			return getComputedStyle(getMatcher(), elt, pseudoElt);
+		}
 		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
 	}
 
@@ -111,7 +121,96 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		return cssRules;
 	}
 
-	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+	/**
+	 * Retrieves the index of the combined CSS rules, which is cached like the
+	 * rules themselves.
+	 *
+	 * @return the index of the CSS rules for all style sheets
+	 */
+	private StyleRuleIndex getRuleIndex() {
+		if (this.currentRuleIndex == null) {
+			this.currentRuleIndex = new StyleRuleIndex(getCombinedRules());
+		}
+		return this.currentRuleIndex;
+	}
+
+	/**
+	 * Retrieves the matcher of the selectors of the rule index. A new matcher
+	 * is returned if the cached one is in use, which only happens if styles
+	 * are computed while matching selectors.
+	 *
+	 * @return a matcher that is not in use
+	 */
+	private SelectorMatcher getMatcher() {
+		if (this.currentMatcher == null) {
+			this.currentMatcher = new SelectorMatcher(getRuleIndex());
+		}
+		if (this.currentMatcher.isMatching()) {
+			return new SelectorMatcher(getRuleIndex());
+		}
+		return this.currentMatcher;
+	}
+
+	/**
+	 * Returns the state of the ancestors of an element that the selectors of
+	 * the CSS rules test, from the root of the document down to the given
+	 * parent of the element. The state changes whenever a stylesheet is added
+	 * or removed.
+	 *
+	 * @param parent the parent of the element, may be <code>null</code>
+	 * @return the state of the ancestors, or <code>null</code> if the rules
+	 *         that match an element do not only depend on the states returned
+	 *         by this class
+	 * @see #getStyleState(Element)
+	 */
+	public String getContextState(Node parent) {
+		if (!this.ruleCachingEnabled || !getRuleIndex().isTrackable()) {
+			return null;
+		}
+		List<Element> ancestors = new ArrayList<>();
+		for (Node n = parent; n instanceof Element; n = n.getParentNode()) {
+			ancestors.add((Element) n);
+		}
+		String context = Integer.toString(styleSheetsRevision);
+		for (int i = ancestors.size() - 1; i >= 0; i--) {
+			context = getContextState(ancestors.get(i), context);
+		}
+		return context;
+	}
+
+	/**
+	 * Returns the state of the ancestors of the children of the given element,
+	 * like {@link #getContextState(Node)} but without visiting the ancestors
+	 * of the element again.
+	 *
+	 * @param elt     the element
+	 * @param context the state of the ancestors of the element, may be
+	 *                <code>null</code>
+	 * @return the state of the ancestors of the children, or <code>null</code>
+	 *         if the given state is <code>null</code>
+	 */
+	public String getContextState(Element elt, String context) {
+		if (context == null) {
+			return null;
+		}
+		return context + '/' + getRuleIndex().getContextState(elt);
+	}
+
+	/**
+	 * Returns the state of the element that the selectors of the CSS rules
+	 * test on the element itself and on its preceding sibling. As long as this
+	 * state and the state of its ancestors do not change, the same rules match
+	 * the element.
+	 *
+	 * @param elt the element
+	 * @return the state of the element
+	 * @see #getContextState(Node)
+	 */
+	public String getStyleState(Element elt) {
+		return getRuleIndex().getStyleState(elt);
+	}
+
+	private static Node[] getHierarchy(Element elt) {
 		Node parent = elt.getParentNode();
 
 		Node[] hierarchy = null;
@@ -122,6 +221,29 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 			}
 			hierarchy = hierarchyList.toArray(new Node[hierarchyList.size()]);
 		}
+		return hierarchy;
+	}
+
+	private CSSStyleDeclaration getComputedStyle(SelectorMatcher matcher, Element elt, String pseudoElt) {
+		int count = matcher.match(elt, pseudoElt);
+		if (count == 0) {
+			return null;
+		}
+		if (count == 1) {
+			return matcher.getMatch(0).style;
+		}
+		// the matches are in no particular order, the order of the rules
+		// decides between matches with the same specificity
+		List<StyleWrapper> styleDeclarations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			IndexedSelector match = matcher.getMatch(i);
+			styleDeclarations.add(new StyleWrapper(match.style, match.specificity, match.order));
+		}
+		return new CSSComputedStyleImpl(styleDeclarations);
+	}
+
+	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+		Node[] hierarchy = getHierarchy(elt);
 
 		List<StyleWrapper> styleDeclarations = null;
 		StyleWrapper firstStyleDeclaration = null;
@@ -172,10 +294,16 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		currentMatcher = null;
+		styleSheetsRevision++;
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		currentMatcher = null;
+		styleSheetsRevision++;
 	}
 }
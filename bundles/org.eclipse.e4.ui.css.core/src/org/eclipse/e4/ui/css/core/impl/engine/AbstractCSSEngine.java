@@ -54,6 +54,7 @@ import org.eclipse.e4.ui.css.core.dom.properties.converters.ICSSValueConverter;
 import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.engine.CSSErrorHandler;
+import org.eclipse.e4.ui.css.core.engine.CSSStyleSheetCache;
 import org.eclipse.e4.ui.css.core.exceptions.UnsupportedPropertyException;
 import org.eclipse.e4.ui.css.core.impl.dom.CSSRuleListImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.CSSStyleSheetImpl;
@@ -148,12 +149,54 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	private Map<String, String> currentCSSPropertiesApplied;
 
+	/**
+	 * The key of the {@link AppliedStyles} in the context of an element.
+	 */
+	private static final String APPLIED_STYLES_KEY = "org.eclipse.e4.ui.css.core.appliedStyles";
+
+	/**
+	 * Incremented by {@link #invalidateAppliedStyles()} to style all elements
+	 * completely again.
+	 */
+	private int appliedStylesRevision;
+
+	/**
+	 * The styles last applied to an element by
+	 * {@link #applyStyles(Object, boolean, boolean)}.
+	 */
+	private static final class AppliedStyles {
+
+		int revision;
+
+		/**
+		 * The state of the element that the style rules test, see
+		 * {@link ViewCSSImpl#getStyleState(Element)}, and its inline style.
+		 */
+		String state;
+
+		/**
+		 * The state of the ancestors of the element that the style rules test.
+		 */
+		String context;
+
+		/**
+		 * The CSS text of the applied property values, by pseudo instance and
+		 * property.
+		 */
+		final Map<String, String> values = new HashMap<>();
+	}
+
 	private boolean throwError;
 
 	private Map<Object, ICSSValueConverter> valueConverters = null;
 
 	private int parseImport;
 
+	/**
+	 * The cache of the parsed style sheets, may be <code>null</code>.
+	 */
+	private CSSStyleSheetCache styleSheetCache;
+
 	private ResourceRegistryKeyFactory keyFactory;
 
 	public AbstractCSSEngine() {
@@ -187,7 +230,8 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		// Check that CharacterStream or ByteStream is not null
 		checkInputSource(source);
 		CSSParser parser = makeCSSParser();
-		CSSStyleSheet styleSheet = parser.parseStyleSheet(source);
+		CSSStyleSheet styleSheet = styleSheetCache != null ? styleSheetCache.parseStyleSheet(parser, source)
+				: parser.parseStyleSheet(source);
 
 		CSSRuleList rules = styleSheet.getCssRules();
 		int length = rules.getLength();
@@ -250,6 +294,11 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		return s;
 	}
 
+	@Override
+	public void setStyleSheetCache(CSSStyleSheetCache styleSheetCache) {
+		this.styleSheetCache = styleSheetCache;
+	}
+
 	private void processNodeList(NodeList nodes, BiConsumer<Node, Boolean> consumer, boolean applyStylesToChildNodes) {
 		if (nodes instanceof IStreamingNodeList) {
 			((IStreamingNodeList) nodes).stream().forEach(child -> {
@@ -375,15 +424,94 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		if (elt == null || !isVisible(elt)) {
 			return;
 		}
+		String context = null;
+		if (viewCSS instanceof ViewCSSImpl) {
+			context = ((ViewCSSImpl) viewCSS).getContextState(elt.getParentNode());
+		}
+		applyStyles(element, elt, applyStylesToChildNodes, computeDefaultStyle, context, true);
+	}
+
+	/**
+	 * Applies the styles to the element and optionally its child nodes.
+	 * <p>
+	 * If the state of the element and of its ancestors that the style rules
+	 * test is known, child nodes that match the same style rules as when their
+	 * styles were last applied are not styled again, and only the property
+	 * values that differ from the last applied ones are applied to the other
+	 * child nodes. The element itself is always styled completely, since
+	 * property handlers may depend on the state of the widget.
+	 * </p>
+	 *
+	 * @param context the state of the ancestors of the element as returned by
+	 *                {@link ViewCSSImpl#getContextState(org.w3c.dom.Node)}, or
+	 *                <code>null</code> if it is not known
+	 * @param force   <code>true</code> to style the element completely
+	 */
+	private void applyStyles(Object element, Element elt, boolean applyStylesToChildNodes, boolean computeDefaultStyle,
+			String context, boolean force) {
+		AppliedStyles applied = null;
+		boolean unchanged = false;
+		CSSElementContext elementContext = context != null ? getCSSElementContext(elt) : null;
+		if (elementContext != null) {
+			String state = ((ViewCSSImpl) viewCSS).getStyleState(elt);
+			if (elt instanceof CSSStylableElement) {
+				state += '\0' + ((CSSStylableElement) elt).getCSSStyle();
+			}
+			applied = (AppliedStyles) elementContext.getData(APPLIED_STYLES_KEY);
+			if (force || computeDefaultStyle || applied == null || applied.revision != appliedStylesRevision) {
+				applied = new AppliedStyles();
+				elementContext.setData(APPLIED_STYLES_KEY, applied);
+			} else {
+				unchanged = state.equals(applied.state) && context.equals(applied.context);
+			}
+			applied.revision = appliedStylesRevision;
+			applied.state = state;
+			applied.context = context;
+		}
+
+		if (computeDefaultStyle && applyStylesToChildNodes) {
+			this.computeDefaultStyle = computeDefaultStyle;
+		}
+		if (!unchanged) {
+			applyStyles(element, elt, computeDefaultStyle, applied != null ? applied.values : null);
+		}
 
+		if (applyStylesToChildNodes) {
+			/*
+			 * Style all children recursive.
+			 */
+			NodeList nodes = elt instanceof ChildVisibilityAwareElement
+					? ((ChildVisibilityAwareElement) elt).getVisibleChildNodes()
+							: elt.getChildNodes();
+					if (nodes != null) {
+						String childContext = context != null ? ((ViewCSSImpl) viewCSS).getContextState(elt, context)
+								: null;
+						processNodeList(nodes, (child, applyToChildNodes) -> {
+							Element childElt = getElement(child);
+							if (childElt != null && isVisible(childElt)) {
+								applyStyles(child, childElt, applyToChildNodes, this.computeDefaultStyle, childContext,
+										false);
+							}
+						}, applyStylesToChildNodes);
+						onStylesAppliedToChildNodes(elt, nodes);
+					}
+		}
+	}
+
+	/**
+	 * Applies the styles to the element only.
+	 *
+	 * @param appliedValues the CSS text of the property values already applied
+	 *                      to the element, by pseudo instance and property, may
+	 *                      be <code>null</code>
+	 */
+	private void applyStyles(Object element, Element elt, boolean computeDefaultStyle,
+			Map<String, String> appliedValues) {
 		/*
 		 * Compute new Style to apply.
 		 */
 		CSSStyleDeclaration style = viewCSS.getComputedStyle(elt, null);
 		if (computeDefaultStyle) {
-			if (applyStylesToChildNodes) {
-				this.computeDefaultStyle = computeDefaultStyle;
-			}
 			/*
 			 * Apply default style.
 			 */
@@ -409,16 +537,17 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				if (styleWithPseudoInstance != null) {
 					CSSRule parentRule = styleWithPseudoInstance.getParentRule();
 					if (parentRule instanceof ExtendedCSSRule) {
-						applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
+						applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element,
+								styleWithPseudoInstance, appliedValues);
 					} else {
-						applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
+						applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance, appliedValues);
 					}
 				}
 			}
 		}
 
 		if (style != null) {
-			applyStyleDeclaration(elt, style, null);
+			applyStyleDeclaration(elt, style, null, appliedValues);
 		}
 		try {
 			// Apply inline style
@@ -426,19 +555,17 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		} catch (Exception e) {
 			handleExceptions(e);
 		}
+	}
 
-		if (applyStylesToChildNodes) {
-			/*
-			 * Style all children recursive.
-			 */
-			NodeList nodes = elt instanceof ChildVisibilityAwareElement
-					? ((ChildVisibilityAwareElement) elt).getVisibleChildNodes()
-							: elt.getChildNodes();
-					if (nodes != null) {
-						processNodeList(nodes, this::applyStyles, applyStylesToChildNodes);
-						onStylesAppliedToChildNodes(elt, nodes);
-					}
-		}
+	/**
+	 * Forgets which styles have been applied to the elements, so that
+	 * {@link #applyStyles(Object, boolean, boolean)} styles the child nodes
+	 * completely again. Must be called when the values of properties may have
+	 * changed although their CSS text is the same, for example because the
+	 * resources of the resources registry have been disposed.
+	 */
+	protected void invalidateAppliedStyles() {
+		appliedStylesRevision++;
 	}
 
 	/**
@@ -468,7 +595,8 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		return true;
 	}
 
-	private void applyConditionalPseudoStyle(ExtendedCSSRule parentRule, String pseudoInstance, Object element, CSSStyleDeclaration styleWithPseudoInstance) {
+	private void applyConditionalPseudoStyle(ExtendedCSSRule parentRule, String pseudoInstance, Object element,
+			CSSStyleDeclaration styleWithPseudoInstance, Map<String, String> appliedValues) {
 		SelectorList selectorList = parentRule.getSelectorList();
 		for (int j = 0; j < selectorList.getLength(); j++) {
 			Selector item = selectorList.item(j);
@@ -500,7 +628,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 					String value = attr.getValue();
 					if (value.equals(pseudoInstance)) {
 						// if we match the pseudo, apply the style
-						applyStyleDeclaration(element, styleWithPseudoInstance, pseudoInstance);
+						applyStyleDeclaration(element, styleWithPseudoInstance, pseudoInstance, appliedValues);
 						return;
 					}
 				}
@@ -530,6 +658,20 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public void applyStyleDeclaration(Object element, CSSStyleDeclaration style, String pseudo) {
+		applyStyleDeclaration(element, style, pseudo, null);
+	}
+
+	/**
+	 * Applies the style declaration, skipping the properties whose values have
+	 * already been applied to the element.
+	 *
+	 * @param appliedValues the CSS text of the property values already applied
+	 *                      to the element, by pseudo instance and property, which
+	 *                      is updated with the values of the style declaration;
+	 *                      may be <code>null</code> to apply all properties
+	 */
+	private void applyStyleDeclaration(Object element, CSSStyleDeclaration style, String pseudo,
+			Map<String, String> appliedValues) {
 		// Apply style
 		boolean avoidanceCacheInstalled = currentCSSPropertiesApplied == null;
 		if (avoidanceCacheInstalled) {
@@ -539,6 +681,14 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		for (int i = 0; i < style.getLength(); i++) {
 			String property = style.item(i);
 			CSSValue value = style.getPropertyCSSValue(property);
+			if (appliedValues != null && value != null) {
+				String cssText = value.getCssText();
+				String previous = appliedValues.put(pseudo == null ? property : pseudo + ':' + property, cssText);
+				if (cssText.equals(previous) && !"inherit".equals(cssText)) {
+					// the value has already been applied to the element
+					continue;
+				}
+			}
 			try {
 				ICSSPropertyHandler handler = this.applyCSSProperty(element, property, value, pseudo);
 				ICSSPropertyHandler2 propertyHandler2 = null;
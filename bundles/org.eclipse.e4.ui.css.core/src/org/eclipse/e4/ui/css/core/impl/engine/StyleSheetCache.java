@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.eclipse.e4.ui.css.core.dom.parsers.CSSParser;
+import org.eclipse.e4.ui.css.core.engine.CSSStyleSheetCache;
+import org.eclipse.e4.ui.css.core.sac.DocumentHandlerFactory;
+import org.eclipse.e4.ui.css.core.sac.ExtendedDocumentHandler;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.css.CSSStyleSheet;
+
+/**
+ * An on-disk cache of parsed style sheets, so that the style sheets of a theme
+ * do not have to be parsed again on every start.
+ * <p>
+ * The cache keeps the SAC events of every style sheet parsed with a URI in a
+ * binary form, together with the checksum of its content. When a style sheet
+ * with the same URI and content is parsed again, the events are sent to the
+ * document handler without running the parser. Imported style sheets are
+ * parsed separately by the engine, so each of them has its own entry and is
+ * checked on its own.
+ * </p>
+ * <p>
+ * The whole cache is discarded if it was written with a different version,
+ * which the creator of the cache derives from the versions of the bundles that
+ * parse and contribute the style sheets. Only the style sheets parsed since the
+ * cache was loaded are written by {@link #save()}, so entries of style sheets
+ * that are no longer used do not accumulate.
+ * </p>
+ */
+public final class StyleSheetCache implements CSSStyleSheetCache {
+
+	private static final int MAGIC = 0x45344353; // E4CS
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final class Entry {
+
+		final long checksum;
+
+		final byte[] events;
+
+		Entry(long checksum, byte[] events) {
+			this.checksum = checksum;
+			this.events = events;
+		}
+	}
+
+	private final File file;
+
+	private final String version;
+
+	private Map<String, Entry> entries;
+
+	private final Set<String> used = new HashSet<>();
+
+	private boolean dirty;
+
+	/**
+	 * @param file    the file of the cache, which does not need to exist
+	 * @param version the version of the cached style sheets, a cache written
+	 *                with another version is discarded
+	 */
+	public StyleSheetCache(File file, String version) {
+		this.file = file;
+		this.version = version;
+	}
+
+	@Override
+	public synchronized CSSStyleSheet parseStyleSheet(CSSParser parser, InputSource source) throws IOException {
+		String uri = source.getURI();
+		if (uri == null) {
+			return parser.parseStyleSheet(source);
+		}
+
+		// read the whole content, which is needed for the checksum anyway
+		InputSource content = new InputSource(uri);
+		content.setEncoding(source.getEncoding());
+		content.setMedia(source.getMedia());
+		content.setTitle(source.getTitle());
+		CRC32 crc = new CRC32();
+		Reader reader = source.getCharacterStream();
+		if (reader != null) {
+			StringBuilder builder = new StringBuilder();
+			char[] buffer = new char[8192];
+			for (int n = reader.read(buffer); n != -1; n = reader.read(buffer)) {
+				builder.append(buffer, 0, n);
+			}
+			String text = builder.toString();
+			crc.update(text.getBytes(StandardCharsets.UTF_8));
+			content.setCharacterStream(new StringReader(text));
+		} else {
+			byte[] bytes = source.getByteStream().readAllBytes();
+			crc.update(bytes);
+			content.setByteStream(new ByteArrayInputStream(bytes));
+		}
+		long checksum = crc.getValue();
+
+		Entry entry = getEntries().get(uri);
+		if (entry != null && entry.checksum == checksum) {
+			ExtendedDocumentHandler handler = DocumentHandlerFactory.newInstance().makeDocumentHandler();
+			try {
+				new StyleSheetReplayer(entry.events, parser.getSelectorFactory(), parser.getConditionFactory())
+						.replay(handler, content);
+				used.add(uri);
+				return (CSSStyleSheet) handler.getNodeRoot();
+			} catch (IOException | RuntimeException e) {
+				// the entry is corrupt, parse the style sheet instead
+				entries.remove(uri);
+				dirty = true;
+			}
+		}
+
+		StyleSheetRecorder recorder = new StyleSheetRecorder(
+				DocumentHandlerFactory.newInstance().makeDocumentHandler());
+		parser.setDocumentHandlerFactory(new DocumentHandlerFactory() {
+			@Override
+			public ExtendedDocumentHandler makeDocumentHandler() {
+				return recorder;
+			}
+		});
+		CSSStyleSheet styleSheet;
+		try {
+			styleSheet = parser.parseStyleSheet(content);
+		} finally {
+			parser.setDocumentHandlerFactory(null);
+		}
+		byte[] events = recorder.getEvents();
+		if (events != null) {
+			entries.put(uri, new Entry(checksum, events));
+			used.add(uri);
+			dirty = true;
+		}
+		return styleSheet;
+	}
+
+	@Override
+	public synchronized void save() throws IOException {
+		if (!dirty) {
+			return;
+		}
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		// write a temporary file first, so that a failure does not leave a
+		// truncated cache behind
+		File temp = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(version);
+			out.writeInt(used.size());
+			for (String uri : used) {
+				Entry entry = entries.get(uri);
+				out.writeUTF(uri);
+				out.writeLong(entry.checksum);
+				out.writeInt(entry.events.length);
+				out.write(entry.events);
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		dirty = false;
+	}
+
+	private Map<String, Entry> getEntries() {
+		if (entries == null) {
+			entries = new HashMap<>();
+			try {
+				load();
+			} catch (IOException e) {
+				// a missing, outdated or corrupt cache is rebuilt
+				entries.clear();
+			}
+		}
+		return entries;
+	}
+
+	private void load() throws IOException {
+		if (!file.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !version.equals(in.readUTF())) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String uri = in.readUTF();
+				long checksum = in.readLong();
+				byte[] events = new byte[in.readInt()];
+				in.readFully(events);
+				entries.put(uri, new Entry(checksum, events));
+			}
+		}
+	}
+}
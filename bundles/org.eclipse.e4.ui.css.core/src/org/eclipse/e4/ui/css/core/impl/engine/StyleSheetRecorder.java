@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Stack;
+import org.eclipse.e4.ui.css.core.sac.ExtendedDocumentHandler;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CSSException;
+import org.w3c.css.sac.CharacterDataSelector;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.ContentCondition;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.InputSource;
+import org.w3c.css.sac.LangCondition;
+import org.w3c.css.sac.LexicalUnit;
+import org.w3c.css.sac.NegativeCondition;
+import org.w3c.css.sac.NegativeSelector;
+import org.w3c.css.sac.PositionalCondition;
+import org.w3c.css.sac.ProcessingInstructionSelector;
+import org.w3c.css.sac.SACMediaList;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+
+/**
+ * A document handler that records the SAC events of a parsed style sheet in a
+ * binary form, while passing them on to the document handler that builds the
+ * style sheet. {@link StyleSheetReplayer} sends the recorded events to a
+ * document handler again, without parsing the style sheet.
+ * <p>
+ * If an event cannot be recorded, for example because a selector is of a
+ * type the recorder does not know, the events are still passed on and
+ * {@link #getEvents()} returns <code>null</code>.
+ * </p>
+ */
+class StyleSheetRecorder implements ExtendedDocumentHandler {
+
+	static final byte START_DOCUMENT = 1;
+	static final byte END_DOCUMENT = 2;
+	static final byte IGNORABLE_AT_RULE = 3;
+	static final byte NAMESPACE_DECLARATION = 4;
+	static final byte IMPORT_STYLE = 5;
+	static final byte START_MEDIA = 6;
+	static final byte END_MEDIA = 7;
+	static final byte START_PAGE = 8;
+	static final byte END_PAGE = 9;
+	static final byte START_FONT_FACE = 10;
+	static final byte END_FONT_FACE = 11;
+	static final byte START_SELECTOR = 12;
+	static final byte END_SELECTOR = 13;
+	static final byte PROPERTY = 14;
+
+	/**
+	 * Ends a chain of lexical units.
+	 */
+	static final short END_OF_UNITS = -1;
+
+	private final ExtendedDocumentHandler delegate;
+
+	private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+	private final DataOutputStream out = new DataOutputStream(bytes);
+
+	private boolean failed;
+
+	StyleSheetRecorder(ExtendedDocumentHandler delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns the recorded events, or <code>null</code> if not all events
+	 * could be recorded.
+	 */
+	byte[] getEvents() {
+		return failed ? null : bytes.toByteArray();
+	}
+
+	@Override
+	public Object getNodeRoot() {
+		return delegate.getNodeRoot();
+	}
+
+	@Override
+	public void setNodeStack(Stack<Object> stack) {
+		delegate.setNodeStack(stack);
+	}
+
+	@Override
+	public void startDocument(InputSource source) throws CSSException {
+		record(START_DOCUMENT, () -> {
+		});
+		delegate.startDocument(source);
+	}
+
+	@Override
+	public void endDocument(InputSource source) throws CSSException {
+		record(END_DOCUMENT, () -> {
+		});
+		delegate.endDocument(source);
+	}
+
+	@Override
+	public void comment(String text) throws CSSException {
+		// comments do not contribute to the style sheet
+		delegate.comment(text);
+	}
+
+	@Override
+	public void ignorableAtRule(String atRule) throws CSSException {
+		record(IGNORABLE_AT_RULE, () -> writeString(atRule));
+		delegate.ignorableAtRule(atRule);
+	}
+
+	@Override
+	public void namespaceDeclaration(String prefix, String uri) throws CSSException {
+		record(NAMESPACE_DECLARATION, () -> {
+			writeString(prefix);
+			writeString(uri);
+		});
+		delegate.namespaceDeclaration(prefix, uri);
+	}
+
+	@Override
+	public void importStyle(String uri, SACMediaList media, String defaultNamespaceURI) throws CSSException {
+		record(IMPORT_STYLE, () -> {
+			writeString(uri);
+			writeMediaList(media);
+			writeString(defaultNamespaceURI);
+		});
+		delegate.importStyle(uri, media, defaultNamespaceURI);
+	}
+
+	@Override
+	public void startMedia(SACMediaList media) throws CSSException {
+		record(START_MEDIA, () -> writeMediaList(media));
+		delegate.startMedia(media);
+	}
+
+	@Override
+	public void endMedia(SACMediaList media) throws CSSException {
+		record(END_MEDIA, () -> writeMediaList(media));
+		delegate.endMedia(media);
+	}
+
+	@Override
+	public void startPage(String name, String pseudoPage) throws CSSException {
+		record(START_PAGE, () -> {
+			writeString(name);
+			writeString(pseudoPage);
+		});
+		delegate.startPage(name, pseudoPage);
+	}
+
+	@Override
+	public void endPage(String name, String pseudoPage) throws CSSException {
+		record(END_PAGE, () -> {
+			writeString(name);
+			writeString(pseudoPage);
+		});
+		delegate.endPage(name, pseudoPage);
+	}
+
+	@Override
+	public void startFontFace() throws CSSException {
+		record(START_FONT_FACE, () -> {
+		});
+		delegate.startFontFace();
+	}
+
+	@Override
+	public void endFontFace() throws CSSException {
+		record(END_FONT_FACE, () -> {
+		});
+		delegate.endFontFace();
+	}
+
+	@Override
+	public void startSelector(SelectorList selectors) throws CSSException {
+		record(START_SELECTOR, () -> {
+			out.writeInt(selectors.getLength());
+			for (int i = 0; i < selectors.getLength(); i++) {
+				writeSelector(selectors.item(i));
+			}
+		});
+		delegate.startSelector(selectors);
+	}
+
+	@Override
+	public void endSelector(SelectorList selectors) throws CSSException {
+		record(END_SELECTOR, () -> {
+		});
+		delegate.endSelector(selectors);
+	}
+
+	@Override
+	public void property(String name, LexicalUnit value, boolean important) throws CSSException {
+		record(PROPERTY, () -> {
+			writeString(name);
+			writeLexicalUnits(value);
+			out.writeBoolean(important);
+		});
+		delegate.property(name, value, important);
+	}
+
+	private interface EventWriter {
+		void write() throws IOException;
+	}
+
+	private void record(byte event, EventWriter writer) {
+		if (failed) {
+			return;
+		}
+		try {
+			out.writeByte(event);
+			writer.write();
+		} catch (IOException e) {
+			failed = true;
+		}
+	}
+
+	private void writeString(String s) throws IOException {
+		out.writeBoolean(s != null);
+		if (s != null) {
+			out.writeUTF(s);
+		}
+	}
+
+	private void writeMediaList(SACMediaList media) throws IOException {
+		int length = media == null ? 0 : media.getLength();
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			writeString(media.item(i));
+		}
+	}
+
+	private void writeSelector(Selector selector) throws IOException {
+		short type = selector.getSelectorType();
+		out.writeShort(type);
+		switch (type) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			writeSelector(((ConditionalSelector) selector).getSimpleSelector());
+			writeCondition(((ConditionalSelector) selector).getCondition());
+			break;
+		case Selector.SAC_ANY_NODE_SELECTOR:
+		case Selector.SAC_ROOT_NODE_SELECTOR:
+			break;
+		case Selector.SAC_NEGATIVE_SELECTOR:
+			writeSelector(((NegativeSelector) selector).getSimpleSelector());
+			break;
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			writeString(((ElementSelector) selector).getNamespaceURI());
+			writeString(((ElementSelector) selector).getLocalName());
+			break;
+		case Selector.SAC_TEXT_NODE_SELECTOR:
+		case Selector.SAC_CDATA_SECTION_NODE_SELECTOR:
+		case Selector.SAC_COMMENT_NODE_SELECTOR:
+			writeString(((CharacterDataSelector) selector).getData());
+			break;
+		case Selector.SAC_PROCESSING_INSTRUCTION_NODE_SELECTOR:
+			writeString(((ProcessingInstructionSelector) selector).getTarget());
+			writeString(((ProcessingInstructionSelector) selector).getData());
+			break;
+		case Selector.SAC_DESCENDANT_SELECTOR:
+		case Selector.SAC_CHILD_SELECTOR:
+			writeSelector(((DescendantSelector) selector).getAncestorSelector());
+			writeSelector(((DescendantSelector) selector).getSimpleSelector());
+			break;
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			out.writeShort(((SiblingSelector) selector).getNodeType());
+			writeSelector(((SiblingSelector) selector).getSelector());
+			writeSelector(((SiblingSelector) selector).getSiblingSelector());
+			break;
+		default:
+			throw new IOException("Unsupported selector type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private void writeCondition(Condition condition) throws IOException {
+		short type = condition.getConditionType();
+		out.writeShort(type);
+		switch (type) {
+		case Condition.SAC_AND_CONDITION:
+		case Condition.SAC_OR_CONDITION:
+			writeCondition(((CombinatorCondition) condition).getFirstCondition());
+			writeCondition(((CombinatorCondition) condition).getSecondCondition());
+			break;
+		case Condition.SAC_NEGATIVE_CONDITION:
+			writeCondition(((NegativeCondition) condition).getCondition());
+			break;
+		case Condition.SAC_POSITIONAL_CONDITION:
+			out.writeInt(((PositionalCondition) condition).getPosition());
+			out.writeBoolean(((PositionalCondition) condition).getTypeNode());
+			out.writeBoolean(((PositionalCondition) condition).getType());
+			break;
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			writeString(((AttributeCondition) condition).getLocalName());
+			writeString(((AttributeCondition) condition).getNamespaceURI());
+			out.writeBoolean(((AttributeCondition) condition).getSpecified());
+			writeString(((AttributeCondition) condition).getValue());
+			break;
+		case Condition.SAC_ID_CONDITION:
+			writeString(((AttributeCondition) condition).getValue());
+			break;
+		case Condition.SAC_CLASS_CONDITION:
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			writeString(((AttributeCondition) condition).getNamespaceURI());
+			writeString(((AttributeCondition) condition).getValue());
+			break;
+		case Condition.SAC_LANG_CONDITION:
+			writeString(((LangCondition) condition).getLang());
+			break;
+		case Condition.SAC_ONLY_CHILD_CONDITION:
+		case Condition.SAC_ONLY_TYPE_CONDITION:
+			break;
+		case Condition.SAC_CONTENT_CONDITION:
+			writeString(((ContentCondition) condition).getData());
+			break;
+		default:
+			throw new IOException("Unsupported condition type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private void writeLexicalUnits(LexicalUnit unit) throws IOException {
+		for (LexicalUnit u = unit; u != null; u = u.getNextLexicalUnit()) {
+			short type = u.getLexicalUnitType();
+			out.writeShort(type);
+			switch (type) {
+			case LexicalUnit.SAC_OPERATOR_COMMA:
+			case LexicalUnit.SAC_OPERATOR_PLUS:
+			case LexicalUnit.SAC_OPERATOR_MINUS:
+			case LexicalUnit.SAC_OPERATOR_MULTIPLY:
+			case LexicalUnit.SAC_OPERATOR_SLASH:
+			case LexicalUnit.SAC_OPERATOR_MOD:
+			case LexicalUnit.SAC_OPERATOR_EXP:
+			case LexicalUnit.SAC_OPERATOR_LT:
+			case LexicalUnit.SAC_OPERATOR_GT:
+			case LexicalUnit.SAC_OPERATOR_LE:
+			case LexicalUnit.SAC_OPERATOR_GE:
+			case LexicalUnit.SAC_OPERATOR_TILDE:
+			case LexicalUnit.SAC_INHERIT:
+				break;
+			case LexicalUnit.SAC_INTEGER:
+				out.writeInt(u.getIntegerValue());
+				break;
+			case LexicalUnit.SAC_REAL:
+			case LexicalUnit.SAC_EM:
+			case LexicalUnit.SAC_EX:
+			case LexicalUnit.SAC_PIXEL:
+			case LexicalUnit.SAC_INCH:
+			case LexicalUnit.SAC_CENTIMETER:
+			case LexicalUnit.SAC_MILLIMETER:
+			case LexicalUnit.SAC_POINT:
+			case LexicalUnit.SAC_PICA:
+			case LexicalUnit.SAC_PERCENTAGE:
+			case LexicalUnit.SAC_DEGREE:
+			case LexicalUnit.SAC_GRADIAN:
+			case LexicalUnit.SAC_RADIAN:
+			case LexicalUnit.SAC_MILLISECOND:
+			case LexicalUnit.SAC_SECOND:
+			case LexicalUnit.SAC_HERTZ:
+			case LexicalUnit.SAC_KILOHERTZ:
+				out.writeFloat(u.getFloatValue());
+				break;
+			case LexicalUnit.SAC_DIMENSION:
+				out.writeFloat(u.getFloatValue());
+				writeString(u.getDimensionUnitText());
+				break;
+			case LexicalUnit.SAC_URI:
+			case LexicalUnit.SAC_IDENT:
+			case LexicalUnit.SAC_STRING_VALUE:
+			case LexicalUnit.SAC_ATTR:
+			case LexicalUnit.SAC_UNICODERANGE:
+				writeString(u.getStringValue());
+				break;
+			case LexicalUnit.SAC_RGBCOLOR:
+			case LexicalUnit.SAC_COUNTER_FUNCTION:
+			case LexicalUnit.SAC_COUNTERS_FUNCTION:
+			case LexicalUnit.SAC_RECT_FUNCTION:
+				writeLexicalUnits(u.getParameters());
+				break;
+			case LexicalUnit.SAC_FUNCTION:
+				writeString(u.getFunctionName());
+				writeLexicalUnits(u.getParameters());
+				break;
+			default:
+				throw new IOException("Unsupported lexical unit type " + type); //$NON-NLS-1$
+			}
+		}
+		out.writeShort(END_OF_UNITS);
+	}
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.apache.batik.css.parser.CSSLexicalUnit;
+import org.apache.batik.css.parser.CSSSACMediaList;
+import org.apache.batik.css.parser.CSSSelectorList;
+import org.apache.batik.css.parser.DefaultConditionFactory;
+import org.apache.batik.css.parser.DefaultSelectorFactory;
+import org.eclipse.e4.ui.css.core.sac.ExtendedDocumentHandler;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionFactory;
+import org.w3c.css.sac.InputSource;
+import org.w3c.css.sac.LexicalUnit;
+import org.w3c.css.sac.SACMediaList;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorFactory;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SimpleSelector;
+
+/**
+ * Sends the SAC events recorded by a {@link StyleSheetRecorder} to a document
+ * handler. The selectors are created with the factories of the parser that
+ * would otherwise have parsed the style sheet, and the values with the lexical
+ * units of the Batik parser, so that the document handler builds the same
+ * style sheet as from the parsed source.
+ */
+class StyleSheetReplayer {
+
+	private final DataInputStream in;
+
+	private final SelectorFactory selectorFactory;
+
+	private final ConditionFactory conditionFactory;
+
+	/**
+	 * @param events           the recorded events
+	 * @param selectorFactory  the factory of the selectors, or
+	 *                         <code>null</code> for the default factory of the
+	 *                         parser
+	 * @param conditionFactory the factory of the conditions, or
+	 *                         <code>null</code> for the default factory of the
+	 *                         parser
+	 */
+	StyleSheetReplayer(byte[] events, SelectorFactory selectorFactory, ConditionFactory conditionFactory) {
+		this.in = new DataInputStream(new ByteArrayInputStream(events));
+		this.selectorFactory = selectorFactory != null ? selectorFactory : DefaultSelectorFactory.INSTANCE;
+		this.conditionFactory = conditionFactory != null ? conditionFactory : DefaultConditionFactory.INSTANCE;
+	}
+
+	/**
+	 * Sends the recorded events to the given document handler.
+	 *
+	 * @param handler the document handler
+	 * @param source  the source of the style sheet, passed to the handler
+	 * @throws IOException if the events are corrupt
+	 */
+	void replay(ExtendedDocumentHandler handler, InputSource source) throws IOException {
+		Deque<SelectorList> selectors = new ArrayDeque<>();
+		while (in.available() > 0) {
+			byte event = in.readByte();
+			switch (event) {
+			case StyleSheetRecorder.START_DOCUMENT:
+				handler.startDocument(source);
+				break;
+			case StyleSheetRecorder.END_DOCUMENT:
+				handler.endDocument(source);
+				break;
+			case StyleSheetRecorder.IGNORABLE_AT_RULE:
+				handler.ignorableAtRule(readString());
+				break;
+			case StyleSheetRecorder.NAMESPACE_DECLARATION:
+				handler.namespaceDeclaration(readString(), readString());
+				break;
+			case StyleSheetRecorder.IMPORT_STYLE:
+				handler.importStyle(readString(), readMediaList(), readString());
+				break;
+			case StyleSheetRecorder.START_MEDIA:
+				handler.startMedia(readMediaList());
+				break;
+			case StyleSheetRecorder.END_MEDIA:
+				handler.endMedia(readMediaList());
+				break;
+			case StyleSheetRecorder.START_PAGE:
+				handler.startPage(readString(), readString());
+				break;
+			case StyleSheetRecorder.END_PAGE:
+				handler.endPage(readString(), readString());
+				break;
+			case StyleSheetRecorder.START_FONT_FACE:
+				handler.startFontFace();
+				break;
+			case StyleSheetRecorder.END_FONT_FACE:
+				handler.endFontFace();
+				break;
+			case StyleSheetRecorder.START_SELECTOR:
+				CSSSelectorList list = new CSSSelectorList();
+				int length = in.readInt();
+				for (int i = 0; i < length; i++) {
+					list.append(readSelector());
+				}
+				selectors.push(list);
+				handler.startSelector(list);
+				break;
+			case StyleSheetRecorder.END_SELECTOR:
+				handler.endSelector(selectors.pop());
+				break;
+			case StyleSheetRecorder.PROPERTY:
+				handler.property(readString(), readLexicalUnits(), in.readBoolean());
+				break;
+			default:
+				throw new IOException("Unknown event " + event); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private String readString() throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private SACMediaList readMediaList() throws IOException {
+		CSSSACMediaList media = new CSSSACMediaList();
+		int length = in.readInt();
+		for (int i = 0; i < length; i++) {
+			media.append(readString());
+		}
+		return media;
+	}
+
+	private Selector readSelector() throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			SimpleSelector simple = (SimpleSelector) readSelector();
+			return selectorFactory.createConditionalSelector(simple, readCondition());
+		case Selector.SAC_ANY_NODE_SELECTOR:
+			return selectorFactory.createAnyNodeSelector();
+		case Selector.SAC_ROOT_NODE_SELECTOR:
+			return selectorFactory.createRootNodeSelector();
+		case Selector.SAC_NEGATIVE_SELECTOR:
+			return selectorFactory.createNegativeSelector((SimpleSelector) readSelector());
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+			return selectorFactory.createElementSelector(readString(), readString());
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			return selectorFactory.createPseudoElementSelector(readString(), readString());
+		case Selector.SAC_TEXT_NODE_SELECTOR:
+			return selectorFactory.createTextNodeSelector(readString());
+		case Selector.SAC_CDATA_SECTION_NODE_SELECTOR:
+			return selectorFactory.createCDataSectionSelector(readString());
+		case Selector.SAC_COMMENT_NODE_SELECTOR:
+			return selectorFactory.createCommentSelector(readString());
+		case Selector.SAC_PROCESSING_INSTRUCTION_NODE_SELECTOR:
+			return selectorFactory.createProcessingInstructionSelector(readString(), readString());
+		case Selector.SAC_DESCENDANT_SELECTOR:
+			Selector ancestor = readSelector();
+			return selectorFactory.createDescendantSelector(ancestor, (SimpleSelector) readSelector());
+		case Selector.SAC_CHILD_SELECTOR:
+			Selector parent = readSelector();
+			return selectorFactory.createChildSelector(parent, (SimpleSelector) readSelector());
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			short nodeType = in.readShort();
+			Selector child = readSelector();
+			return selectorFactory.createDirectAdjacentSelector(nodeType, child, (SimpleSelector) readSelector());
+		default:
+			throw new IOException("Unknown selector type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private Condition readCondition() throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Condition.SAC_AND_CONDITION:
+			Condition first = readCondition();
+			return conditionFactory.createAndCondition(first, readCondition());
+		case Condition.SAC_OR_CONDITION:
+			Condition either = readCondition();
+			return conditionFactory.createOrCondition(either, readCondition());
+		case Condition.SAC_NEGATIVE_CONDITION:
+			return conditionFactory.createNegativeCondition(readCondition());
+		case Condition.SAC_POSITIONAL_CONDITION:
+			return conditionFactory.createPositionalCondition(in.readInt(), in.readBoolean(), in.readBoolean());
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+			return conditionFactory.createAttributeCondition(readString(), readString(), in.readBoolean(),
+					readString());
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+			return conditionFactory.createOneOfAttributeCondition(readString(), readString(), in.readBoolean(),
+					readString());
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			return conditionFactory.createBeginHyphenAttributeCondition(readString(), readString(), in.readBoolean(),
+					readString());
+		case Condition.SAC_ID_CONDITION:
+			return conditionFactory.createIdCondition(readString());
+		case Condition.SAC_CLASS_CONDITION:
+			return conditionFactory.createClassCondition(readString(), readString());
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			return conditionFactory.createPseudoClassCondition(readString(), readString());
+		case Condition.SAC_LANG_CONDITION:
+			return conditionFactory.createLangCondition(readString());
+		case Condition.SAC_ONLY_CHILD_CONDITION:
+			return conditionFactory.createOnlyChildCondition();
+		case Condition.SAC_ONLY_TYPE_CONDITION:
+			return conditionFactory.createOnlyTypeCondition();
+		case Condition.SAC_CONTENT_CONDITION:
+			return conditionFactory.createContentCondition(readString());
+		default:
+			throw new IOException("Unknown condition type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private LexicalUnit readLexicalUnits() throws IOException {
+		LexicalUnit first = null;
+		LexicalUnit previous = null;
+		for (short type = in.readShort(); type != StyleSheetRecorder.END_OF_UNITS; type = in.readShort()) {
+			LexicalUnit unit;
+			switch (type) {
+			case LexicalUnit.SAC_OPERATOR_COMMA:
+			case LexicalUnit.SAC_OPERATOR_PLUS:
+			case LexicalUnit.SAC_OPERATOR_MINUS:
+			case LexicalUnit.SAC_OPERATOR_MULTIPLY:
+			case LexicalUnit.SAC_OPERATOR_SLASH:
+			case LexicalUnit.SAC_OPERATOR_MOD:
+			case LexicalUnit.SAC_OPERATOR_EXP:
+			case LexicalUnit.SAC_OPERATOR_LT:
+			case LexicalUnit.SAC_OPERATOR_GT:
+			case LexicalUnit.SAC_OPERATOR_LE:
+			case LexicalUnit.SAC_OPERATOR_GE:
+			case LexicalUnit.SAC_OPERATOR_TILDE:
+			case LexicalUnit.SAC_INHERIT:
+				unit = CSSLexicalUnit.createSimple(type, previous);
+				break;
+			case LexicalUnit.SAC_INTEGER:
+				unit = CSSLexicalUnit.createInteger(in.readInt(), previous);
+				break;
+			case LexicalUnit.SAC_REAL:
+			case LexicalUnit.SAC_EM:
+			case LexicalUnit.SAC_EX:
+			case LexicalUnit.SAC_PIXEL:
+			case LexicalUnit.SAC_INCH:
+			case LexicalUnit.SAC_CENTIMETER:
+			case LexicalUnit.SAC_MILLIMETER:
+			case LexicalUnit.SAC_POINT:
+			case LexicalUnit.SAC_PICA:
+			case LexicalUnit.SAC_PERCENTAGE:
+			case LexicalUnit.SAC_DEGREE:
+			case LexicalUnit.SAC_GRADIAN:
+			case LexicalUnit.SAC_RADIAN:
+			case LexicalUnit.SAC_MILLISECOND:
+			case LexicalUnit.SAC_SECOND:
+			case LexicalUnit.SAC_HERTZ:
+			case LexicalUnit.SAC_KILOHERTZ:
+				unit = CSSLexicalUnit.createFloat(type, in.readFloat(), previous);
+				break;
+			case LexicalUnit.SAC_DIMENSION:
+				float value = in.readFloat();
+				unit = CSSLexicalUnit.createDimension(value, readString(), previous);
+				break;
+			case LexicalUnit.SAC_URI:
+			case LexicalUnit.SAC_IDENT:
+			case LexicalUnit.SAC_STRING_VALUE:
+			case LexicalUnit.SAC_ATTR:
+			case LexicalUnit.SAC_UNICODERANGE:
+				unit = CSSLexicalUnit.createString(type, readString(), previous);
+				break;
+			case LexicalUnit.SAC_RGBCOLOR:
+			case LexicalUnit.SAC_COUNTER_FUNCTION:
+			case LexicalUnit.SAC_COUNTERS_FUNCTION:
+			case LexicalUnit.SAC_RECT_FUNCTION:
+				unit = CSSLexicalUnit.createPredefinedFunction(type, readLexicalUnits(), previous);
+				break;
+			case LexicalUnit.SAC_FUNCTION:
+				String name = readString();
+				unit = CSSLexicalUnit.createFunction(name, readLexicalUnits(), previous);
+				break;
+			default:
+				throw new IOException("Unknown lexical unit type " + type); //$NON-NLS-1$
+			}
+			if (first == null) {
+				first = unit;
+			}
+			previous = unit;
+		}
+		return first;
+	}
+}
@@ -44,6 +44,7 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.engine.CSSStyleSheetCache;
 import org.eclipse.e4.ui.css.core.util.impl.resources.FileResourcesLocatorImpl;
 import org.eclipse.e4.ui.css.core.util.impl.resources.OSGiResourceLocator;
 import org.eclipse.e4.ui.css.core.util.resources.IResourceLocator;
@@ -80,6 +81,12 @@ public class ThemeEngine implements IThemeEngine {
 	private HashMap<String, List<String>> modifiedStylesheets = new HashMap<>();
 	private HashMap<String, List<IResourceLocator>> sourceLocators = new HashMap<>();
 
+	/**
+	 * The parsed style sheets, kept in the configuration area so that they do
+	 * not have to be parsed again on the next start.
+	 */
+	private CSSStyleSheetCache styleSheetCache;
+
 	private static final String THEMEID_KEY = "themeid";
 
 	public static final String THEME_PLUGIN_ID = "org.eclipse.e4.ui.css.swt.theme";
@@ -88,6 +95,9 @@ public class ThemeEngine implements IThemeEngine {
 
 	public static final String DISABLE_OS_DARK_THEME_INHERIT = "org.eclipse.e4.ui.css.theme.disableOSDarkThemeInherit";
 
+	// must not contain ".css", which marks the modified style sheets
+	private static final String STYLESHEET_CACHE_FILE = "parsed-stylesheets.bin";
+
 	public ThemeEngine(Display display) {
 		this.display = display;
 
@@ -110,6 +120,9 @@ public class ThemeEngine implements IThemeEngine {
 			modDir.mkdirs();
 		}
 
+		styleSheetCache = CSSStyleSheetCache.create(new File(modDir, STYLESHEET_CACHE_FILE),
+				getStyleSheetCacheVersion(extPoint));
+
 		File[] modifiedFiles = modDir.listFiles();
 		String currentOS = Platform.getOS();
 		boolean e4_dark_mac_found = false;
@@ -227,6 +240,25 @@ public class ThemeEngine implements IThemeEngine {
 		// registerResourceLocator(new HttpResourcesLocatorImpl());
 	}
 
+	/**
+	 * Returns the version of the parsed style sheets, which changes whenever
+	 * the bundles that parse or contribute style sheets are updated.
+	 */
+	private static String getStyleSheetCacheVersion(IExtensionPoint extPoint) {
+		StringBuilder version = new StringBuilder();
+		appendBundleVersion(version, FrameworkUtil.getBundle(CSSStyleSheetCache.class));
+		appendBundleVersion(version, Platform.getBundle("org.apache.batik.css")); //$NON-NLS-1$
+		for (IExtension e : extPoint.getExtensions()) {
+			appendBundleVersion(version, Platform.getBundle(e.getContributor().getName()));
+		}
+		return version.toString();
+	}
+
+	private static void appendBundleVersion(StringBuilder version, Bundle bundle) {
+		if (bundle != null) {
+			version.append(bundle.getSymbolicName()).append('_').append(bundle.getVersion()).append(';');
+		}
+	}
 
 	private boolean isOsVersionMatch(String osVersionList) {
 		boolean found = false;
@@ -488,6 +520,11 @@ public class ThemeEngine implements IThemeEngine {
 					ThemeEngineManager.logError(e.getMessage(), e);
 				}
 			}
+			try {
+				styleSheetCache.save();
+			} catch (IOException e) {
+				ThemeEngineManager.logError(e.getMessage(), e);
+			}
 		}
 
 		if (restore) {
@@ -659,6 +696,7 @@ public class ThemeEngine implements IThemeEngine {
 
 	@Override
 	public void addCSSEngine(CSSEngine cssEngine) {
+		cssEngine.setStyleSheetCache(styleSheetCache);
 		cssEngines.add(cssEngine);
 		resetCurrentTheme();
 	}
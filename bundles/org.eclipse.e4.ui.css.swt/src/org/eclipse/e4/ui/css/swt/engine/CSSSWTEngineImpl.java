@@ -66,6 +66,7 @@ public class CSSSWTEngineImpl extends AbstractCSSSWTEngineImpl {
 
 	@Override
 	public void reapply() {
+		invalidateAppliedStyles();
 		Shell[] shells = display.getShells();
 		for (Shell s : shells) {
 			try {
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Reads the contents of an {@link E4XMIResource} written by
+ * {@link E4BinarySave}.
+ * <p>
+ * The objects are built detached and added to the resource at the end, after
+ * all references have been set, like with the deferred attachment of the XMI
+ * loader.
+ * </p>
+ */
+final class E4BinaryLoad {
+
+	private static final class ClassInfo {
+
+		/**
+		 * The class, or <code>null</code> if it no longer exists.
+		 */
+		final EClass eClass;
+
+		/**
+		 * The features, <code>null</code> where they no longer exist or have
+		 * changed.
+		 */
+		final EStructuralFeature[] features;
+
+		final byte[] kinds;
+
+		final boolean[] many;
+
+		final byte[] types;
+
+		ClassInfo(EClass eClass, int featureCount) {
+			this.eClass = eClass;
+			features = new EStructuralFeature[featureCount];
+			kinds = new byte[featureCount];
+			many = new boolean[featureCount];
+			types = new byte[featureCount];
+		}
+	}
+
+	private static final class References {
+
+		final EObject owner;
+
+		final EReference reference;
+
+		/**
+		 * The positions of the targets in the resource, or the proxies of
+		 * targets in other resources.
+		 */
+		final Object[] targets;
+
+		References(EObject owner, EReference reference, Object[] targets) {
+			this.owner = owner;
+			this.reference = reference;
+			this.targets = targets;
+		}
+	}
+
+	private final E4XMIResource resource;
+
+	private final EPackage.Registry packageRegistry;
+
+	private final List<ClassInfo> classes = new ArrayList<>();
+
+	private final List<EObject> objects = new ArrayList<>();
+
+	private final List<String> strings = new ArrayList<>();
+
+	private final List<References> references = new ArrayList<>();
+
+	private DataInputStream in;
+
+	E4BinaryLoad(E4XMIResource resource) {
+		this.resource = resource;
+		packageRegistry = resource.getResourceSet() != null ? resource.getResourceSet().getPackageRegistry()
+				: EPackage.Registry.INSTANCE;
+	}
+
+	/**
+	 * @return <code>true</code> if the given bytes are the start of a resource
+	 *         written by {@link E4BinarySave}
+	 */
+	static boolean isBinary(byte[] head) {
+		return head.length >= 4 && ((head[0] & 0xFF) << 24 | (head[1] & 0xFF) << 16 | (head[2] & 0xFF) << 8
+				| (head[3] & 0xFF)) == E4BinarySave.MAGIC;
+	}
+
+	void load(InputStream inputStream) throws IOException {
+		in = new DataInputStream(inputStream);
+		if (in.readInt() != E4BinarySave.MAGIC) {
+			throw new IOException("Not a binary workbench model"); //$NON-NLS-1$
+		}
+		int version = in.readInt();
+		if (version != E4BinarySave.FORMAT_VERSION) {
+			throw new IOException("Unsupported binary workbench model version " + version); //$NON-NLS-1$
+		}
+
+		int count = readInt();
+		List<EObject> roots = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			EObject root = readObject();
+			if (root != null) {
+				roots.add(root);
+			}
+		}
+
+		for (References refs : references) {
+			List<EObject> targets = new ArrayList<>(refs.targets.length);
+			for (Object target : refs.targets) {
+				EObject object = target instanceof Integer ? getObject(((Integer) target).intValue())
+						: (EObject) target;
+				if (object != null && refs.reference.getEReferenceType().isInstance(object)) {
+					targets.add(object);
+				}
+			}
+			setValues(refs.owner, refs.reference, targets);
+		}
+
+		resource.getContents().addAll(roots);
+	}
+
+	/*
+	 * Returns null for objects of classes that no longer exist, whose values
+	 * and children are read but dropped.
+	 */
+	private EObject readObject() throws IOException {
+		ClassInfo info = readClass();
+		EObject object = info.eClass == null || info.eClass.isAbstract() ? null : EcoreUtil.create(info.eClass);
+		objects.add(object);
+		String id = readString();
+		if (object != null && id != null) {
+			resource.setID(object, id);
+		}
+
+		for (int i = readInt(); i != 0; i = readInt()) {
+			if (i < 0 || i > info.features.length) {
+				throw new IOException("Invalid feature " + i); //$NON-NLS-1$
+			}
+			EStructuralFeature feature = object == null ? null : info.features[i - 1];
+			switch (info.kinds[i - 1]) {
+			case E4BinarySave.ATTRIBUTE:
+				readAttribute(object, (EAttribute) feature, info.types[i - 1], info.many[i - 1]);
+				break;
+			case E4BinarySave.CONTAINMENT:
+				int childCount = readInt();
+				List<EObject> children = new ArrayList<>(childCount);
+				for (int j = 0; j < childCount; j++) {
+					EObject child = readObject();
+					if (child != null && feature != null
+							&& ((EReference) feature).getEReferenceType().isInstance(child)) {
+						children.add(child);
+					}
+				}
+				if (feature != null) {
+					setValues(object, feature, children);
+				}
+				break;
+			case E4BinarySave.REFERENCE:
+				Object[] targets = new Object[readInt()];
+				for (int j = 0; j < targets.length; j++) {
+					int index = readInt();
+					targets[j] = index == 0 ? readProxy() : Integer.valueOf(index - 1);
+				}
+				if (feature != null) {
+					references.add(new References(object, (EReference) feature, targets));
+				}
+				break;
+			default:
+				throw new IOException("Invalid feature kind " + info.kinds[i - 1]); //$NON-NLS-1$
+			}
+		}
+		return object;
+	}
+
+	private void readAttribute(EObject object, EAttribute attribute, byte type, boolean many) throws IOException {
+		if (many) {
+			int count = readInt();
+			List<Object> values = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				values.add(readValue(attribute, type));
+			}
+			if (attribute != null) {
+				setValues(object, attribute, values);
+			}
+		} else {
+			Object value = readValue(attribute, type);
+			if (attribute != null) {
+				object.eSet(attribute, value);
+			}
+		}
+	}
+
+	private Object readValue(EAttribute attribute, byte type) throws IOException {
+		switch (type) {
+		case E4BinarySave.STRING:
+			return readString();
+		case E4BinarySave.BOOLEAN:
+			return Boolean.valueOf(in.readBoolean());
+		case E4BinarySave.INT:
+			return Integer.valueOf(in.readInt());
+		case E4BinarySave.DATA:
+			String value = readString();
+			return value == null || attribute == null ? null
+					: EcoreUtil.createFromString(attribute.getEAttributeType(), value);
+		default:
+			throw new IOException("Invalid value type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private EObject readProxy() throws IOException {
+		ClassInfo info = readClass();
+		String uri = readString();
+		if (info.eClass == null || info.eClass.isAbstract() || uri == null) {
+			return null;
+		}
+		InternalEObject proxy = (InternalEObject) EcoreUtil.create(info.eClass);
+		proxy.eSetProxyURI(URI.createURI(uri));
+		return proxy;
+	}
+
+	private ClassInfo readClass() throws IOException {
+		int index = readInt();
+		if (index != 0) {
+			if (index > classes.size()) {
+				throw new IOException("Invalid class " + index); //$NON-NLS-1$
+			}
+			return classes.get(index - 1);
+		}
+
+		String nsURI = readString();
+		String name = readString();
+		EClass eClass = null;
+		EPackage ePackage = nsURI == null ? null : packageRegistry.getEPackage(nsURI);
+		if (ePackage != null) {
+			EClassifier classifier = ePackage.getEClassifier(name);
+			if (classifier instanceof EClass) {
+				eClass = (EClass) classifier;
+			}
+		}
+
+		ClassInfo info = new ClassInfo(eClass, readInt());
+		for (int i = 0; i < info.features.length; i++) {
+			String featureName = readString();
+			byte kind = in.readByte();
+			boolean many = in.readBoolean();
+			byte type = in.readByte();
+			info.kinds[i] = kind;
+			info.many[i] = many;
+			info.types[i] = type;
+			EStructuralFeature feature = eClass == null ? null : eClass.getEStructuralFeature(featureName);
+			if (feature != null && E4BinarySave.isSaved(feature) && E4BinarySave.getKind(feature) == kind
+					&& E4BinarySave.getType(feature) == type && feature.isMany() == many) {
+				info.features[i] = feature;
+			}
+		}
+		classes.add(info);
+		return info;
+	}
+
+	private EObject getObject(int index) throws IOException {
+		if (index >= objects.size()) {
+			throw new IOException("Invalid object " + index); //$NON-NLS-1$
+		}
+		return objects.get(index);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void setValues(EObject object, EStructuralFeature feature, List<?> values) {
+		if (feature.isMany()) {
+			((List<Object>) object.eGet(feature)).addAll(values);
+		} else if (!values.isEmpty()) {
+			object.eSet(feature, values.get(0));
+		}
+	}
+
+	private int readInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Invalid number"); //$NON-NLS-1$
+	}
+
+	private String readString() throws IOException {
+		int index = readInt();
+		if (index == 0) {
+			return null;
+		} else if (index > 1) {
+			if (index - 2 >= strings.size()) {
+				throw new IOException("Invalid string " + index); //$NON-NLS-1$
+			}
+			return strings.get(index - 2);
+		}
+		byte[] bytes = new byte[readInt()];
+		in.readFully(bytes);
+		String value = new String(bytes, StandardCharsets.UTF_8);
+		strings.add(value);
+		return value;
+	}
+}
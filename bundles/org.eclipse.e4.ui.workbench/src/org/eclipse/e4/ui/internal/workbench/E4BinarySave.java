@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * Writes the contents of an {@link E4XMIResource} in a compact binary form,
+ * which is read again by {@link E4BinaryLoad}.
+ * <p>
+ * Unlike the binary resources of EMF, the format keeps the IDs of the
+ * resource, so that references into the persisted model by ID stay valid, and
+ * it can filter the elements that are not to be persisted like
+ * {@link E4XMISave}. Every class is described by its name and the names and
+ * kinds of its saved features when it is first used, so that a model saved by
+ * another version of the workbench can still be read: values of features or
+ * objects of classes that no longer exist are skipped.
+ * </p>
+ * <p>
+ * Objects are written depth first, and references to objects of the resource
+ * are written as the position of the target in that order. Objects of other
+ * resources are written as proxies with their URI.
+ * </p>
+ */
+final class E4BinarySave {
+
+	static final int MAGIC = 0x45344D42; // E4MB
+
+	static final int FORMAT_VERSION = 1;
+
+	static final byte ATTRIBUTE = 0;
+
+	static final byte CONTAINMENT = 1;
+
+	static final byte REFERENCE = 2;
+
+	/**
+	 * Values of other data types, written as their string form.
+	 */
+	static final byte DATA = 0;
+
+	static final byte STRING = 1;
+
+	static final byte BOOLEAN = 2;
+
+	static final byte INT = 3;
+
+	private final E4XMIResource resource;
+
+	private final boolean filter;
+
+	private final Map<EClass, List<EStructuralFeature>> classFeatures = new HashMap<>();
+
+	private final Map<EClass, Integer> classIndexes = new HashMap<>();
+
+	private final Map<EObject, Integer> objectIndexes = new IdentityHashMap<>();
+
+	private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+	private DataOutputStream out;
+
+	/**
+	 * @param resource the resource to save
+	 * @param filter   whether to skip the elements that are not to be
+	 *                 persisted
+	 */
+	E4BinarySave(E4XMIResource resource, boolean filter) {
+		this.resource = resource;
+		this.filter = filter;
+	}
+
+	void save(OutputStream outputStream) throws IOException {
+		List<EObject> roots = resource.getContents();
+		for (EObject root : roots) {
+			index(root);
+		}
+
+		out = new DataOutputStream(new BufferedOutputStream(outputStream));
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		writeInt(roots.size());
+		for (EObject root : roots) {
+			writeObject(root);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Assigns the positions of the objects in the order in which
+	 * {@link #writeObject(EObject)} writes them.
+	 */
+	private void index(EObject object) {
+		objectIndexes.put(object, Integer.valueOf(objectIndexes.size()));
+		for (EStructuralFeature feature : getFeatures(object.eClass())) {
+			if (isContainment(feature) && object.eIsSet(feature)) {
+				for (EObject child : getChildren(object, (EReference) feature)) {
+					index(child);
+				}
+			}
+		}
+	}
+
+	private void writeObject(EObject object) throws IOException {
+		EClass eClass = object.eClass();
+		writeClass(eClass);
+		writeString(resource.getID(object));
+
+		List<EStructuralFeature> features = getFeatures(eClass);
+		for (int i = 0; i < features.size(); i++) {
+			EStructuralFeature feature = features.get(i);
+			if (!object.eIsSet(feature)) {
+				continue;
+			}
+			writeInt(i + 1);
+			if (feature instanceof EAttribute) {
+				writeAttribute(object, (EAttribute) feature);
+			} else if (isContainment(feature)) {
+				List<EObject> children = getChildren(object, (EReference) feature);
+				writeInt(children.size());
+				for (EObject child : children) {
+					writeObject(child);
+				}
+			} else {
+				writeReferences(object, (EReference) feature);
+			}
+		}
+		writeInt(0);
+	}
+
+	private void writeClass(EClass eClass) throws IOException {
+		Integer index = classIndexes.get(eClass);
+		if (index != null) {
+			writeInt(index.intValue() + 1);
+			return;
+		}
+
+		classIndexes.put(eClass, Integer.valueOf(classIndexes.size()));
+		writeInt(0);
+		writeString(eClass.getEPackage().getNsURI());
+		writeString(eClass.getName());
+		List<EStructuralFeature> features = getFeatures(eClass);
+		writeInt(features.size());
+		for (EStructuralFeature feature : features) {
+			writeString(feature.getName());
+			out.writeByte(getKind(feature));
+			out.writeBoolean(feature.isMany());
+			out.writeByte(getType(feature));
+		}
+	}
+
+	private void writeAttribute(EObject object, EAttribute attribute) throws IOException {
+		byte type = getType(attribute);
+		Object value = object.eGet(attribute);
+		if (attribute.isMany()) {
+			List<?> values = (List<?>) value;
+			writeInt(values.size());
+			for (Object element : values) {
+				writeValue(attribute, type, element);
+			}
+		} else {
+			writeValue(attribute, type, value);
+		}
+	}
+
+	private void writeValue(EAttribute attribute, byte type, Object value) throws IOException {
+		switch (type) {
+		case STRING:
+			writeString((String) value);
+			break;
+		case BOOLEAN:
+			out.writeBoolean(((Boolean) value).booleanValue());
+			break;
+		case INT:
+			out.writeInt(((Integer) value).intValue());
+			break;
+		default:
+			writeString(value == null ? null : EcoreUtil.convertToString(attribute.getEAttributeType(), value));
+			break;
+		}
+	}
+
+	private void writeReferences(EObject object, EReference reference) throws IOException {
+		List<EObject> targets = new ArrayList<>();
+		if (reference.isMany()) {
+			for (Object target : ((InternalEList<?>) object.eGet(reference, false)).basicList()) {
+				addTarget(targets, (EObject) target);
+			}
+		} else {
+			addTarget(targets, (EObject) object.eGet(reference, false));
+		}
+
+		writeInt(targets.size());
+		for (EObject target : targets) {
+			Integer index = objectIndexes.get(target);
+			if (index != null) {
+				writeInt(index.intValue() + 1);
+			} else {
+				writeInt(0);
+				writeClass(target.eClass());
+				writeString(EcoreUtil.getURI(target).toString());
+			}
+		}
+	}
+
+	/*
+	 * References to filtered elements, or to elements that are not contained
+	 * in any resource, are dropped.
+	 */
+	private void addTarget(List<EObject> targets, EObject target) {
+		if (target == null) {
+			return;
+		}
+		if (objectIndexes.containsKey(target) || target.eIsProxy()
+				|| (target.eResource() != null && target.eResource() != resource)) {
+			targets.add(target);
+		}
+	}
+
+	private List<EObject> getChildren(EObject object, EReference reference) {
+		List<EObject> children = new ArrayList<>();
+		if (reference.isMany()) {
+			for (Object child : (List<?>) object.eGet(reference)) {
+				addChild(children, (EObject) child);
+			}
+		} else {
+			addChild(children, (EObject) object.eGet(reference));
+		}
+		return children;
+	}
+
+	private void addChild(List<EObject> children, EObject child) {
+		if (child != null && !(filter && E4XMISave.isFiltered(child))) {
+			children.add(child);
+		}
+	}
+
+	private List<EStructuralFeature> getFeatures(EClass eClass) {
+		return classFeatures.computeIfAbsent(eClass, c -> {
+			List<EStructuralFeature> features = new ArrayList<>();
+			for (EStructuralFeature feature : c.getEAllStructuralFeatures()) {
+				if (isSaved(feature)) {
+					features.add(feature);
+				}
+			}
+			return features;
+		});
+	}
+
+	/*
+	 * Writes small non-negative numbers in fewer bytes.
+	 */
+	private void writeInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/*
+	 * Writes 0 for null, the position of a string that was written before
+	 * plus 2, or 1 followed by a new string.
+	 */
+	private void writeString(String value) throws IOException {
+		if (value == null) {
+			writeInt(0);
+			return;
+		}
+		Integer index = stringIndexes.get(value);
+		if (index != null) {
+			writeInt(index.intValue() + 2);
+			return;
+		}
+		stringIndexes.put(value, Integer.valueOf(stringIndexes.size()));
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeInt(1);
+		writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static boolean isSaved(EStructuralFeature feature) {
+		if (feature.isTransient() || feature.isDerived()) {
+			return false;
+		}
+		return !(feature instanceof EReference) || !((EReference) feature).isContainer();
+	}
+
+	private static boolean isContainment(EStructuralFeature feature) {
+		return feature instanceof EReference && ((EReference) feature).isContainment();
+	}
+
+	static byte getKind(EStructuralFeature feature) {
+		if (feature instanceof EAttribute) {
+			return ATTRIBUTE;
+		}
+		return isContainment(feature) ? CONTAINMENT : REFERENCE;
+	}
+
+	static byte getType(EStructuralFeature feature) {
+		if (feature instanceof EAttribute) {
+			Class<?> instanceClass = feature.getEType().getInstanceClass();
+			if (instanceClass == String.class) {
+				return STRING;
+			} else if (instanceClass == boolean.class) {
+				return BOOLEAN;
+			} else if (instanceClass == int.class) {
+				return INT;
+			}
+		}
+		return DATA;
+	}
+}
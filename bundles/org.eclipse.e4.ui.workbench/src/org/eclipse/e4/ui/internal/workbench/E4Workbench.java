@@ -87,6 +87,13 @@ public class E4Workbench implements IWorkbench {
 	 * Value is: <code>forcedShowLocation</code>
 	 */
 	public static final String FORCED_SHOW_LOCATION = "forcedShowLocation"; //$NON-NLS-1$
+	/**
+	 * The argument for whether to persist the workbench model in binary form
+	 * instead of XMI <br>
+	 * <br>
+	 * Value is: <code>binaryModelFormat</code>
+	 */
+	public static final String BINARY_MODEL_FORMAT = "binaryModelFormat"; //$NON-NLS-1$
 
 	private final String id;
 	private ServiceRegistration<?> osgiRegistration;
@@ -15,6 +15,10 @@
 
 package org.eclipse.e4.ui.internal.workbench;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,6 +34,14 @@ public class E4XMIResource extends XMIResourceImpl {
 
 	public static final String OPTION_FILTER_PERSIST_STATE = "E4_FILTER_PERSISTED_STATE"; //$NON-NLS-1$
 
+	/**
+	 * Save option to write the resource in a binary form instead of XMI, which
+	 * is faster to save and to load. The form of a resource is detected when it
+	 * is loaded, so resources written in either form can be loaded regardless
+	 * of this option.
+	 */
+	public static final String OPTION_BINARY_FORMAT = "E4_BINARY_FORMAT"; //$NON-NLS-1$
+
 	private Map<EObject, String> objectMap = new WeakHashMap<>();
 	private Set<String> knownIds = new HashSet<>();
 
@@ -111,4 +123,33 @@ public class E4XMIResource extends XMIResourceImpl {
 		}
 		return super.createXMLSave(options);
 	}
+
+	@Override
+	public void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		Object binary = options != null && options.containsKey(OPTION_BINARY_FORMAT)
+				? options.get(OPTION_BINARY_FORMAT)
+				: getDefaultSaveOptions().get(OPTION_BINARY_FORMAT);
+		if (Boolean.TRUE.equals(binary)) {
+			boolean filter = options != null && Boolean.TRUE.equals(options.get(OPTION_FILTER_PERSIST_STATE));
+			new E4BinarySave(this, filter).save(outputStream);
+		} else {
+			super.doSave(outputStream, options);
+		}
+	}
+
+	/*
+	 * Load resources written in binary form or as XMI.
+	 */
+	@Override
+	public void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+		in.mark(4);
+		byte[] head = in.readNBytes(4);
+		in.reset();
+		if (E4BinaryLoad.isBinary(head)) {
+			new E4BinaryLoad(this).load(in);
+		} else {
+			super.doLoad(in, options);
+		}
+	}
 }
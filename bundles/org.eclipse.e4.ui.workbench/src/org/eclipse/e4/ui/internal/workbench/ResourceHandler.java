@@ -31,6 +31,7 @@ import java.net.URLConnection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.core.runtime.URIUtil;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -46,13 +47,16 @@ import org.eclipse.e4.ui.model.application.ui.impl.UiPackageImpl;
 import org.eclipse.e4.ui.model.application.ui.menu.impl.MenuPackageImpl;
 import org.eclipse.e4.ui.workbench.IModelResourceHandler;
 import org.eclipse.e4.ui.workbench.IWorkbench;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.osgi.service.datalocation.Location;
 import org.osgi.framework.Bundle;
@@ -90,6 +94,35 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Named(IWorkbench.CLEAR_PERSISTED_STATE)
 	private boolean clearPersistedState;
 
+	@Inject
+	@Optional
+	@Named(E4Workbench.BINARY_MODEL_FORMAT)
+	private boolean binaryModelFormat;
+
+	/**
+	 * The number of changes of the persisted parts of the model, incremented by
+	 * {@link #changeTracker}.
+	 */
+	private final AtomicLong modificationCount = new AtomicLong();
+
+	/**
+	 * The {@link #modificationCount} of the last saved model, <code>-1</code>
+	 * if the model has not been saved.
+	 */
+	private volatile long savedModificationCount = -1;
+
+	private final EContentAdapter changeTracker = new EContentAdapter() {
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+			Object feature = notification.getFeature();
+			if (!notification.isTouch() && feature instanceof EStructuralFeature
+					&& !((EStructuralFeature) feature).isTransient()) {
+				modificationCount.incrementAndGet();
+			}
+		}
+	};
+
 	/**
 	 * Constructor.
 	 */
@@ -206,6 +239,10 @@ public class ResourceHandler implements IModelResourceHandler {
 		CommandLineOptionModelProcessor processor = ContextInjectionFactory.make(CommandLineOptionModelProcessor.class, context);
 		processor.process();
 
+		if (!resource.eAdapters().contains(changeTracker)) {
+			resource.eAdapters().add(changeTracker);
+		}
+		savedModificationCount = -1;
 		return resource;
 	}
 
@@ -214,10 +251,47 @@ public class ResourceHandler implements IModelResourceHandler {
 		if (saveAndRestore) {
 			Map<String, Object> options = new HashMap<>();
 			options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
+			options.put(E4XMIResource.OPTION_BINARY_FORMAT, Boolean.valueOf(binaryModelFormat));
+			long count = modificationCount.get();
 			resource.save(options);
+			savedModificationCount = count;
 		}
 	}
 
+	/**
+	 * Returns whether the persisted parts of the application model have changed
+	 * since it was last saved, either by {@link #save()} or as a copy reported
+	 * to {@link #setModelSaved(long)}. Unchanged models do not have to be saved
+	 * again.
+	 *
+	 * @return <code>true</code> if the model has changed
+	 */
+	public boolean isModelModified() {
+		return modificationCount.get() != savedModificationCount;
+	}
+
+	/**
+	 * Returns the number of changes of the persisted parts of the application
+	 * model. Callers that save a copy of the model get it before taking the
+	 * copy, and pass it to {@link #setModelSaved(long)} once the copy has been
+	 * saved.
+	 *
+	 * @return the number of changes
+	 */
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	/**
+	 * Records that a copy of the application model has been saved.
+	 *
+	 * @param count the {@link #getModificationCount() modification count} of
+	 *              the model when the copy was taken
+	 */
+	public void setModelSaved(long count) {
+		savedModificationCount = count;
+	}
+
 	/**
 	 * Creates a resource with an app Model, used for saving copies of the main app model.
 	 *
@@ -233,11 +307,19 @@ public class ResourceHandler implements IModelResourceHandler {
 	}
 
 	private Resource createResource() {
+		Resource res;
 		if (saveAndRestore) {
 			URI saveLocation = URI.createFileURI(getWorkbenchSaveLocation().getAbsolutePath());
-			return resourceSet.createResource(saveLocation);
+			res = resourceSet.createResource(saveLocation);
+		} else {
+			res = resourceSet.createResource(URI.createURI("workbench.xmi")); //$NON-NLS-1$
+		}
+		if (res instanceof E4XMIResource) {
+			// the binary form is kept in workbench.xmi as well, loading detects it
+			((E4XMIResource) res).getDefaultSaveOptions().put(E4XMIResource.OPTION_BINARY_FORMAT,
+					Boolean.valueOf(binaryModelFormat));
 		}
-		return resourceSet.createResource(URI.createURI("workbench.xmi")); //$NON-NLS-1$
+		return res;
 	}
 
 	private File getWorkbenchSaveLocation() {
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IFindReplaceTarget} providing a method to
+ * replace all matches of a find string at once.
+ * <p>
+ * Unlike a sequence of <code>findAndSelect</code> and <code>replaceSelection</code> calls, all
+ * matches are computed before the first one is replaced and the replacements are applied as a
+ * single change.
+ * </p>
+ *
+ * @since 3.28
+ */
+public interface IFindReplaceTargetExtension5 {
+
+	/**
+	 * Replaces all matches of the given find string in the scope of this target, or in the whole
+	 * target if it has no scope. If regExSearch is <code>true</code> the findString is interpreted
+	 * as a regular expression and the replaceString as a replace pattern.
+	 * <p>
+	 * This target must be editable. Otherwise nothing happens.
+	 * </p>
+	 *
+	 * @param findString the specification of what should be found
+	 * @param replaceString the specification of the substitution text
+	 * @param caseSensitive <code>true</code> performs a case sensitive search, <code>false</code> an insensitive search
+	 * @param wholeWord if <code>true</code> only occurrences are reported in which the findString stands as a word by itself.
+	 * 				Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 				Must not be used in combination with <code>wholeWord</code>.
+	 * @return the number of replacements, or -1 if this target can not replace all matches at once,
+	 *         in which case the caller replaces them one by one
+	 * @throws java.util.regex.PatternSyntaxException if regExSearch is <code>true</code> and findString is an invalid regular expression
+	 *             or replaceString is an invalid replace pattern
+	 */
+	int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch);
+}
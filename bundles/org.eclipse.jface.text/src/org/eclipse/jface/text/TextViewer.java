@@ -767,7 +767,7 @@ public class TextViewer extends Viewer implements
 	/**
 	 * This viewer's find/replace target.
 	 */
-	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 		/** The range for this target. */
 		private FindReplaceRange fRange;
@@ -925,6 +925,30 @@ public class TextViewer extends Viewer implements
 			TextViewer.this.setSelectedRanges(Arrays.stream(widgetRegions).map(TextViewer.this::widgetRange2ModelRange).toArray(IRegion[]::new));
 		}
 
+		@Override
+		public int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+			if (getVisibleDocument() == null || !TextViewer.this.isEditable())
+				return 0;
+
+			FindReplaceDocumentAdapter adapter= TextViewer.this.getFindReplaceDocumentAdapter();
+			IRegion widgetRange;
+			if (fRange != null) {
+				widgetRange= modelRange2WidgetRange(fRange.getRange());
+				if (widgetRange == null)
+					return 0;
+			} else {
+				widgetRange= new Region(0, adapter.length());
+			}
+
+			try {
+				return adapter.replaceAll(widgetRange.getOffset(), widgetRange.getLength(), findString, replaceString, caseSensitive, wholeWord, regExSearch);
+			} catch (BadLocationException x) {
+				if (TRACE_ERRORS)
+					System.out.println(JFaceTextMessages.getString("TextViewer.error.bad_location.findAndSelect")); //$NON-NLS-1$
+				return 0;
+			}
+		}
+
 		@Override
 		public void setScope(IRegion scope) {
 			if (fRange != null)
@@ -0,0 +1,793 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * A persistent cache of the image data of images that are loaded from files
+ * and jars, typically the icons of bundles.
+ * <p>
+ * The cache remembers the image data that the image descriptors resolved for
+ * each zoom level, including the fact that there is no image for a zoom level,
+ * so that neither the "@2x" lookup nor the decoding of the image has to be
+ * repeated in later sessions. The image data is stored uncompressed, which is
+ * faster to read than decoding PNG or GIF images.
+ * </p>
+ * <p>
+ * The entries are grouped by the jar or directory that contains the images.
+ * Since the installed jars of bundles contain the version of the bundle in
+ * their name, an entry is keyed by the bundle version and the path of the
+ * image. An entry is discarded when the file that contains the image has been
+ * modified since it was cached, for example because the bundle has been
+ * updated in place. The location of a URL is resolved once per session.
+ * </p>
+ * <p>
+ * The cache files may be shared by several processes. New entries are
+ * appended while holding a lock on a separate lock file, and a cache file that
+ * contains more replaced entries than current ones is compacted into a new
+ * file that replaces the old one. Failures to access the cache are only
+ * traced, the image data is then loaded as if it was not cached.
+ * </p>
+ * <p>
+ * The default cache is stored in the configuration area of the installation
+ * and is shared by all image descriptors and image registries. It is only
+ * used if {@link InternalPolicy#DEBUG_CACHE_IMAGE_DATA} is set.
+ * </p>
+ */
+public final class ImageDataCache {
+
+	private static final String CONFIGURATION_AREA = "osgi.configuration.area"; //$NON-NLS-1$
+
+	private static final String CONFIGURATION_AREA_READ_ONLY = "osgi.configuration.area.readOnly"; //$NON-NLS-1$
+
+	private static final String CACHE_DIRECTORY = "org.eclipse.jface/imagecache"; //$NON-NLS-1$
+
+	private static final String CACHE_FILE_EXTENSION = ".cache"; //$NON-NLS-1$
+
+	private static final String LOCK_FILE_EXTENSION = ".lock"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+	private static final String FILE_PROTOCOL = "file"; //$NON-NLS-1$
+
+	private static final String JAR_PROTOCOL = "jar"; //$NON-NLS-1$
+
+	private static final String JAR_SEPARATOR = "!/"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x4A464943;
+
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The length of an entry of an image that does not exist.
+	 */
+	private static final int MISSING = -1;
+
+	/**
+	 * Cache files are not compacted below this size.
+	 */
+	private static final long COMPACTION_THRESHOLD = 1024 * 1024;
+
+	private static final Object DEFAULT_LOCK = new Object();
+
+	private static final Random GENERATIONS = new Random();
+
+	private static ImageDataCache defaultCache;
+
+	private static boolean defaultCacheCreated;
+
+	/**
+	 * The location of an image in a jar or a directory.
+	 */
+	private static final class Location {
+		/**
+		 * The location of URLs that are not in a local file or jar.
+		 */
+		static final Location NONE = new Location(null, null, 0);
+
+		/**
+		 * The jar or the directory that contains the image.
+		 */
+		final File container;
+
+		/**
+		 * The path of the image in its container.
+		 */
+		final String path;
+
+		/**
+		 * Changes when the image or its container is modified.
+		 */
+		final long stamp;
+
+		Location(File container, String path, long stamp) {
+			this.container = container;
+			this.path = path;
+			this.stamp = stamp;
+		}
+	}
+
+	/**
+	 * A cached image data in a cache file.
+	 */
+	private static final class Entry {
+		final String key;
+
+		final long stamp;
+
+		/**
+		 * The position of the entry in the cache file.
+		 */
+		final long start;
+
+		/**
+		 * The position of the image data in the cache file.
+		 */
+		final long offset;
+
+		/**
+		 * The length of the image data, or {@link ImageDataCache#MISSING}.
+		 */
+		final int length;
+
+		Entry(String key, long stamp, long start, long offset, int length) {
+			this.key = key;
+			this.stamp = stamp;
+			this.start = start;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		long end() {
+			return offset + Math.max(0, length);
+		}
+	}
+
+	/**
+	 * The cache file of the images of one container. The file starts with a
+	 * header that contains a generation, which changes whenever the file is
+	 * rewritten, followed by the entries. Entries that replace stale ones win
+	 * when the file is read.
+	 */
+	private final class Store {
+
+		private final File container;
+
+		private final File file;
+
+		private final File lockFile;
+
+		/**
+		 * The entries read so far, <code>null</code> until the file is read.
+		 */
+		private Map<String, Entry> entries;
+
+		/**
+		 * The generation of the file the entries were read from, or 0.
+		 */
+		private long generation;
+
+		/**
+		 * The end of the last complete entry read so far, or 0.
+		 */
+		private long end;
+
+		/**
+		 * The number of bytes of the current entries.
+		 */
+		private long liveBytes;
+
+		Store(File container) {
+			this.container = container;
+			String name = UUID.nameUUIDFromBytes(container.getPath().getBytes(StandardCharsets.UTF_8)).toString();
+			this.file = new File(directory, name + CACHE_FILE_EXTENSION);
+			this.lockFile = new File(directory, name + LOCK_FILE_EXTENSION);
+		}
+
+		synchronized boolean hasImageData(Location location, int zoom) {
+			Entry entry = getEntry(getKey(location, zoom));
+			return entry != null && entry.stamp == location.stamp && entry.length != MISSING;
+		}
+
+		synchronized ImageData getImageData(Location location, int zoom, IntFunction<ImageData> loader) {
+			String key = getKey(location, zoom);
+			Entry entry = getEntry(key);
+			if (entry != null && entry.stamp == location.stamp) {
+				if (entry.length == MISSING) {
+					hits.incrementAndGet();
+					return null;
+				}
+				ImageData data = readImageData(entry);
+				if (data == null) {
+					// the file may have been compacted by another process
+					reset();
+					entry = getEntry(key);
+					data = entry != null && entry.stamp == location.stamp && entry.length != MISSING
+							? readImageData(entry)
+							: null;
+				}
+				if (data != null) {
+					hits.incrementAndGet();
+					return data;
+				}
+			}
+			misses.incrementAndGet();
+			if (InternalPolicy.DEBUG_TRACE_IMAGE_DATA_CACHE) {
+				trace("Image data cache miss: " + location.container + '!' + key + " (hits: " + hits.get() //$NON-NLS-1$ //$NON-NLS-2$
+						+ ", misses: " + misses.get() + ')', null); //$NON-NLS-1$
+			}
+			ImageData data = loader.apply(zoom);
+			if (writable) {
+				write(key, location.stamp, data);
+			}
+			return data;
+		}
+
+		private Entry getEntry(String key) {
+			if (entries == null) {
+				entries = new HashMap<>();
+				try {
+					read();
+				} catch (IOException | RuntimeException e) {
+					trace("Cannot read the image data cache " + file, e); //$NON-NLS-1$
+					reset();
+					entries = new HashMap<>();
+				}
+			}
+			return entries.get(key);
+		}
+
+		private void reset() {
+			entries = null;
+			generation = 0;
+			end = 0;
+			liveBytes = 0;
+		}
+
+		/**
+		 * Reads the entries that have been appended to the file since it was
+		 * last read. Stops at an entry that is not complete, which is still being
+		 * written by another process or was not written completely. Starts over
+		 * if the file has been rewritten in the meantime.
+		 *
+		 * @return <code>false</code> if the file is not a valid cache file
+		 */
+		private boolean read() throws IOException {
+			if (!file.isFile()) {
+				reset();
+				entries = new HashMap<>();
+				return true;
+			}
+			try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+				long fileGeneration = readHeader(in);
+				if (fileGeneration == 0) {
+					return false;
+				}
+				if (fileGeneration != generation) {
+					entries.clear();
+					liveBytes = 0;
+					generation = fileGeneration;
+					end = in.getFilePointer();
+				}
+				in.seek(end);
+				DataInputStream data = new DataInputStream(new BufferedInputStream(Channels.newInputStream(in.getChannel())));
+				long offset = end;
+				try {
+					while (true) {
+						byte[] keyBytes = new byte[data.readInt()];
+						data.readFully(keyBytes);
+						long stamp = data.readLong();
+						int length = data.readInt();
+						long dataOffset = offset + 16 + keyBytes.length;
+						if (length > 0) {
+							data.skipNBytes(length);
+						}
+						String key = new String(keyBytes, StandardCharsets.UTF_8);
+						Entry entry = new Entry(key, stamp, offset, dataOffset, length);
+						put(entry);
+						offset = entry.end();
+						end = offset;
+					}
+				} catch (EOFException e) {
+					// the end of the file, or an entry that is not complete
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return the generation of the file, or 0 if it is not a valid cache file
+		 */
+		private long readHeader(RandomAccessFile in) throws IOException {
+			try {
+				if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+					return 0;
+				}
+				long fileGeneration = in.readLong();
+				int length = in.readInt();
+				if (length < 0 || length > in.length()) {
+					return 0;
+				}
+				byte[] containerBytes = new byte[length];
+				in.readFully(containerBytes);
+				return container.getPath().equals(new String(containerBytes, StandardCharsets.UTF_8)) ? fileGeneration
+						: 0;
+			} catch (EOFException e) {
+				return 0;
+			}
+		}
+
+		private void put(Entry entry) {
+			Entry previous = entries.put(entry.key, entry);
+			if (previous != null) {
+				liveBytes -= previous.end() - previous.start;
+			}
+			liveBytes += entry.end() - entry.start;
+		}
+
+		/**
+		 * Reads the image data of the entry, after checking that the entry is
+		 * still at its position.
+		 *
+		 * @return the image data, or <code>null</code> if the file has changed
+		 */
+		private ImageData readImageData(Entry entry) {
+			try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+				in.seek(entry.start);
+				byte[] keyBytes = entry.key.getBytes(StandardCharsets.UTF_8);
+				if (in.readInt() != keyBytes.length) {
+					return null;
+				}
+				byte[] actualKeyBytes = new byte[keyBytes.length];
+				in.readFully(actualKeyBytes);
+				if (!Arrays.equals(keyBytes, actualKeyBytes) || in.readLong() != entry.stamp
+						|| in.readInt() != entry.length) {
+					return null;
+				}
+				byte[] bytes = new byte[entry.length];
+				in.readFully(bytes);
+				return toImageData(bytes);
+			} catch (IOException | RuntimeException e) {
+				trace("Cannot read the image data cache " + file, e); //$NON-NLS-1$
+				return null;
+			}
+		}
+
+		/**
+		 * Appends an entry to the file while holding the lock of the file, and
+		 * compacts the file if it contains more stale entries than current ones.
+		 */
+		private void write(String key, long stamp, ImageData data) {
+			try {
+				byte[] bytes = data != null ? toBytes(data) : null;
+				directory.mkdirs();
+				try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE); FileLock lock = lockChannel.lock()) {
+					if (!read() || end == 0) {
+						create();
+					}
+					Entry existing = entries.get(key);
+					if (existing != null && existing.stamp == stamp) {
+						// written by another process
+						return;
+					}
+					try (RandomAccessFile out = new RandomAccessFile(file, "rw")) { //$NON-NLS-1$
+						// drop an entry that was not written completely
+						out.setLength(end);
+						out.seek(end);
+						byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+						ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+						DataOutputStream header = new DataOutputStream(buffer);
+						header.writeInt(keyBytes.length);
+						header.write(keyBytes);
+						header.writeLong(stamp);
+						header.writeInt(bytes != null ? bytes.length : MISSING);
+						out.write(buffer.toByteArray());
+						if (bytes != null) {
+							out.write(bytes);
+						}
+						Entry entry = new Entry(key, stamp, end, end + buffer.size(), bytes != null ? bytes.length : MISSING);
+						put(entry);
+						end = entry.end();
+					}
+					if (end > COMPACTION_THRESHOLD && liveBytes < end / 2) {
+						compact();
+					}
+				}
+			} catch (IOException | RuntimeException e) {
+				// e.g. a configuration area that is shared and read-only
+				writable = false;
+				trace("Cannot write the image data cache " + file + ", not writing any further entries", e); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		/**
+		 * Replaces the file with an empty one.
+		 */
+		private void create() throws IOException {
+			File temp = new File(directory, file.getName() + TEMP_FILE_EXTENSION);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				writeHeader(out, nextGeneration());
+			}
+			replace(temp);
+			reset();
+			entries = new HashMap<>();
+			read();
+		}
+
+		/**
+		 * Writes the current entries to a new file that replaces the file.
+		 */
+		private void compact() throws IOException {
+			File temp = new File(directory, file.getName() + TEMP_FILE_EXTENSION);
+			List<Entry> live = new ArrayList<>(entries.values());
+			live.sort((e1, e2) -> Long.compare(e1.start, e2.start));
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+					RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+				writeHeader(out, nextGeneration());
+				byte[] bytes = new byte[0];
+				for (Entry entry : live) {
+					int length = (int) (entry.end() - entry.start);
+					if (bytes.length < length) {
+						bytes = new byte[length];
+					}
+					in.seek(entry.start);
+					in.readFully(bytes, 0, length);
+					out.write(bytes, 0, length);
+				}
+			}
+			replace(temp);
+			reset();
+			entries = new HashMap<>();
+			read();
+		}
+
+		private void writeHeader(DataOutputStream out, long fileGeneration) throws IOException {
+			byte[] containerBytes = container.getPath().getBytes(StandardCharsets.UTF_8);
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeLong(fileGeneration);
+			out.writeInt(containerBytes.length);
+			out.write(containerBytes);
+		}
+
+		private void replace(File temp) throws IOException {
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				temp.delete();
+			}
+		}
+	}
+
+	private final File directory;
+
+	private final Map<File, Store> stores = new ConcurrentHashMap<>();
+
+	private final Map<String, Location> locations = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Whether new entries are written, <code>false</code> once writing failed.
+	 */
+	private volatile boolean writable;
+
+	/**
+	 * Creates a cache that stores its files in the given directory.
+	 *
+	 * @param directory the directory of the cache files
+	 * @param readOnly  whether the cache only reads entries that have been
+	 *                  written before
+	 */
+	public ImageDataCache(File directory, boolean readOnly) {
+		this.directory = directory;
+		this.writable = !readOnly;
+	}
+
+	/**
+	 * Returns the cache shared by all image descriptors.
+	 *
+	 * @return the cache, or <code>null</code> if the image data is not cached
+	 */
+	public static ImageDataCache getDefault() {
+		if (!InternalPolicy.DEBUG_CACHE_IMAGE_DATA) {
+			return null;
+		}
+		synchronized (DEFAULT_LOCK) {
+			if (!defaultCacheCreated) {
+				defaultCacheCreated = true;
+				File configuration = getConfigurationArea();
+				if (configuration != null) {
+					boolean readOnly = Boolean.parseBoolean(System.getProperty(CONFIGURATION_AREA_READ_ONLY));
+					defaultCache = new ImageDataCache(new File(configuration, CACHE_DIRECTORY), readOnly);
+				}
+			}
+			return defaultCache;
+		}
+	}
+
+	private static File getConfigurationArea() {
+		if (!InternalPolicy.OSGI_AVAILABLE) {
+			return null;
+		}
+		String area = System.getProperty(CONFIGURATION_AREA);
+		if (area == null) {
+			return null;
+		}
+		try {
+			URL url = new URL(area);
+			return FILE_PROTOCOL.equalsIgnoreCase(url.getProtocol()) ? new File(url.getFile()) : null;
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether the default cache holds the image data of the given URL,
+	 * so that creating an image from the cached data is cheaper than loading the
+	 * image files.
+	 *
+	 * @param url the URL of an image, may be <code>null</code>
+	 * @return <code>true</code> if the image data is cached
+	 */
+	public static boolean isCached(URL url) {
+		ImageDataCache cache = getDefault();
+		return cache != null && url != null && cache.hasImageData(url);
+	}
+
+	/**
+	 * Returns whether this cache holds the image data of the image at the given
+	 * URL for zoom level 100, which is the first one an image asks for.
+	 *
+	 * @param url the URL of the image
+	 * @return <code>true</code> if the image data is cached
+	 */
+	public boolean hasImageData(URL url) {
+		Location location = locate(url);
+		if (location == Location.NONE) {
+			return false;
+		}
+		return stores.computeIfAbsent(location.container, Store::new).hasImageData(location, 100);
+	}
+
+	/**
+	 * Returns the image data of the image at the given URL for the given zoom
+	 * level. Loads the image data with the loader unless it has been cached, and
+	 * caches the result.
+	 *
+	 * @param url    the URL of the image
+	 * @param zoom   the zoom level
+	 * @param loader the function that loads the image data for a zoom level
+	 * @return the image data, or <code>null</code> if the loader did not find
+	 *         image data for the zoom level
+	 */
+	public ImageData getImageData(URL url, int zoom, IntFunction<ImageData> loader) {
+		Location location = locate(url);
+		if (location == Location.NONE) {
+			return loader.apply(zoom);
+		}
+		return stores.computeIfAbsent(location.container, Store::new).getImageData(location, zoom, loader);
+	}
+
+	/**
+	 * Returns the number of requests that were answered from the cache.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of requests that had to load the image data.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	private Location locate(URL url) {
+		return locations.computeIfAbsent(url.toExternalForm(), s -> resolve(url));
+	}
+
+	/**
+	 * Finds the jar or directory that contains the image at the given URL.
+	 *
+	 * @return the location, or {@link Location#NONE} if the image is not in a
+	 *         local file or jar
+	 */
+	private static Location resolve(URL url) {
+		try {
+			URL resolved = InternalPolicy.OSGI_AVAILABLE ? FileLocator.resolve(url) : url;
+			if (FILE_PROTOCOL.equalsIgnoreCase(resolved.getProtocol())) {
+				File file = new File(resolved.getFile());
+				File directory = file.getParentFile();
+				long stamp = file.lastModified();
+				if (directory == null || stamp == 0) {
+					return Location.NONE;
+				}
+				// new "@2x" images change the modification time of the directory
+				return new Location(directory, file.getName(), 31 * stamp + directory.lastModified());
+			}
+			if (JAR_PROTOCOL.equalsIgnoreCase(resolved.getProtocol())) {
+				String spec = resolved.getFile();
+				int separator = spec.indexOf(JAR_SEPARATOR);
+				if (separator == -1) {
+					return Location.NONE;
+				}
+				URL jarURL = new URL(spec.substring(0, separator));
+				if (!FILE_PROTOCOL.equalsIgnoreCase(jarURL.getProtocol())) {
+					return Location.NONE;
+				}
+				File jar = new File(jarURL.getFile());
+				long stamp = jar.lastModified();
+				if (stamp == 0) {
+					return Location.NONE;
+				}
+				return new Location(jar, spec.substring(separator + JAR_SEPARATOR.length()), 31 * stamp + jar.length());
+			}
+		} catch (IOException | RuntimeException e) {
+			// not a local image
+		}
+		return Location.NONE;
+	}
+
+	private static String getKey(Location location, int zoom) {
+		return location.path + '@' + zoom;
+	}
+
+	private static long nextGeneration() {
+		synchronized (GENERATIONS) {
+			long generation;
+			do {
+				generation = GENERATIONS.nextLong();
+			} while (generation == 0);
+			return generation;
+		}
+	}
+
+	private static byte[] toBytes(ImageData data) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.data.length + 256);
+		DataOutputStream out = new DataOutputStream(buffer);
+		out.writeInt(data.width);
+		out.writeInt(data.height);
+		out.writeInt(data.depth);
+		out.writeInt(data.scanlinePad);
+		PaletteData palette = data.palette;
+		out.writeBoolean(palette.isDirect);
+		if (palette.isDirect) {
+			out.writeInt(palette.redMask);
+			out.writeInt(palette.greenMask);
+			out.writeInt(palette.blueMask);
+		} else {
+			out.writeInt(palette.colors.length);
+			for (RGB color : palette.colors) {
+				out.writeByte(color.red);
+				out.writeByte(color.green);
+				out.writeByte(color.blue);
+			}
+		}
+		writeBytes(out, data.data);
+		out.writeInt(data.maskPad);
+		writeBytes(out, data.maskData);
+		out.writeInt(data.alpha);
+		writeBytes(out, data.alphaData);
+		out.writeInt(data.transparentPixel);
+		out.writeInt(data.type);
+		out.writeInt(data.x);
+		out.writeInt(data.y);
+		out.writeInt(data.disposalMethod);
+		out.writeInt(data.delayTime);
+		return buffer.toByteArray();
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			out.writeInt(MISSING);
+		} else {
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static ImageData toImageData(byte[] bytes) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		int width = in.readInt();
+		int height = in.readInt();
+		int depth = in.readInt();
+		int scanlinePad = in.readInt();
+		PaletteData palette;
+		if (in.readBoolean()) {
+			palette = new PaletteData(in.readInt(), in.readInt(), in.readInt());
+		} else {
+			RGB[] colors = new RGB[in.readInt()];
+			for (int i = 0; i < colors.length; i++) {
+				colors[i] = new RGB(in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte());
+			}
+			palette = new PaletteData(colors);
+		}
+		ImageData data = new ImageData(width, height, depth, palette, scanlinePad, readBytes(in));
+		data.maskPad = in.readInt();
+		data.maskData = readBytes(in);
+		data.alpha = in.readInt();
+		data.alphaData = readBytes(in);
+		data.transparentPixel = in.readInt();
+		data.type = in.readInt();
+		data.x = in.readInt();
+		data.y = in.readInt();
+		data.disposalMethod = in.readInt();
+		data.delayTime = in.readInt();
+		return data;
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length == MISSING) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void trace(String message, Exception e) {
+		if (InternalPolicy.DEBUG_TRACE_IMAGE_DATA_CACHE) {
+			Policy.getLog().log(new Status(IStatus.INFO, Policy.JFACE, message, e));
+		}
+	}
+}
@@ -94,6 +94,21 @@ public class InternalPolicy {
 	 */
 	public static boolean DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x_PNG_FOR_GIF = false;
 
+	/**
+	 * (NON-API) Cache the image data of images in bundles in the configuration
+	 * area, so that it does not have to be looked up and decoded again.
+	 *
+	 * @since 3.36
+	 */
+	public static boolean DEBUG_CACHE_IMAGE_DATA = false;
+
+	/**
+	 * (NON-API) Trace the hits and misses of the image data cache.
+	 *
+	 * @since 3.36
+	 */
+	public static boolean DEBUG_TRACE_IMAGE_DATA_CACHE = false;
+
 	/**
 	 * (NON-API) A flag to indicate whether the JFace bundle is running inside
 	 * an OSGi container
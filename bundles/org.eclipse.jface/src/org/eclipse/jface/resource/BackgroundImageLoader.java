@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Creates the images of {@link ImageDescriptor}s without decoding the image
+ * data in the UI thread.
+ * <p>
+ * The first time an image is requested, its image data is decoded in a
+ * background thread and the caller gets a placeholder image instead. Once the
+ * image data is available, the image is created in the UI thread by the
+ * resource manager of the loader, and the callbacks passed by the callers are
+ * run, typically to fire a label provider changed event so that viewers ask for
+ * the image again. From then on, the loader returns the image right away.
+ * </p>
+ * <p>
+ * Example usage in a label provider:
+ * </p>
+ *
+ * <pre>
+ * BackgroundImageLoader loader = new BackgroundImageLoader(new LocalResourceManager(JFaceResources.getResources()));
+ *
+ * public Image getImage(Object element) {
+ * 	return loader.getImage(getImageDescriptor(element), placeholder,
+ * 			() -&gt; fireLabelProviderChanged(new LabelProviderChangedEvent(this, element)));
+ * }
+ *
+ * public void dispose() {
+ * 	loader.dispose();
+ * }
+ * </pre>
+ * <p>
+ * The image data is only decoded in a background thread if the descriptor
+ * {@link ImageDescriptor#isImageDataThreadSafe() allows it}, otherwise it is
+ * decoded in the calling thread. Either way, the image is created and the
+ * callbacks are run later.
+ * </p>
+ * <p>
+ * A loader may only be used in the UI thread of the display of its resource
+ * manager.
+ * </p>
+ *
+ * @since 3.36
+ */
+public final class BackgroundImageLoader {
+
+	private static final int[] DEFAULT_ZOOM_LEVELS = { 100 };
+
+	/**
+	 * The state of the image of a descriptor.
+	 */
+	private static final class Entry {
+		/**
+		 * The descriptor the image was created from, <code>null</code> while the
+		 * image data is being decoded or if the default image is used.
+		 */
+		ImageDescriptor imageDescriptor;
+
+		Image image;
+
+		/**
+		 * The callbacks to run once the image is available, <code>null</code>
+		 * once they have been run.
+		 */
+		List<Runnable> callbacks = new ArrayList<>(1);
+	}
+
+	private final ResourceManager resourceManager;
+
+	private final Display display;
+
+	private final int[] zoomLevels;
+
+	private final Map<ImageDescriptor, Entry> entries = new HashMap<>();
+
+	private boolean disposed;
+
+	/**
+	 * Creates a loader that decodes the image data for the standard resolution
+	 * in the background. Image data for other zoom levels is decoded when SWT
+	 * asks for it.
+	 *
+	 * @param resourceManager the resource manager that creates the images, must
+	 *                        be a resource manager for a display
+	 */
+	public BackgroundImageLoader(ResourceManager resourceManager) {
+		this(resourceManager, DEFAULT_ZOOM_LEVELS);
+	}
+
+	/**
+	 * Creates a loader that decodes the image data for the given zoom levels in
+	 * the background, typically the zoom levels of the monitors. The standard
+	 * resolution is always decoded. Image data for other zoom levels is decoded
+	 * when SWT asks for it.
+	 *
+	 * @param resourceManager the resource manager that creates the images, must
+	 *                        be a resource manager for a display
+	 * @param zoomLevels      the zoom levels to decode in the background
+	 */
+	public BackgroundImageLoader(ResourceManager resourceManager, int... zoomLevels) {
+		Device device = resourceManager.getDevice();
+		Assert.isLegal(device instanceof Display, "The resource manager must be a resource manager for a display"); //$NON-NLS-1$
+		this.resourceManager = resourceManager;
+		this.display = (Display) device;
+		if (Arrays.stream(zoomLevels).anyMatch(zoom -> zoom == 100)) {
+			this.zoomLevels = zoomLevels.clone();
+		} else {
+			this.zoomLevels = new int[zoomLevels.length + 1];
+			this.zoomLevels[0] = 100;
+			System.arraycopy(zoomLevels, 0, this.zoomLevels, 1, zoomLevels.length);
+		}
+	}
+
+	/**
+	 * Returns the image of the given descriptor if it has been loaded already.
+	 * Otherwise starts loading it in the background if necessary and returns the
+	 * placeholder. The callback is run in the UI thread once the image has been
+	 * loaded.
+	 * <p>
+	 * If the image cannot be created, the loader uses the default image of its
+	 * resource manager instead.
+	 * </p>
+	 *
+	 * @param descriptor  the image descriptor, may be <code>null</code>
+	 * @param placeholder the image to return while the image is loaded, may be
+	 *                    <code>null</code>
+	 * @param loaded      the callback to run once the image is loaded, may be
+	 *                    <code>null</code>
+	 * @return the image, the placeholder, or <code>null</code> if the descriptor
+	 *         is <code>null</code>
+	 */
+	public Image getImage(ImageDescriptor descriptor, Image placeholder, Runnable loaded) {
+		if (descriptor == null) {
+			return null;
+		}
+		checkDisposed();
+		Entry entry = entries.get(descriptor);
+		if (entry == null) {
+			entry = new Entry();
+			entries.put(descriptor, entry);
+			load(descriptor, entry);
+		}
+		if (entry.image != null) {
+			return entry.image;
+		}
+		if (loaded != null && !entry.callbacks.contains(loaded)) {
+			entry.callbacks.add(loaded);
+		}
+		return placeholder;
+	}
+
+	/**
+	 * Returns whether the image of the given descriptor has been loaded.
+	 *
+	 * @param descriptor the image descriptor
+	 * @return <code>true</code> if {@link #getImage(ImageDescriptor, Image, Runnable)}
+	 *         returns the image of the descriptor
+	 */
+	public boolean isLoaded(ImageDescriptor descriptor) {
+		Entry entry = entries.get(descriptor);
+		return entry != null && entry.image != null;
+	}
+
+	private void load(ImageDescriptor descriptor, Entry entry) {
+		@SuppressWarnings("unchecked")
+		CompletableFuture<ImageData>[] futures = new CompletableFuture[zoomLevels.length];
+		for (int i = 0; i < zoomLevels.length; i++) {
+			futures[i] = descriptor.getImageDataAsync(zoomLevels[i]);
+		}
+		CompletableFuture.allOf(futures).whenComplete((result, exception) -> {
+			Map<Integer, ImageData> decoded = new HashMap<>();
+			for (int i = 0; i < zoomLevels.length; i++) {
+				ImageData data = futures[i].isCompletedExceptionally() ? null : futures[i].join();
+				if (data != null) {
+					decoded.put(Integer.valueOf(zoomLevels[i]), data);
+				}
+			}
+			try {
+				display.asyncExec(() -> loaded(descriptor, entry, decoded));
+			} catch (SWTException e) {
+				// the display has been disposed
+			}
+		});
+	}
+
+	private void loaded(ImageDescriptor descriptor, Entry entry, Map<Integer, ImageData> decoded) {
+		if (disposed || entries.get(descriptor) != entry) {
+			return;
+		}
+		Image image = null;
+		if (decoded.containsKey(Integer.valueOf(100))) {
+			ImageDescriptor imageDescriptor = ImageDescriptor.createFromImageDataProvider(zoom -> {
+				ImageData data = decoded.get(Integer.valueOf(zoom));
+				return data != null ? data : descriptor.getImageData(zoom);
+			});
+			try {
+				image = resourceManager.create(imageDescriptor);
+				entry.imageDescriptor = imageDescriptor;
+			} catch (DeviceResourceException e) {
+				// use the default image
+			} finally {
+				// the image lives as long as the provider, which must not keep the
+				// decoded data alive, later zoom changes decode again
+				decoded.clear();
+			}
+		}
+		entry.image = image != null ? image : resourceManager.getDefaultImage();
+		List<Runnable> callbacks = entry.callbacks;
+		entry.callbacks = null;
+		for (Runnable callback : callbacks) {
+			callback.run();
+		}
+	}
+
+	private void checkDisposed() {
+		if (disposed) {
+			throw new IllegalStateException("The image loader has been disposed"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Destroys all images created by the loader and discards the images that are
+	 * still being loaded. The loader must not be used anymore.
+	 */
+	public void dispose() {
+		if (disposed) {
+			return;
+		}
+		disposed = true;
+		for (Entry entry : entries.values()) {
+			if (entry.imageDescriptor != null) {
+				resourceManager.destroy(entry.imageDescriptor);
+			}
+		}
+		entries.clear();
+	}
+}
@@ -171,6 +171,32 @@ public abstract class CompositeImageDescriptor extends ImageDescriptor {
 	protected CompositeImageDescriptor() {
 	}
 
+	/**
+	 * Constructs an uninitialized composite image that is drawn from the given
+	 * image descriptors. The image may be cached and shared with equal
+	 * descriptors if all of the given descriptors may be cached, see
+	 * {@link DeviceResourceDescriptor#DeviceResourceDescriptor(boolean)}.
+	 * Descriptors whose equality depends on an {@link Image} handle, like
+	 * those created by {@link ImageDescriptor#createFromImage(Image)}, are
+	 * never cached.
+	 *
+	 * @param descriptors the image descriptors the composite image is drawn
+	 *                    from, <code>null</code> elements are ignored
+	 * @since 3.36
+	 */
+	protected CompositeImageDescriptor(ImageDescriptor... descriptors) {
+		super(allCached(descriptors));
+	}
+
+	private static boolean allCached(ImageDescriptor[] descriptors) {
+		for (ImageDescriptor descriptor : descriptors) {
+			if (descriptor != null && !descriptor.shouldBeCached()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Draw the composite images.
 	 * <p>
@@ -17,10 +17,12 @@
 package org.eclipse.jface.resource;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -31,6 +33,7 @@ import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.swt.SWT;
@@ -38,6 +41,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.graphics.ImageFileNameProvider;
 
 /**
@@ -72,6 +76,15 @@ class FileImageDescriptor extends ImageDescriptor implements IAdaptable {
 
 	}
 
+	private class CachedImageProvider implements ImageDataProvider {
+
+		@Override
+		public ImageData getImageData(int zoom) {
+			return FileImageDescriptor.this.getImageData(zoom);
+		}
+
+	}
+
 	private static final Pattern XPATH_PATTERN = Pattern.compile("(\\d+)x(\\d+)"); //$NON-NLS-1$
 
 	/**
@@ -123,6 +136,22 @@ class FileImageDescriptor extends ImageDescriptor implements IAdaptable {
 	 */
 	@Override
 	public ImageData getImageData(int zoom) {
+		ImageDataCache cache = ImageDataCache.getDefault();
+		if (cache != null) {
+			URL url = getURL();
+			if (url != null) {
+				return cache.getImageData(url, zoom, this::loadImageData);
+			}
+		}
+		return loadImageData(zoom);
+	}
+
+	@Override
+	protected boolean isImageDataThreadSafe() {
+		return true;
+	}
+
+	private ImageData loadImageData(int zoom) {
 		InputStream in = getStream(zoom);
 		if (in != null) {
 			try (BufferedInputStream stream = new BufferedInputStream(in)) {
@@ -240,6 +269,15 @@ class FileImageDescriptor extends ImageDescriptor implements IAdaptable {
 
 	@Override
 	public Image createImage(boolean returnMissingImageOnError, Device device) {
+		if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x && ImageDataCache.isCached(getURL())) {
+			try {
+				// Cached image data is cheaper to load than the image files. We
+				// want a fresh ImageDataProvider instance for Image#equals, too.
+				return new Image(device, new CachedImageProvider());
+			} catch (SWTException | IllegalArgumentException exception) {
+				// If we fail, fall back to the image files.
+			}
+		}
 		if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
 			try {
 				// We really want a fresh ImageFileNameProvider instance to make
@@ -310,6 +348,22 @@ class FileImageDescriptor extends ImageDescriptor implements IAdaptable {
 		}
 	}
 
+	/**
+	 * Returns the URL of the file.
+	 *
+	 * @return the URL or <code>null</code> if the file cannot be found
+	 */
+	private URL getURL() {
+		if (location != null) {
+			return location.getResource(name);
+		}
+		try {
+			return new File(name).toURI().toURL();
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
 	@Override
 	public <T> T getAdapter(Class<T> adapter) {
 		if (adapter == URL.class) {
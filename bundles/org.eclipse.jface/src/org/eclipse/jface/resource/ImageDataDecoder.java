@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.resource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * Decodes the image data of {@link ImageDescriptor}s on a small pool of daemon
+ * threads. The threads are started on demand and end when there is no more
+ * work.
+ */
+final class ImageDataDecoder {
+
+	private static final String THREAD_NAME = "Image Decoder "; //$NON-NLS-1$
+
+	private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+	private static final ThreadPoolExecutor EXECUTOR;
+
+	static {
+		AtomicInteger count = new AtomicInteger();
+		EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, THREAD_NAME + count.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setPriority(Thread.NORM_PRIORITY - 1);
+					return thread;
+				});
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	private ImageDataDecoder() {
+	}
+
+	/**
+	 * Decodes the image data of the descriptor in the background.
+	 *
+	 * @param descriptor the descriptor
+	 * @param zoom       the zoom level
+	 * @return the future image data, which completes with <code>null</code> if
+	 *         the descriptor has no image data for the zoom level
+	 */
+	static CompletableFuture<ImageData> decode(ImageDescriptor descriptor, int zoom) {
+		return CompletableFuture.supplyAsync(() -> descriptor.getImageData(zoom), EXECUTOR);
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.jface.resource;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.eclipse.swt.SWTException;
@@ -409,6 +410,53 @@ public abstract class ImageDescriptor extends DeviceResourceDescriptor<Image> {
 		return null;
 	}
 
+	/**
+	 * Creates a new SWT <code>ImageData</code> object for this image descriptor
+	 * by {@link #getImageData(int)}. If the descriptor
+	 * {@link #isImageDataThreadSafe() allows it}, the image data is created in a
+	 * background thread, so that decoding the image does not block the caller.
+	 * Otherwise it is created in the calling thread.
+	 * <p>
+	 * The future completes with <code>null</code> if no image data is available
+	 * for the given zoom level, and exceptionally if creating the image data
+	 * failed.
+	 * </p>
+	 *
+	 * @param zoom The zoom level in % of the standard resolution, see
+	 *             {@link #getImageData(int)}
+	 * @return the future image data
+	 * @see BackgroundImageLoader
+	 * @since 3.36
+	 */
+	public CompletableFuture<ImageData> getImageDataAsync(int zoom) {
+		if (isImageDataThreadSafe()) {
+			return ImageDataDecoder.decode(this, zoom);
+		}
+		try {
+			return CompletableFuture.completedFuture(getImageData(zoom));
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Returns whether {@link #getImageData(int)} may be called from any thread,
+	 * also concurrently for the same or different zoom levels. Only then
+	 * {@link #getImageDataAsync(int)} creates the image data in a background
+	 * thread.
+	 * <p>
+	 * The default implementation returns <code>false</code>. Subclasses that do
+	 * not keep state between calls of {@link #getImageData(int)} may override
+	 * this method to return <code>true</code>.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the image data may be created in any thread
+	 * @since 3.36
+	 */
+	protected boolean isImageDataThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Creates and returns a new SWT <code>ImageData</code> object
 	 * for this image descriptor.
@@ -202,6 +202,13 @@ public class JFaceResources {
 	 */
 	private static final int CACHE_SIZE = Integer.getInteger("org.eclipse.jface.resource.cacheSize", 300).intValue(); //$NON-NLS-1$
 
+	/**
+	 * The number of cached images, referenced or not, above which unreferenced
+	 * images are released before the cache is full. 0 means no limit.
+	 */
+	private static final int HANDLE_BUDGET = Integer.getInteger("org.eclipse.jface.resource.handleBudget", 0) //$NON-NLS-1$
+			.intValue();
+
 	/**
 	 * Returns the global resource manager for the given display
 	 *
@@ -218,7 +225,7 @@ public class JFaceResources {
 			if (CACHE_SIZE == 0) {
 				reg = new DeviceResourceManager(toQuery);
 			} else {
-				reg = new LazyResourceManager(CACHE_SIZE, new DeviceResourceManager(toQuery));
+				reg = new LazyResourceManager(CACHE_SIZE, HANDLE_BUDGET, new DeviceResourceManager(toQuery));
 			}
 			registries.put(toQuery, reg);
 			final ResourceManager mgr = reg;
@@ -14,8 +14,10 @@
 package org.eclipse.jface.resource;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.pde.api.tools.annotations.NoReference;
 import org.eclipse.swt.graphics.Device;
@@ -23,45 +25,52 @@ import org.eclipse.swt.graphics.Image;
 
 /**
  * A LRU based ResourceManager Wrapper. Not to be used by clients.
+ * <p>
+ * Resources of descriptors that should be cached are reference counted and
+ * shared by equal descriptors. When the last reference is destroyed the
+ * resource is kept in a LRU cache, so that it can be reused if an equal
+ * descriptor is created again. Unreferenced resources are destroyed when there
+ * are more than <code>cacheSize</code> of them, or when the number of handles
+ * kept by this manager exceeds the handle budget.
+ * </p>
  */
 @NoReference
 public class LazyResourceManager extends ResourceManager {
+	private final ResourceManager parent;
 	/**
 	 * This LRU Map only holds the DeviceResourceDescriptors which are not
-	 * referenced otherwise anymore. The Resources itself are only cached by the
-	 * parent ResourceManager.
+	 * referenced otherwise anymore, the least recently used first. The Resources
+	 * itself are only cached by the parent ResourceManager.
 	 */
-	private static class LruMap extends LinkedHashMap<DeviceResourceDescriptor<?>, ResourceManager> {
-		private static final long serialVersionUID = 1L;
-		int cacheSize;
-
-		LruMap(int cacheSize) {
-			super(cacheSize, 0.75f, true); // last access-order
-			this.cacheSize = cacheSize;
-		}
-
-		@Override
-		protected boolean removeEldestEntry(java.util.Map.Entry<DeviceResourceDescriptor<?>, ResourceManager> eldest) {
-			boolean remove = size() > cacheSize;
-			if (remove) {
-				// destroy resource which was not used recently:
-				eldest.getValue().destroy(eldest.getKey());
-			}
-			return remove;
-		}
-	}
-
-	private final ResourceManager parent;
-	private final LruMap unreferenced;
+	private final LinkedHashMap<DeviceResourceDescriptor<?>, ResourceManager> unreferenced;
 	private final Map<DeviceResourceDescriptor<?>, Integer> refCount;
+	private final int cacheSize;
+	private final int handleBudget;
+
+	private long hits;
+	private long misses;
+	private long evictions;
 
 	/**
 	 * @param cacheSize the lru cache size
 	 * @param parent    ResourceManager
 	 */
 	public LazyResourceManager(int cacheSize, ResourceManager parent) {
+		this(cacheSize, 0, parent);
+	}
+
+	/**
+	 * @param cacheSize    the lru cache size
+	 * @param handleBudget the maximum number of referenced and unreferenced
+	 *                     resources before unreferenced resources are destroyed,
+	 *                     or <code>0</code> for no limit
+	 * @param parent       ResourceManager
+	 */
+	public LazyResourceManager(int cacheSize, int handleBudget, ResourceManager parent) {
 		this.parent = parent;
-		this.unreferenced = new LruMap(cacheSize);
+		this.cacheSize = cacheSize;
+		this.handleBudget = handleBudget;
+		this.unreferenced = new LinkedHashMap<>(cacheSize, 0.75f, true); // last access-order
 		this.refCount = new HashMap<>();
 	}
 
@@ -92,12 +101,16 @@ public class LazyResourceManager extends ResourceManager {
 		if (updatedRefs == 1) {
 			ResourceManager cached = unreferenced.remove(descriptor);
 			if (cached == null) {
-				return parent.create(descriptor);
+				misses++;
+				R resource = parent.create(descriptor);
+				trim();
+				return resource;
 			}
 			// referenced again
 		} else {
 			assert !unreferenced.containsKey(descriptor);
 		}
+		hits++;
 		return parent.find(descriptor);
 	}
 
@@ -113,6 +126,23 @@ public class LazyResourceManager extends ResourceManager {
 			// defer destroy:
 			ResourceManager old = unreferenced.put(descriptor, parent);
 			assert old == null;
+			trim();
+		}
+	}
+
+	/**
+	 * Destroys the least recently used unreferenced resources until both the
+	 * cache size and the handle budget are respected.
+	 */
+	private void trim() {
+		Iterator<Entry<DeviceResourceDescriptor<?>, ResourceManager>> iterator = unreferenced.entrySet().iterator();
+		while (iterator.hasNext() && (unreferenced.size() > cacheSize
+				|| (handleBudget > 0 && unreferenced.size() + refCount.size() > handleBudget))) {
+			// destroy resource which was not used recently:
+			Entry<DeviceResourceDescriptor<?>, ResourceManager> eldest = iterator.next();
+			iterator.remove();
+			eldest.getValue().destroy(eldest.getKey());
+			evictions++;
 		}
 	}
 
@@ -127,4 +157,50 @@ public class LazyResourceManager extends ResourceManager {
 		return null;
 	}
 
+	/**
+	 * @return the number of times a cached resource was created for a descriptor
+	 *         that was still referenced or in the LRU cache
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of times a cached resource had to be created by the
+	 *         parent ResourceManager
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * @return the number of unreferenced resources that were destroyed to
+	 *         respect the cache size or the handle budget
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * @return the number of cached resources that are referenced
+	 */
+	public int getReferencedCount() {
+		return refCount.size();
+	}
+
+	/**
+	 * @return the number of cached resources that are not referenced anymore but
+	 *         kept in the LRU cache
+	 */
+	public int getUnreferencedCount() {
+		return unreferenced.size();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [referenced=" + getReferencedCount() + ", unreferenced=" //$NON-NLS-1$ //$NON-NLS-2$
+				+ getUnreferencedCount() + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ']';
+	}
+
 }
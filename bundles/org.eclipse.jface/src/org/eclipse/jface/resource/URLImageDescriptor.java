@@ -30,6 +30,7 @@ import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.swt.SWT;
@@ -136,25 +137,39 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		return getImageData(url, zoom);
 	}
 
+	@Override
+	protected boolean isImageDataThreadSafe() {
+		return true;
+	}
+
 	private static ImageData getImageData(String url, int zoom) {
 		URL tempURL = getURL(url);
 		if (tempURL != null) {
-			if (zoom == 100) {
-				return getImageData(tempURL);
+			ImageDataCache cache = ImageDataCache.getDefault();
+			if (cache != null) {
+				return cache.getImageData(tempURL, zoom, z -> loadImageData(tempURL, url, z));
 			}
-			URL xUrl = getxURL(tempURL, zoom);
-			if (xUrl != null) {
-				ImageData xdata = getImageData(xUrl);
-				if (xdata != null) {
-					return xdata;
-				}
+			return loadImageData(tempURL, url, zoom);
+		}
+		return null;
+	}
+
+	private static ImageData loadImageData(URL tempURL, String url, int zoom) {
+		if (zoom == 100) {
+			return getImageData(tempURL);
+		}
+		URL xUrl = getxURL(tempURL, zoom);
+		if (xUrl != null) {
+			ImageData xdata = getImageData(xUrl);
+			if (xdata != null) {
+				return xdata;
 			}
-			String xpath = FileImageDescriptor.getxPath(url, zoom);
-			if (xpath != null) {
-				URL xPathUrl = getURL(xpath);
-				if (xPathUrl != null) {
-					return getImageData(xPathUrl);
-				}
+		}
+		String xpath = FileImageDescriptor.getxPath(url, zoom);
+		if (xpath != null) {
+			URL xPathUrl = getURL(xpath);
+			if (xPathUrl != null) {
+				return getImageData(xPathUrl);
 			}
 		}
 		return null;
@@ -298,7 +313,8 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		}
 		try {
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				// Cached image data is cheaper to load than the image files
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && !ImageDataCache.isCached(getURL(url))) {
 					try {
 						// We really want a fresh ImageFileNameProvider instance to make
 						// sure the code that uses created images can use equals(),
@@ -135,6 +135,7 @@ public abstract class AbstractListViewer extends StructuredViewer {
 	 */
 	public void add(Object... elements) {
 		assertElementsNotNull(elements);
+		restartBackgroundRefresh();
 		Object[] filtered = filter(elements);
 		ILabelProvider labelProvider = (ILabelProvider) getLabelProvider();
 		for (Object element : filtered) {
@@ -172,6 +173,7 @@ public abstract class AbstractListViewer extends StructuredViewer {
 			return;
 		}
 
+		restartBackgroundRefresh();
 		insertItem((ILabelProvider) getLabelProvider(), element, position);
 	}
 
@@ -334,49 +336,65 @@ public abstract class AbstractListViewer extends StructuredViewer {
 
 	@Override
 	protected void internalRefresh(Object element) {
-		Control list = getControl();
 		if (element == null || equals(element, getRoot())) {
 			// the parent
-			if (listMap != null) {
-				listMap.clear();
-			}
-			unmapAllElements();
-			List<?> selection = getSelectionFromWidget();
-
-			int topIndex = -1;
-			if (selection == null || selection.isEmpty()) {
-				topIndex = listGetTopIndex();
-			}
+			internalRefreshRoot(null, true);
+		} else {
+			doUpdateItem(getControl(), element, true);
+		}
+	}
 
-			Object[] children = null;
-			list.setRedraw(false);
-			try {
-				listRemoveAll();
+	@Override
+	boolean canRefreshInBackground() {
+		return true;
+	}
 
-				children = getSortedChildren(getRoot());
-				String[] items = new String[children.length];
+	/**
+	 * Refreshes all elements of the list with the given sorted and filtered
+	 * children, which may have been computed in the background, or with the
+	 * current children if <code>children</code> is <code>null</code>.
+	 */
+	@Override
+	void internalRefreshRoot(Object[] children, boolean updateLabels) {
+		Control list = getControl();
+		if (listMap != null) {
+			listMap.clear();
+		}
+		unmapAllElements();
+		List<?> selection = getSelectionFromWidget();
 
-				ILabelProvider labelProvider = (ILabelProvider) getLabelProvider();
+		int topIndex = -1;
+		if (selection == null || selection.isEmpty()) {
+			topIndex = listGetTopIndex();
+		}
 
-				for (int i = 0; i < items.length; i++) {
-					Object el = children[i];
-					items[i] = getLabelProviderText(labelProvider, el);
-					listMap.add(el);
-					mapElement(el, list); // must map it, since findItem only looks in map, if enabled
-				}
+		list.setRedraw(false);
+		try {
+			listRemoveAll();
 
-				listSetItems(items);
-			} finally {
-				list.setRedraw(true);
+			if (children == null) {
+				children = getSortedChildren(getRoot());
 			}
+			String[] items = new String[children.length];
 
-			if (topIndex == -1) {
-				setSelectionToWidget(selection, false);
-			} else {
-				listSetTopIndex(Math.min(topIndex, children.length));
+			ILabelProvider labelProvider = (ILabelProvider) getLabelProvider();
+
+			for (int i = 0; i < items.length; i++) {
+				Object el = children[i];
+				items[i] = getLabelProviderText(labelProvider, el);
+				listMap.add(el);
+				mapElement(el, list); // must map it, since findItem only looks in map, if enabled
 			}
+
+			listSetItems(items);
+		} finally {
+			list.setRedraw(true);
+		}
+
+		if (topIndex == -1) {
+			setSelectionToWidget(selection, false);
 		} else {
-			doUpdateItem(list, element, true);
+			listSetTopIndex(Math.min(topIndex, children.length));
 		}
 	}
 
@@ -440,6 +458,7 @@ public abstract class AbstractListViewer extends StructuredViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		restartBackgroundRefresh();
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -251,6 +251,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		assertElementsNotNull(elements);
 		if (checkBusy())
 			return;
+		restartBackgroundRefresh();
 		Object[] filtered = filter(elements);
 
 		final int itemsLimit = getItemsLimit();
@@ -600,6 +601,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		restartBackgroundRefresh();
 		createItem(element, position);
 	}
 
@@ -625,6 +627,23 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		}
 	}
 
+	@Override
+	boolean canRefreshInBackground() {
+		return getItemsLimit() <= 0 && !(getContentProvider() instanceof ILazyContentProvider);
+	}
+
+	@Override
+	void internalRefreshRoot(Object[] children, boolean updateLabels) {
+		applyEditorValue();
+		if (virtualManager == null) {
+			internalRefreshAll(children, doGetItems(), updateLabels);
+		} else {
+			virtualManager.cachedElements = children;
+			doSetItemCount(children.length);
+			doClearAll();
+		}
+	}
+
 	/**
 	 * Refresh all with virtual elements.
 	 *
@@ -657,18 +676,30 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 	 */
 	private void internalRefreshAll(boolean updateLabels) {
 		// the parent
+		Item[] items = doGetItems();
+		Object[] children = getChildrenWithLimitApplied(getRoot(), items);
+		if (children == null) {
+			children = getSortedChildren(getRoot());
+		}
+		internalRefreshAll(children, items, updateLabels);
+	}
 
+	/**
+	 * Refresh the given items of the table with the given sorted and filtered
+	 * children, which may have been computed in the background. update the
+	 * labels if updateLabels is true;
+	 *
+	 * @param children
+	 * @param items
+	 * @param updateLabels
+	 */
+	private void internalRefreshAll(Object[] children, Item[] items, boolean updateLabels) {
 		// in the code below, it is important to do all disassociates
 		// before any associates, since a later disassociate can undo an
 		// earlier associate
 		// e.g. if (a, b) is replaced by (b, a), the disassociate of b to
 		// item 1 could undo
 		// the associate of b to item 0.
-		Item[] items = doGetItems();
-		Object[] children = getChildrenWithLimitApplied(getRoot(), items);
-		if (children == null) {
-			children = getSortedChildren(getRoot());
-		}
 		int min = Math.min(children.length, items.length);
 		for (int i = 0; i < min; ++i) {
 
@@ -831,6 +862,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		restartBackgroundRefresh();
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -26,8 +26,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
@@ -139,6 +143,36 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 */
 	private boolean isTreePathContentProvider = false;
 
+	/**
+	 * The updates recorded by {@link #batchUpdates(Runnable)}, or
+	 * <code>null</code> if no batch is in progress.
+	 */
+	private UpdateBatch updateBatch;
+
+	/**
+	 * The widgets that need to be updated at the end of a batch of updates.
+	 */
+	private static final class UpdateBatch {
+		/**
+		 * Widgets whose children have been added, inserted or removed.
+		 */
+		final Set<Widget> changedParents = new LinkedHashSet<>();
+
+		/**
+		 * Widgets to refresh, mapped to whether labels are updated.
+		 */
+		final Map<Widget, Boolean> refreshed = new LinkedHashMap<>();
+
+		void refresh(Widget widget, boolean updateLabels) {
+			refreshed.merge(widget, updateLabels, Boolean::logicalOr);
+		}
+
+		void clear() {
+			changedParents.clear();
+			refreshed.clear();
+		}
+	}
+
 	/**
 	 * Safe runnable used to update an item.
 	 */
@@ -193,6 +227,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		if (widgets.length == 0) {
 			return;
 		}
+		if (updateBatch != null) {
+			updateBatch.changedParents.addAll(Arrays.asList(widgets));
+			return;
+		}
 
 		for (Widget widget : widgets) {
 			internalAdd(widget, parentElementOrTreePath, childElements);
@@ -277,24 +315,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		// if the widget is not expanded we just invalidate the subtree
 		if (widget instanceof Item ti) {
 			if (!getExpanded(ti)) {
-				boolean needDummy = isExpandable(ti, path, parent);
-				boolean haveDummy = false;
-				// remove all children
-				Item[] items = getItems(ti);
-				for (Item item : items) {
-					if (item.getData() != null) {
-						disassociate(item);
-						item.dispose();
-					} else if (needDummy && !haveDummy) {
-						haveDummy = true;
-					} else {
-						item.dispose();
-					}
-				}
-				// append a dummy if necessary
-				if (needDummy && !haveDummy) {
-					newItem(ti, SWT.NULL, -1);
-				}
+				invalidateChildren(ti, path, parent);
 				return;
 			}
 		}
@@ -2343,6 +2364,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		if (updateBatch != null) {
+			batchRemove(elementsOrTreePaths);
+			return;
+		}
 		preservingSelection(() -> internalRemove(elementsOrTreePaths));
 	}
 
@@ -2371,6 +2396,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		if (updateBatch != null) {
+			updateBatch.changedParents.addAll(Arrays.asList(findItems(parent)));
+			return;
+		}
 		preservingSelection(() -> internalRemove(parent, elements));
 	}
 
@@ -2392,6 +2421,226 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		remove(new Object[] { elementsOrTreePaths });
 	}
 
+	/**
+	 * Records the parents of the given elements as changed parents of the
+	 * current batch of updates.
+	 *
+	 * @param elementsOrTreePaths the elements to remove
+	 */
+	private void batchRemove(Object[] elementsOrTreePaths) {
+		Object input = getInput();
+		for (Object element : elementsOrTreePaths) {
+			if (equals(element, input)) {
+				updateBatch.clear();
+				setInput(null);
+				return;
+			}
+			Widget[] items = internalFindItems(element);
+			if (items.length > 0) {
+				for (Widget item : items) {
+					if (item instanceof Item it) {
+						Item parentItem = getParentItem(it);
+						updateBatch.changedParents.add(parentItem != null ? parentItem : getControl());
+					}
+				}
+			} else {
+				// the parent may have to lose its plus sign, see internalRemove(Object[])
+				Object parent = getParentElement(element);
+				if (parent != null && !equals(parent, getRoot())
+						&& !(parent instanceof TreePath tp && tp.getSegmentCount() == 0)) {
+					updateBatch.changedParents.addAll(Arrays.asList(internalFindItems(parent)));
+				}
+			}
+		}
+	}
+
+	@Override
+	public void refresh(Object element) {
+		if (updateBatch != null) {
+			batchRefresh(element, true);
+			return;
+		}
+		super.refresh(element);
+	}
+
+	@Override
+	public void refresh(Object element, boolean updateLabels) {
+		if (updateBatch != null) {
+			batchRefresh(element, updateLabels);
+			return;
+		}
+		super.refresh(element, updateLabels);
+	}
+
+	/**
+	 * Records the items of the given element to be refreshed at the end of the
+	 * current batch of updates.
+	 *
+	 * @param element      the element to refresh, or <code>null</code> for the
+	 *                     root
+	 * @param updateLabels whether to update labels for existing elements
+	 */
+	private void batchRefresh(Object element, boolean updateLabels) {
+		if (checkBusy())
+			return;
+		if (element == null || equals(element, getRoot())) {
+			updateBatch.refresh(getControl(), updateLabels);
+			return;
+		}
+		for (Widget item : findItems(element)) {
+			updateBatch.refresh(item, updateLabels);
+		}
+	}
+
+	/**
+	 * Runs the given updates as one batch.
+	 * <p>
+	 * The calls to <code>add</code>, <code>insert</code>, <code>remove</code>
+	 * and <code>refresh</code> made by the runnable are not applied one by one.
+	 * Instead, the viewer records the items whose children have changed. When
+	 * the runnable returns, the children of each of these items are compared
+	 * once with the current children in the model, and only the items that
+	 * differ are created, disposed or moved. Items that are refreshed
+	 * themselves, or that are below a refreshed item, are only updated by that
+	 * refresh. All updates are applied in one pass with redraw turned off and
+	 * the selection preserved.
+	 * </p>
+	 * <p>
+	 * This is meant for content providers that translate many model changes
+	 * into viewer updates at once, for example the resource deltas of a build.
+	 * Like the individual methods, the batch only affects the viewer; the model
+	 * must reflect all changes when the runnable returns. Nested calls join
+	 * the outer batch. Viewers with a lazy content provider apply the updates
+	 * immediately.
+	 * </p>
+	 *
+	 * @param updates the runnable that updates this viewer
+	 * @since 3.36
+	 */
+	public void batchUpdates(Runnable updates) {
+		Assert.isNotNull(updates);
+		if (updateBatch != null || !canBatchUpdates()) {
+			updates.run();
+			return;
+		}
+		UpdateBatch batch = new UpdateBatch();
+		updateBatch = batch;
+		try {
+			updates.run();
+		} finally {
+			updateBatch = null;
+			applyUpdateBatch(batch);
+		}
+	}
+
+	/**
+	 * Returns whether updates can be recorded by
+	 * {@link #batchUpdates(Runnable)}. The default implementation returns
+	 * <code>true</code>.
+	 *
+	 * @return <code>true</code> if updates can be batched
+	 */
+	boolean canBatchUpdates() {
+		return true;
+	}
+
+	private void applyUpdateBatch(UpdateBatch batch) {
+		Control control = getControl();
+		if (control == null || control.isDisposed()
+				|| (batch.changedParents.isEmpty() && batch.refreshed.isEmpty())) {
+			return;
+		}
+		control.setRedraw(false);
+		try {
+			preservingSelection(() -> {
+				if (!batch.refreshed.isEmpty() && isCellEditorActive()) {
+					cancelEditing();
+				}
+				for (Map.Entry<Widget, Boolean> entry : batch.refreshed.entrySet()) {
+					Widget widget = entry.getKey();
+					boolean updateLabels = entry.getValue().booleanValue();
+					Object element = getBatchElement(widget);
+					if (element != null && !isRefreshedByAncestor(batch, widget, updateLabels)) {
+						internalRefresh(widget, element, true, updateLabels);
+					}
+				}
+				for (Widget widget : batch.changedParents) {
+					Object parent = getBatchElement(widget);
+					if (parent == null || batch.refreshed.containsKey(widget)
+							|| isRefreshedByAncestor(batch, widget, false)) {
+						continue;
+					}
+					if (widget instanceof Item item && !getExpanded(item)) {
+						// like internalAdd, don't compute the children of a collapsed item
+						invalidateChildren(item, null, parent);
+					} else {
+						// compare the children once, without recursing like a refresh
+						updateChildren(widget, parent, getChildrenWithLimitApplied(parent, getChildren(widget)), false);
+					}
+				}
+			});
+		} finally {
+			control.setRedraw(true);
+		}
+	}
+
+	/**
+	 * Removes the child items of a collapsed item, so that they are created
+	 * again when it is expanded, and adds or removes the dummy item that shows
+	 * the "+" icon.
+	 */
+	private void invalidateChildren(Item item, TreePath path, Object element) {
+		boolean needDummy = isExpandable(item, path, element);
+		boolean haveDummy = false;
+		// remove all children
+		Item[] items = getItems(item);
+		for (Item child : items) {
+			if (child.getData() != null) {
+				disassociate(child);
+				child.dispose();
+			} else if (needDummy && !haveDummy) {
+				haveDummy = true;
+			} else {
+				child.dispose();
+			}
+		}
+		// append a dummy if necessary
+		if (needDummy && !haveDummy) {
+			newItem(item, SWT.NULL, -1);
+		}
+	}
+
+	/**
+	 * Returns the element of the given widget, or <code>null</code> if the
+	 * widget has been disposed while the batch was applied.
+	 */
+	private Object getBatchElement(Widget widget) {
+		if (widget.isDisposed()) {
+			return null;
+		}
+		return widget == getControl() ? getRoot() : widget.getData();
+	}
+
+	/**
+	 * Returns whether an ancestor of the given widget is refreshed by the given
+	 * batch, updating labels if <code>updateLabels</code> is <code>true</code>.
+	 */
+	private boolean isRefreshedByAncestor(UpdateBatch batch, Widget widget, boolean updateLabels) {
+		if (batch.refreshed.isEmpty() || widget == getControl()) {
+			return false;
+		}
+		Item item = getParentItem((Item) widget);
+		while (item != null) {
+			Boolean labels = batch.refreshed.get(item);
+			if (labels != null && (labels.booleanValue() || !updateLabels)) {
+				return true;
+			}
+			item = getParentItem(item);
+		}
+		Boolean labels = batch.refreshed.get(getControl());
+		return labels != null && (labels.booleanValue() || !updateLabels);
+	}
+
 	/**
 	 * Removes all items from the given control.
 	 *
@@ -3327,6 +3576,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		} else {
 			items = internalFindItems(parentElementOrTreePath);
 		}
+		if (updateBatch != null) {
+			updateBatch.changedParents.addAll(Arrays.asList(items));
+			return;
+		}
 
 		for (Widget widget : items) {
 			if (widget instanceof Item item) {
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Computes the sorted and filtered children of the root of a
+ * {@link StructuredViewer} in a background thread and applies them to the
+ * viewer in the UI thread.
+ * <p>
+ * Every request increments a generation counter. A result is only applied if
+ * no other request was made while it was computed, so a burst of refreshes
+ * results in a single update of the widget. Requests are processed by one
+ * daemon thread, which is started on demand and ends when there is no more
+ * work.
+ * </p>
+ */
+final class BackgroundRefresher {
+
+	private static final String THREAD_NAME = "Viewer Refresh"; //$NON-NLS-1$
+
+	private final StructuredViewer viewer;
+
+	/**
+	 * This lock protects the fields that are shared with the refresh thread.
+	 */
+	private final Object lock = new Object();
+
+	/**
+	 * The generation of the latest request, or of the latest cancellation.
+	 */
+	private volatile int generation;
+
+	/**
+	 * The generation of the request the refresh thread has to compute, or
+	 * <code>-1</code> if there is none. Protected by <code>lock</code>.
+	 */
+	private int requestedGeneration = -1;
+
+	/**
+	 * The root element of the request to compute. Protected by
+	 * <code>lock</code>.
+	 */
+	private Object requestedRoot;
+
+	/**
+	 * <code>true</code> if the refresh thread is running. Protected by
+	 * <code>lock</code>.
+	 */
+	private boolean threadStarted;
+
+	/**
+	 * <code>true</code> if a request was made that has not been applied or
+	 * canceled yet. Only accessed in the UI thread.
+	 */
+	private boolean pending;
+
+	/**
+	 * <code>true</code> if any of the pending requests asked to update the
+	 * labels of unchanged elements. Only accessed in the UI thread.
+	 */
+	private boolean updateLabels;
+
+	BackgroundRefresher(StructuredViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Requests the children of the root to be computed in the background. Must
+	 * be called in the UI thread.
+	 *
+	 * @param updateLabels <code>true</code> to update the labels of unchanged
+	 *                     elements once the children are applied
+	 */
+	void schedule(boolean updateLabels) {
+		this.updateLabels |= updateLabels;
+		pending = true;
+		Display display = viewer.getControl().getDisplay();
+		synchronized (lock) {
+			requestedGeneration = ++generation;
+			requestedRoot = viewer.getRoot();
+			if (!threadStarted) {
+				threadStarted = true;
+				Thread thread = new Thread(() -> run(display), THREAD_NAME);
+				thread.setDaemon(true);
+				thread.setPriority(Thread.NORM_PRIORITY - 1);
+				thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Computes a pending request again, because the viewer or its model has
+	 * changed since it was made. Does nothing if there is no pending request.
+	 * Must be called in the UI thread.
+	 */
+	void restart() {
+		if (pending) {
+			schedule(false);
+		}
+	}
+
+	/**
+	 * Discards the result of a pending request. Must be called in the UI
+	 * thread.
+	 *
+	 * @return <code>true</code> if a pending request was discarded
+	 */
+	boolean cancel() {
+		if (!pending) {
+			return false;
+		}
+		pending = false;
+		updateLabels = false;
+		synchronized (lock) {
+			generation++;
+			requestedGeneration = -1;
+			requestedRoot = null;
+		}
+		return true;
+	}
+
+	private void run(Display display) {
+		while (true) {
+			int requested;
+			Object root;
+			synchronized (lock) {
+				if (requestedGeneration == -1) {
+					threadStarted = false;
+					return;
+				}
+				requested = requestedGeneration;
+				root = requestedRoot;
+				requestedGeneration = -1;
+				requestedRoot = null;
+			}
+			Object[] children;
+			try {
+				children = viewer.getSortedChildren(root);
+			} catch (RuntimeException e) {
+				// refresh in the UI thread, which reports the problem as usual
+				// unless the viewer changed while the children were computed
+				children = null;
+			}
+			if (requested != generation) {
+				// a newer request or a cancellation made this result stale
+				continue;
+			}
+			final Object[] result = children;
+			try {
+				display.asyncExec(() -> apply(requested, result));
+			} catch (RuntimeException e) {
+				// the display has been disposed
+			}
+		}
+	}
+
+	private void apply(int requested, Object[] children) {
+		Control control = viewer.getControl();
+		if (requested != generation || control == null || control.isDisposed()) {
+			return;
+		}
+		boolean labels = updateLabels;
+		pending = false;
+		updateLabels = false;
+		viewer.applyBackgroundRefresh(children, labels);
+	}
+}
@@ -116,6 +116,9 @@ public class DecorationOverlayIcon extends CompositeImageDescriptor {
 	 */
 	public DecorationOverlayIcon(ImageDescriptor baseImageDescriptor, ImageDescriptor overlayImageDescriptor,
 			int quadrant) {
+		// Unlike a base image, descriptors like URL or file image descriptors
+		// stay valid, so identical combinations of them can share a cached image
+		super(baseImageDescriptor, overlayImageDescriptor);
 		this.referenceImageOrDescriptor = baseImageDescriptor;
 		this.overlays = createArrayFrom(overlayImageDescriptor, quadrant);
 		this.baseImageDataProvider = createCachedImageDataProvider(baseImageDescriptor);
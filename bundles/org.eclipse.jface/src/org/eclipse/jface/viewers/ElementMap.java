@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Maps the elements of a {@link StructuredViewer} to the widgets that show
+ * them.
+ * <p>
+ * The map uses open addressing with linear probing. Elements and their
+ * widgets are stored next to each other in a single array, so no object is
+ * allocated per entry, and removed entries are filled by shifting back the
+ * following entries, so lookups never have to skip deleted slots. An element
+ * that is shown by one widget maps to the widget itself, an element that is
+ * shown by several widgets maps to a <code>Widget[]</code>.
+ * </p>
+ * <p>
+ * Elements are compared with the viewer's {@link IElementComparer}, or with
+ * their own <code>equals</code> and <code>hashCode</code> methods if there is
+ * none. Identical elements are always considered equal.
+ * </p>
+ */
+/* package */final class ElementMap {
+
+	/**
+	 * The initial number of slots, must be a power of two.
+	 */
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * Spreads the hash codes over the table, see Knuth's multiplicative
+	 * hashing.
+	 */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	private final IElementComparer comparer;
+
+	/**
+	 * The element of slot <code>i</code> is stored at <code>2 * i</code>, its
+	 * <code>Widget</code> or <code>Widget[]</code> at <code>2 * i + 1</code>.
+	 */
+	private Object[] table;
+
+	/**
+	 * The number of bits of a slot index, the number of slots is
+	 * <code>1 &lt;&lt; bits</code>.
+	 */
+	private int bits;
+
+	private int size;
+
+	/**
+	 * Creates an empty map.
+	 *
+	 * @param comparer the element comparer to use to compare elements and
+	 *                 obtain hash codes for them, or <code>null</code> to use
+	 *                 the normal <code>equals</code> and <code>hashCode</code>
+	 *                 methods
+	 */
+	ElementMap(IElementComparer comparer) {
+		this.comparer = comparer;
+		clear();
+	}
+
+	/**
+	 * Creates a map with the same content as the given map, but using the given
+	 * element comparer.
+	 *
+	 * @param map      the map to copy
+	 * @param comparer the element comparer to use, or <code>null</code>
+	 */
+	ElementMap(ElementMap map, IElementComparer comparer) {
+		this.comparer = comparer;
+		clear();
+		Object[] other = map.table;
+		for (int i = 0; i < other.length; i += 2) {
+			Object element = other[i];
+			if (element != null) {
+				Object value = other[i + 1];
+				if (value instanceof Widget) {
+					add(element, (Widget) value);
+				} else {
+					for (Widget widget : (Widget[]) value) {
+						add(element, widget);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the widget or widgets that show the given element.
+	 *
+	 * @param element the element
+	 * @return a <code>Widget</code>, a <code>Widget[]</code> with at least two
+	 *         widgets, or <code>null</code> if the element is not mapped
+	 */
+	Object get(Object element) {
+		int slot = indexOf(element);
+		return slot < 0 ? null : table[slot + 1];
+	}
+
+	/**
+	 * Adds the given widget to the widgets that show the given element. Does
+	 * nothing if the element is already mapped to the widget. The given
+	 * element replaces an equal element that is already in the map, so the map
+	 * does not hold on to stale elements.
+	 *
+	 * @param element the element, not <code>null</code>
+	 * @param widget  the widget, not <code>null</code>
+	 * @throws NullPointerException if the element or the widget is
+	 *                              <code>null</code>
+	 */
+	void add(Object element, Widget widget) {
+		if (element == null || widget == null) {
+			// a null element would mark its slot as empty
+			throw new NullPointerException();
+		}
+		int slot = indexOf(element);
+		if (slot < 0) {
+			if (size + 1 > table.length >> 2) {
+				// keep at most half of the slots occupied
+				resize(bits + 1);
+			}
+			slot = freeSlot(element);
+			table[slot] = element;
+			table[slot + 1] = widget;
+			size++;
+			return;
+		}
+		table[slot] = element;
+		Object value = table[slot + 1];
+		if (value instanceof Widget) {
+			if (value != widget) {
+				table[slot + 1] = new Widget[] { (Widget) value, widget };
+			}
+			return;
+		}
+		Widget[] widgets = (Widget[]) value;
+		for (Widget w : widgets) {
+			if (w == widget) {
+				return;
+			}
+		}
+		int length = widgets.length;
+		System.arraycopy(widgets, 0, widgets = new Widget[length + 1], 0, length);
+		widgets[length] = widget;
+		table[slot + 1] = widgets;
+	}
+
+	/**
+	 * Removes the given element and all its widgets from the map.
+	 *
+	 * @param element the element
+	 */
+	void remove(Object element) {
+		int slot = indexOf(element);
+		if (slot >= 0) {
+			removeSlot(slot);
+		}
+	}
+
+	/**
+	 * Removes the given widget from the widgets that show the given element.
+	 * Does nothing if the element is not mapped to the widget.
+	 *
+	 * @param element the element
+	 * @param widget  the widget
+	 */
+	void remove(Object element, Widget widget) {
+		int slot = indexOf(element);
+		if (slot < 0) {
+			return;
+		}
+		Object value = table[slot + 1];
+		if (value instanceof Widget) {
+			if (value == widget) {
+				removeSlot(slot);
+			}
+			return;
+		}
+		Widget[] widgets = (Widget[]) value;
+		int length = widgets.length;
+		for (int i = 0; i < length; i++) {
+			if (widgets[i] == widget) {
+				if (length == 2) {
+					table[slot + 1] = widgets[1 - i];
+				} else {
+					Widget[] updatedWidgets = new Widget[length - 1];
+					System.arraycopy(widgets, 0, updatedWidgets, 0, i);
+					System.arraycopy(widgets, i + 1, updatedWidgets, i, length - i - 1);
+					table[slot + 1] = updatedWidgets;
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes all elements and releases the memory used for them.
+	 */
+	void clear() {
+		bits = Integer.numberOfTrailingZeros(MIN_CAPACITY);
+		table = new Object[MIN_CAPACITY << 1];
+		size = 0;
+	}
+
+	/**
+	 * @return the number of mapped elements
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the array index of the given element, or <code>-1</code> if it
+	 * is not in the map.
+	 */
+	private int indexOf(Object element) {
+		Object[] tab = table;
+		int mask = tab.length - 1;
+		int index = slotOf(element) << 1;
+		Object current;
+		while ((current = tab[index]) != null) {
+			if (current == element || keyEquals(element, current)) {
+				return index;
+			}
+			index = (index + 2) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the array index of the first empty slot for an element that is
+	 * not in the map.
+	 */
+	private int freeSlot(Object element) {
+		int mask = table.length - 1;
+		int index = slotOf(element) << 1;
+		while (table[index] != null) {
+			index = (index + 2) & mask;
+		}
+		return index;
+	}
+
+	/**
+	 * Empties the slot at the given array index and moves back the entries
+	 * that could not be stored in their own slot because of it.
+	 */
+	private void removeSlot(int index) {
+		Object[] tab = table;
+		int mask = tab.length - 1;
+		int hole = index;
+		int next = (index + 2) & mask;
+		Object element;
+		while ((element = tab[next]) != null) {
+			int home = slotOf(element) << 1;
+			// move the entry if the hole lies between its home slot and its
+			// current slot, taking the wrap-around into account
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				tab[hole] = element;
+				tab[hole + 1] = tab[next + 1];
+				hole = next;
+			}
+			next = (next + 2) & mask;
+		}
+		tab[hole] = null;
+		tab[hole + 1] = null;
+		size--;
+	}
+
+	private void resize(int newBits) {
+		Object[] oldTable = table;
+		bits = newBits;
+		table = new Object[2 << newBits];
+		for (int i = 0; i < oldTable.length; i += 2) {
+			Object element = oldTable[i];
+			if (element != null) {
+				int slot = freeSlot(element);
+				table[slot] = element;
+				table[slot + 1] = oldTable[i + 1];
+			}
+		}
+	}
+
+	private int slotOf(Object element) {
+		int hash = comparer == null ? element.hashCode() : comparer.hashCode(element);
+		return (hash * HASH_MULTIPLIER) >>> (32 - bits);
+	}
+
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('{');
+		for (int i = 0; i < table.length; i += 2) {
+			if (table[i] != null) {
+				if (buffer.length() > 1) {
+					buffer.append(", "); //$NON-NLS-1$
+				}
+				buffer.append(table[i]);
+				buffer.append('=');
+				Object value = table[i + 1];
+				buffer.append(value instanceof Widget[] ? Arrays.toString((Widget[]) value) : value);
+			}
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+}
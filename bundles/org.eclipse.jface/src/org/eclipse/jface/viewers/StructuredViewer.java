@@ -69,7 +69,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * <code>Object</code>, value type: <code>Widget</code>, or <code>Widget[]</code>).
 	 * <code>null</code> means that the element map is disabled.
 	 */
-	private CustomHashtable elementMap;
+	private ElementMap elementMap;
 
 	/**
 	 * The comparer to use for comparing elements, or <code>null</code> to use
@@ -152,6 +152,14 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	private StructuredViewerInternals.AssociateListener associateListener;
 
+	/**
+	 * Computes the children of the root in the background if background
+	 * refresh is enabled, <code>null</code> otherwise.
+	 *
+	 * @see #setBackgroundRefresh(boolean)
+	 */
+	private BackgroundRefresher backgroundRefresher;
+
 	/**
 	 * Empty array of widgets.
 	 */
@@ -1264,25 +1272,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void mapElement(Object element, Widget item) {
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				elementMap.put(element, item);
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (widgetOrWidgets != item) {
-					elementMap.put(element, new Widget[] {
-							(Widget) widgetOrWidgets, item });
-				}
-			} else {
-				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
-					int length = widgets.length;
-					System.arraycopy(widgets, 0,
-							widgets = new Widget[length + 1], 0, length);
-					widgets[length] = item;
-					elementMap.put(element, widgets);
-				}
-			}
+			elementMap.add(element, item);
 		}
 	}
 
@@ -1460,6 +1450,9 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 *            the element
 	 */
 	public void refresh(final Object element) {
+		if (refreshInBackground(element, true)) {
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element));
 	}
 
@@ -1483,9 +1476,150 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @since 2.0
 	 */
 	public void refresh(final Object element, final boolean updateLabels) {
+		if (refreshInBackground(element, updateLabels)) {
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element, updateLabels));
 	}
 
+	/**
+	 * Schedules a background refresh if the given element is the root and
+	 * background refresh is enabled and supported. Otherwise discards a pending
+	 * background refresh that is superseded by refreshing the root.
+	 *
+	 * @param element      the element to refresh
+	 * @param updateLabels whether to update labels for existing elements
+	 * @return <code>true</code> if a background refresh was scheduled
+	 */
+	private boolean refreshInBackground(Object element, boolean updateLabels) {
+		if (backgroundRefresher == null || (element != null && !equals(element, getRoot()))) {
+			return false;
+		}
+		// filtered out elements are reported to the associate listener in the UI thread
+		if (associateListener == null && canRefreshInBackground()) {
+			backgroundRefresher.schedule(updateLabels);
+			return true;
+		}
+		backgroundRefresher.cancel();
+		return false;
+	}
+
+	/**
+	 * Sets whether refreshing the root of this viewer computes the filtered
+	 * and sorted children in a background thread.
+	 * <p>
+	 * If enabled, {@link #refresh()}, {@link #refresh(boolean)} and refreshing
+	 * the root element return immediately. The children are obtained from the
+	 * content provider, filtered and sorted in a background thread, and only
+	 * the difference to the elements shown is applied to the widget in the UI
+	 * thread. A refresh that is requested while another one is computed
+	 * supersedes it, so its stale result is discarded. Changes made through
+	 * this viewer, such as adding or removing elements, restart a pending
+	 * refresh.
+	 * </p>
+	 * <p>
+	 * Clients that enable background refresh must make sure that the content
+	 * provider, the filters, the comparator and, if the comparator sorts by
+	 * label, the label provider can be called from a background thread. Viewers
+	 * that do not support background refresh, and viewers that display their
+	 * elements incrementally or lazily, keep refreshing in the UI thread.
+	 * Background refresh is disabled by default.
+	 * </p>
+	 *
+	 * @param backgroundRefresh <code>true</code> to refresh in the background,
+	 *                          <code>false</code> to refresh in the UI thread
+	 * @since 3.36
+	 */
+	public void setBackgroundRefresh(boolean backgroundRefresh) {
+		if (backgroundRefresh == isBackgroundRefresh()) {
+			return;
+		}
+		if (backgroundRefresh) {
+			backgroundRefresher = new BackgroundRefresher(this);
+		} else {
+			boolean pending = backgroundRefresher.cancel();
+			backgroundRefresher = null;
+			if (pending) {
+				refresh();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether refreshing the root of this viewer computes the filtered
+	 * and sorted children in a background thread.
+	 *
+	 * @return <code>true</code> if background refresh is enabled
+	 * @see #setBackgroundRefresh(boolean)
+	 * @since 3.36
+	 */
+	public boolean isBackgroundRefresh() {
+		return backgroundRefresher != null;
+	}
+
+	/**
+	 * Returns whether the root of this viewer can currently be refreshed in the
+	 * background.
+	 * <p>
+	 * The default implementation returns <code>false</code>. Viewers that
+	 * return <code>true</code> must implement
+	 * {@link #internalRefreshRoot(Object[], boolean)}.
+	 * </p>
+	 *
+	 * @return <code>true</code> if {@link #getSortedChildren(Object)} can be
+	 *         computed in a background thread
+	 */
+	boolean canRefreshInBackground() {
+		return false;
+	}
+
+	/**
+	 * Refreshes the root of this viewer with the given sorted and filtered
+	 * children. The default implementation ignores the children and refreshes
+	 * the root like {@link #internalRefresh(Object, boolean)}.
+	 *
+	 * @param children     the sorted and filtered children of the root
+	 * @param updateLabels whether to update labels for existing elements
+	 */
+	void internalRefreshRoot(Object[] children, boolean updateLabels) {
+		internalRefresh(getRoot(), updateLabels);
+	}
+
+	/**
+	 * Applies the result of a background refresh. Called in the UI thread.
+	 *
+	 * @param children     the sorted and filtered children of the root, or
+	 *                     <code>null</code> if they could not be computed in
+	 *                     the background
+	 * @param updateLabels whether to update labels for existing elements
+	 */
+	void applyBackgroundRefresh(Object[] children, boolean updateLabels) {
+		Control control = getControl();
+		control.setRedraw(false);
+		try {
+			preservingSelection(() -> {
+				if (children == null) {
+					internalRefresh(getRoot(), updateLabels);
+				} else {
+					internalRefreshRoot(children, updateLabels);
+				}
+			});
+		} finally {
+			control.setRedraw(true);
+		}
+	}
+
+	/**
+	 * Computes a pending background refresh again because the elements of this
+	 * viewer have been changed. Subclasses call this method when elements are
+	 * added, inserted or removed.
+	 */
+	void restartBackgroundRefresh() {
+		if (backgroundRefresher != null) {
+			backgroundRefresher.restart();
+		}
+	}
+
 	/**
 	 *
 	 * Refreshes the given item with the given element. Calls
@@ -1633,6 +1767,9 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 							"(Has the widget been disposed?)"); //$NON-NLS-1$
 		}
 		unmapAllElements();
+		if (backgroundRefresher != null) {
+			backgroundRefresher.cancel();
+		}
 		super.setInput(input);
 	}
 
@@ -1766,7 +1903,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		Assert.isTrue(getInput() == null,
 				"Can only enable the hash look up before input has been set");//$NON-NLS-1$
 		if (enable) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap = new ElementMap(getComparer());
 		} else {
 			elementMap = null;
 		}
@@ -1784,7 +1921,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	public void setComparer(IElementComparer comparer) {
 		this.comparer = comparer;
 		if (elementMap != null) {
-			elementMap = new CustomHashtable(elementMap, comparer);
+			elementMap = new ElementMap(elementMap, comparer);
 		}
 	}
 
@@ -1855,7 +1992,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void unmapAllElements() {
 		if (elementMap != null) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap.clear();
 		}
 	}
 
@@ -1892,39 +2029,10 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @since 2.0
 	 */
 	protected void unmapElement(Object element, Widget item) {
-		// double-check that the element actually maps to the given item before
-		// unmapping it
+		// the element map double-checks that the element actually maps to the
+		// given item before unmapping it
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				// item was not mapped, return
-				return;
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (item == widgetOrWidgets) {
-					elementMap.remove(element);
-				}
-			} else {
-				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
-					return;
-				}
-				int length = widgets.length;
-				if (indexOfItem == 0) {
-					if(length == 1) {
-						elementMap.remove(element);
-					} else {
-						Widget[] updatedWidgets = new Widget[length - 1];
-						System.arraycopy(widgets, 1, updatedWidgets, 0, length -1 );
-						elementMap.put(element, updatedWidgets);
-					}
-				} else {
-					Widget[] updatedWidgets = new Widget[length - 1];
-					System.arraycopy(widgets, 0, updatedWidgets, 0, indexOfItem);
-					System.arraycopy(widgets, indexOfItem + 1, updatedWidgets, indexOfItem, length - indexOfItem - 1);
-					elementMap.put(element, updatedWidgets);
-				}
-			}
+			elementMap.remove(element, item);
 		}
 	}
 
@@ -2269,11 +2377,14 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	@Override
 	protected void handleDispose(DisposeEvent event) {
 		super.handleDispose(event);
+		if (backgroundRefresher != null) {
+			backgroundRefresher.cancel();
+		}
 		sorter = null;
 		comparer = null;
 		if (filters != null)
 			filters.clear();
-		elementMap = newHashtable(1);
+		elementMap = new ElementMap(null);
 		openListeners.clear();
 		doubleClickListeners.clear();
 		colorAndFontCollector.clear();
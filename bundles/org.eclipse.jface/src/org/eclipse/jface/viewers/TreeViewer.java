@@ -797,6 +797,11 @@ public class TreeViewer extends AbstractTreeViewer {
 		}
 	}
 
+	@Override
+	boolean canBatchUpdates() {
+		return !contentProviderIsLazy;
+	}
+
 	/**
 	 * Removes the element at the specified index of the parent.  The selection is updated if required.
 	 *
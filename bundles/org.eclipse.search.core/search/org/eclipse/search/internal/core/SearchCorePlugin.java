@@ -13,8 +13,14 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core;
 
+import java.util.Hashtable;
+
 import org.osgi.framework.BundleContext;
 
+import org.eclipse.osgi.service.debug.DebugOptions;
+import org.eclipse.osgi.service.debug.DebugOptionsListener;
+import org.eclipse.osgi.service.debug.DebugTrace;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
@@ -22,8 +28,9 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
 
-public class SearchCorePlugin extends Plugin {
+public class SearchCorePlugin extends Plugin implements DebugOptionsListener {
 	/**
 	 * Search Plug-in Id (value <code>"org.eclipse.search"</code>).
 	 */
@@ -31,11 +38,22 @@ public class SearchCorePlugin extends Plugin {
 	/** Status code describing an internal error */
 	public static final int INTERNAL_ERROR = 1;
 
+	/**
+	 * The bundle owning the debug options of the search, the search core shares them with the
+	 * search UI.
+	 */
+	private static final String DEBUG_OPTIONS_BUNDLE = "org.eclipse.search"; //$NON-NLS-1$
+
+	/** The debug option reporting the performance of text searches. */
+	public static final String PERF_DEBUG_OPTION = "/perf"; //$NON-NLS-1$
+
 	private static SearchCorePlugin fgSearchPlugin;
 
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndexManager fTrigramIndexManager;
+	private volatile DebugTrace fTrace;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -54,11 +72,24 @@ public class SearchCorePlugin extends Plugin {
 	@Override
 	public void start(BundleContext context) throws Exception {
 		this.fDirtyFileSearchParticipantTracker = new DirtyFileSearchParticipantServiceTracker(context);
+		Hashtable<String, String> properties = new Hashtable<>();
+		properties.put(DebugOptions.LISTENER_SYMBOLICNAME, DEBUG_OPTIONS_BUNDLE);
+		context.registerService(DebugOptionsListener.class, this, properties);
+	}
+
+	@Override
+	public void optionsChanged(DebugOptions options) {
+		fTrace = options.newDebugTrace(DEBUG_OPTIONS_BUNDLE);
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTrigramIndexManager != null) {
+				fTrigramIndexManager.shutdown();
+				fTrigramIndexManager = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -76,6 +107,20 @@ public class SearchCorePlugin extends Plugin {
 		return fDirtyFileSearchParticipant;
 	}
 
+	/**
+	 * Returns the manager of the trigram index used by the indexed text search engine. The index
+	 * is built and kept up to date only after the first call.
+	 *
+	 * @return the trigram index manager
+	 */
+	public synchronized TrigramIndexManager getTrigramIndexManager() {
+		if (fTrigramIndexManager == null) {
+			fTrigramIndexManager = new TrigramIndexManager();
+			fTrigramIndexManager.startup();
+		}
+		return fTrigramIndexManager;
+	}
+
 	/**
 	 * Log status to platform log
 	 * 
@@ -91,6 +136,22 @@ public class SearchCorePlugin extends Plugin {
 				e));
 	}
 
+	/**
+	 * Traces a message for the given debug option of the search.
+	 *
+	 * @param option
+	 *            the debug option, e.g. {@link #PERF_DEBUG_OPTION}
+	 * @param message
+	 *            the message to trace
+	 */
+	public static void trace(String option, String message) {
+		SearchCorePlugin plugin = getDefault();
+		DebugTrace trace = plugin == null ? null : plugin.fTrace;
+		if (trace != null) {
+			trace.trace(option, message);
+		}
+	}
+
 	public static String getID() {
 		return PLUGIN_ID;
 	}
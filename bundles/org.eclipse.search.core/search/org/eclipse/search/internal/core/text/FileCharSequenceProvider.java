@@ -17,6 +17,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
@@ -246,6 +249,9 @@ public class FileCharSequenceProvider {
 
 		private IFile fFile;
 
+		private CharsetDecoder fDecoder;
+		private String fDecoderCharsetName;
+
 		public FileCharSequence(IFile file) throws CoreException, IOException {
 			fNumberOfBuffers= 0;
 			reset(file);
@@ -270,10 +276,26 @@ public class FileCharSequenceProvider {
 				fReader.close();
 			}
 			String charset= fFile.getCharset();
-			fReader= new InputStreamReader(getInputStream(charset), charset);
+			CharsetDecoder decoder= getDecoder(charset);
+			fReader= new InputStreamReader(getInputStream(charset), decoder);
 			fReaderPos= 0;
 		}
 
+		/**
+		 * Returns a decoder for the given charset. The decoder is reused for the next file with the
+		 * same charset, and for rereading the file from the start.
+		 */
+		private CharsetDecoder getDecoder(String charsetName) {
+			if (fDecoder == null || !fDecoderCharsetName.equals(charsetName)) {
+				// like InputStreamReader(InputStream, String)
+				fDecoder= Charset.forName(charsetName).newDecoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+				fDecoderCharsetName= charsetName;
+			}
+			return fDecoder.reset();
+		}
+
 		private InputStream getInputStream(String charset) throws CoreException, IOException {
 			boolean ok= false;
 			InputStream contents= fFile.getContents();
@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.content.IContentDescription;
+
+/**
+ * Searches a large local file in segments that are decoded and matched concurrently.
+ * <p>
+ * The file is split at line feeds into segments of about {@link #SEGMENT_SIZE} bytes, which are
+ * searched by the common {@link ForkJoinPool}. The matches are reported in the order of the
+ * file, while the following segments are still searched.
+ * </p>
+ * <p>
+ * A segment can only be decoded on its own if a line feed is a single byte that never is part of
+ * another character, see {@link #canSplit(Charset)}. A match must not cross the boundary of a
+ * segment, so only patterns that never match a line delimiter are searched in segments, see
+ * {@link #isLineLocal(Pattern)}. The matches of these patterns do not depend on the content of
+ * other lines either, so the segments need not overlap and the matches of all segments are exactly
+ * the matches of a search over the whole file.
+ * </p>
+ * <p>
+ * Every thread keeps its decoder, buffers and matcher for the next segment it searches.
+ * </p>
+ */
+public final class FileSegmentSearcher {
+
+	/**
+	 * Receives the matches of a search.
+	 */
+	public interface MatchCollector {
+		/**
+		 * Accepts a match.
+		 *
+		 * @param offset the character offset of the match in the file
+		 * @param length the length of the match
+		 * @return <code>false</code> if no further matches should be reported
+		 * @throws CoreException if the match cannot be processed
+		 */
+		boolean acceptMatch(int offset, int length) throws CoreException;
+	}
+
+	/**
+	 * The approximate number of bytes of a segment. Files not larger than a segment are not
+	 * split.
+	 **/
+	private static final int SEGMENT_SIZE= 1 << 20;
+
+	private static final byte LINE_FEED= '\n';
+
+	/** The number of segments searched ahead of the segment whose matches are reported. */
+	private static final int SEGMENTS_IN_FLIGHT= 2 * ForkJoinPool.getCommonPoolParallelism();
+
+	private static final ThreadLocal<SegmentBuffers> fgBuffers= ThreadLocal.withInitial(SegmentBuffers::new);
+
+	/**
+	 * The decoder, buffers and matcher of a thread.
+	 */
+	private static final class SegmentBuffers {
+		private CharsetDecoder fDecoder;
+		private ByteBuffer fBytes= ByteBuffer.allocate(0);
+		private CharBuffer fChars= CharBuffer.allocate(0);
+		private Matcher fMatcher;
+
+		CharsetDecoder getDecoder(Charset charset) {
+			if (fDecoder == null || !fDecoder.charset().equals(charset)) {
+				fDecoder= charset.newDecoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			}
+			return fDecoder.reset();
+		}
+
+		ByteBuffer getBytes(int capacity) {
+			if (fBytes.capacity() < capacity) {
+				fBytes= ByteBuffer.allocate(capacity);
+			}
+			return fBytes.clear().limit(capacity);
+		}
+
+		CharBuffer getChars(int capacity) {
+			if (fChars.capacity() < capacity) {
+				fChars= CharBuffer.allocate(capacity);
+			}
+			return fChars.clear();
+		}
+
+		Matcher getMatcher(Pattern pattern, CharSequence input) {
+			if (fMatcher == null || fMatcher.pattern() != pattern) {
+				fMatcher= pattern.matcher(input);
+			} else {
+				fMatcher.reset(input);
+			}
+			return fMatcher;
+		}
+	}
+
+	/**
+	 * A task searching one segment. Returns the character length of the segment followed by the
+	 * offset and length of every match, relative to the start of the segment.
+	 */
+	private final class SegmentTask extends RecursiveTask<int[]> {
+		private static final long serialVersionUID= 1L;
+
+		private final FileChannel fChannel;
+		private final long fStart;
+		private final long fEnd;
+
+		SegmentTask(FileChannel channel, long start, long end) {
+			fChannel= channel;
+			fStart= start;
+			fEnd= end;
+		}
+
+		@Override
+		protected int[] compute() {
+			try {
+				return searchSegment(fChannel, fStart, fEnd);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private final Pattern fPattern;
+	private final Charset fCharset;
+	private final int fSegmentSize;
+	private final IProgressMonitor fMonitor;
+
+	/**
+	 * Creates a searcher.
+	 *
+	 * @param pattern the pattern to search, must be {@link #isLineLocal(Pattern) line local}
+	 * @param charset the charset of the files, must be {@link #canSplit(Charset) splittable}
+	 * @param monitor the monitor to check for cancellation
+	 */
+	public FileSegmentSearcher(Pattern pattern, Charset charset, IProgressMonitor monitor) {
+		this(pattern, charset, SEGMENT_SIZE, monitor);
+	}
+
+	/**
+	 * Creates a searcher with the given segment size.
+	 *
+	 * @param pattern the pattern to search, must be {@link #isLineLocal(Pattern) line local}
+	 * @param charset the charset of the files, must be {@link #canSplit(Charset) splittable}
+	 * @param segmentSize the approximate number of bytes of a segment
+	 * @param monitor the monitor to check for cancellation
+	 */
+	FileSegmentSearcher(Pattern pattern, Charset charset, int segmentSize, IProgressMonitor monitor) {
+		fPattern= pattern;
+		fCharset= charset;
+		fSegmentSize= segmentSize;
+		fMonitor= monitor;
+	}
+
+	/**
+	 * Tells whether files in the given charset can be split at line feeds without decoding the
+	 * preceding content.
+	 *
+	 * @param charset the charset
+	 * @return <code>true</code> if the charset is split safely
+	 */
+	public static boolean canSplit(Charset charset) {
+		if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1)) {
+			return true;
+		}
+		String name= charset.name();
+		return name.startsWith("ISO-8859-") || name.startsWith("windows-125"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tells whether the given pattern never matches a line delimiter, and whether its matches do
+	 * not depend on the text before the start of the line. The boundary matchers <code>^</code>
+	 * and <code>$</code> are only line local in {@link Pattern#MULTILINE} mode, otherwise they
+	 * match at the start and end of the input, which differ for a segment. The answer is
+	 * conservative, patterns using constructs that are not understood here are not line local.
+	 *
+	 * @param pattern the pattern
+	 * @return <code>true</code> if the pattern is line local
+	 */
+	public static boolean isLineLocal(Pattern pattern) {
+		if ((pattern.flags() & (Pattern.DOTALL | Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return false;
+		}
+		String regex= pattern.pattern();
+		if ((pattern.flags() & Pattern.LITERAL) != 0) {
+			return regex.indexOf('\n') == -1;
+		}
+		boolean multiline= (pattern.flags() & Pattern.MULTILINE) != 0;
+		int length= regex.length();
+		for (int i= 0; i < length; i++) {
+			char ch= regex.charAt(i);
+			if (ch == '\\' && i + 1 < length) {
+				char next= regex.charAt(++i);
+				if (next == 'Q') {
+					int end= regex.indexOf("\\E", i + 1); //$NON-NLS-1$
+					if (end == -1) {
+						end= length;
+					}
+					if (regex.substring(i + 1, end).indexOf('\n') != -1) {
+						return false;
+					}
+					i= end + 1;
+				} else if (Character.isLetterOrDigit(next) && "bBdwE123456789".indexOf(next) == -1) { //$NON-NLS-1$
+					// character classes, boundaries like \A and \Z, control characters and named groups
+					return false;
+				}
+			} else if ((ch == '^' || ch == '$') && !multiline) {
+				// the start and end of the input
+				return false;
+			} else if (ch == '[' && i + 1 < length && regex.charAt(i + 1) == '^') {
+				// negated character classes match line delimiters
+				return false;
+			} else if (ch == '(' && i + 1 < length && regex.charAt(i + 1) == '?') {
+				// inline flags and lookbehind
+				if (i + 2 >= length || ":=!>".indexOf(regex.charAt(i + 2)) == -1) { //$NON-NLS-1$
+					return false;
+				}
+			} else if (ch < ' ' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Searches the given file in segments.
+	 *
+	 * @param file the file to search
+	 * @param skipByteOrderMark <code>true</code> to skip a UTF-8 byte order mark at the start of
+	 *            the file
+	 * @param collector the collector receiving the matches in the order of the file
+	 * @return <code>true</code> if the file has been searched, <code>false</code> if it is too
+	 *         small or cannot be split and must be searched as a whole
+	 * @throws IOException if reading the file fails
+	 * @throws CoreException if the collector fails
+	 */
+	public boolean search(File file, boolean skipByteOrderMark, MatchCollector collector) throws IOException, CoreException {
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long[] starts= computeSegmentStarts(channel, skipByteOrderMark);
+			if (starts == null) {
+				return false;
+			}
+
+			Deque<SegmentTask> tasks= new ArrayDeque<>();
+			int next= 0;
+			int segmentOffset= 0;
+			try {
+				while (next < starts.length - 1 || !tasks.isEmpty()) {
+					while (next < starts.length - 1 && tasks.size() < SEGMENTS_IN_FLIGHT) {
+						SegmentTask task= new SegmentTask(channel, starts[next], starts[next + 1]);
+						task.fork();
+						tasks.add(task);
+						next++;
+					}
+					int[] result= join(tasks.poll());
+					if (fMonitor.isCanceled()) {
+						return true;
+					}
+					for (int i= 1; i < result.length; i+= 2) {
+						if (!collector.acceptMatch(segmentOffset + result[i], result[i + 1])) {
+							return true; // no further reporting requested
+						}
+					}
+					segmentOffset+= result[0];
+				}
+				return true;
+			} finally {
+				// tasks that already run fail on the closed channel, their results are dropped
+				for (SegmentTask task : tasks) {
+					task.cancel(false);
+				}
+			}
+		}
+	}
+
+	private static int[] join(SegmentTask task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof UncheckedIOException ioException) {
+				throw ioException.getCause();
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Computes the start offsets of the segments, each after a line feed.
+	 *
+	 * @param channel the channel of the file
+	 * @param skipByteOrderMark whether to skip a UTF-8 byte order mark
+	 * @return the byte offsets of the segments, followed by the size of the file, or
+	 *         <code>null</code> if the file cannot be split
+	 * @throws IOException if reading the file fails
+	 */
+	private long[] computeSegmentStarts(FileChannel channel, boolean skipByteOrderMark) throws IOException {
+		long size= channel.size();
+		int segmentSize= fSegmentSize;
+		if (size <= segmentSize) {
+			return null;
+		}
+		int count= (int) ((size + segmentSize - 1) / segmentSize);
+		long[] starts= new long[count + 1];
+		starts[0]= skipByteOrderMark && startsWithByteOrderMark(channel) ? IContentDescription.BOM_UTF_8.length : 0;
+		int used= 1;
+		ByteBuffer buffer= ByteBuffer.allocate(Math.min(segmentSize, 1 << 13));
+		for (int i= 1; i < count; i++) {
+			long nominal= (long) i * segmentSize;
+			if (nominal <= starts[used - 1]) {
+				continue; // the previous line ends beyond this segment
+			}
+			long start= findLineStart(channel, nominal, segmentSize, buffer);
+			if (start < 0) {
+				return null; // line longer than a segment
+			}
+			if (start < size) {
+				starts[used++]= start;
+			}
+		}
+		starts[used++]= size;
+		return Arrays.copyOf(starts, used);
+	}
+
+	/**
+	 * Finds the first offset at or after <code>offset</code> that follows a line feed.
+	 *
+	 * @return the offset, or -1 if there is no line feed within <code>limit</code> bytes
+	 */
+	private static long findLineStart(FileChannel channel, long offset, int limit, ByteBuffer buffer) throws IOException {
+		long position= offset - 1;
+		long end= position + limit;
+		while (position < end) {
+			buffer.clear();
+			int read= channel.read(buffer, position);
+			if (read == -1) {
+				return channel.size();
+			}
+			for (int i= 0; i < read; i++) {
+				if (buffer.get(i) == LINE_FEED) {
+					return position + i + 1;
+				}
+			}
+			position+= read;
+		}
+		return -1;
+	}
+
+	private static boolean startsWithByteOrderMark(FileChannel channel) throws IOException {
+		byte[] bom= IContentDescription.BOM_UTF_8;
+		ByteBuffer buffer= ByteBuffer.allocate(bom.length);
+		while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) != -1) {
+			// read the first bytes
+		}
+		return !buffer.hasRemaining() && Arrays.equals(buffer.array(), bom);
+	}
+
+	private int[] searchSegment(FileChannel channel, long start, long end) throws IOException {
+		if (fMonitor.isCanceled()) {
+			return new int[] { 0 };
+		}
+		SegmentBuffers buffers= fgBuffers.get();
+		int byteLength= (int) (end - start);
+		ByteBuffer bytes= buffers.getBytes(byteLength);
+		while (bytes.hasRemaining()) {
+			if (channel.read(bytes, start + bytes.position()) == -1) {
+				throw new IOException("file truncated during search"); //$NON-NLS-1$
+			}
+		}
+		bytes.flip();
+
+		CharsetDecoder decoder= buffers.getDecoder(fCharset);
+		CharBuffer chars= buffers.getChars((int) Math.ceil(byteLength * (double) decoder.maxCharsPerByte()));
+		decoder.decode(bytes, chars, true);
+		decoder.flush(chars);
+		chars.flip();
+
+		int[] result= new int[17];
+		int count= 1;
+		Matcher matcher= buffers.getMatcher(fPattern, chars);
+		while (matcher.find()) {
+			int matchStart= matcher.start();
+			int matchEnd= matcher.end();
+			if (matchEnd != matchStart) { // don't report 0-length matches
+				if (count + 2 > result.length) {
+					if (fMonitor.isCanceled()) {
+						break;
+					}
+					result= Arrays.copyOf(result, 2 * result.length + 1);
+				}
+				result[count++]= matchStart;
+				result[count++]= matchEnd - matchStart;
+			}
+		}
+		// don't hold on to the characters of a finished search
+		matcher.reset(""); //$NON-NLS-1$
+		result[0]= chars.length();
+		return Arrays.copyOf(result, count);
+	}
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A text search engine that uses the {@link TrigramIndex trigram index} of the workspace to skip
+ * files that cannot contain a match. The remaining files are searched like the default engine
+ * does. Files with unsaved changes in editors are always searched.
+ * <p>
+ * The index is built in the background when the engine is first created. The size and build time
+ * of the index and the fraction of files it rules out are available from the engine and its
+ * {@link #toString()}. Each search is also traced when the <code>org.eclipse.search/perf</code>
+ * debug option is set.
+ * </p>
+ */
+public class IndexedTextSearchEngine extends TextSearchEngine {
+
+	private final TrigramIndexManager fIndexManager;
+
+	public IndexedTextSearchEngine() {
+		fIndexManager= SearchCorePlugin.getDefault().getTrigramIndexManager();
+	}
+
+	/**
+	 * Returns the number of files in the index.
+	 *
+	 * @return the number of indexed files, <code>0</code> if the index is not loaded yet
+	 * @see TrigramIndexManager#getIndexedFileCount()
+	 */
+	public int getIndexedFileCount() {
+		return fIndexManager.getIndexedFileCount();
+	}
+
+	/**
+	 * Returns the size of the index when it was last saved.
+	 *
+	 * @return the size in bytes, or <code>-1</code> if the index has not been saved yet
+	 * @see TrigramIndexManager#getIndexSize()
+	 */
+	public long getIndexSize() {
+		return fIndexManager.getIndexSize();
+	}
+
+	/**
+	 * Returns the time it took to build the index.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if the index is not built yet
+	 * @see TrigramIndexManager#getBuildTime()
+	 */
+	public long getBuildTime() {
+		return fIndexManager.getBuildTime();
+	}
+
+	/**
+	 * Returns the fraction of the files in the scope of all searches so far that the index ruled
+	 * out.
+	 *
+	 * @return the hit rate between <code>0</code> and <code>1</code>
+	 * @see TrigramIndexManager#getHitRate()
+	 */
+	public double getHitRate() {
+		return fIndexManager.getHitRate();
+	}
+
+	@Override
+	public String toString() {
+		return "IndexedTextSearchEngine[" + fIndexManager + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		MultiStatus status= new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK, SearchCoreMessages.TextSearchEngine_statusMessage, null);
+		IFile[] files= scope.evaluateFilesInScope(status);
+		status.merge(search(files, requestor, searchPattern, monitor));
+		return status;
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		IFile[] candidates= fIndexManager.selectCandidates(scope, searchPattern);
+		if (candidates.length < scope.length && discovery != null) {
+			Map<IFile, IDocument> dirtyFiles= discovery.dirtyFiles();
+			if (dirtyFiles != null && !dirtyFiles.isEmpty()) {
+				List<IFile> searched= new ArrayList<>();
+				Set<IFile> selected= new HashSet<>(Arrays.asList(candidates));
+				for (IFile file : scope) {
+					if (selected.contains(file) || dirtyFiles.containsKey(file)) {
+						searched.add(file);
+					}
+				}
+				candidates= searched.toArray(new IFile[searched.size()]);
+			}
+		}
+		return new TextSearchVisitor(requestor, searchPattern, discovery).search(candidates, monitor);
+	}
+}
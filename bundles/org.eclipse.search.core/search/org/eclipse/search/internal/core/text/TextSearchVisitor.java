@@ -17,7 +17,9 @@ package org.eclipse.search.internal.core.text;
 
 import java.io.CharConversionException;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -40,6 +42,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
 import org.eclipse.core.runtime.jobs.Job;
@@ -213,7 +216,12 @@ public class TextSearchVisitor {
 						if (reportTextOnly && hasBinaryContent(charsequence)) {
 							return Status.OK_STATUS;
 						}
-						occurences = locateMatches(file, charsequence, matcher, monitor);
+						if (charsequence instanceof String) {
+							occurences = locateMatches(file, charsequence, matcher, monitor);
+						} else {
+							// file too large for a String
+							occurences = locateMatchesInSegments(file, charsequence, matcher, monitor);
+						}
 					} catch (FileCharSequenceProvider.FileCharSequenceException e) {
 						if (e.getCause() instanceof RuntimeException runtimeEx) {
 							throw runtimeEx;
@@ -505,6 +513,36 @@ public class TextSearchVisitor {
 	}
 
 
+	/**
+	 * Searches a large file in segments that are searched concurrently, see
+	 * {@link FileSegmentSearcher}. Falls back to a search of the whole file if the file, its
+	 * charset or the search pattern do not allow to split the file.
+	 */
+	private List<TextSearchMatchAccess> locateMatchesInSegments(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor) throws CoreException, IOException {
+		IPath location= file.getLocation();
+		if (location != null && FileSegmentSearcher.isLineLocal(fSearchPattern)) {
+			String charsetName= file.getCharset();
+			Charset charset= Charset.forName(charsetName);
+			if (FileSegmentSearcher.canSplit(charset)) {
+				IContentDescription description= file.getContentDescription();
+				boolean skipByteOrderMark= StandardCharsets.UTF_8.name().equals(charsetName) && description != null
+						&& description.getProperty(IContentDescription.BYTE_ORDER_MARK) != null;
+				List<TextSearchMatchAccess> occurences= new ArrayList<>();
+				FileSegmentSearcher searcher= new FileSegmentSearcher(fSearchPattern, charset, monitor);
+				boolean searched= searcher.search(location.toFile(), skipByteOrderMark, (offset, length) -> {
+					ReusableMatchAccess access= new ReusableMatchAccess();
+					access.initialize(file, offset, length, searchInput);
+					occurences.add(access);
+					return fCollector.acceptPatternMatch(access);
+				});
+				if (searched) {
+					return occurences;
+				}
+			}
+		}
+		return locateMatches(file, searchInput, matcher, monitor);
+	}
+
 	private String getExceptionMessage(Exception e) {
 		String message= e.getLocalizedMessage();
 		if (message == null) {
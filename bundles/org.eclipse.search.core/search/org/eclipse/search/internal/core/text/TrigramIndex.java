@@ -0,0 +1,440 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * An index of the trigrams, i.e. the sequences of three characters, in the content of files.
+ * <p>
+ * Characters are case folded, and every trigram is reduced to a code of 21 bits: printable ASCII
+ * characters keep their identity, all other characters share 32 codes. A file containing a string
+ * therefore contains all trigram codes of that string, but the reverse is not true. The index is
+ * used to rule out files, not to find matches.
+ * </p>
+ * <p>
+ * Every file gets an id when it is added. A file that is added again or removed keeps its id in
+ * the posting lists until the ids are compacted. This happens when the index is
+ * {@link #write(File) written} and when the unused ids outnumber the files in the index.
+ * </p>
+ * <p>
+ * The posting lists are kept in pages of consecutive trigram codes, which are only allocated for
+ * trigrams that occur in some file.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class TrigramIndex {
+
+	/** The number of bits of a trigram code. */
+	private static final int CODE_BITS= 21;
+
+	/** The number of low bits of a trigram code that select the posting list in a page. */
+	private static final int PAGE_BITS= 10;
+
+	private static final int PAGE_MASK= (1 << PAGE_BITS) - 1;
+
+	/** The minimum number of unused ids before the ids are compacted. */
+	private static final int MIN_UNUSED_IDS= 1024;
+
+	private static final int MAGIC= 0x54524749; // "TRGI"
+	private static final int VERSION= 1;
+
+	/**
+	 * The ids of a trigram's files in ascending order.
+	 */
+	private static final class PostingList {
+		private int[] fIds= new int[4];
+		private int fSize;
+
+		void add(int id) {
+			if (fSize == fIds.length) {
+				fIds= Arrays.copyOf(fIds, 2 * fSize);
+			}
+			fIds[fSize++]= id;
+		}
+
+		void addTo(BitSet bits) {
+			for (int i= 0; i < fSize; i++) {
+				bits.set(fIds[i]);
+			}
+		}
+	}
+
+	/** The full paths of the files by id, <code>null</code> for ids no longer in use. */
+	private String[] fPaths= new String[64];
+	/** The modification stamps of the files by id. */
+	private long[] fStamps= new long[64];
+	/** The number of ids given out. */
+	private int fIdCount;
+	/** The current ids of the files by full path. */
+	private final Map<String, Integer> fIds= new HashMap<>();
+	/**
+	 * The pages of posting lists by the high bits of the trigram code, <code>null</code> for pages
+	 * without trigrams. A page holds the posting lists by the low bits of the code,
+	 * <code>null</code> for trigrams in no file.
+	 */
+	private final PostingList[][] fPostings= new PostingList[1 << CODE_BITS - PAGE_BITS][];
+
+	/**
+	 * Returns the trigram code of three case folded characters.
+	 *
+	 * @param c1 the first character
+	 * @param c2 the second character
+	 * @param c3 the third character
+	 * @return the code
+	 * @see #fold(char)
+	 */
+	public static int getTrigram(char c1, char c2, char c3) {
+		return code(c1) << 14 | code(c2) << 7 | code(c3);
+	}
+
+	/**
+	 * Folds the case of a character like {@link java.util.regex.Pattern#CASE_INSENSITIVE case
+	 * insensitive} and {@link java.util.regex.Pattern#UNICODE_CASE unicode case} matching does.
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	public static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static int code(char c) {
+		if (c >= ' ' && c < 0x7f) {
+			return c - ' ' + 1;
+		}
+		if (Character.isSurrogate(c)) {
+			// supplementary characters are folded as code points, not per char
+			return 96;
+		}
+		return 96 + ((c * 0x9E3779B1) >>> 27);
+	}
+
+	/**
+	 * Collects the trigram codes of the characters read from the given reader.
+	 *
+	 * @param reader the reader
+	 * @param trigrams receives the trigram codes
+	 * @throws IOException if reading fails
+	 */
+	public static void collectTrigrams(Reader reader, BitSet trigrams) throws IOException {
+		char[] buffer= new char[8192];
+		int previous= -1;
+		int current= -1;
+		int read;
+		while ((read= reader.read(buffer)) != -1) {
+			for (int i= 0; i < read; i++) {
+				int next= code(fold(buffer[i]));
+				if (previous != -1) {
+					trigrams.set(previous << 14 | current << 7 | next);
+				}
+				previous= current;
+				current= next;
+			}
+		}
+	}
+
+	/**
+	 * Adds a file to the index, replacing the previous entry of the file.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the modification stamp of the indexed content
+	 * @param trigrams the trigram codes of the content
+	 */
+	public synchronized void add(String path, long stamp, BitSet trigrams) {
+		remove(path);
+		if (fIdCount == fPaths.length) {
+			fPaths= Arrays.copyOf(fPaths, 2 * fIdCount);
+			fStamps= Arrays.copyOf(fStamps, 2 * fIdCount);
+		}
+		int id= fIdCount++;
+		fPaths[id]= path;
+		fStamps[id]= stamp;
+		fIds.put(path, Integer.valueOf(id));
+		for (int trigram= trigrams.nextSetBit(0); trigram >= 0; trigram= trigrams.nextSetBit(trigram + 1)) {
+			PostingList postings= getPostings(trigram);
+			if (postings == null) {
+				postings= new PostingList();
+				setPostings(trigram, postings);
+			}
+			postings.add(id);
+		}
+	}
+
+	private PostingList getPostings(int trigram) {
+		PostingList[] page= fPostings[trigram >>> PAGE_BITS];
+		return page == null ? null : page[trigram & PAGE_MASK];
+	}
+
+	private void setPostings(int trigram, PostingList postings) {
+		PostingList[] page= fPostings[trigram >>> PAGE_BITS];
+		if (page == null) {
+			page= new PostingList[1 << PAGE_BITS];
+			fPostings[trigram >>> PAGE_BITS]= page;
+		}
+		page[trigram & PAGE_MASK]= postings;
+	}
+
+	/**
+	 * Removes a file from the index.
+	 *
+	 * @param path the full path of the file
+	 */
+	public synchronized void remove(String path) {
+		Integer id= fIds.remove(path);
+		if (id != null) {
+			fPaths[id.intValue()]= null;
+			int unused= fIdCount - fIds.size();
+			if (unused >= MIN_UNUSED_IDS && unused > fIds.size()) {
+				compact();
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the index contains the content of a file with the given modification stamp.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the modification stamp of the file
+	 * @return <code>true</code> if the file is indexed and up to date
+	 */
+	public synchronized boolean isCurrent(String path, long stamp) {
+		Integer id= fIds.get(path);
+		return id != null && fStamps[id.intValue()] == stamp;
+	}
+
+	/**
+	 * Returns the full paths of all files in the index.
+	 *
+	 * @return the paths
+	 */
+	public synchronized List<String> getPaths() {
+		return new ArrayList<>(fIds.keySet());
+	}
+
+	/**
+	 * Returns the number of files in the index.
+	 *
+	 * @return the number of files
+	 */
+	public synchronized int getFileCount() {
+		return fIds.size();
+	}
+
+	/**
+	 * Selects the files that may contain all given trigrams: files that contain them, and files
+	 * that are not indexed or have changed since they were indexed.
+	 *
+	 * @param files the files to select from
+	 * @param trigrams the trigram codes
+	 * @return the selected files, in the order of <code>files</code>
+	 */
+	public synchronized List<IFile> selectCandidates(IFile[] files, int[] trigrams) {
+		BitSet matching= getFilesContaining(trigrams);
+		List<IFile> candidates= new ArrayList<>();
+		for (IFile file : files) {
+			Integer id= fIds.get(file.getFullPath().toString());
+			if (id == null || fStamps[id.intValue()] != file.getModificationStamp() || matching.get(id.intValue())) {
+				candidates.add(file);
+			}
+		}
+		return candidates;
+	}
+
+	private BitSet getFilesContaining(int[] trigrams) {
+		PostingList[] lists= new PostingList[trigrams.length];
+		for (int i= 0; i < trigrams.length; i++) {
+			lists[i]= getPostings(trigrams[i]);
+			if (lists[i] == null) {
+				return new BitSet();
+			}
+		}
+		// start with the shortest list, the result only shrinks
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.fSize, b.fSize));
+		BitSet result= new BitSet(fIdCount);
+		lists[0].addTo(result);
+		BitSet next= new BitSet(fIdCount);
+		for (int i= 1; i < lists.length && !result.isEmpty(); i++) {
+			next.clear();
+			lists[i].addTo(next);
+			result.and(next);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the index to a file. The ids of the files are compacted.
+	 *
+	 * @param file the file to write to
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void write(File file) throws IOException {
+		compact();
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(fIdCount);
+			for (int id= 0; id < fIdCount; id++) {
+				out.writeUTF(fPaths[id]);
+				out.writeLong(fStamps[id]);
+			}
+			for (int p= 0; p < fPostings.length; p++) {
+				PostingList[] page= fPostings[p];
+				for (int i= 0; page != null && i < page.length; i++) {
+					PostingList postings= page[i];
+					if (postings != null) {
+						out.writeInt(p << PAGE_BITS | i);
+						out.writeInt(postings.fSize);
+						int last= -1;
+						for (int j= 0; j < postings.fSize; j++) {
+							writeVarInt(out, postings.fIds[j] - last);
+							last= postings.fIds[j];
+						}
+					}
+				}
+			}
+			out.writeInt(-1);
+		}
+	}
+
+	/**
+	 * Reads an index from a file.
+	 *
+	 * @param file the file to read from
+	 * @return the index
+	 * @throws IOException if reading fails or the file is not an index of this version
+	 */
+	public static TrigramIndex read(File file) throws IOException {
+		TrigramIndex index= new TrigramIndex();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("unknown trigram index format"); //$NON-NLS-1$
+			}
+			int count= in.readInt();
+			index.fPaths= new String[Math.max(count, 64)];
+			index.fStamps= new long[index.fPaths.length];
+			for (int id= 0; id < count; id++) {
+				String path= in.readUTF();
+				index.fPaths[id]= path;
+				index.fStamps[id]= in.readLong();
+				index.fIds.put(path, Integer.valueOf(id));
+			}
+			index.fIdCount= count;
+			int trigram;
+			while ((trigram= in.readInt()) != -1) {
+				if (trigram < 0 || trigram >= 1 << CODE_BITS) {
+					throw new IOException("corrupt trigram index"); //$NON-NLS-1$
+				}
+				PostingList postings= new PostingList();
+				int size= in.readInt();
+				postings.fIds= new int[Math.max(size, 4)];
+				int last= -1;
+				for (int i= 0; i < size; i++) {
+					last+= readVarInt(in);
+					postings.fIds[i]= last;
+				}
+				postings.fSize= size;
+				index.setPostings(trigram, postings);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Drops the ids of replaced and removed files and renumbers the remaining ids.
+	 */
+	private void compact() {
+		if (fIds.size() == fIdCount) {
+			return;
+		}
+		int[] newIds= new int[fIdCount];
+		int count= 0;
+		for (int id= 0; id < fIdCount; id++) {
+			if (fPaths[id] != null) {
+				newIds[id]= count;
+				fPaths[count]= fPaths[id];
+				fStamps[count]= fStamps[id];
+				fIds.put(fPaths[count], Integer.valueOf(count));
+				count++;
+			} else {
+				newIds[id]= -1;
+			}
+		}
+		Arrays.fill(fPaths, count, fIdCount, null);
+		fIdCount= count;
+		for (int p= 0; p < fPostings.length; p++) {
+			PostingList[] page= fPostings[p];
+			if (page == null) {
+				continue;
+			}
+			boolean empty= true;
+			for (int i= 0; i < page.length; i++) {
+				PostingList postings= page[i];
+				if (postings != null) {
+					int size= 0;
+					for (int j= 0; j < postings.fSize; j++) {
+						int id= newIds[postings.fIds[j]];
+						if (id != -1) {
+							postings.fIds[size++]= id;
+						}
+					}
+					postings.fSize= size;
+					if (size == 0) {
+						page[i]= null;
+					} else {
+						empty= false;
+					}
+				}
+			}
+			if (empty) {
+				fPostings[p]= null;
+			}
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.writeByte(value & 0x7f | 0x80);
+			value>>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			int b= in.readUnsignedByte();
+			value|= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("corrupt trigram index"); //$NON-NLS-1$
+	}
+}
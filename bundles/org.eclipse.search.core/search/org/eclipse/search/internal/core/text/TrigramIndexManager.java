@@ -0,0 +1,430 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Keeps a {@link TrigramIndex} of all files in the workspace up to date and stores it in the state
+ * location of the plug-in.
+ * <p>
+ * The index is loaded and reconciled with the workspace when the manager is started. Afterwards,
+ * resource deltas queue the changed files, which a background job indexes. Files that are not
+ * indexed yet are always selected as candidates, so the index can be used while it is built.
+ * </p>
+ */
+public class TrigramIndexManager implements IResourceChangeListener {
+
+	private static final String INDEX_FILE_NAME= "trigram.index"; //$NON-NLS-1$
+
+	/** The delay before changed files are indexed, in milliseconds. */
+	private static final long UPDATE_DELAY= 1000;
+
+	private final File fIndexFile;
+	private final IndexJob fJob;
+
+	/** The index, <code>null</code> until it is loaded. */
+	private volatile TrigramIndex fIndex;
+
+	/** The files to index or to remove from the index. Protected by itself. */
+	private final Set<IFile> fPendingFiles= new LinkedHashSet<>();
+
+	private boolean fStarted;
+
+	/** The time it took to load and build the index, in milliseconds, <code>-1</code> until then. */
+	private volatile long fBuildTime= -1;
+
+	/** The size of the saved index, in bytes, <code>-1</code> until it is saved. */
+	private volatile long fIndexSize= -1;
+
+	/** The number of files in the scope of all searches. */
+	private final AtomicLong fScopeFileCount= new AtomicLong();
+
+	/** The number of files selected for all searches. */
+	private final AtomicLong fCandidateFileCount= new AtomicLong();
+
+	private class IndexJob extends Job {
+
+		public IndexJob() {
+			super(SearchCoreMessages.TrigramIndexManager_job_name);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			long startTime= System.currentTimeMillis();
+			boolean build= fIndex == null;
+			if (build) {
+				load();
+			}
+			IFile file;
+			while ((file= nextPendingFile()) != null) {
+				if (monitor.isCanceled()) {
+					synchronized (fPendingFiles) {
+						fPendingFiles.add(file);
+					}
+					return Status.CANCEL_STATUS;
+				}
+				index(file);
+			}
+			if (build) {
+				fBuildTime= System.currentTimeMillis() - startTime;
+				if (TextSearchVisitor.TRACING) {
+					Object[] args= { Integer.valueOf(fIndex.getFileCount()), Long.valueOf(fBuildTime) };
+					SearchCorePlugin.trace(SearchCorePlugin.PERF_DEBUG_OPTION, MessageFormat.format("Trigram index of {0} files built: {1}ms", args)); //$NON-NLS-1$
+				}
+				save();
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == TrigramIndexManager.this;
+		}
+	}
+
+	/**
+	 * Creates a manager for the index stored in the given file.
+	 *
+	 * @param indexFile the file of the index
+	 */
+	public TrigramIndexManager(File indexFile) {
+		fIndexFile= indexFile;
+		fJob= new IndexJob();
+	}
+
+	/**
+	 * Creates a manager for the index in the state location of the search core plug-in.
+	 */
+	public TrigramIndexManager() {
+		this(SearchCorePlugin.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile());
+	}
+
+	/**
+	 * Starts tracking the workspace and schedules the job that loads or builds the index.
+	 */
+	public synchronized void startup() {
+		if (!fStarted) {
+			fStarted= true;
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+			fJob.schedule();
+		}
+	}
+
+	/**
+	 * Stops tracking the workspace and saves the index.
+	 */
+	public synchronized void shutdown() {
+		if (!fStarted) {
+			return;
+		}
+		fStarted= false;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fJob.cancel();
+		try {
+			fJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (fIndex != null) {
+			save();
+		}
+	}
+
+	/**
+	 * Returns the index, or <code>null</code> if it is not loaded yet.
+	 *
+	 * @return the index or <code>null</code>
+	 */
+	public TrigramIndex getIndex() {
+		return fIndex;
+	}
+
+	/**
+	 * Returns the number of files in the index.
+	 *
+	 * @return the number of indexed files, <code>0</code> if the index is not loaded yet
+	 */
+	public int getIndexedFileCount() {
+		TrigramIndex index= fIndex;
+		return index == null ? 0 : index.getFileCount();
+	}
+
+	/**
+	 * Returns the size of the index when it was last saved.
+	 *
+	 * @return the size in bytes, or <code>-1</code> if the index has not been saved yet
+	 */
+	public long getIndexSize() {
+		return fIndexSize;
+	}
+
+	/**
+	 * Returns the time it took to load the index and to index the files that were new or had
+	 * changed.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if the index is not built yet
+	 */
+	public long getBuildTime() {
+		return fBuildTime;
+	}
+
+	/**
+	 * Returns the fraction of the files in the scope of all searches so far that the index ruled
+	 * out, and which therefore were not read.
+	 *
+	 * @return the hit rate between <code>0</code> and <code>1</code>
+	 */
+	public double getHitRate() {
+		long scopeFiles= fScopeFileCount.get();
+		return scopeFiles == 0 ? 0 : 1 - (double) fCandidateFileCount.get() / scopeFiles;
+	}
+
+	@Override
+	public String toString() {
+		return MessageFormat.format("TrigramIndexManager[files: {0}, size: {1} bytes, build time: {2}ms, hit rate: {3,number,percent}]", //$NON-NLS-1$
+				Integer.valueOf(getIndexedFileCount()), Long.valueOf(fIndexSize), Long.valueOf(fBuildTime), Double.valueOf(getHitRate()));
+	}
+
+	/**
+	 * Selects the files that can contain matches of the given pattern.
+	 *
+	 * @param files the files to select from
+	 * @param pattern the search pattern
+	 * @return the selected files, in the order of <code>files</code>
+	 */
+	public IFile[] selectCandidates(IFile[] files, Pattern pattern) {
+		TrigramIndex index= fIndex;
+		int[] trigrams= TrigramQuery.getTrigrams(pattern);
+		fScopeFileCount.addAndGet(files.length);
+		if (index == null || trigrams == null) {
+			fCandidateFileCount.addAndGet(files.length);
+			if (TextSearchVisitor.TRACING) {
+				Object[] args= { pattern.pattern(), index == null ? "index not loaded" : "no literal" }; //$NON-NLS-1$ //$NON-NLS-2$
+				SearchCorePlugin.trace(SearchCorePlugin.PERF_DEBUG_OPTION, MessageFormat.format("Trigram index not used for ''{0}'': {1}", args)); //$NON-NLS-1$
+			}
+			return files;
+		}
+		long startTime= TextSearchVisitor.TRACING ? System.currentTimeMillis() : 0;
+		List<IFile> candidates= index.selectCandidates(files, trigrams);
+		fCandidateFileCount.addAndGet(candidates.size());
+		if (TextSearchVisitor.TRACING) {
+			Object[] args= { Integer.valueOf(candidates.size()), Integer.valueOf(files.length), pattern.pattern(), Long.valueOf(System.currentTimeMillis() - startTime) };
+			SearchCorePlugin.trace(SearchCorePlugin.PERF_DEBUG_OPTION, MessageFormat.format("Trigram index selected {0} of {1} files for ''{2}'' in {3}ms", args)); //$NON-NLS-1$
+		}
+		return candidates.toArray(new IFile[candidates.size()]);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		List<IFile> files= new ArrayList<>();
+		try {
+			delta.accept(d -> {
+				IResource resource= d.getResource();
+				switch (d.getKind()) {
+					case IResourceDelta.ADDED:
+					case IResourceDelta.REMOVED:
+						collectFiles(resource, files);
+						return false;
+					case IResourceDelta.CHANGED:
+						int flags= d.getFlags();
+						if ((flags & IResourceDelta.ENCODING) != 0 || (flags & IResourceDelta.OPEN) != 0) {
+							collectFiles(resource, files);
+							return false;
+						}
+						if (resource.getType() == IResource.FILE && (flags & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+							files.add((IFile) resource);
+						}
+						return true;
+					default:
+						return true;
+				}
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		if (!files.isEmpty()) {
+			synchronized (fPendingFiles) {
+				fPendingFiles.addAll(files);
+			}
+			fJob.schedule(UPDATE_DELAY);
+		}
+	}
+
+	/**
+	 * Collects the files of a resource that was added, removed, opened or closed, or whose
+	 * encoding changed. The files of removed and closed containers are taken from the index.
+	 */
+	private void collectFiles(IResource resource, List<IFile> files) throws CoreException {
+		if (resource.getType() == IResource.FILE) {
+			files.add((IFile) resource);
+		} else if (resource.isAccessible()) {
+			resource.accept(proxy -> {
+				if (proxy.getType() == IResource.FILE) {
+					files.add((IFile) proxy.requestResource());
+				}
+				return true;
+			}, IResource.NONE);
+		} else {
+			TrigramIndex index= fIndex;
+			if (index != null) {
+				String prefix= resource.getFullPath().addTrailingSeparator().toString();
+				IWorkspace workspace= ResourcesPlugin.getWorkspace();
+				for (String path : index.getPaths()) {
+					if (path.startsWith(prefix)) {
+						files.add(workspace.getRoot().getFile(new Path(path)));
+					}
+				}
+			}
+		}
+	}
+
+	private IFile nextPendingFile() {
+		synchronized (fPendingFiles) {
+			Iterator<IFile> iterator= fPendingFiles.iterator();
+			if (!iterator.hasNext()) {
+				return null;
+			}
+			IFile file= iterator.next();
+			iterator.remove();
+			return file;
+		}
+	}
+
+	/**
+	 * Loads the index and queues the files that changed since it was saved.
+	 */
+	private void load() {
+		long startTime= System.currentTimeMillis();
+		TrigramIndex index= null;
+		if (fIndexFile.isFile()) {
+			try {
+				index= TrigramIndex.read(fIndexFile);
+			} catch (IOException e) {
+				// rebuild the index
+			}
+		}
+		if (index == null) {
+			index= new TrigramIndex();
+		}
+
+		Set<String> removedPaths= new HashSet<>(index.getPaths());
+		List<IFile> changedFiles= new ArrayList<>();
+		TrigramIndex reconciled= index;
+		try {
+			ResourcesPlugin.getWorkspace().getRoot().accept(proxy -> {
+				if (proxy.getType() == IResource.FILE) {
+					String path= proxy.requestFullPath().toString();
+					removedPaths.remove(path);
+					if (!reconciled.isCurrent(path, proxy.getModificationStamp())) {
+						changedFiles.add((IFile) proxy.requestResource());
+					}
+				}
+				return true;
+			}, IResource.NONE);
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		for (String path : removedPaths) {
+			index.remove(path);
+		}
+		synchronized (fPendingFiles) {
+			fPendingFiles.addAll(changedFiles);
+		}
+		fIndex= index;
+		if (TextSearchVisitor.TRACING) {
+			Object[] args= { Integer.valueOf(index.getFileCount()), Integer.valueOf(changedFiles.size()), Integer.valueOf(removedPaths.size()), Long.valueOf(System.currentTimeMillis() - startTime) };
+			SearchCorePlugin.trace(SearchCorePlugin.PERF_DEBUG_OPTION, MessageFormat.format("Trigram index of {0} files loaded, {1} files to index, {2} removed: {3}ms", args)); //$NON-NLS-1$
+		}
+	}
+
+	private void index(IFile file) {
+		TrigramIndex index= fIndex;
+		String path= file.getFullPath().toString();
+		if (!file.isAccessible()) {
+			index.remove(path);
+			return;
+		}
+		// the stamp is taken first: if the file changes while it is read, it is indexed again
+		long stamp= file.getModificationStamp();
+		BitSet trigrams= new BitSet();
+		try (Reader reader= new InputStreamReader(file.getContents(true), file.getCharset())) {
+			TrigramIndex.collectTrigrams(reader, trigrams);
+		} catch (CoreException | IOException e) {
+			// not indexed, the file is always searched
+			index.remove(path);
+			return;
+		}
+		index.add(path, stamp, trigrams);
+	}
+
+	private void save() {
+		long startTime= System.currentTimeMillis();
+		try {
+			fIndex.write(fIndexFile);
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+			fIndexFile.delete();
+			return;
+		}
+		fIndexSize= fIndexFile.length();
+		if (TextSearchVisitor.TRACING) {
+			Object[] args= { Integer.valueOf(fIndex.getFileCount()), Long.valueOf(fIndexSize), Long.valueOf(System.currentTimeMillis() - startTime) };
+			SearchCorePlugin.trace(SearchCorePlugin.PERF_DEBUG_OPTION, MessageFormat.format("Trigram index of {0} files saved, {1} bytes: {2}ms", args)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Waits until all queued files are indexed.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		Job.getJobManager().join(this, null);
+	}
+}
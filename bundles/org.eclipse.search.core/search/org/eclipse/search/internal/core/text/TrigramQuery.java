@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the trigrams that every match of a search pattern contains.
+ * <p>
+ * The pattern is scanned for runs of literal characters that every match must contain. The scan
+ * is conservative: literals inside groups or character classes, and characters followed by an
+ * optional quantifier are not used. Patterns with alternatives, lookbehinds or the
+ * {@link Pattern#COMMENTS} or {@link Pattern#CANON_EQ} flags have no required literals.
+ * </p>
+ */
+public final class TrigramQuery {
+
+	private TrigramQuery() {
+		// don't instantiate
+	}
+
+	/**
+	 * Returns the trigram codes that every match of the given pattern contains.
+	 *
+	 * @param pattern the search pattern
+	 * @return the trigram codes, or <code>null</code> if the pattern has no literal of at least
+	 *         three characters and the index cannot narrow the files to search
+	 * @see TrigramIndex#getTrigram(char, char, char)
+	 */
+	public static int[] getTrigrams(Pattern pattern) {
+		List<String> literals= getRequiredLiterals(pattern);
+		if (literals == null) {
+			return null;
+		}
+		BitSet trigrams= new BitSet();
+		for (String literal : literals) {
+			for (int i= 2; i < literal.length(); i++) {
+				trigrams.set(TrigramIndex.getTrigram(TrigramIndex.fold(literal.charAt(i - 2)),
+						TrigramIndex.fold(literal.charAt(i - 1)), TrigramIndex.fold(literal.charAt(i))));
+			}
+		}
+		return trigrams.isEmpty() ? null : trigrams.stream().toArray();
+	}
+
+	/**
+	 * Returns strings that every match of the given pattern contains.
+	 *
+	 * @param pattern the search pattern
+	 * @return the literals, or <code>null</code> if not known
+	 */
+	static List<String> getRequiredLiterals(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return null;
+		}
+		String regex= pattern.pattern();
+		List<String> literals= new ArrayList<>();
+		if ((flags & Pattern.LITERAL) != 0) {
+			literals.add(regex);
+			return literals;
+		}
+
+		StringBuilder run= new StringBuilder();
+		int depth= 0;
+		int length= regex.length();
+		int i= 0;
+		while (i < length) {
+			char ch= regex.charAt(i);
+			int next; // the index after the current atom
+			boolean literal= false;
+			if (ch == '\\' && i + 1 < length && regex.charAt(i + 1) == 'Q') {
+				int end= regex.indexOf("\\E", i + 2); //$NON-NLS-1$
+				if (end == -1) {
+					end= length;
+				}
+				next= Math.min(end + 2, length);
+				if (end == i + 2) {
+					i= next;
+					continue;
+				}
+				// a quantifier after \E applies to the last quoted character only
+				if (depth == 0) {
+					run.append(regex, i + 2, end - 1);
+				}
+				literal= true;
+				ch= regex.charAt(end - 1);
+			} else if (ch == '\\') {
+				if (i + 1 >= length) {
+					return null;
+				}
+				char escaped= regex.charAt(i + 1);
+				if (Character.isLetterOrDigit(escaped) && "dDsSwWhHvVbBAzZGRXtnrfae".indexOf(escaped) == -1) { //$NON-NLS-1$
+					return null; // code points, properties and back references have variable length
+				}
+				literal= !Character.isLetterOrDigit(escaped);
+				ch= escaped;
+				next= i + 2;
+			} else if (ch == '[') {
+				next= skipCharacterClass(regex, i);
+			} else if (ch == '(') {
+				if (i + 2 < length && regex.charAt(i + 1) == '?' && ":=!>".indexOf(regex.charAt(i + 2)) == -1) { //$NON-NLS-1$
+					int end= skipInlineFlags(regex, i + 2);
+					if (end == -1) {
+						return null; // comments flag, lookbehind or named group
+					}
+					i= end;
+					continue;
+				}
+				depth++;
+				next= i + 1;
+			} else if (ch == ')') {
+				depth--;
+				next= i + 1;
+			} else if (ch == '|') {
+				if (depth == 0) {
+					return null;
+				}
+				next= i + 1;
+			} else if (ch == '{') {
+				int end= regex.indexOf('}', i);
+				next= end == -1 ? length : end + 1;
+			} else {
+				literal= ".^$?*+{".indexOf(ch) == -1; //$NON-NLS-1$
+				next= i + 1;
+			}
+
+			char quantifier= next < length ? regex.charAt(next) : 0;
+			boolean optional= quantifier == '?' || quantifier == '*' || quantifier == '{';
+			if (literal && depth == 0 && !optional) {
+				run.append(ch);
+			} else {
+				addRun(run, literals);
+			}
+			if (quantifier == '+' && literal) {
+				// at least once, but the following characters are not adjacent
+				addRun(run, literals);
+			}
+			i= next;
+		}
+		addRun(run, literals);
+		return literals;
+	}
+
+	private static void addRun(StringBuilder run, List<String> literals) {
+		if (run.length() >= 3) {
+			literals.add(run.toString());
+		}
+		run.setLength(0);
+	}
+
+	/**
+	 * Skips inline flags that do not change which characters a match contains. Case folding is
+	 * ignored by the index anyway.
+	 *
+	 * @return the index after the flags, or <code>-1</code> if not such flags
+	 */
+	private static int skipInlineFlags(String regex, int start) {
+		for (int i= start; i < regex.length(); i++) {
+			char ch= regex.charAt(i);
+			if (ch == ')') {
+				return i + 1;
+			}
+			if ("imsuUd-".indexOf(ch) == -1) { //$NON-NLS-1$
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	private static int skipCharacterClass(String regex, int start) {
+		int depth= 0;
+		for (int i= start; i < regex.length(); i++) {
+			char ch= regex.charAt(i);
+			if (ch == '\\') {
+				i++;
+			} else if (ch == '[') {
+				depth++;
+			} else if (ch == ']' && i > start + 1) {
+				if (--depth == 0) {
+					return i + 1;
+				}
+			}
+		}
+		return regex.length();
+	}
+}
@@ -132,7 +132,7 @@ public class QuickTextSearcher {
 		return job;
 	}
 
-	private final class SearchInFilesWalker extends ResourceWalker {
+	private final class SearchInFilesWalker extends ResourceWalker<LineItem> {
 
 		@Override
 		public IStatus run(IProgressMonitor monitor) {
@@ -150,9 +150,14 @@ public class QuickTextSearcher {
 		}
 
 		@Override
-		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
+		protected boolean searchIn(IFile f, BooleanSupplier canceled, Consumer<LineItem> results) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			return search(f, canceled, MAX_LINE_LEN, query.pattern, results);
+		}
+
+		@Override
+		protected void accept(LineItem lineItem) {
+			add(lineItem);
 		}
 
 		private static boolean search(IFile f, BooleanSupplier canceled,
@@ -12,7 +12,9 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
-import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,6 +22,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -41,10 +44,18 @@ import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
  * to the resources to decide the ordering and completely ignore some resources.
  * <p>
  * The walker can also be paused and resumed.
+ * <p>
+ * Containers are expanded when they are taken from the work queue, so the walk starts without
+ * visiting the whole workspace first. Files are searched by a bounded number of workers, but
+ * results are passed to {@link #accept(Object)} in the order in which the files were taken from
+ * the queue: results of the file taken first are passed on as they are found, results of the
+ * other files are held back until all files taken before them are searched.
+ *
+ * @param <T> the type of results found in files
  *
  * @author Kris De Volder
  */
-public abstract class ResourceWalker extends Job {
+public abstract class ResourceWalker<T> extends Job {
 
 	private static record QItem(double priority, IResource resource) implements Comparable<QItem> {
 		@Override
@@ -58,37 +69,63 @@ public abstract class ResourceWalker extends Job {
 		init();
 	}
 
+	/**
+	 * The results of a file taken from the work queue, until they are passed on.
+	 */
+	private final class Slot {
+		final List<T> results = new ArrayList<>();
+		boolean done;
+	}
+
 	protected void init() {
 		filesToSearch.clear();
-		addRecursive(filesToSearch, new QItem(0, ResourcesPlugin.getWorkspace().getRoot()));
-	}
-
-	private void addRecursive(Collection<QItem> queue, QItem item) {
-		IResource r = item.resource;
-		if (r instanceof IFile) {
-			queue.add(item);
-		} else if (r instanceof IContainer f) {
-			if (f.isAccessible()) {
-				try {
-					for (IResource child : f.members()) {
-						double p = priority(child);
-						if (p != PriorityFunction.PRIORITY_IGNORE) {
-							addRecursive(queue, new QItem(p, child));
-						}
+		filesToSearch.add(new QItem(0, ResourcesPlugin.getWorkspace().getRoot()));
+	}
+
+	private List<QItem> getChildren(IContainer container) {
+		List<QItem> children = new ArrayList<>();
+		if (container.isAccessible()) {
+			try {
+				for (IResource child : container.members()) {
+					double p = priority(child);
+					if (p != PriorityFunction.PRIORITY_IGNORE) {
+						children.add(new QItem(p, child));
 					}
-				} catch (CoreException e) {
-					QuickSearchActivator.log(e);
 				}
+			} catch (CoreException e) {
+				QuickSearchActivator.log(e);
 			}
 		}
+		return children;
 	}
 
 	/**
-	 * Work to do. When all work is done this is empty. So it
-	 * can also be used to determine 'done' status.
+	 * Work to do, files and containers that are not expanded yet. When all work is done this is
+	 * empty. So it can also be used to determine 'done' status.
 	 */
 	private final Set<QItem> filesToSearch = ConcurrentHashMap.newKeySet();
 
+	/**
+	 * Lock for the state of a run: {@link #queue}, {@link #slots} and {@link #busyWorkers}.
+	 */
+	private final Object lock = new Object();
+
+	/**
+	 * The work of the current run, highest priority first.
+	 */
+	private final PriorityQueue<QItem> queue = new PriorityQueue<>();
+
+	/**
+	 * The results of the files being searched, in the order the files were taken from the queue.
+	 */
+	private final ArrayDeque<Slot> slots = new ArrayDeque<>();
+
+	/**
+	 * The number of workers processing an item. Only when there are none, an empty queue means
+	 * that the run is complete.
+	 */
+	private int busyWorkers;
+
 	/**
 	 * Setting this to true will cause the ResourceWalker to stop walking. If the walker is running
 	 * as a scheduled job, then this Job will terminate. However it is possible to 'resume' the
@@ -107,6 +144,7 @@ public abstract class ResourceWalker extends Job {
 	 */
 	public void suspend() {
 		this.suspend = true;
+		wakeUpWorkers();
 	}
 
 	/**
@@ -136,40 +174,49 @@ public abstract class ResourceWalker extends Job {
 		this.schedule();
 	}
 
+	@Override
+	protected void canceling() {
+		wakeUpWorkers();
+	}
+
+	private void wakeUpWorkers() {
+		synchronized (lock) {
+			lock.notifyAll();
+		}
+	}
+
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
+		BooleanSupplier canceled = () -> monitor.isCanceled() || suspend;
+		synchronized (lock) {
+			queue.clear();
+			queue.addAll(filesToSearch);
+			slots.clear();
+			busyWorkers = 0;
+		}
+		// this job is one of the workers
 		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
-		ExecutorService executorService = Executors.newFixedThreadPool(workers);
-		// copy the filesToSearch, to only remove a file after search completed
-		PriorityQueue<QItem> queue = new PriorityQueue<>();
-		queue.addAll(filesToSearch);
-		for (int worker = 0; worker < workers; worker++) {
-			executorService.submit(() -> {
-				QItem item;
-				while ((item = queue.poll()) != null) {
-					if (monitor.isCanceled() || suspend) {
-						break;
-					} else {
-						IResource r = item.resource;
-						IFile f = (IFile) r;
-						boolean searched = searchIn(f, () -> monitor.isCanceled() || suspend);
-						if (searched) {
-							filesToSearch.remove(item);
-						}
-					}
-				}
-			});
+		ExecutorService executorService = workers > 1 ? Executors.newFixedThreadPool(workers - 1) : null;
+		for (int worker = 1; worker < workers; worker++) {
+			executorService.submit(() -> work(canceled));
 		}
-		try {
-			while (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
-				executorService.shutdown();
-				if (monitor.isCanceled() || suspend) {
-					queue.clear();
-					executorService.shutdownNow();
-				}
+		work(canceled);
+		if (executorService != null) {
+			executorService.shutdown();
+			try {
+				executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				executorService.shutdownNow();
+			}
+		}
+		synchronized (lock) {
+			queue.clear();
+			// pass on the results of files searched after a file that was not searched completely
+			if (!monitor.isCanceled()) {
+				slots.forEach(slot -> slot.done = true);
+				flushSlots();
 			}
-		} catch (InterruptedException e) {
-			// ignore
+			slots.clear();
 		}
 		// on suspend keep unsearched files for later
 		if (!suspend) {
@@ -182,7 +229,110 @@ public abstract class ResourceWalker extends Job {
 		}
 	}
 
-	protected abstract boolean searchIn(IFile f, BooleanSupplier canceled);
+	/**
+	 * Takes items from the queue until it is empty and no other worker can add to it.
+	 */
+	private void work(BooleanSupplier canceled) {
+		while (true) {
+			QItem item;
+			Slot slot = null;
+			synchronized (lock) {
+				while (true) {
+					if (canceled.getAsBoolean()) {
+						return;
+					}
+					item = queue.poll();
+					if (item != null) {
+						break;
+					}
+					if (busyWorkers == 0) {
+						// nothing left to do, let the waiting workers know
+						lock.notifyAll();
+						return;
+					}
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				busyWorkers++;
+				if (item.resource instanceof IFile) {
+					slot = new Slot();
+					slots.addLast(slot);
+				}
+			}
+			try {
+				if (slot != null) {
+					Slot s = slot;
+					boolean searched = searchIn((IFile) item.resource, canceled, result -> publish(s, result));
+					if (searched) {
+						filesToSearch.remove(item);
+					}
+				} else {
+					List<QItem> children = getChildren((IContainer) item.resource);
+					// add the children first, the work is not done in between
+					filesToSearch.addAll(children);
+					filesToSearch.remove(item);
+					synchronized (lock) {
+						queue.addAll(children);
+					}
+				}
+			} finally {
+				synchronized (lock) {
+					busyWorkers--;
+					if (slot != null) {
+						slot.done = true;
+						flushSlots();
+					}
+					lock.notifyAll();
+				}
+			}
+		}
+	}
+
+	private void publish(Slot slot, T result) {
+		synchronized (lock) {
+			if (slots.peekFirst() == slot) {
+				accept(result);
+			} else {
+				slot.results.add(result);
+			}
+		}
+	}
+
+	/**
+	 * Passes on the held back results of the files at the head of the slots, up to the first file
+	 * that is still being searched. Must be called with the lock held.
+	 */
+	private void flushSlots() {
+		Slot head;
+		while ((head = slots.peekFirst()) != null) {
+			for (T result : head.results) {
+				accept(result);
+			}
+			head.results.clear();
+			if (!head.done) {
+				return;
+			}
+			slots.removeFirst();
+		}
+	}
+
+	/**
+	 * Searches a file.
+	 *
+	 * @param f the file
+	 * @param canceled tells whether the search should stop
+	 * @param results receives the results found in the file, may be called from any worker
+	 * @return <code>true</code> if the file was searched completely
+	 */
+	protected abstract boolean searchIn(IFile f, BooleanSupplier canceled, Consumer<T> results);
+
+	/**
+	 * Receives the results found in files, in the order of the files. Calls are serialized.
+	 */
+	protected abstract void accept(T result);
 
 	/**
 	 * Assigns a priority to a given resource. This priority will affect the order in which
@@ -17,12 +17,15 @@ package org.eclipse.jface.text;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
@@ -67,6 +70,12 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 */
 	private static final boolean DEBUG= false;
 
+	/**
+	 * The factory creating the modifiable text stores of new documents.
+	 * @since 3.15
+	 */
+	private static volatile ITextStoreFactory fgDefaultTextStoreFactory= ITextStoreFactory.GAP_TEXT_STORE;
+
 
 	/**
 	 * Inner class to bundle a registered post notification replace operation together with its
@@ -109,6 +118,25 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	private final Map<String, List<Position>> fEndPositions= new HashMap<>();
+	/**
+	 * The interval indexes of the position categories, created on demand. An index whose positions
+	 * may have been moved in ways it cannot follow is marked stale and refreshed before its next
+	 * use.
+	 * @since 3.15
+	 */
+	private final Map<String, PositionIntervalIndex> fPositionIndexes= new ConcurrentHashMap<>();
+	/**
+	 * Counts the calls to {@link #getDocumentManagedPositions()}. Afterwards the position lists may
+	 * be modified without the indexes knowing it, so indexes built before are rebuilt.
+	 * @since 3.15
+	 */
+	private int fPositionsModificationCount;
+	/**
+	 * Whether the last call to {@link #updatePositions(DocumentEvent)} kept the position indexes up
+	 * to date.
+	 * @since 3.15
+	 */
+	private boolean fPositionIndexesUpdated;
 	/** All registered document position updaters */
 	private final List<IPositionUpdater> fPositionUpdaters= new CopyOnWriteArrayList<>();
 	/**
@@ -248,6 +276,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @return the document's positions
 	 */
 	protected Map<String, List<Position>> getDocumentManagedPositions() {
+		fPositionsModificationCount++;
 		return fPositions;
 	}
 
@@ -270,6 +299,42 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		fStore= store;
 	}
 
+	/**
+	 * Sets the factory used to create the modifiable text store of documents created afterwards.
+	 * The default factory creates a {@link GapTextStore}.
+	 *
+	 * @param factory the text store factory, may not be <code>null</code>
+	 * @see ITextStoreFactory#PIECE_TABLE_TEXT_STORE
+	 * @since 3.15
+	 */
+	public static void setDefaultTextStoreFactory(ITextStoreFactory factory) {
+		Assert.isNotNull(factory);
+		fgDefaultTextStoreFactory= factory;
+	}
+
+	/**
+	 * Returns the factory used to create the modifiable text store of new documents.
+	 *
+	 * @return the default text store factory
+	 * @since 3.15
+	 */
+	public static ITextStoreFactory getDefaultTextStoreFactory() {
+		return fgDefaultTextStoreFactory;
+	}
+
+	/**
+	 * Creates a new modifiable text store using the default text store factory. Subclasses may
+	 * pass the result to {@link #setTextStore(ITextStore)}, possibly wrapped in a
+	 * {@link CopyOnWriteTextStore}.
+	 *
+	 * @return a new empty text store
+	 * @see #setDefaultTextStoreFactory(ITextStoreFactory)
+	 * @since 3.15
+	 */
+	protected static ITextStore createDefaultTextStore() {
+		return fgDefaultTextStoreFactory.createTextStore();
+	}
+
 	/**
 	 * Sets the document's line tracker.
 	 * Must be called at the beginning of the constructor.
@@ -352,6 +417,10 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (endPositions == null)
 			throw new BadPositionCategoryException(category);
 		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+
+		PositionIntervalIndex index= fPositionIndexes.get(category);
+		if (index != null && !index.add(position))
+			fPositionIndexes.remove(category);
 	}
 
 	@Override
@@ -674,8 +743,12 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			}
 		}
 
-		if (!fPositions.isEmpty())
+		if (!fPositions.isEmpty()) {
+			fPositionIndexesUpdated= false;
 			updatePositions(event);
+			if (!fPositionIndexesUpdated)
+				markPositionIndexesStale();
+		}
 	}
 
 	/**
@@ -987,6 +1060,10 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (endPositions == null)
 			throw new BadPositionCategoryException(category);
 		removeFromPositionsList(endPositions, position, false);
+
+		PositionIntervalIndex index= fPositionIndexes.get(category);
+		if (index != null && !index.remove(position))
+			fPositionIndexes.remove(category);
 	}
 
 	/**
@@ -1047,6 +1124,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		fPositions.remove(category);
 		fEndPositions.remove(category);
+		fPositionIndexes.remove(category);
 	}
 
 	@Override
@@ -1142,7 +1220,21 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	protected void updatePositions(DocumentEvent event) {
 		for(IPositionUpdater u: fPositionUpdaters) {
 			u.update(event);
+
+			if (u instanceof DefaultPositionUpdater) {
+				DefaultPositionUpdater updater= (DefaultPositionUpdater) u;
+				// a plain default position updater keeps the index of its category up to date
+				if (updater.getClass() != DefaultPositionUpdater.class) {
+					PositionIntervalIndex index= fPositionIndexes.get(updater.getCategory());
+					if (index != null)
+						index.markStale();
+				}
+			} else {
+				// the positions this updater has moved are unknown
+				markPositionIndexesStale();
+			}
 		}
+		fPositionIndexesUpdated= true;
 	}
 
 	/**
@@ -1585,11 +1677,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
 			List<Position> documentPositions;
 			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
+				documentPositions= new ArrayList<>();
+				getPositionIndex(category).collect(offset, offset + length, documentPositions);
+				documentPositions.sort(Comparator.comparingInt(Position::getOffset));
 			} else {
 				documentPositions= getStartingPositions(category, offset, length);
 			}
@@ -1660,6 +1750,65 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		return positions.subList(indexStart, indexEnd);
 	}
 
+	/**
+	 * Returns the interval index of the given category, building it if necessary.
+	 *
+	 * @param category the position category
+	 * @return the index of the category
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.15
+	 */
+	private PositionIntervalIndex getPositionIndex(String category) throws BadPositionCategoryException {
+		List<Position> positions= fPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException(category);
+
+		PositionIntervalIndex index= fPositionIndexes.get(category);
+		// subclasses may modify the lists returned by getDocumentManagedPositions()
+		if (index == null || index.getModificationCount() != fPositionsModificationCount || index.size() != positions.size()) {
+			index= new PositionIntervalIndex(positions, fPositionsModificationCount);
+			fPositionIndexes.put(category, index);
+		} else if (index.isStale()) {
+			index.refresh();
+		}
+		return index;
+	}
+
+	/**
+	 * Marks the interval indexes of all categories as stale.
+	 *
+	 * @since 3.15
+	 */
+	private void markPositionIndexesStale() {
+		for (PositionIntervalIndex index : fPositionIndexes.values())
+			index.markStale();
+	}
+
+	/**
+	 * Passes all positions of the given category that end at or after the given offset to the
+	 * given adapter, and updates the interval index of the category afterwards. Positions ending
+	 * before the offset are not affected by a {@link DefaultPositionUpdater} adapting to a change
+	 * at that offset.
+	 *
+	 * @param category the position category
+	 * @param offset the offset of the change
+	 * @param adapter the adapter that may change the passed positions or remove them from the
+	 *            category
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.15
+	 */
+	void adaptPositions(String category, int offset, Consumer<Position> adapter) throws BadPositionCategoryException {
+		PositionIntervalIndex index= getPositionIndex(category);
+		int[] leaves= index.findLeaves(offset, Integer.MAX_VALUE);
+		for (int leaf : leaves) {
+			Position position= index.getPosition(leaf);
+			if (position != null)
+				adapter.accept(position);
+		}
+		if (fPositionIndexes.get(category) == index)
+			index.update(leaves);
+	}
+
 	/**
 	 * A list of positions in the given category with an end position inside
 	 * the given region. The order of the positions is arbitrary.
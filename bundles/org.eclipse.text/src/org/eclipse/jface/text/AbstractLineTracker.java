@@ -198,6 +198,11 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
 		}
+
+		@Override
+		boolean hasDefaultDelimiters() {
+			return AbstractLineTracker.this.hasDefaultDelimiters();
+		}
 	};
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
@@ -308,6 +313,11 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 				public String[] getLegalLineDelimiters() {
 					return AbstractLineTracker.this.getLegalLineDelimiters();
 				}
+
+				@Override
+				boolean hasDefaultDelimiters() {
+					return AbstractLineTracker.this.hasDefaultDelimiters();
+				}
 			};
 		}
 	}
@@ -322,6 +332,18 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 */
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
+	/**
+	 * Tells whether {@link #nextDelimiterInfo(String, int)} finds exactly the delimiters of
+	 * {@link DefaultLineTracker}. If so, the delegates may scan large texts in parallel instead of
+	 * calling {@link #nextDelimiterInfo(String, int)}.
+	 *
+	 * @return <code>true</code> if the delimiters are "\r", "\n" and "\r\n"
+	 * @since 3.15
+	 */
+	boolean hasDefaultDelimiters() {
+		return false;
+	}
+
 	@Override
 	public final void startRewriteSession(DocumentRewriteSession session) {
 		synchronized (sessionLock) {
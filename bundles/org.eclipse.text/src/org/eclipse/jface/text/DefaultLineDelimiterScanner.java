@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Finds the line delimiters of {@link DefaultLineTracker}, i.e. "\r", "\n" and "\r\n", in a text.
+ * Large texts are split into chunks which are scanned in parallel using the common fork-join pool.
+ * A "\r\n" split across two chunks is attributed to the chunk containing the "\r".
+ */
+final class DefaultLineDelimiterScanner {
+
+	/** The text length above which the text is scanned in parallel. */
+	static final int PARALLEL_THRESHOLD= 1024 * 1024;
+
+	/** The number of characters scanned by one task. */
+	private static final int CHUNK_SIZE= 256 * 1024;
+
+	private static final int[] NO_DELIMITERS= new int[0];
+
+	/**
+	 * Scans the chunks <code>[fFrom, fTo)</code> of the text.
+	 */
+	private static final class ScanTask extends RecursiveTask<int[]> {
+
+		private static final long serialVersionUID= 1L;
+
+		private final String fText;
+		private final int fFrom;
+		private final int fTo;
+
+		ScanTask(String text, int from, int to) {
+			fText= text;
+			fFrom= from;
+			fTo= to;
+		}
+
+		@Override
+		protected int[] compute() {
+			if (fTo - fFrom <= CHUNK_SIZE)
+				return scan(fText, fFrom, fTo);
+
+			int middle= fFrom + (fTo - fFrom) / 2;
+			ScanTask right= new ScanTask(fText, middle, fTo);
+			right.fork();
+			int[] leftEnds= new ScanTask(fText, fFrom, middle).compute();
+			int[] rightEnds= right.join();
+
+			int[] ends= Arrays.copyOf(leftEnds, leftEnds.length + rightEnds.length);
+			System.arraycopy(rightEnds, 0, ends, leftEnds.length, rightEnds.length);
+			return ends;
+		}
+	}
+
+	private DefaultLineDelimiterScanner() {
+		// no instances
+	}
+
+	/**
+	 * Returns the offsets directly after each line delimiter of the given text, in ascending order.
+	 *
+	 * @param text the text to scan
+	 * @return the end offsets of all delimiters
+	 */
+	static int[] findDelimiterEnds(String text) {
+		int length= text.length();
+		if (length <= PARALLEL_THRESHOLD)
+			return scan(text, 0, length);
+		return ForkJoinPool.commonPool().invoke(new ScanTask(text, 0, length));
+	}
+
+	/**
+	 * Returns the delimiter ending at the given offset.
+	 *
+	 * @param text the text
+	 * @param end an offset returned by {@link #findDelimiterEnds(String)}
+	 * @return the delimiter ending at <code>end</code>
+	 */
+	static String delimiterEndingAt(String text, int end) {
+		if (text.charAt(end - 1) == '\r')
+			return DefaultLineTracker.DELIMITERS[0];
+		if (end >= 2 && text.charAt(end - 2) == '\r')
+			return DefaultLineTracker.DELIMITERS[2];
+		return DefaultLineTracker.DELIMITERS[1];
+	}
+
+	/**
+	 * Scans <code>[from, to)</code> for delimiters. A '\n' at <code>from</code> that completes a
+	 * "\r\n" started before <code>from</code> is skipped, a "\r" at the end of the range is combined
+	 * with a following '\n'.
+	 *
+	 * @param text the text
+	 * @param from the start of the range
+	 * @param to the end of the range
+	 * @return the end offsets of the delimiters starting in the range
+	 */
+	private static int[] scan(String text, int from, int to) {
+		int length= text.length();
+		int[] ends= NO_DELIMITERS;
+		int count= 0;
+
+		int i= from;
+		if (i > 0 && i < to && text.charAt(i) == '\n' && text.charAt(i - 1) == '\r')
+			i++;
+
+		for (; i < to; i++) {
+			char ch= text.charAt(i);
+			int end;
+			if (ch == '\n') {
+				end= i + 1;
+			} else if (ch == '\r') {
+				if (i + 1 < length && text.charAt(i + 1) == '\n')
+					i++;
+				end= i + 1;
+			} else {
+				continue;
+			}
+
+			if (count == ends.length)
+				ends= Arrays.copyOf(ends, Math.max(16, count * 2));
+			ends[count++]= end;
+		}
+		return count == ends.length ? ends : Arrays.copyOf(ends, count);
+	}
+}
@@ -78,4 +78,10 @@ public class DefaultLineTracker extends AbstractLineTracker {
 
 		return null;
 	}
+
+	@Override
+	boolean hasDefaultDelimiters() {
+		// subclasses may override nextDelimiterInfo(String, int)
+		return getClass() == DefaultLineTracker.class;
+	}
 }
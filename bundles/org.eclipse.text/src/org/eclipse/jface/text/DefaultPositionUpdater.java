@@ -201,6 +201,21 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 		return true;
 	}
 
+	/**
+	 * Adapts the given position to the current change.
+	 *
+	 * @param position the position to adapt
+	 * @since 3.15
+	 */
+	private void adapt(Position position) {
+		fPosition= position;
+		fOriginalPosition.offset= fPosition.offset;
+		fOriginalPosition.length= fPosition.length;
+
+		if (notDeleted())
+			adaptToReplace();
+	}
+
 	@Override
 	public void update(DocumentEvent event) {
 
@@ -212,15 +227,13 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
 			fDocument= event.getDocument();
 
-			Position[] category= fDocument.getPositions(fCategory);
-			for (Position element : category) {
-
-				fPosition= element;
-				fOriginalPosition.offset= fPosition.offset;
-				fOriginalPosition.length= fPosition.length;
-
-				if (notDeleted())
-					adaptToReplace();
+			if (fDocument instanceof AbstractDocument && getClass() == DefaultPositionUpdater.class) {
+				// positions ending before the change are neither shifted nor resized
+				((AbstractDocument) fDocument).adaptPositions(fCategory, fOffset, this::adapt);
+			} else {
+				Position[] category= fDocument.getPositions(fCategory);
+				for (Position element : category)
+					adapt(element);
 			}
 
 		} catch (BadPositionCategoryException x) {
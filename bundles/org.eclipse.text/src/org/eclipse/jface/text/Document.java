@@ -16,7 +16,10 @@ package org.eclipse.jface.text;
 
 /**
  * Default document implementation. Uses a {@link org.eclipse.jface.text.GapTextStore} wrapped
- * inside a {@link org.eclipse.jface.text.CopyOnWriteTextStore} as text store.
+ * inside a {@link org.eclipse.jface.text.CopyOnWriteTextStore} as text store. The wrapped store can
+ * be replaced for all new documents with
+ * {@link AbstractDocument#setDefaultTextStoreFactory(ITextStoreFactory)}, e.g. by a
+ * {@link PieceTableTextStore} for very large documents.
  * <p>
  * The used line tracker considers the following strings as line delimiters: "\n", "\r", "\r\n". In
  * case of a text replacement across line delimiter boundaries and with different line delimiters,
@@ -49,7 +52,7 @@ public class Document extends AbstractDocument {
 	 */
 	public Document() {
 		super();
-		setTextStore(new CopyOnWriteTextStore(new GapTextStore()));
+		setTextStore(new CopyOnWriteTextStore(createDefaultTextStore()));
 		setLineTracker(new DefaultLineTracker());
 		completeInitialization();
 	}
@@ -61,7 +64,7 @@ public class Document extends AbstractDocument {
 	 */
 	public Document(String initialContent) {
 		super();
-		setTextStore(new CopyOnWriteTextStore(new GapTextStore()));
+		setTextStore(new CopyOnWriteTextStore(createDefaultTextStore()));
 		setLineTracker(new DefaultLineTracker());
 		getStore().set(initialContent);
 		getTracker().set(initialContent);
@@ -15,11 +15,21 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ConcurrentModificationException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.undo.DocumentUndoManagerRegistry;
+import org.eclipse.text.undo.IDocumentUndoManager;
 
 
 /**
@@ -54,6 +64,12 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	private static final int RC_LOWER= 2;
 	private static final int RC_FIRSTUPPER= 3;
 
+	/**
+	 * The number of characters searched at once by a cancellable find.
+	 * @since 3.15
+	 */
+	private static final int SEARCH_CHUNK_SIZE= 1024 * 1024;
+
 
 	/**
 	 * The adapted document.
@@ -114,7 +130,143 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		if (startOffset == -1 && !forwardSearch)
 			startOffset= length() - 1;
 
-		return findReplace(FIND_FIRST, startOffset, findString, null, forwardSearch, caseSensitive, wholeWord, regExSearch);
+		return findReplace(FIND_FIRST, startOffset, findString, null, forwardSearch, caseSensitive, wholeWord, regExSearch, null);
+	}
+
+	/**
+	 * Returns the location of a given string in this adapter's document based on a set of search
+	 * criteria, like {@link #find(int, String, boolean, boolean, boolean, boolean)}.
+	 * <p>
+	 * A forward search scans the document in chunks and checks the given monitor for cancellation
+	 * between chunks, so that it can run outside the UI thread on large documents.
+	 * </p>
+	 * <p>
+	 * Like all methods of this adapter, this method must not be called by several threads at the
+	 * same time, and the document must not be modified while it runs. If the document implements
+	 * {@link IDocumentExtension4}, a modification is detected between chunks and the search is
+	 * aborted with a {@link ConcurrentModificationException}. A search on other documents is not
+	 * checked and may return an outdated or invalid region.
+	 * </p>
+	 *
+	 * @param startOffset document offset at which search starts
+	 * @param findString the string to find
+	 * @param forwardSearch the search direction
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor to check for cancellation
+	 * @return the find or replace region or <code>null</code> if there was no match
+	 * @throws BadLocationException if startOffset is an invalid document offset
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @throws ConcurrentModificationException if the document has been modified during the search
+	 * @since 3.15
+	 */
+	public IRegion find(int startOffset, String findString, boolean forwardSearch, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+		Assert.isNotNull(monitor);
+
+		// Adjust offset to special meaning of -1
+		if (startOffset == -1 && forwardSearch)
+			startOffset= 0;
+		if (startOffset == -1 && !forwardSearch)
+			startOffset= length() - 1;
+
+		return findReplace(FIND_FIRST, startOffset, findString, null, forwardSearch, caseSensitive, wholeWord, regExSearch, monitor);
+	}
+
+	/**
+	 * Replaces all matches of the given string in the given range of this adapter's document.
+	 * <p>
+	 * All matches are computed first, on the unmodified document, and then applied as one
+	 * {@link MultiTextEdit}. If the document supports rewrite sessions, the edit is applied in a
+	 * sequential rewrite session. If the document has an undo manager, the replacements form a
+	 * single undo step. Empty matches are replaced as well, like by the find/replace dialog, so that
+	 * for example replacing <code>^</code> inserts the replacement at the start of every line.
+	 * </p>
+	 *
+	 * @param offset the start offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param replaceText the replacement text, a replace pattern if <code>regExSearch</code> is
+	 *            <code>true</code>
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @return the number of replacements
+	 * @throws BadLocationException if the range is invalid
+	 * @throws PatternSyntaxException if a regular expression or the replace pattern has invalid
+	 *             syntax or a replacement would damage the document's line delimiters
+	 * @since 3.15
+	 */
+	public int replaceAll(int offset, int length, String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+		Assert.isNotNull(replaceText);
+
+		if (offset < 0 || length < 0 || offset + length > length())
+			throw new BadLocationException();
+		if (findString == null || findString.isEmpty())
+			return 0;
+
+		fFindReplaceState= null;
+		Pattern pattern= Pattern.compile(toPattern(findString, wholeWord, regExSearch), getPatternFlags(caseSensitive, regExSearch));
+		Matcher matcher= pattern.matcher(fDocument.get());
+		matcher.useTransparentBounds(true);
+		matcher.useAnchoringBounds(false);
+		matcher.region(offset, offset + length);
+
+		MultiTextEdit edit= new MultiTextEdit();
+		try {
+			while (matcher.find()) {
+				String match= matcher.group();
+				String replacement= regExSearch ? interpretReplacePattern(matcher, replaceText) : replaceText;
+				int matchOffset= matcher.start();
+				if (fDocument instanceof IRepairableDocumentExtension
+						&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(matchOffset, match.length(), replacement)) {
+					String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+					throw new PatternSyntaxException(message, replacement, matchOffset);
+				}
+				edit.addChild(new ReplaceEdit(matchOffset, match.length(), replacement));
+			}
+		} catch (StackOverflowError e) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, findString, -1);
+		}
+
+		int count= edit.getChildrenSize();
+		if (count > 0)
+			applyAsSingleChange(edit);
+		return count;
+	}
+
+	/**
+	 * Applies the given edit to the document in a rewrite session and as a single undo step.
+	 *
+	 * @param edit the edit to apply
+	 * @throws BadLocationException if the edit can not be applied
+	 * @since 3.15
+	 */
+	private void applyAsSingleChange(TextEdit edit) throws BadLocationException {
+		DocumentRewriteSession session= null;
+		if (fDocument instanceof IDocumentExtension4 && ((IDocumentExtension4) fDocument).getActiveRewriteSession() == null)
+			session= ((IDocumentExtension4) fDocument).startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL);
+		IDocumentUndoManager undoManager= DocumentUndoManagerRegistry.getDocumentUndoManager(fDocument);
+		if (undoManager != null)
+			undoManager.beginCompoundChange();
+		try {
+			edit.apply(fDocument, TextEdit.NONE);
+		} catch (MalformedTreeException e) {
+			throw new BadLocationException(e.getMessage());
+		} finally {
+			if (undoManager != null)
+				undoManager.endCompoundChange();
+			if (session != null)
+				((IDocumentExtension4) fDocument).stopRewriteSession(session);
+		}
 	}
 
 	/**
@@ -134,13 +286,15 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
 	 * @param regExSearch if <code>true</code> this operation represents a regular expression
 	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor to check for cancellation or <code>null</code> if the
+	 * 			operation can not be canceled
 	 * @param operationCode specifies what kind of operation is executed
 	 * @return the find or replace region or <code>null</code> if there was no match
 	 * @throws BadLocationException if startOffset is an invalid document offset
 	 * @throws IllegalStateException if a REPLACE or REPLACE_FIND operation is not preceded by a successful FIND operation
 	 * @throws PatternSyntaxException if a regular expression has invalid syntax
 	 */
-	private IRegion findReplace(final FindReplaceOperationCode operationCode, int startOffset, String findString, String replaceText, boolean forwardSearch, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+	private IRegion findReplace(final FindReplaceOperationCode operationCode, int startOffset, String findString, String replaceText, boolean forwardSearch, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) throws BadLocationException {
 
 		// Validate option combinations
 		Assert.isTrue(!(regExSearch && wholeWord));
@@ -159,21 +313,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
-			int patternFlags= 0;
-
-			if (regExSearch) {
-				patternFlags |= Pattern.MULTILINE;
-				findString= substituteLinebreak(findString);
-			}
-
-			if (!caseSensitive)
-				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-
-			if (!regExSearch)
-				findString= asRegPattern(findString);
-
-			if (wholeWord)
-				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+			int patternFlags= getPatternFlags(caseSensitive, regExSearch);
+			findString= toPattern(findString, wholeWord, regExSearch);
 
 			fFindReplaceMatchOffset= startOffset;
 			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
@@ -190,18 +331,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 
 		if (operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) {
 			if (regExSearch) {
-				Pattern pattern= fFindReplaceMatcher.pattern();
-				String prevMatch= fFindReplaceMatcher.group();
-				try {
-					replaceText= interpretReplaceEscapes(replaceText, prevMatch);
-					Matcher replaceTextMatcher= pattern.matcher(prevMatch);
-					replaceText= replaceTextMatcher.replaceFirst(replaceText);
-				} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
-					// These exceptions are thrown by Matcher#replaceFirst(), capturing information about
-					// invalid regular expression patterns, such as unfinished character escape sequences
-					// at the end of the pattern
-					throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
-				}
+				replaceText= interpretReplacePattern(fFindReplaceMatcher.pattern(), replaceText, fFindReplaceMatcher.group());
 			}
 
 			int offset= fFindReplaceMatcher.start();
@@ -222,11 +352,14 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		}
 		
 		if (operationCode != REPLACE) {
+			long modificationStamp= getModificationStamp();
 			try {
 				if (forwardSearch) {
 
 					boolean found= false;
-					if (operationCode == FIND_FIRST)
+					if (operationCode == FIND_FIRST && monitor != null)
+						found= findInChunks(startOffset, monitor, modificationStamp);
+					else if (operationCode == FIND_FIRST)
 						found= fFindReplaceMatcher.find(startOffset);
 					else
 						found= fFindReplaceMatcher.find();
@@ -246,6 +379,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 				int index= -1;
 				int length= -1;
 				while (found && fFindReplaceMatcher.start() + fFindReplaceMatcher.group().length() <= fFindReplaceMatchOffset + 1) {
+					if (monitor != null)
+						checkCanceled(monitor, modificationStamp);
 					index= fFindReplaceMatcher.start();
 					length= fFindReplaceMatcher.group().length();
 					found= fFindReplaceMatcher.find(index + 1);
@@ -267,6 +402,218 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return null;
 	}
 
+	/**
+	 * Searches forward for the next match, one chunk of the document at a time. The chunks are
+	 * searched with a matcher of their own, so that the regions set for them do not affect later
+	 * searches. {@link #fFindReplaceMatcher} is left at the found match, as if
+	 * {@link Matcher#find(int)} had been called.
+	 *
+	 * @param startOffset document offset at which search starts
+	 * @param monitor the progress monitor to check for cancellation
+	 * @param modificationStamp the modification stamp of the document when the search started
+	 * @return <code>true</code> if a match was found
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @throws ConcurrentModificationException if the document has been modified
+	 * @since 3.15
+	 */
+	private boolean findInChunks(int startOffset, IProgressMonitor monitor, long modificationStamp) {
+		Matcher matcher= fFindReplaceMatcher.pattern().matcher(this);
+		matcher.useTransparentBounds(true);
+		matcher.useAnchoringBounds(false);
+		int length= length();
+		int chunkSize= SEARCH_CHUNK_SIZE;
+		int from= startOffset;
+		while (true) {
+			checkCanceled(monitor, modificationStamp);
+
+			int to= (int) Math.min(length, (long) from + chunkSize);
+			if (to == length)
+				return fFindReplaceMatcher.find(from);
+
+			matcher.region(from, to);
+			boolean found= matcher.find();
+			if (matcher.hitEnd()) {
+				// more input could change the result, search a larger chunk
+				chunkSize*= 2;
+			} else if (found) {
+				return fFindReplaceMatcher.find(matcher.start());
+			} else {
+				// no match starts in this chunk
+				from= to;
+				chunkSize= SEARCH_CHUNK_SIZE;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a search has been canceled or the document has been modified since the search
+	 * started.
+	 *
+	 * @param monitor the progress monitor to check for cancellation
+	 * @param modificationStamp the modification stamp of the document when the search started
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @throws ConcurrentModificationException if the document has been modified
+	 * @since 3.15
+	 */
+	private void checkCanceled(IProgressMonitor monitor, long modificationStamp) {
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+		if (getModificationStamp() != modificationStamp)
+			throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * Returns the modification stamp of the document.
+	 *
+	 * @return the modification stamp, or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP} if the
+	 *         document does not provide one
+	 * @since 3.15
+	 */
+	private long getModificationStamp() {
+		if (fDocument instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) fDocument).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Returns the flags for the pattern of a find string.
+	 *
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param regExSearch whether the find string is a regular expression
+	 * @return the pattern flags
+	 * @since 3.15
+	 */
+	private static int getPatternFlags(boolean caseSensitive, boolean regExSearch) {
+		int patternFlags= 0;
+		if (regExSearch)
+			patternFlags |= Pattern.MULTILINE;
+		if (!caseSensitive)
+			patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		return patternFlags;
+	}
+
+	/**
+	 * Converts a find string into a regular expression.
+	 *
+	 * @param findString the string to find
+	 * @param wholeWord whether only whole words are matched
+	 * @param regExSearch whether the find string is a regular expression
+	 * @return the regular expression
+	 * @throws PatternSyntaxException if \R is used at an illegal position
+	 * @since 3.15
+	 */
+	private String toPattern(String findString, boolean wholeWord, boolean regExSearch) {
+		if (regExSearch)
+			findString= substituteLinebreak(findString);
+		else
+			findString= asRegPattern(findString);
+
+		if (wholeWord)
+			findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+		return findString;
+	}
+
+	/**
+	 * Computes the replacement of a match for a regular expression replace pattern.
+	 *
+	 * @param pattern the find pattern
+	 * @param replaceText the replace pattern
+	 * @param match the text of the match
+	 * @return the replacement text
+	 * @throws PatternSyntaxException if the replace pattern has invalid syntax
+	 * @since 3.15
+	 */
+	private String interpretReplacePattern(Pattern pattern, String replaceText, String match) {
+		try {
+			replaceText= interpretReplaceEscapes(replaceText, match);
+			Matcher replaceTextMatcher= pattern.matcher(match);
+			return replaceTextMatcher.replaceFirst(replaceText);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+			// These exceptions are thrown by Matcher#replaceFirst(), capturing information about
+			// invalid regular expression patterns, such as unfinished character escape sequences
+			// at the end of the pattern
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
+		}
+	}
+
+	/**
+	 * Computes the replacement of the current match of the given matcher for a regular expression
+	 * replace pattern. Unlike {@link #interpretReplacePattern(Pattern, String, String)}, the replace
+	 * pattern is expanded against the match in its context, so that matches which depend on their
+	 * surroundings, such as the empty matches of <code>^</code>, are replaced as well.
+	 *
+	 * @param matcher the matcher positioned at the match
+	 * @param replaceText the replace pattern
+	 * @return the replacement text
+	 * @throws PatternSyntaxException if the replace pattern has invalid syntax
+	 * @since 3.15
+	 */
+	private String interpretReplacePattern(Matcher matcher, String replaceText) {
+		try {
+			replaceText= interpretReplaceEscapes(replaceText, matcher.group());
+			return expandGroupReferences(matcher, replaceText);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+			// see interpretReplacePattern(Pattern, String, String)
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
+		}
+	}
+
+	/**
+	 * Expands the group references and escapes of a replacement string like
+	 * {@link Matcher#appendReplacement(StringBuilder, String)} does, but without copying the text
+	 * before the match.
+	 *
+	 * @param matcher the matcher positioned at the match
+	 * @param replacement the replacement string
+	 * @return the expanded replacement
+	 * @throws IllegalArgumentException if the replacement refers to a named group that does not exist
+	 *             or has invalid syntax
+	 * @throws IndexOutOfBoundsException if the replacement refers to a group that does not exist
+	 * @since 3.15
+	 */
+	private static String expandGroupReferences(Matcher matcher, String replacement) {
+		int length= replacement.length();
+		StringBuilder buffer= new StringBuilder(length);
+		int i= 0;
+		while (i < length) {
+			char c= replacement.charAt(i++);
+			if (c == '\\') {
+				if (i == length)
+					throw new IllegalArgumentException("character to be escaped is missing"); //$NON-NLS-1$
+				buffer.append(replacement.charAt(i++));
+			} else if (c == '$') {
+				if (i == length)
+					throw new IllegalArgumentException("Illegal group reference: group index is missing"); //$NON-NLS-1$
+				String group;
+				if (replacement.charAt(i) == '{') {
+					int end= replacement.indexOf('}', ++i);
+					if (end == -1)
+						throw new IllegalArgumentException("named capturing group is missing trailing '}'"); //$NON-NLS-1$
+					group= matcher.group(replacement.substring(i, end));
+					i= end + 1;
+				} else {
+					int groupNumber= replacement.charAt(i++) - '0';
+					if (groupNumber < 0 || groupNumber > 9)
+						throw new IllegalArgumentException("Illegal group reference"); //$NON-NLS-1$
+					// like Matcher, take as many digits as form an existing group number
+					while (i < length) {
+						int digit= replacement.charAt(i) - '0';
+						if (digit < 0 || digit > 9 || groupNumber * 10 + digit > matcher.groupCount())
+							break;
+						groupNumber= groupNumber * 10 + digit;
+						i++;
+					}
+					group= matcher.group(groupNumber);
+				}
+				if (group != null)
+					buffer.append(group);
+			} else {
+				buffer.append(c);
+			}
+		}
+		return buffer.toString();
+	}
+
 	/**
 	 * Substitutes \R in a regex find pattern with {@code (?>\r\n?|\n)}
 	 *
@@ -609,7 +956,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * @see IDocumentListener
 	 */
 	public IRegion replace(String text, boolean regExReplace) throws BadLocationException {
-		return findReplace(REPLACE, -1, null, text, false, false, false, regExReplace);
+		return findReplace(REPLACE, -1, null, text, false, false, false, regExReplace, null);
 	}
 
 	// ---------- CharSequence implementation ----------
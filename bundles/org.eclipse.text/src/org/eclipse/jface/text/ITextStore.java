@@ -20,7 +20,8 @@ package org.eclipse.jface.text;
  * Provides access to the stored text and allows to manipulate it.</p>
  * <p>
  * Clients may
- * implement this interface or use {@link org.eclipse.jface.text.GapTextStore} or
+ * implement this interface or use {@link org.eclipse.jface.text.GapTextStore},
+ * {@link org.eclipse.jface.text.PieceTableTextStore} or
  * {@link org.eclipse.jface.text.CopyOnWriteTextStore}.</p>
  */
 public interface ITextStore {
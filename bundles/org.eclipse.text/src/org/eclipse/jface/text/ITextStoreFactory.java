@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Creates the modifiable {@link ITextStore} used by a document.
+ * <p>
+ * Clients may implement this interface or use one of the predefined factories.
+ * </p>
+ *
+ * @see AbstractDocument#setDefaultTextStoreFactory(ITextStoreFactory)
+ * @since 3.15
+ */
+@FunctionalInterface
+public interface ITextStoreFactory {
+
+	/**
+	 * Factory creating a {@link GapTextStore}. Best suited for typical source code documents.
+	 */
+	ITextStoreFactory GAP_TEXT_STORE= GapTextStore::new;
+
+	/**
+	 * Factory creating a {@link PieceTableTextStore}. Best suited for very large documents that
+	 * receive scattered changes.
+	 */
+	ITextStoreFactory PIECE_TABLE_TEXT_STORE= PieceTableTextStore::new;
+
+	/**
+	 * Creates a new empty text store.
+	 *
+	 * @return a new empty text store
+	 */
+	ITextStore createTextStore();
+}
@@ -329,12 +329,43 @@ abstract class ListLineTracker implements ILineTracker {
 		fLines.clear();
 		if (text != null) {
 			fTextLength= text.length();
-			createLines(text, 0, 0);
+			if (fTextLength > DefaultLineDelimiterScanner.PARALLEL_THRESHOLD && hasDefaultDelimiters())
+				createDefaultLines(text);
+			else
+				createLines(text, 0, 0);
 		} else {
 			fTextLength= 0;
 		}
 	}
 
+	/**
+	 * Creates the lines of the given text using the delimiters of {@link DefaultLineTracker}. The
+	 * delimiters are searched in parallel.
+	 *
+	 * @param text the text to create the lines of
+	 */
+	private void createDefaultLines(String text) {
+		int[] delimiterEnds= DefaultLineDelimiterScanner.findDelimiterEnds(text);
+		int start= 0;
+		for (int end : delimiterEnds) {
+			fLines.add(new Line(start, end - 1, DefaultLineDelimiterScanner.delimiterEndingAt(text, end)));
+			start= end;
+		}
+		if (start < text.length())
+			fLines.add(new Line(start, text.length() - 1, null));
+	}
+
+	/**
+	 * Tells whether this tracker uses the delimiters of {@link DefaultLineTracker}, which allows
+	 * {@link #set(String)} to scan large texts in parallel. Returns <code>false</code> by default.
+	 *
+	 * @return <code>true</code> if the delimiters are "\r", "\n" and "\r\n"
+	 * @since 3.15
+	 */
+	boolean hasDefaultDelimiters() {
+		return false;
+	}
+
 	/**
 	 * Returns the internal data structure, a {@link List} of {@link Line}s. Used only by
 	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
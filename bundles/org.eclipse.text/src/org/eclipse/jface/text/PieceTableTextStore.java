@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Implements a piece table text store. The content is described by a sequence of pieces, each
+ * referring to a range of an immutable character buffer: either the buffer holding the text passed
+ * to {@link #set(String)} or one of the append-only buffers that receive inserted text. Changes never
+ * move existing content; they only split, drop and add pieces.
+ * <p>
+ * The pieces are kept in a balanced search tree (a treap) whose nodes are augmented with the length
+ * of their subtree, so that offsets can be resolved in logarithmic time.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> Let <var>p</var> be the number of pieces. A change performs in
+ * <i>O(log p + t)</i>, where <var>t</var> is the length of the inserted text, independent of the
+ * distance to the previous change and of the document size. Consecutive typing at the same location
+ * extends the last piece instead of creating a new one. {@linkplain #get(int, int) get(int,
+ * <var>length</var>)} performs in <i>O(log p + length)</i>, {@link #get(int)} in <i>O(1)</i> if the
+ * offset is located in the same piece as the previous access and in <i>O(log p)</i> otherwise.
+ * Unlike {@link GapTextStore}, this store never re-allocates or copies the whole content, which
+ * makes it suitable for very large documents that receive scattered changes.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see GapTextStore
+ * @see CopyOnWriteTextStore for a copy-on-write text store wrapper
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTableTextStore implements ITextStore {
+
+	/**
+	 * The size of the buffers receiving inserted text. Texts larger than this get a buffer of their
+	 * own.
+	 */
+	private static final int ADD_BUFFER_SIZE= 64 * 1024;
+
+	/**
+	 * A node of the piece tree. Each node describes one piece of the content and knows the total
+	 * length of its subtree.
+	 */
+	private static final class Node {
+		/** The buffer the piece refers to. */
+		final char[] fBuffer;
+		/** The start of the piece in {@link #fBuffer}. */
+		final int fStart;
+		/** The length of the piece. */
+		int fLength;
+		/** The total length of all pieces in this subtree. */
+		int fSubtreeLength;
+		/** The heap priority of this node. */
+		final int fPriority;
+		/** The left child. */
+		Node fLeft;
+		/** The right child. */
+		Node fRight;
+
+		Node(char[] buffer, int start, int length, int priority) {
+			fBuffer= buffer;
+			fStart= start;
+			fLength= length;
+			fSubtreeLength= length;
+			fPriority= priority;
+		}
+
+		void update() {
+			fSubtreeLength= fLength + length(fLeft) + length(fRight);
+		}
+	}
+
+	/**
+	 * A piece located at a known offset of the store.
+	 */
+	private static final class CachedPiece {
+		/** The empty cache. */
+		static final CachedPiece NONE= new CachedPiece(null, 0, 0, 0);
+
+		/** The buffer of the piece. */
+		final char[] fBuffer;
+		/** The offset in the store of the first character of the piece. */
+		final int fStart;
+		/** The offset in the store after the last character of the piece. */
+		final int fEnd;
+		/** The position in {@link #fBuffer} that corresponds to {@link #fStart}. */
+		final int fBufferStart;
+
+		CachedPiece(char[] buffer, int start, int end, int bufferStart) {
+			fBuffer= buffer;
+			fStart= start;
+			fEnd= end;
+			fBufferStart= bufferStart;
+		}
+	}
+
+	/** The root of the piece tree, <code>null</code> if the store is empty. */
+	private Node fRoot;
+	/** The buffer currently receiving inserted text. */
+	private char[] fAddBuffer= new char[0];
+	/** The number of characters used in {@link #fAddBuffer}. */
+	private int fAddBufferUsed= 0;
+	/** The state of the pseudo random generator used for node priorities. */
+	private int fSeed= 0x2545F491;
+
+	/**
+	 * The piece containing the last accessed character. Replaced as a whole so that concurrent
+	 * readers always see a consistent piece.
+	 */
+	private volatile CachedPiece fCache= CachedPiece.NONE;
+
+	/**
+	 * Creates a new empty text store.
+	 */
+	public PieceTableTextStore() {
+	}
+
+	@Override
+	public final char get(int offset) {
+		CachedPiece piece= fCache;
+		if (offset < piece.fStart || offset >= piece.fEnd) {
+			if (offset < 0 || offset >= length(fRoot))
+				throw new IndexOutOfBoundsException(offset);
+			piece= findPiece(offset);
+			fCache= piece;
+		}
+		return piece.fBuffer[piece.fBufferStart + offset - piece.fStart];
+	}
+
+	@Override
+	public final String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > length(fRoot))
+			throw new IndexOutOfBoundsException();
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		CachedPiece piece= fCache;
+		if (offset >= piece.fStart && offset + length <= piece.fEnd)
+			return new String(piece.fBuffer, piece.fBufferStart + offset - piece.fStart, length);
+
+		char[] result= new char[length];
+		copy(fRoot, offset, offset + length, result, 0);
+		return new String(result);
+	}
+
+	@Override
+	public final int getLength() {
+		return length(fRoot);
+	}
+
+	@Override
+	public final void set(String text) {
+		fAddBuffer= new char[0];
+		fAddBufferUsed= 0;
+		if (text == null || text.isEmpty()) {
+			fRoot= null;
+		} else {
+			fRoot= new Node(text.toCharArray(), 0, text.length(), nextPriority());
+		}
+		invalidateCache();
+	}
+
+	@Override
+	public final void replace(int offset, int length, String text) {
+		if (offset < 0 || length < 0 || offset + length > length(fRoot))
+			throw new IndexOutOfBoundsException();
+
+		int textLength= text == null ? 0 : text.length();
+		if (length == 0 && textLength == 0)
+			return;
+
+		Node[] split= new Node[2];
+		split(fRoot, offset, split);
+		Node left= split[0];
+		Node right= split[1];
+
+		if (length > 0) {
+			split(right, length, split);
+			right= split[1];
+		}
+
+		if (textLength > 0)
+			left= insert(left, text);
+
+		fRoot= merge(left, right);
+		invalidateCache();
+	}
+
+	/**
+	 * Appends the given text to the given tree. The text is copied into an add buffer. If the
+	 * rightmost piece of the tree ends exactly where the copied text starts in the same buffer, that
+	 * piece is extended instead of creating a new one.
+	 *
+	 * @param tree the tree to append to, may be <code>null</code>
+	 * @param text the non-empty text to append
+	 * @return the resulting tree
+	 */
+	private Node insert(Node tree, String text) {
+		int textLength= text.length();
+		if (textLength > ADD_BUFFER_SIZE) {
+			return merge(tree, new Node(text.toCharArray(), 0, textLength, nextPriority()));
+		}
+
+		if (fAddBuffer.length - fAddBufferUsed < textLength) {
+			fAddBuffer= new char[ADD_BUFFER_SIZE];
+			fAddBufferUsed= 0;
+		}
+
+		int start= fAddBufferUsed;
+		text.getChars(0, textLength, fAddBuffer, start);
+		fAddBufferUsed+= textLength;
+
+		Node last= tree;
+		while (last != null && last.fRight != null)
+			last= last.fRight;
+
+		if (last != null && last.fBuffer == fAddBuffer && last.fStart + last.fLength == start) {
+			for (Node node= tree; node != null; node= node.fRight)
+				node.fSubtreeLength+= textLength;
+			last.fLength+= textLength;
+			return tree;
+		}
+
+		return merge(tree, new Node(fAddBuffer, start, textLength, nextPriority()));
+	}
+
+	/**
+	 * Splits the given tree at the given offset. A piece spanning the offset is cut in two.
+	 *
+	 * @param node the tree to split, may be <code>null</code>
+	 * @param offset the offset relative to the tree
+	 * @param result receives the tree covering <code>[0, offset)</code> at index 0 and the tree
+	 *            covering the remainder at index 1
+	 */
+	private void split(Node node, int offset, Node[] result) {
+		Node[] parts= new Node[3];
+		splitPieces(node, offset, parts);
+		result[0]= parts[0];
+		// the tail of a cut piece is a new node with a priority of its own, merging it into the
+		// remainder keeps the heap order
+		result[1]= parts[2] == null ? parts[1] : merge(parts[2], parts[1]);
+	}
+
+	/**
+	 * Splits the given tree at the given offset without reinserting the tail of a cut piece.
+	 *
+	 * @param node the tree to split, may be <code>null</code>
+	 * @param offset the offset relative to the tree
+	 * @param result receives the tree covering <code>[0, offset)</code> at index 0, the tree
+	 *            covering the remainder except for the tail of a cut piece at index 1 and that tail
+	 *            at index 2
+	 */
+	private void splitPieces(Node node, int offset, Node[] result) {
+		if (node == null) {
+			result[0]= null;
+			result[1]= null;
+			return;
+		}
+
+		int leftLength= length(node.fLeft);
+		if (offset <= leftLength) {
+			splitPieces(node.fLeft, offset, result);
+			node.fLeft= result[1];
+			node.update();
+			result[1]= node;
+		} else if (offset >= leftLength + node.fLength) {
+			splitPieces(node.fRight, offset - leftLength - node.fLength, result);
+			node.fRight= result[0];
+			node.update();
+			result[0]= node;
+		} else {
+			int cut= offset - leftLength;
+			result[1]= node.fRight;
+			result[2]= new Node(node.fBuffer, node.fStart + cut, node.fLength - cut, nextPriority());
+			node.fLength= cut;
+			node.fRight= null;
+			node.update();
+			result[0]= node;
+		}
+	}
+
+	/**
+	 * Concatenates two trees.
+	 *
+	 * @param left the tree containing the leading content, may be <code>null</code>
+	 * @param right the tree containing the trailing content, may be <code>null</code>
+	 * @return the concatenated tree
+	 */
+	private static Node merge(Node left, Node right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+
+		if (left.fPriority > right.fPriority) {
+			left.fRight= merge(left.fRight, right);
+			left.update();
+			return left;
+		}
+		right.fLeft= merge(left, right.fLeft);
+		right.update();
+		return right;
+	}
+
+	/**
+	 * Copies the content of the given tree intersecting <code>[start, end)</code> into the target
+	 * array.
+	 *
+	 * @param node the tree to copy from, may be <code>null</code>
+	 * @param start the start offset relative to the tree
+	 * @param end the end offset relative to the tree
+	 * @param target the target array
+	 * @param targetOffset the position in the target array corresponding to <code>start</code>
+	 */
+	private static void copy(Node node, int start, int end, char[] target, int targetOffset) {
+		while (node != null && start < end) {
+			int leftLength= length(node.fLeft);
+			if (start < leftLength)
+				copy(node.fLeft, start, Math.min(end, leftLength), target, targetOffset);
+
+			int pieceEnd= leftLength + node.fLength;
+			int from= Math.max(start, leftLength);
+			int to= Math.min(end, pieceEnd);
+			if (from < to)
+				System.arraycopy(node.fBuffer, node.fStart + from - leftLength, target, targetOffset + from - start, to - from);
+
+			if (end <= pieceEnd)
+				return;
+
+			// continue with the right subtree without recursion
+			targetOffset+= Math.max(pieceEnd, start) - start;
+			start= Math.max(start - pieceEnd, 0);
+			end-= pieceEnd;
+			node= node.fRight;
+		}
+	}
+
+	/**
+	 * Locates the piece containing the given offset.
+	 *
+	 * @param offset a valid offset in this store
+	 * @return the piece containing the offset
+	 */
+	private CachedPiece findPiece(int offset) {
+		Node node= fRoot;
+		int base= 0;
+		while (true) {
+			int leftLength= length(node.fLeft);
+			if (offset < base + leftLength) {
+				node= node.fLeft;
+			} else if (offset < base + leftLength + node.fLength) {
+				int start= base + leftLength;
+				return new CachedPiece(node.fBuffer, start, start + node.fLength, node.fStart);
+			} else {
+				base+= leftLength + node.fLength;
+				node= node.fRight;
+			}
+		}
+	}
+
+	private void invalidateCache() {
+		fCache= CachedPiece.NONE;
+	}
+
+	private int nextPriority() {
+		// xorshift
+		int x= fSeed;
+		x^= x << 13;
+		x^= x >>> 17;
+		x^= x << 5;
+		fSeed= x;
+		return x;
+	}
+
+	private static int length(Node node) {
+		return node == null ? 0 : node.fSubtreeLength;
+	}
+}
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Interval index over the positions of one position category.
+ * <p>
+ * The positions are the leaves of a complete binary tree stored in arrays. Every node of the tree
+ * is augmented with the smallest offset and the largest end offset of the positions below it, so
+ * that a query only descends into subtrees that can contain a position intersecting the range.
+ * </p>
+ * <p>
+ * The leaves are in offset order when the index is built from the sorted positions of a category.
+ * Later positions are appended to the next free leaf, and a removed position leaves an empty leaf
+ * behind. The index is rebuilt once all leaves are used, which happens after at most
+ * <i>n / 2</i> additions. As long as the positions do not overlap much, a query therefore visits
+ * <i>O(log n + k)</i> nodes, where <var>k</var> is the number of positions found. Long positions
+ * that span many others and appended positions widen the ranges of their ancestors, and in the
+ * worst case a query visits all nodes.
+ * </p>
+ * <p>
+ * The index does not observe the positions. Whoever changes a position must tell the index with
+ * {@link #update(int[])}, or mark the index {@link #markStale() stale} so that the offsets are read
+ * again with {@link #refresh()} before the next query, see {@link AbstractDocument}.
+ * </p>
+ */
+final class PositionIntervalIndex {
+
+	/** The positions of the leaves, <code>null</code> for empty leaves. */
+	private final Position[] fPositions;
+	/** The number of leaves of the tree, a power of two. */
+	private final int fLeaves;
+	/**
+	 * The smallest offset of the positions in the subtree of each node. The root is at index 1,
+	 * the children of node <code>i</code> are at <code>2i</code> and <code>2i + 1</code>.
+	 */
+	private final int[] fMinOffsets;
+	/** The largest end offset of the positions in the subtree of each node. */
+	private final int[] fMaxEnds;
+	/** The number of used leaves, including the ones of removed positions. */
+	private int fUsed;
+	/** The number of positions in this index. */
+	private int fSize;
+	/** The modification count of the document when this index was built. */
+	private final int fModificationCount;
+	/** Whether the positions may have been moved since the leaves were last read. */
+	private boolean fStale;
+
+	/**
+	 * Creates an index of the given positions.
+	 *
+	 * @param positions the positions to index, sorted by offset
+	 * @param modificationCount the modification count of the document the positions belong to
+	 */
+	PositionIntervalIndex(List<Position> positions, int modificationCount) {
+		int size= positions.size();
+		int leaves= 16;
+		while (leaves < size + size / 2)
+			leaves<<= 1;
+		fLeaves= leaves;
+		fPositions= new Position[leaves];
+		fMinOffsets= new int[2 * leaves];
+		fMaxEnds= new int[2 * leaves];
+		Arrays.fill(fMinOffsets, Integer.MAX_VALUE);
+		Arrays.fill(fMaxEnds, Integer.MIN_VALUE);
+
+		for (int i= 0; i < size; i++) {
+			Position position= positions.get(i);
+			fPositions[i]= position;
+			fMinOffsets[leaves + i]= position.offset;
+			fMaxEnds[leaves + i]= position.offset + position.length;
+		}
+		updateInnerNodes();
+		fUsed= size;
+		fSize= size;
+		fModificationCount= modificationCount;
+	}
+
+	/**
+	 * Returns the modification count of the document when this index was built.
+	 *
+	 * @return the modification count passed on creation
+	 */
+	int getModificationCount() {
+		return fModificationCount;
+	}
+
+	/**
+	 * Records that the positions of this index may have been moved without telling the index.
+	 */
+	void markStale() {
+		fStale= true;
+	}
+
+	/**
+	 * Tells whether the positions may have been moved since the leaves were last read.
+	 *
+	 * @return <code>true</code> if the index must be {@linkplain #refresh() refreshed} before it is
+	 *         queried
+	 */
+	boolean isStale() {
+		return fStale;
+	}
+
+	/**
+	 * Reads the current offsets and lengths of all positions again. Does not allocate.
+	 */
+	void refresh() {
+		for (int leaf= 0; leaf < fUsed; leaf++) {
+			Position position= fPositions[leaf];
+			if (position != null) {
+				fMinOffsets[fLeaves + leaf]= position.offset;
+				fMaxEnds[fLeaves + leaf]= position.offset + position.length;
+			}
+		}
+		updateInnerNodes();
+		fStale= false;
+	}
+
+	/**
+	 * Returns the number of positions in this index.
+	 *
+	 * @return the number of positions
+	 */
+	int size() {
+		return fSize;
+	}
+
+	/**
+	 * Adds a position to this index.
+	 *
+	 * @param position the position to add
+	 * @return <code>true</code> if the position was added, <code>false</code> if the index is full
+	 *         and has to be rebuilt
+	 */
+	boolean add(Position position) {
+		if (fUsed == fLeaves)
+			return false;
+
+		int leaf= fUsed++;
+		fPositions[leaf]= position;
+		setLeaf(leaf, position.offset, position.offset + position.length);
+		fSize++;
+		return true;
+	}
+
+	/**
+	 * Removes a position from this index. The position is located by its current offset and
+	 * length.
+	 *
+	 * @param position the position to remove
+	 * @return <code>true</code> if the position was removed, <code>false</code> if it could not
+	 *         be found and the index has to be rebuilt
+	 */
+	boolean remove(Position position) {
+		int leaf= fStale ? findLeaf(position) : find(1, position);
+		if (leaf < 0)
+			return false;
+
+		fPositions[leaf]= null;
+		setLeaf(leaf, Integer.MAX_VALUE, Integer.MIN_VALUE);
+		fSize--;
+		return true;
+	}
+
+	/**
+	 * Returns the leaves of all positions that start at or before <code>end</code> and end at or
+	 * after <code>offset</code>. This includes all positions
+	 * {@link Position#overlapsWith(int, int) overlapping} with the range <code>[offset, end)</code>.
+	 *
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range
+	 * @return the leaves of the positions, see {@link #getPosition(int)}
+	 */
+	int[] findLeaves(int offset, int end) {
+		int[] leaves= new int[16];
+		int count= 0;
+		// depth-first traversal, the stack never holds more than one sibling per level
+		int[] stack= new int[Integer.numberOfTrailingZeros(fLeaves) + 2];
+		int top= 0;
+		stack[top++]= 1;
+		while (top > 0) {
+			int node= stack[--top];
+			if (fMinOffsets[node] > end || fMaxEnds[node] < offset)
+				continue;
+
+			if (node >= fLeaves) {
+				if (count == leaves.length)
+					leaves= Arrays.copyOf(leaves, count * 2);
+				leaves[count++]= node - fLeaves;
+			} else {
+				stack[top++]= 2 * node + 1;
+				stack[top++]= 2 * node;
+			}
+		}
+		return Arrays.copyOf(leaves, count);
+	}
+
+	/**
+	 * Adds all positions that start at or before <code>end</code> and end at or after
+	 * <code>offset</code> to the given list.
+	 *
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range
+	 * @param result the list receiving the positions
+	 * @see #findLeaves(int, int)
+	 */
+	void collect(int offset, int end, List<Position> result) {
+		for (int leaf : findLeaves(offset, end))
+			result.add(fPositions[leaf]);
+	}
+
+	/**
+	 * Returns the position of the given leaf.
+	 *
+	 * @param leaf a leaf returned by {@link #findLeaves(int, int)}
+	 * @return the position of the leaf
+	 */
+	Position getPosition(int leaf) {
+		return fPositions[leaf];
+	}
+
+	/**
+	 * Reads the current offsets and lengths of the positions of the given leaves.
+	 *
+	 * @param leaves the leaves of the changed positions
+	 */
+	void update(int[] leaves) {
+		if (leaves.length * Integer.numberOfTrailingZeros(fLeaves) < fLeaves) {
+			for (int leaf : leaves) {
+				Position position= fPositions[leaf];
+				if (position != null)
+					setLeaf(leaf, position.offset, position.offset + position.length);
+			}
+			return;
+		}
+
+		// cheaper to recompute all inner nodes once than to propagate every leaf to the root
+		for (int leaf : leaves) {
+			Position position= fPositions[leaf];
+			if (position != null) {
+				fMinOffsets[fLeaves + leaf]= position.offset;
+				fMaxEnds[fLeaves + leaf]= position.offset + position.length;
+			}
+		}
+		updateInnerNodes();
+	}
+
+	private void updateInnerNodes() {
+		for (int node= fLeaves - 1; node > 0; node--) {
+			fMinOffsets[node]= Math.min(fMinOffsets[2 * node], fMinOffsets[2 * node + 1]);
+			fMaxEnds[node]= Math.max(fMaxEnds[2 * node], fMaxEnds[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Finds the leaf of the given position without relying on the offsets stored in the tree.
+	 *
+	 * @param position the position
+	 * @return the leaf of the position or <code>-1</code>
+	 */
+	private int findLeaf(Position position) {
+		for (int leaf= 0; leaf < fUsed; leaf++) {
+			if (fPositions[leaf] == position)
+				return leaf;
+		}
+		return -1;
+	}
+
+	private int find(int node, Position position) {
+		int offset= position.offset;
+		if (fMinOffsets[node] > offset || fMaxEnds[node] < offset + position.length)
+			return -1;
+
+		if (node >= fLeaves)
+			return fPositions[node - fLeaves] == position ? node - fLeaves : -1;
+
+		int leaf= find(2 * node, position);
+		return leaf >= 0 ? leaf : find(2 * node + 1, position);
+	}
+
+	private void setLeaf(int leaf, int offset, int end) {
+		int node= fLeaves + leaf;
+		fMinOffsets[node]= offset;
+		fMaxEnds[node]= end;
+		for (node>>= 1; node > 0; node>>= 1) {
+			fMinOffsets[node]= Math.min(fMinOffsets[2 * node], fMinOffsets[2 * node + 1]);
+			fMaxEnds[node]= Math.max(fMaxEnds[2 * node], fMaxEnds[2 * node + 1]);
+		}
+	}
+}
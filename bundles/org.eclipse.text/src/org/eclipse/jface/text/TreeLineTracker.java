@@ -41,7 +41,8 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
  * <strong>Performance:</strong> The query operations perform in <i>O(log n)</i> where <var>n</var>
  * is the number of lines in the document. The modification operations roughly perform in <i>O(l *
  * log n)</i> where <var>n</var> is the number of lines in the document and <var>l</var> is the
- * sum of the number of removed, added or modified lines.
+ * sum of the number of removed, added or modified lines. {@link #set(String)} builds the tree in
+ * <i>O(n)</i>; with the default delimiters, large texts are scanned for delimiters in parallel.
  * </p>
  *
  * @since 3.2
@@ -178,29 +179,76 @@ abstract class TreeLineTracker implements ILineTracker {
 		if (n == 0)
 			return;
 
-		Line line= lines.get(0);
-		String delim= line.delimiter;
-		if (delim == null)
-			delim= NO_DELIM;
-		int length= line.length;
-		fRoot= new Node(length, delim);
-		Node node= fRoot;
-
-		for (int i= 1; i < n; i++) {
-			line= lines.get(i);
-			delim= line.delimiter;
-			if (delim == null)
-				delim= NO_DELIM;
-			length= line.length;
-			node= insertAfter(node, length, delim);
+		boolean complete= lines.get(n - 1).delimiter != null;
+		int count= complete ? n + 1 : n;
+		int[] lineOffsets= new int[count + 1];
+		String[] delimiters= new String[count];
+		for (int i= 0; i < n; i++) {
+			Line line= lines.get(i);
+			lineOffsets[i]= line.offset;
+			delimiters[i]= line.delimiter;
 		}
+		Line last= lines.get(n - 1);
+		lineOffsets[n]= last.offset + last.length;
+		if (complete)
+			lineOffsets[n + 1]= lineOffsets[n];
+		delimiters[count - 1]= NO_DELIM;
 
-		if (node.delimiter != NO_DELIM)
-			insertAfter(node, 0, NO_DELIM);
+		fRoot= buildTree(lineOffsets, delimiters, 0, count, null);
 
 		if (ASSERT) checkTree();
 	}
 
+	/**
+	 * Tells whether this tracker uses the delimiters of {@link DefaultLineTracker}, which allows
+	 * {@link #set(String)} to scan large texts in parallel. Returns <code>false</code> by default.
+	 *
+	 * @return <code>true</code> if the delimiters are "\r", "\n" and "\r\n"
+	 * @since 3.15
+	 */
+	boolean hasDefaultDelimiters() {
+		return false;
+	}
+
+	/**
+	 * Builds a perfectly balanced tree of the lines <code>[from, to)</code> in <i>O(to -
+	 * from)</i>.
+	 *
+	 * @param lineOffsets the offsets of the lines, with one additional entry holding the end of the
+	 *            last line
+	 * @param delimiters the delimiters of the lines
+	 * @param from the first line of the subtree
+	 * @param to the line after the last line of the subtree
+	 * @param parent the parent of the subtree
+	 * @return the root of the subtree, <code>null</code> if it is empty
+	 */
+	private static Node buildTree(int[] lineOffsets, String[] delimiters, int from, int to, Node parent) {
+		if (from == to)
+			return null;
+
+		int middle= (from + to) >>> 1;
+		Node node= new Node(lineOffsets[middle + 1] - lineOffsets[middle], delimiters[middle]);
+		node.parent= parent;
+		node.line= middle - from;
+		node.offset= lineOffsets[middle] - lineOffsets[from];
+		node.left= buildTree(lineOffsets, delimiters, from, middle, node);
+		node.right= buildTree(lineOffsets, delimiters, middle + 1, to, node);
+		// the left subtree never has less nodes than the right one
+		node.balance= (byte) (depth(to - middle - 1) - depth(middle - from));
+		return node;
+	}
+
+	/**
+	 * Returns the depth of a tree with the given number of nodes built by
+	 * {@link #buildTree(int[], String[], int, int, Node)}.
+	 *
+	 * @param size the number of nodes
+	 * @return the depth of the tree
+	 */
+	private static int depth(int size) {
+		return Integer.SIZE - Integer.numberOfLeadingZeros(size);
+	}
+
 	/**
 	 * Returns the node (line) including a certain offset. If the offset is between two
 	 * lines, the line starting at <code>offset</code> is returned.
@@ -1206,12 +1254,46 @@ abstract class TreeLineTracker implements ILineTracker {
 
 	@Override
 	public final void set(String text) {
-		fRoot= new Node(0, NO_DELIM);
-		try {
-			replace(0, 0, text);
-		} catch (BadLocationException x) {
-			throw new InternalError();
+		if (text == null || text.isEmpty()) {
+			fRoot= new Node(0, NO_DELIM);
+			return;
 		}
+
+		int[] delimiterEnds;
+		String[] delimiters;
+		int count;
+		if (hasDefaultDelimiters()) {
+			delimiterEnds= DefaultLineDelimiterScanner.findDelimiterEnds(text);
+			count= delimiterEnds.length;
+			delimiters= new String[count + 1];
+			for (int i= 0; i < count; i++)
+				delimiters[i]= DefaultLineDelimiterScanner.delimiterEndingAt(text, delimiterEnds[i]);
+		} else {
+			delimiterEnds= new int[16];
+			delimiters= new String[17];
+			count= 0;
+			DelimiterInfo info= nextDelimiterInfo(text, 0);
+			while (info != null && info.delimiterIndex > -1) {
+				if (count == delimiterEnds.length) {
+					delimiterEnds= Arrays.copyOf(delimiterEnds, count * 2);
+					delimiters= Arrays.copyOf(delimiters, count * 2 + 1);
+				}
+				int end= info.delimiterIndex + info.delimiterLength;
+				delimiterEnds[count]= end;
+				delimiters[count]= info.delimiter;
+				count++;
+				info= nextDelimiterInfo(text, end);
+			}
+		}
+
+		int[] lineOffsets= new int[count + 2];
+		System.arraycopy(delimiterEnds, 0, lineOffsets, 1, count);
+		lineOffsets[count + 1]= text.length();
+		delimiters[count]= NO_DELIM;
+
+		fRoot= buildTree(lineOffsets, delimiters, 0, count + 1, null);
+
+		if (ASSERT) checkTree();
 	}
 
 	@Override
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.jface.text.rules;
+
+import java.util.Arrays;
+
+
+/**
+ * A buffered rule based scanner that compiles its rules into a dispatch table.
+ * <p>
+ * For every character below 256 the table holds the rules that may start at that
+ * character, in their original order. Rules of the classes {@link WordRule}, {@link PatternRule},
+ * {@link SingleLineRule}, {@link MultiLineRule}, {@link EndOfLineRule}, {@link NumberRule} and
+ * {@link WhitespaceRule} only fire if their first character matches, so they are only evaluated at
+ * the characters they can start with. Rules of any other class, including subclasses of the
+ * classes above, are evaluated at every character. At other characters, at the end of the range
+ * and after a rule that failed without restoring the scanner's offset, all (remaining) rules are
+ * evaluated. Characters that start no rule are returned as default token without evaluating any
+ * rule.
+ * </p>
+ * <p>
+ * The scanner returns exactly the same tokens as a {@link RuleBasedScanner} with the same rules,
+ * provided that the rules are not reconfigured after they have been set, i.e. start sequences and
+ * word and whitespace detectors do not change, and that the detectors answer the same for the same
+ * character.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class CompiledRuleBasedScanner extends BufferedRuleBasedScanner {
+
+	/** The number of characters covered by the dispatch table. */
+	private static final int TABLE_SIZE= 256;
+
+	/** The rules the table has been compiled from. */
+	private IRule[] fCompiledRules;
+	/** The indices of the rules that may start at each character below <code>TABLE_SIZE</code>. */
+	private int[][] fRulesByChar;
+
+
+	/**
+	 * Creates a new compiled rule based scanner which does not have any rule and a default buffer
+	 * size of 500 characters.
+	 */
+	public CompiledRuleBasedScanner() {
+		super();
+	}
+
+	/**
+	 * Creates a new compiled rule based scanner which does not have any rule. The buffer size is
+	 * set to the given number of characters.
+	 *
+	 * @param size the buffer size
+	 */
+	public CompiledRuleBasedScanner(int size) {
+		super(size);
+	}
+
+	@Override
+	public void setRules(IRule... rules) {
+		super.setRules(rules);
+		compile();
+	}
+
+	@Override
+	public IToken nextToken() {
+
+		fTokenOffset= fOffset;
+		fColumn= UNDEFINED;
+
+		if (fRules != null) {
+			if (fCompiledRules != fRules)
+				compile();
+
+			IRule[] rules= fRules;
+			int c= read();
+			unread();
+			if (c == EOF || c >= TABLE_SIZE)
+				return evaluate(0);
+
+			for (int index : fRulesByChar[c]) {
+				IToken token= rules[index].evaluate(this);
+				if (!token.isUndefined())
+					return token;
+				if (fOffset != fTokenOffset) {
+					// the rule did not restore the offset, the next rules see a different character
+					return evaluate(index + 1);
+				}
+			}
+		}
+
+		if (read() == EOF)
+			return Token.EOF;
+		return fDefaultReturnToken;
+	}
+
+	/**
+	 * Evaluates the rules starting at the given index like {@link RuleBasedScanner#nextToken()}.
+	 *
+	 * @param index the index of the first rule to evaluate
+	 * @return the next token
+	 */
+	private IToken evaluate(int index) {
+		for (int i= index; i < fRules.length; i++) {
+			IToken token= fRules[i].evaluate(this);
+			if (!token.isUndefined())
+				return token;
+		}
+
+		if (read() == EOF)
+			return Token.EOF;
+		return fDefaultReturnToken;
+	}
+
+	/**
+	 * Builds the dispatch table for the current rules.
+	 */
+	private void compile() {
+		fCompiledRules= fRules;
+		if (fRules == null) {
+			fRulesByChar= null;
+			return;
+		}
+
+		fRulesByChar= new int[TABLE_SIZE][];
+		int[] indices= new int[fRules.length];
+		for (int c= 0; c < TABLE_SIZE; c++) {
+			int count= 0;
+			for (int i= 0; i < fRules.length; i++) {
+				if (mayStartWith(fRules[i], (char) c))
+					indices[count++]= i;
+			}
+			fRulesByChar[c]= Arrays.copyOf(indices, count);
+		}
+	}
+
+	/**
+	 * Tells whether the given rule may fire if the next character is <code>c</code>.
+	 *
+	 * @param rule the rule
+	 * @param c the next character
+	 * @return <code>false</code> if the rule is known not to fire, <code>true</code> otherwise
+	 */
+	private static boolean mayStartWith(IRule rule, char c) {
+		Class<?> ruleClass= rule.getClass();
+		if (ruleClass == PatternRule.class || ruleClass == SingleLineRule.class || ruleClass == MultiLineRule.class || ruleClass == EndOfLineRule.class)
+			return ((PatternRule) rule).fStartSequence[0] == c;
+		if (ruleClass == WordRule.class)
+			return ((WordRule) rule).fDetector.isWordStart(c);
+		if (ruleClass == NumberRule.class)
+			return Character.isDigit(c);
+		if (ruleClass == WhitespaceRule.class)
+			return ((WhitespaceRule) rule).fDetector.isWhitespace(c);
+		return true;
+	}
+}
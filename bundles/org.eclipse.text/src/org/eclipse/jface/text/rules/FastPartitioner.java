@@ -54,6 +54,14 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * After a document change, scanning resumes at the start of the first changed
+ * line, even if that line is inside a partition. Scanning stops as soon as the
+ * scanner returns a partition that is already known, so a change inside a long
+ * multi-line partition does not rescan the whole partition. This requires the
+ * scanner to support resuming inside a partition as described in
+ * {@link IPartitionTokenScanner#setPartialRange(IDocument, int, int, String, int)}.
+ * </p>
  *
  * Originally since 3.1, but moved to org.eclipse.text in 3.14
  *
@@ -301,6 +309,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			Position[] category= getPositions();
 			IRegion line= fDocument.getLineInformationOfOffset(e.getOffset());
 			int reparseStart= line.getOffset();
+			// the start of the first partition that is scanned again
+			int rescanStart= reparseStart;
 			int partitionStart= -1;
 			String contentType= null;
 			int newLength= e.getText() == null ? 0 : e.getText().length();
@@ -311,7 +321,10 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				if (partition.includes(reparseStart)) {
 					partitionStart= partition.getOffset();
 					contentType= partition.getType();
-					reparseStart= partitionStart;
+					// the line start is a checkpoint inside the partition, see IPartitionTokenScanner#setPartialRange
+					if (e.getOffset() == partition.getOffset() + partition.getLength())
+						reparseStart= partitionStart;
+					rescanStart= partitionStart;
 					-- first;
 				} else if (reparseStart == e.getOffset() && reparseStart == partition.getOffset() + partition.getLength()) {
 					partitionStart= partition.getOffset();
@@ -328,19 +341,23 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			}
 
 			fPositionUpdater.update(e);
+			int deletionEnd= e.getOffset() + Math.max(e.getLength(), newLength);
 			for (int i= first; i < category.length; i++) {
 				Position p= category[i];
 				if (p.isDeleted) {
 					rememberDeletedOffset(e.getOffset());
 					break;
 				}
+				// only partitions inside the replaced text can have been deleted
+				if (p.offset > deletionEnd)
+					break;
 			}
 			clearPositionCache();
 			category= getPositions();
 
 			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
-			int behindLastScannedPosition= reparseStart;
+			int behindLastScannedPosition= rescanStart;
 			IToken token= fScanner.nextToken();
 
 			while (!token.isEOF()) {
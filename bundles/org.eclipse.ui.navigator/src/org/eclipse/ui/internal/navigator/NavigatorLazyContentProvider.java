@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.navigator;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.ILazyTreePathContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ITreePathContentProvider;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.TreePathViewerSorter;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
+
+/**
+ * <p>
+ * Adapts the content provider of a
+ * {@link org.eclipse.ui.navigator.CommonViewer} to
+ * {@link ILazyTreePathContentProvider}, so that a viewer with a
+ * {@link org.eclipse.swt.SWT#VIRTUAL} tree only creates the items that are
+ * visible.
+ * </p>
+ * <p>
+ * A virtual tree viewer neither filters nor sorts, so the children of each
+ * parent path are computed once through the delegate, which still runs the
+ * pipeline of the {@link NavigatorContentService}, then filtered and sorted
+ * with the filters and comparator of the viewer, and cached until the viewer
+ * invalidates them. The adapter also implements the non-lazy content provider
+ * interfaces by delegation, for clients that ask the viewer for its content
+ * provider.
+ * </p>
+ */
+public class NavigatorLazyContentProvider implements ILazyTreePathContentProvider, ITreeContentProvider,
+		ITreePathContentProvider {
+
+	private final TreeViewer viewer;
+
+	private final ITreeContentProvider delegate;
+
+	private final Map<TreePath, Object[]> children = new HashMap<>();
+
+	/**
+	 * @param aViewer
+	 *            The virtual viewer that shows the content
+	 * @param aDelegate
+	 *            The content provider that provides the content, usually the
+	 *            {@link NavigatorContentServiceContentProvider}
+	 */
+	public NavigatorLazyContentProvider(TreeViewer aViewer, ITreeContentProvider aDelegate) {
+		viewer = aViewer;
+		delegate = aDelegate;
+	}
+
+	@Override
+	public void updateElement(TreePath parentPath, int index) {
+		Object[] elements = getFilteredChildren(parentPath);
+		if (index >= elements.length) {
+			return;
+		}
+		Object element = elements[index];
+		viewer.replace(parentPath, index, element);
+		TreePath path = parentPath.createChildPath(element);
+		viewer.setHasChildren(path, hasChildren(path));
+	}
+
+	@Override
+	public void updateChildCount(TreePath treePath, int currentChildCount) {
+		viewer.setChildCount(treePath, getFilteredChildren(treePath).length);
+	}
+
+	@Override
+	public void updateHasChildren(TreePath path) {
+		viewer.setHasChildren(path, hasChildren(path));
+	}
+
+	/**
+	 * Discards the cached children of the given element and of all paths that
+	 * contain it. Discards everything if the element is <code>null</code> or
+	 * the input of the viewer.
+	 *
+	 * @param anElement
+	 *            The element that has changed
+	 */
+	public void invalidate(Object anElement) {
+		if (anElement == null || anElement == viewer.getInput()) {
+			children.clear();
+			return;
+		}
+		IElementComparer comparer = viewer.getComparer();
+		for (Iterator<TreePath> iter = children.keySet().iterator(); iter.hasNext();) {
+			TreePath path = iter.next();
+			for (int i = 0; i < path.getSegmentCount(); i++) {
+				Object segment = path.getSegment(i);
+				if (comparer != null ? comparer.equals(segment, anElement) : segment.equals(anElement)) {
+					iter.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards all cached children.
+	 */
+	public void invalidateAll() {
+		children.clear();
+	}
+
+	private Object[] getFilteredChildren(TreePath parentPath) {
+		Object[] result = children.get(parentPath);
+		if (result != null) {
+			return result;
+		}
+		Object input = viewer.getInput();
+		if (parentPath.getSegmentCount() == 0) {
+			result = input == null ? new Object[0] : delegate.getElements(input);
+		} else {
+			result = getChildren(parentPath);
+		}
+		for (ViewerFilter filter : viewer.getFilters()) {
+			if (parentPath.getSegmentCount() == 0) {
+				result = filter.filter(viewer, input, result);
+			} else {
+				result = filter.filter(viewer, parentPath, result);
+			}
+		}
+		ViewerComparator comparator = viewer.getComparator();
+		if (comparator != null) {
+			// the delegate may return its own array
+			result = result.clone();
+			if (comparator instanceof TreePathViewerSorter) {
+				((TreePathViewerSorter) comparator).sort(viewer, parentPath, result);
+			} else {
+				comparator.sort(viewer, result);
+			}
+		}
+		children.put(parentPath, result);
+		return result;
+	}
+
+	@Override
+	public Object[] getElements(Object anInputElement) {
+		return delegate.getElements(anInputElement);
+	}
+
+	@Override
+	public Object[] getChildren(Object aParentElement) {
+		return delegate.getChildren(aParentElement);
+	}
+
+	@Override
+	public Object[] getChildren(TreePath parentPath) {
+		if (delegate instanceof ITreePathContentProvider) {
+			return ((ITreePathContentProvider) delegate).getChildren(parentPath);
+		}
+		return delegate.getChildren(parentPath.getLastSegment());
+	}
+
+	@Override
+	public Object getParent(Object anElement) {
+		return delegate.getParent(anElement);
+	}
+
+	@Override
+	public TreePath[] getParents(Object anElement) {
+		if (delegate instanceof ITreePathContentProvider) {
+			return ((ITreePathContentProvider) delegate).getParents(anElement);
+		}
+		Object parent = delegate.getParent(anElement);
+		if (parent == null) {
+			return new TreePath[0];
+		}
+		LinkedList<Object> segments = new LinkedList<>();
+		Object input = viewer.getInput();
+		for (; parent != null && parent != input; parent = delegate.getParent(parent)) {
+			segments.addFirst(parent);
+		}
+		return new TreePath[] { new TreePath(segments.toArray()) };
+	}
+
+	@Override
+	public boolean hasChildren(Object anElement) {
+		return delegate.hasChildren(anElement);
+	}
+
+	@Override
+	public boolean hasChildren(TreePath path) {
+		if (delegate instanceof ITreePathContentProvider) {
+			return ((ITreePathContentProvider) delegate).hasChildren(path);
+		}
+		return delegate.hasChildren(path.getLastSegment());
+	}
+
+	@Override
+	public void inputChanged(Viewer aViewer, Object anOldInput, Object aNewInput) {
+		children.clear();
+		delegate.inputChanged(aViewer, anOldInput, aNewInput);
+	}
+
+	@Override
+	public void dispose() {
+		children.clear();
+		delegate.dispose();
+	}
+}
@@ -45,6 +45,7 @@ import org.eclipse.ui.internal.navigator.CommonNavigatorActionGroup;
 import org.eclipse.ui.internal.navigator.NavigatorContentService;
 import org.eclipse.ui.internal.navigator.NavigatorPlugin;
 import org.eclipse.ui.internal.navigator.NavigatorSafeRunnable;
+import org.eclipse.ui.internal.navigator.extensions.NavigatorViewerDescriptorManager;
 import org.eclipse.ui.part.ISetSelectionTarget;
 import org.eclipse.ui.part.IShowInSource;
 import org.eclipse.ui.part.IShowInTarget;
@@ -500,8 +501,13 @@ public class CommonNavigator extends ViewPart implements ISetSelectionTarget, IS
 	 * @since 3.4
 	 */
 	protected CommonViewer createCommonViewerObject(Composite aParent) {
-		return new CommonViewer(getViewSite().getId(), aParent,
-				SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		int style = SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL;
+		INavigatorViewerDescriptor viewerDescriptor = NavigatorViewerDescriptorManager.getInstance()
+				.getNavigatorViewerDescriptor(getViewSite().getId());
+		if (viewerDescriptor.getBooleanConfigProperty(INavigatorViewerDescriptor.PROP_ENABLE_VIRTUAL_TREE)) {
+			style |= SWT.VIRTUAL;
+		}
+		return new CommonViewer(getViewSite().getId(), aParent, style);
 	}
 
 	/**
@@ -22,11 +22,13 @@ import java.util.List;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.jface.viewers.ViewerSorter;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.MouseAdapter;
@@ -40,6 +42,7 @@ import org.eclipse.ui.internal.navigator.CommonNavigatorFrameSource;
 import org.eclipse.ui.internal.navigator.ContributorTrackingSet;
 import org.eclipse.ui.internal.navigator.NavigatorContentService;
 import org.eclipse.ui.internal.navigator.NavigatorDecoratingLabelProvider;
+import org.eclipse.ui.internal.navigator.NavigatorLazyContentProvider;
 import org.eclipse.ui.internal.navigator.NavigatorPipelineService;
 import org.eclipse.ui.internal.navigator.dnd.NavigatorDnDService;
 import org.eclipse.ui.internal.navigator.extensions.NavigatorContentDescriptorManager;
@@ -62,6 +65,14 @@ import org.eclipse.ui.internal.navigator.framelist.FrameList;
  * Clients must not set the selection of the viewer's tree control directly.
  * </p>
  *
+ * <p>
+ * If the viewer is created with the {@link SWT#VIRTUAL} style bit, only the
+ * visible items of the tree are created. The children of each expanded element
+ * are still computed, filtered and sorted as a whole, but without creating an
+ * item for each of them. See
+ * {@link INavigatorViewerDescriptor#PROP_ENABLE_VIRTUAL_TREE}.
+ * </p>
+ *
  * @since 3.2
  */
 public class CommonViewer extends TreeViewer {
@@ -76,6 +87,8 @@ public class CommonViewer extends TreeViewer {
 
 	private ICommonViewerMapper _mapper;
 
+	private NavigatorLazyContentProvider lazyContentProvider;
+
 	/**
 	 * <p>
 	 * Constructs the Tree Viewer for the Common Navigator and the corresponding
@@ -111,7 +124,13 @@ public class CommonViewer extends TreeViewer {
 	 */
 	protected void init() {
 		setUseHashlookup(true);
-		setContentProvider(contentService.createCommonContentProvider());
+		ITreeContentProvider contentProvider = contentService.createCommonContentProvider();
+		if ((getTree().getStyle() & SWT.VIRTUAL) != 0) {
+			lazyContentProvider = new NavigatorLazyContentProvider(this, contentProvider);
+			setContentProvider(lazyContentProvider);
+		} else {
+			setContentProvider(contentProvider);
+		}
 		setLabelProvider(new NavigatorDecoratingLabelProvider(contentService.createCommonLabelProvider()));
 		initDragAndDrop();
 	}
@@ -149,6 +168,9 @@ public class CommonViewer extends TreeViewer {
 	}
 
 	protected void removeWithoutRefresh(Object[] elements) {
+		if (lazyContentProvider != null) {
+			lazyContentProvider.invalidateAll();
+		}
 		super.remove(elements);
 	}
 
@@ -319,6 +341,11 @@ public class CommonViewer extends TreeViewer {
 		Object parent = (parentElement == getInput()) ? getInput()
 				: modification.getParent();
 
+		if (lazyContentProvider != null) {
+			// the new children have to be filtered and sorted with their siblings
+			super.refresh(parent, false);
+			return;
+		}
 		super.add(parent, modification.getChildren().toArray());
 	}
 
@@ -340,6 +367,10 @@ public class CommonViewer extends TreeViewer {
 
 		pipeDream.interceptRemove(modification);
 
+		if (lazyContentProvider != null) {
+			// the parents of the removed elements are not known
+			lazyContentProvider.invalidateAll();
+		}
 		super.remove(modification.getChildren().toArray());
 	}
 
@@ -543,6 +574,9 @@ public class CommonViewer extends TreeViewer {
 		if (element == null && getRoot() == null) {
 			return;
 		}
+		if (lazyContentProvider != null) {
+			lazyContentProvider.invalidate(element);
+		}
 		super.internalRefresh(element, updateLabels);
 	}
 
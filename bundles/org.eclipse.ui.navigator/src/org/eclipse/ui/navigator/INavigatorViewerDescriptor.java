@@ -73,6 +73,16 @@ public interface INavigatorViewerDescriptor {
 	 */
 	String PROP_ENABLE_TOOLTIP_SUPPORT = "org.eclipse.ui.navigator.enableTooltipSupport"; //$NON-NLS-1$
 
+	/**
+	 * {@value} (boolean): True indicates that the viewer shall use a virtual
+	 * tree, which only creates the items that are visible. This reduces the
+	 * time and memory needed to expand very large folders. (defaults to
+	 * <b>false</b>).
+	 *
+	 * @since 3.13
+	 */
+	String PROP_ENABLE_VIRTUAL_TREE = "org.eclipse.ui.navigator.enableVirtualTree"; //$NON-NLS-1$
+
 	/**
 	 * Returns the id of the viewer targeted by this extension.
 	 *
@@ -28,6 +28,7 @@ import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -355,6 +356,18 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 			return 0;
 		}
 
+		if (target instanceof IFindReplaceTargetExtension5 bulkReplaceTarget) {
+			int[] replaceCount = new int[1];
+			executeWithReplaceAllEnabled(() -> {
+				replaceCount[0] = bulkReplaceTarget.replaceAll(findString, replaceString,
+						isAvailableAndActive(SearchOptions.CASE_SENSITIVE),
+						isAvailableAndActive(SearchOptions.WHOLE_WORD), isAvailableAndActive(SearchOptions.REGEX));
+			});
+			if (replaceCount[0] != -1) {
+				return replaceCount[0];
+			}
+		}
+
 		List<Point> replacements = new ArrayList<>();
 		executeInForwardMode(() -> {
 			executeWithReplaceAllEnabled(() -> {
@@ -82,6 +82,10 @@ public interface IPreferenceConstants {
 	// Identifier for enabled decorators
 	String ENABLED_DECORATORS = "ENABLED_DECORATORS"; //$NON-NLS-1$
 
+	// Integer: the average time in milliseconds a lightweight decorator may take
+	// before its decorations are calculated after all others, 0 = never defer
+	String DECORATOR_BUDGET = "DECORATOR_BUDGET"; //$NON-NLS-1$
+
 	// Boolean: true = keep cycle part dialog open when keys released
 	String STICKY_CYCLE = "STICKY_CYCLE"; //$NON-NLS-1$
 
@@ -91,6 +91,10 @@ final class JFaceUtil {
 					.equalsIgnoreCase(Platform.getDebugOption(Policy.JFACE + "/debug/loadURLImageDescriptor2x")); //$NON-NLS-1$
 			InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x_PNG_FOR_GIF = "true".equalsIgnoreCase( //$NON-NLS-1$
 					Platform.getDebugOption(Policy.JFACE + "/debug/loadURLImageDescriptor2xPngForGif")); //$NON-NLS-1$
+			InternalPolicy.DEBUG_CACHE_IMAGE_DATA = "true" //$NON-NLS-1$
+					.equalsIgnoreCase(Platform.getDebugOption(Policy.JFACE + "/debug/cacheImageData")); //$NON-NLS-1$
+			InternalPolicy.DEBUG_TRACE_IMAGE_DATA_CACHE = "true" //$NON-NLS-1$
+					.equalsIgnoreCase(Platform.getDebugOption(Policy.JFACE + "/debug/trace/imageDataCache")); //$NON-NLS-1$
 		}
 	}
 
@@ -89,6 +89,7 @@ import org.eclipse.e4.core.di.InjectionException;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.internal.workbench.ResourceHandler;
 import org.eclipse.e4.ui.internal.workbench.renderers.swt.IUpdateService;
 import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
 import org.eclipse.e4.ui.internal.workbench.swt.IEventLoopAdvisor;
@@ -1285,17 +1286,25 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 
 	/**
 	 * Copy the model, clean it up and write it out to workbench.xmi. Called as part
-	 * of persist(false) during auto-save.
+	 * of persist(false) during auto-save. The model is not written again if it has
+	 * not changed since it was last saved.
 	 */
 	private void persistWorkbenchModel() {
 		if (Job.getJobManager().find(WORKBENCH_AUTO_SAVE_JOB).length > 0) {
 			return;
 		}
+		final IModelResourceHandler handler = e4Context.get(IModelResourceHandler.class);
+		final ResourceHandler resourceHandler = handler instanceof ResourceHandler ? (ResourceHandler) handler
+				: null;
+		if (resourceHandler != null && !resourceHandler.isModelModified()) {
+			return;
+		}
+		// changes made after this point are saved by the next auto-save
+		final long modificationCount = resourceHandler != null ? resourceHandler.getModificationCount() : 0;
 		final MApplication appCopy = (MApplication) EcoreUtil.copy((EObject) application);
 		if (detectWorkbenchCorruption(appCopy)) {
 			return;
 		}
-		final IModelResourceHandler handler = e4Context.get(IModelResourceHandler.class);
 
 		Job cleanAndSaveJob = new Job(WORKBENCH_AUTO_SAVE_BACKGROUND_JOB) {
 			@Override
@@ -1307,6 +1316,9 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 						Map<String, Object> options = new HashMap<>();
 						options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
 						res.save(options);
+						if (resourceHandler != null) {
+							resourceHandler.setModelSaved(modificationCount);
+						}
 					}
 				} catch (IOException e) {
 					// Just auto-save, we don't really care
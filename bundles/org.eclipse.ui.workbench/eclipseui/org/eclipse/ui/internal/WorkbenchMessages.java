@@ -570,6 +570,18 @@ public class WorkbenchMessages extends NLS {
 	public static String DecoratorsPreferencePage_explanation;
 	public static String DecoratorError;
 	public static String DecoratorWillBeDisabled;
+	public static String DecoratorStatisticsView_decorator;
+	public static String DecoratorStatisticsView_state;
+	public static String DecoratorStatisticsView_invocations;
+	public static String DecoratorStatisticsView_average;
+	public static String DecoratorStatisticsView_max;
+	public static String DecoratorStatisticsView_bucket;
+	public static String DecoratorStatisticsView_lastBucket;
+	public static String DecoratorStatisticsView_exceptions;
+	public static String DecoratorStatisticsView_enabled;
+	public static String DecoratorStatisticsView_disabled;
+	public static String DecoratorStatisticsView_deferred;
+	public static String DecoratorStatisticsView_reset;
 
 	// --- Startup preferences ---
 	public static String StartupPreferencePage_label;
@@ -183,6 +183,31 @@ public class DecorationBuilder implements IDecoration {
 		valueSet = true;
 	}
 
+	/**
+	 * Add the values of a builder that has been filled by the decorators
+	 * following the ones that filled the receiver, with the same result as if
+	 * they had filled the receiver directly.
+	 */
+	void addAll(DecorationBuilder builder) {
+		prefixes.addAll(builder.prefixes);
+		suffixes.addAll(builder.suffixes);
+		for (int i = 0; i < descriptors.length; i++) {
+			if (descriptors[i] == null) {
+				descriptors[i] = builder.descriptors[i];
+			}
+		}
+		if (builder.foregroundColor != null) {
+			foregroundColor = builder.foregroundColor;
+		}
+		if (builder.backgroundColor != null) {
+			backgroundColor = builder.backgroundColor;
+		}
+		if (builder.font != null) {
+			font = builder.font;
+		}
+		valueSet |= builder.valueSet;
+	}
+
 	@Override
 	public void setBackgroundColor(Color bgColor) {
 		this.backgroundColor = bgColor;
@@ -39,6 +39,8 @@ class DecorationReference {
 
 	private volatile boolean forceUpdate = false;
 
+	private volatile boolean deferred = false;
+
 	private final Set<IDecorationContext> contexts = ConcurrentHashMap.newKeySet();
 
 	DecorationReference(Object object, Object adaptedObject, IDecorationContext context) {
@@ -85,6 +87,25 @@ class DecorationReference {
 		this.forceUpdate = forceUpdate;
 	}
 
+	/**
+	 * Return true if the decorators that exceed the budget should be applied,
+	 * because the element has already been decorated by the others.
+	 *
+	 * @return boolean
+	 */
+	boolean isDeferred() {
+		return deferred;
+	}
+
+	/**
+	 * Sets the deferred flag.
+	 *
+	 * @param deferred The deferred to set
+	 */
+	void setDeferred(boolean deferred) {
+		this.deferred = deferred;
+	}
+
 	/**
 	 * Set the text that will be used to label the decoration calculation.
 	 */
@@ -16,16 +16,19 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.commands.internal.util.Tracing;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -44,6 +47,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.misc.Policy;
 import org.eclipse.ui.progress.UIJob;
 import org.eclipse.ui.progress.WorkbenchJob;
 
@@ -60,22 +64,36 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * needs an element decorated, it calls <code>queueForDecoration</code>.</li>
  *
  * <li><code>queueForDecoration</code> inserts (or, if already present, updates)
- * the <code>element</code> into <code>awaitingDecoration</code> and an
- * associated <code>DecorationReference</code> into
- * <code>awaitingDecorationValues</code> and schedules the
+ * an associated <code>DecorationReference</code> into the newest of the
+ * <code>requestBatches</code>, remembers the batch of the element in
+ * <code>awaitingDecoration</code> and schedules the
  * <code>decorationJob</code> to be executed asynchonously.</li>
  *
- * <li>The <code>decorationJob</code> processes the list of elements in
- * <code>awaitingDecoration</code> one by one. For each element, it calls
- * <code>ensureResultCached</code>, which in turn calls the actual lightweight
- * decorator(s) for the element and stores the decoration result in the
- * <code>resultCache</code> and adds the element to the
+ * <li>The <code>decorationJob</code> processes the elements in
+ * <code>requestBatches</code> one by one. The newest batch of
+ * requests is processed first, because its elements have been shown or updated
+ * by a viewer most recently and are the most likely to be visible. Within a
+ * batch, the elements are processed in the order they were requested, which is
+ * usually the order in which they appear in the viewer. Once the job starts
+ * processing a batch, new requests go to a newer batch. For each element, the job
+ * calls the actual lightweight decorator(s) for the element and stores the
+ * decoration result in the <code>resultCache</code> and adds the element to the
  * <code>pendingUpdate</code> collection to remember that it needs to be updated
- * in the UI.</li>
+ * in the UI. Decorators of an element that are slow on average run in
+ * parallel, see {@link LightweightDecoratorManager}, but elements are decorated
+ * one at a time, so no decorator is ever called by two threads at once.</li>
  *
- * <li>When the <code>decorationJob</code> has finished processing all elements
- * in <code>awaitingDecoration</code>, it finally schedules the
- * <code>updateJob</code>.</li>
+ * <li>Lightweight decorators that take longer than the budget of the
+ * <code>DecoratorManager</code> on average are skipped in the first
+ * calculation. The element is then added to <code>deferredDecoration</code>
+ * and decorated again with all decorators once no other element is waiting.
+ * </li>
+ *
+ * <li>Whenever a decoration result is ready, the <code>decorationJob</code>
+ * schedules the <code>updateJob</code>, unless it is already scheduled. The
+ * <code>updateJob</code> runs at most once every <code>UPDATE_INTERVAL</code>,
+ * so results that are computed in a burst are shown in a single batch without
+ * waiting for the whole queue to be processed.</li>
  *
  * <li>
  * <p>
@@ -108,6 +126,11 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * asynchronously by the <code>decorationJob</code> and enqueued for UI-update,
  * and finally, the <code>updateJob</code> fires events which cause the viewers
  * to update the UI using the now available decoration results.
+ *
+ * <p>
+ * The <code>org.eclipse.ui/trace/decorations</code> debug option traces the
+ * size of every update batch and the depth of the queue.
+ * </p>
  */
 public class DecorationScheduler {
 
@@ -123,8 +146,43 @@ public class DecorationScheduler {
 	 **/
 	private final Set<Object> pendingUpdate = new LinkedHashSet<>();
 
-	/** manually synchronized on DecorationScheduler.this **/
-	private final LinkedHashMap<Object, DecorationReference> awaitingDecoration = new LinkedHashMap<>();
+	/**
+	 * The batch of requests that each element awaiting decoration belongs to.
+	 * manually synchronized on DecorationScheduler.this
+	 **/
+	private final Map<Object, LinkedHashMap<Object, DecorationReference>> awaitingDecoration = new HashMap<>();
+
+	/**
+	 * The batches of requests, the newest last. manually synchronized on
+	 * DecorationScheduler.this
+	 **/
+	private final Deque<LinkedHashMap<Object, DecorationReference>> requestBatches = new ArrayDeque<>();
+
+	/**
+	 * The batch new requests are added to, <code>null</code> if no decoration job
+	 * has started processing the newest batch yet. manually synchronized on
+	 * DecorationScheduler.this
+	 **/
+	private LinkedHashMap<Object, DecorationReference> openBatch;
+
+	/**
+	 * The elements that wait for the decorators that exceed the budget, see
+	 * {@link DecoratorManager#getDeferralBudget()}. manually synchronized on
+	 * DecorationScheduler.this
+	 **/
+	private final LinkedHashMap<Object, DecorationReference> deferredDecoration = new LinkedHashMap<>();
+
+	/**
+	 * The number of elements that are being decorated. manually synchronized on
+	 * DecorationScheduler.this
+	 **/
+	private int decorating;
+
+	/**
+	 * The largest number of elements that awaited decoration at once. manually
+	 * synchronized on DecorationScheduler.this
+	 **/
+	private int maxQueueDepth;
 
 	/** manually synchronized on DecorationScheduler.this **/
 	private boolean shutdown = false;
@@ -169,6 +227,19 @@ public class DecorationScheduler {
 	/** Amount of time to delay the update notification when max reached. */
 	private static final int UPDATE_DELAY = 100;
 
+	/**
+	 * Minimum amount of time between two label update batches, so that results
+	 * that are computed in a burst are shown together.
+	 */
+	private static final int UPDATE_INTERVAL = 50;
+
+	private static final String TRACING_COMPONENT = "DECORATIONS"; //$NON-NLS-1$
+
+	/**
+	 * The time the update job last started to fire events.
+	 */
+	private volatile long lastUpdateTime;
+
 	/**
 	 * Flag which is used to indicate that the update job is running in the UI
 	 * thread
@@ -219,17 +290,33 @@ public class DecorationScheduler {
 			String undecoratedText, IDecorationContext context) {
 
 		Assert.isNotNull(context);
-		DecorationReference reference = awaitingDecoration.get(element);
-		if (reference != null) {
+		LinkedHashMap<Object, DecorationReference> batch = awaitingDecoration.get(element);
+		if (batch != null) {
+			DecorationReference reference = batch.get(element);
 			if (forceUpdate) {// Make sure we don't loose a force
 				reference.setForceUpdate(forceUpdate);
 			}
 			reference.addContext(context);
+			if (batch != openBatch) {
+				// requested again, so it is likely to be visible now
+				batch.remove(element);
+				getOpenBatch().put(element, reference);
+				awaitingDecoration.put(element, openBatch);
+			}
 		} else {
-			reference = new DecorationReference(element, adaptedElement, context);
+			DecorationReference reference = new DecorationReference(element, adaptedElement, context);
 			reference.setForceUpdate(forceUpdate);
 			reference.setUndecoratedText(undecoratedText);
-			awaitingDecoration.put(element, reference);
+			DecorationReference deferred = deferredDecoration.remove(element);
+			if (deferred != null) {
+				// the new request is deferred again if necessary
+				for (IDecorationContext deferredContext : deferred.getContexts()) {
+					reference.addContext(deferredContext);
+				}
+			}
+			getOpenBatch().put(element, reference);
+			awaitingDecoration.put(element, openBatch);
+			maxQueueDepth = Math.max(maxQueueDepth, awaitingDecoration.size());
 			if (shutdown) {
 				return;
 			}
@@ -238,11 +325,22 @@ public class DecorationScheduler {
 
 	}
 
+	/**
+	 * Return the batch new requests are added to, creating it if necessary.
+	 */
+	private LinkedHashMap<Object, DecorationReference> getOpenBatch() {
+		if (openBatch == null) {
+			openBatch = new LinkedHashMap<>();
+			requestBatches.addLast(openBatch);
+		}
+		return openBatch;
+	}
+
 	/*
 	 * should not be called before constructor finished. Would leak reference to
 	 * incomplete constructed DecorationScheduler.this
 	 */
-	void schedule() {
+	synchronized void schedule() {
 		decorationJob.schedule();
 	}
 
@@ -319,8 +417,15 @@ public class DecorationScheduler {
 			updateJob = getUpdateJob();
 		}
 
+		int state = updateJob.getState();
+		if (state == Job.WAITING || state == Job.SLEEPING) {
+			// The scheduled update will pick up the new results as well
+			return;
+		}
+
 		// Give it a bit of a lag for other updates to occur
-		updateJob.schedule(UPDATE_DELAY);
+		long delay = lastUpdateTime + UPDATE_INTERVAL - System.currentTimeMillis();
+		updateJob.schedule(Math.max(0, delay));
 	}
 
 	/**
@@ -336,14 +441,76 @@ public class DecorationScheduler {
 	 * @return IResource
 	 */
 	synchronized DecorationReference removeNextReference() {
-		Iterator<Entry<Object, DecorationReference>> iterator = awaitingDecoration.entrySet().iterator();
-		if (shutdown || !iterator.hasNext()) {
+		if (shutdown) {
 			return null;
 		}
-		Entry<Object, DecorationReference> entry = iterator.next();
-		iterator.remove();
-		DecorationReference reference = entry.getValue();
-		return reference;
+		while (!requestBatches.isEmpty()) {
+			LinkedHashMap<Object, DecorationReference> batch = requestBatches.getLast();
+			// requests that are made from now on are processed first
+			openBatch = null;
+			Iterator<DecorationReference> iterator = batch.values().iterator();
+			if (iterator.hasNext()) {
+				DecorationReference reference = iterator.next();
+				iterator.remove();
+				awaitingDecoration.remove(reference.getElement());
+				decorating++;
+				return reference;
+			}
+			requestBatches.removeLast();
+		}
+		// only apply the slow decorators when all other work is done
+		Iterator<DecorationReference> iterator = deferredDecoration.values().iterator();
+		if (iterator.hasNext()) {
+			DecorationReference reference = iterator.next();
+			iterator.remove();
+			decorating++;
+			return reference;
+		}
+		return null;
+	}
+
+	/**
+	 * Queue a reference that has been decorated without the decorators that
+	 * exceed the budget to be decorated again with all decorators.
+	 */
+	synchronized void deferReference(DecorationReference reference) {
+		Object element = reference.getElement();
+		if (shutdown || awaitingDecoration.containsKey(element)) {
+			// the pending request will take care of it
+			return;
+		}
+		reference.setDeferred(true);
+		// the first result has been shown already
+		reference.setForceUpdate(true);
+		deferredDecoration.put(element, reference);
+	}
+
+	/**
+	 * Notes that the decoration of a reference returned by
+	 * {@link #removeNextReference()} has finished.
+	 */
+	synchronized void referenceDone() {
+		decorating--;
+	}
+
+	/**
+	 * Return the number of elements that are waiting to be decorated or are being
+	 * decorated.
+	 *
+	 * @return the queue depth
+	 */
+	public synchronized int getQueueDepth() {
+		return awaitingDecoration.size() + deferredDecoration.size() + decorating;
+	}
+
+	/**
+	 * Return the largest number of elements that were waiting to be decorated at
+	 * the same time.
+	 *
+	 * @return the maximum queue depth
+	 */
+	public synchronized int getMaxQueueDepth() {
+		return maxQueueDepth;
 	}
 
 	/**
@@ -376,23 +543,35 @@ public class DecorationScheduler {
 				// will block if there are no resources to be decorated
 				DecorationReference reference;
 
-				boolean queued = false;
-				// for each in awaitingDecorationValues, but not locking the map during the whole iteration:
+				// for each in awaitingDecoration, but not locking the map during the whole iteration:
 				while ((reference = removeNextReference()) != null) {
 					subMonitor.split(1);
-					queued = true;
-					Object element = reference.getElement();
-					boolean force = reference.shouldForceUpdate();
-					Collection<IDecorationContext> contexts = reference.getContexts();
-					for (IDecorationContext context : contexts) {
-						queued |= queue(element, force, context);
+					try {
+						Object element = reference.getElement();
+						boolean force = reference.shouldForceUpdate();
+						long budget = reference.isDeferred() ? 0 : decoratorManager.getDeferralBudget();
+						Collection<IDecorationContext> contexts = reference.getContexts();
+						boolean queued = false;
+						boolean skipped = false;
+						for (IDecorationContext context : contexts) {
+							DecorationBuilder cacheResult = new DecorationBuilder(context);
+							// Calculate the decoration
+							skipped |= decoratorManager.getLightweightManager().getDecorations(element, cacheResult,
+									budget);
+							queued |= queue(element, force, context, cacheResult);
+						}
+						if (skipped) {
+							deferReference(reference);
+						}
+						if (queued) {
+							// Notify the listeners in batches, see
+							// scheduleUpdateJob()
+							scheduleUpdateJob();
+						}
+					} finally {
+						referenceDone();
 					}
 					subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
-					// Only notify listeners when we have exhausted the
-					// queue of decoration requests.
-				}
-				if (queued) {
-					scheduleUpdateJob();
 				}
 				return Status.OK_STATUS;
 			}
@@ -400,15 +579,13 @@ public class DecorationScheduler {
 			/**
 			 * Ensure that a result is cached for the given element and context
 			 *
-			 * @param element the elements
-			 * @param force   whether an update should be forced
-			 * @param context the decoration context
+			 * @param element     the elements
+			 * @param force       whether an update should be forced
+			 * @param context     the decoration context
+			 * @param cacheResult the calculated decoration
 			 */
-			private boolean queue(Object element, boolean force, IDecorationContext context) {
-				DecorationBuilder cacheResult = new DecorationBuilder(context);
-				// Calculate the decoration
-				decoratorManager.getLightweightManager().getDecorations(element, cacheResult);
-
+			private boolean queue(Object element, boolean force, IDecorationContext context,
+					DecorationBuilder cacheResult) {
 				// If we should update regardless then put a result
 				// anyways
 				if (cacheResult.hasValue() || force) {
@@ -527,6 +704,7 @@ public class DecorationScheduler {
 					// If this is the first one check again in case
 					// someone has already cleared it out.
 					if (currentIndex == NEEDS_INIT) {
+						lastUpdateTime = System.currentTimeMillis();
 						if (hasPendingUpdates()) {
 							resetState();
 							return Status.OK_STATUS;
@@ -587,8 +765,11 @@ public class DecorationScheduler {
 				// Other decoration requests may have occurred due to
 				// updates or we may have timed out updating listeners.
 				// Only clear the results if there are none pending.
-				if (awaitingDecoration.isEmpty()) {
-					resultCache.clear();
+				synchronized (DecorationScheduler.this) {
+					if (awaitingDecoration.isEmpty() && deferredDecoration.isEmpty() && decorating == 0
+							&& hasPendingUpdates()) {
+						resultCache.clear();
+					}
 				}
 			}
 
@@ -603,6 +784,12 @@ public class DecorationScheduler {
 					labelProviderChangedEvent = new LabelProviderChangedEvent(decoratorManager, elements);
 				}
 				listeners = decoratorManager.getListeners();
+				if (Policy.DEBUG_DECORATIONS) {
+					Tracing.printTrace(TRACING_COMPONENT,
+							"Updating " + labelProviderChangedEvent.getElements().length //$NON-NLS-1$
+									+ " elements, queue depth " + getQueueDepth() //$NON-NLS-1$
+									+ " (max " + getMaxQueueDepth() + ')'); //$NON-NLS-1$
+				}
 			}
 
 			@Override
@@ -54,6 +54,8 @@ public abstract class DecoratorDefinition implements IPluginContribution {
 
 	private boolean hasReadEnablement;
 
+	private final DecoratorStatistics statistics = new DecoratorStatistics();
+
 	static final String ATT_CLASS = "class";//$NON-NLS-1$
 
 	/**
@@ -303,6 +305,15 @@ public abstract class DecoratorDefinition implements IPluginContribution {
 
 	}
 
+	/**
+	 * Return the statistics of the invocations of the decorator.
+	 *
+	 * @return the statistics
+	 */
+	public DecoratorStatistics getStatistics() {
+		return statistics;
+	}
+
 	@Override
 	public String getPluginId() {
 		IConfigurationElement element = getConfigurationElement();
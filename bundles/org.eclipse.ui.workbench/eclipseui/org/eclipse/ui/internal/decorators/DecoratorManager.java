@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
@@ -443,7 +444,9 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 	 */
 	private String safeDecorateText(Object element, String start, FullDecoratorDefinition decorator) {
 		fullTextRunnable.setValues(start, element, decorator);
+		long startTime = System.nanoTime();
 		SafeRunner.run(fullTextRunnable);
+		decorator.getStatistics().addInvocation(System.nanoTime() - startTime);
 		return fullTextRunnable.getResult();
 	}
 
@@ -499,7 +502,9 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 	 */
 	private Image safeDecorateImage(Object element, Image start, FullDecoratorDefinition decorator) {
 		fullImageRunnable.setValues(start, element, decorator);
+		long startTime = System.nanoTime();
 		SafeRunner.run(fullImageRunnable);
+		decorator.getStatistics().addInvocation(System.nanoTime() - startTime);
 		return fullImageRunnable.getResult();
 	}
 
@@ -641,6 +646,45 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 		return returnValue;
 	}
 
+	/**
+	 * Discard the statistics of all decorator definitions.
+	 *
+	 * @see DecoratorDefinition#getStatistics()
+	 */
+	public void resetStatistics() {
+		for (DecoratorDefinition definition : getAllDecoratorDefinitions()) {
+			definition.getStatistics().reset();
+		}
+	}
+
+	/**
+	 * Return the average time a lightweight decorator may take before its
+	 * decorations are deferred until the other decorations of all waiting
+	 * elements have been calculated.
+	 *
+	 * @return the budget in nanoseconds, or <code>0</code> if decorators are
+	 *         never deferred
+	 * @see IPreferenceConstants#DECORATOR_BUDGET
+	 */
+	public long getDeferralBudget() {
+		int budget = WorkbenchPlugin.getDefault().getPreferenceStore().getInt(IPreferenceConstants.DECORATOR_BUDGET);
+		return budget > 0 ? TimeUnit.MILLISECONDS.toNanos(budget) : 0;
+	}
+
+	/**
+	 * Return whether the decorations of the given definition are currently
+	 * deferred because it exceeds the budget. Only lightweight decorators are
+	 * deferred.
+	 *
+	 * @param definition the decorator definition
+	 * @return boolean
+	 * @see #getDeferralBudget()
+	 */
+	public boolean isDeferred(DecoratorDefinition definition) {
+		long budget = getDeferralBudget();
+		return !definition.isFull() && budget > 0 && LightweightDecoratorManager.isDeferred(definition, budget);
+	}
+
 	/*
 	 * @see ILabelProviderListener#labelProviderChanged(LabelProviderChangedEvent)
 	 */
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The DecoratorStatistics record how often the decorator of a
+ * {@link DecoratorDefinition} has been invoked, how long the invocations took
+ * and how often they failed. The statistics are updated by the decoration jobs
+ * and the UI thread concurrently.
+ */
+public class DecoratorStatistics {
+
+	/**
+	 * The upper limits in milliseconds of the buckets of the latency histogram.
+	 * The last bucket holds the invocations that took longer than the last
+	 * limit.
+	 */
+	private static final long[] BUCKET_LIMITS = { 1, 4, 16, 64, 256 };
+
+	private static final long[] BUCKET_LIMITS_NANOS = new long[BUCKET_LIMITS.length];
+
+	static {
+		for (int i = 0; i < BUCKET_LIMITS.length; i++) {
+			BUCKET_LIMITS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_LIMITS[i]);
+		}
+	}
+
+	private final AtomicLong invocations = new AtomicLong();
+
+	private final AtomicLong totalTime = new AtomicLong();
+
+	private final AtomicLong maxTime = new AtomicLong();
+
+	private final AtomicLong exceptions = new AtomicLong();
+
+	private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_LIMITS.length + 1);
+
+	private volatile Throwable lastException;
+
+	/**
+	 * Record an invocation of the decorator.
+	 *
+	 * @param nanos the time the invocation took in nanoseconds
+	 */
+	void addInvocation(long nanos) {
+		invocations.incrementAndGet();
+		totalTime.addAndGet(nanos);
+		maxTime.accumulateAndGet(nanos, Math::max);
+		int bucket = 0;
+		while (bucket < BUCKET_LIMITS_NANOS.length && nanos >= BUCKET_LIMITS_NANOS[bucket]) {
+			bucket++;
+		}
+		histogram.incrementAndGet(bucket);
+	}
+
+	/**
+	 * Record an exception thrown by the decorator.
+	 *
+	 * @param exception the exception
+	 */
+	void addException(Throwable exception) {
+		exceptions.incrementAndGet();
+		lastException = exception;
+	}
+
+	/**
+	 * Return the number of times the decorator has been invoked.
+	 *
+	 * @return long
+	 */
+	public long getInvocationCount() {
+		return invocations.get();
+	}
+
+	/**
+	 * Return the total time spent in the decorator.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getTotalTime() {
+		return totalTime.get();
+	}
+
+	/**
+	 * Return the average time of an invocation of the decorator.
+	 *
+	 * @return the time in nanoseconds, or <code>0</code> if the decorator has not
+	 *         been invoked
+	 */
+	public long getAverageTime() {
+		long count = invocations.get();
+		return count == 0 ? 0 : totalTime.get() / count;
+	}
+
+	/**
+	 * Return the time of the slowest invocation of the decorator.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getMaxTime() {
+		return maxTime.get();
+	}
+
+	/**
+	 * Return the number of exceptions thrown by the decorator.
+	 *
+	 * @return long
+	 */
+	public long getExceptionCount() {
+		return exceptions.get();
+	}
+
+	/**
+	 * Return the last exception thrown by the decorator.
+	 *
+	 * @return the exception or <code>null</code>
+	 */
+	public Throwable getLastException() {
+		return lastException;
+	}
+
+	/**
+	 * Return the latency histogram of the decorator. The entry at index
+	 * <code>i</code> is the number of invocations that took less than
+	 * <code>getBucketLimits()[i]</code> milliseconds, and at least the limit of
+	 * the previous bucket. The last entry is the number of invocations that took
+	 * longer than all limits.
+	 *
+	 * @return a new array with one more entry than {@link #getBucketLimits()}
+	 */
+	public long[] getHistogram() {
+		long[] result = new long[histogram.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = histogram.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the upper limits of the buckets of the histogram.
+	 *
+	 * @return a new array of limits in milliseconds
+	 * @see #getHistogram()
+	 */
+	public static long[] getBucketLimits() {
+		return BUCKET_LIMITS.clone();
+	}
+
+	/**
+	 * Return whether the decorator has been invoked often enough to be judged and
+	 * takes longer than the given budget on average.
+	 *
+	 * @param budget         the time per invocation in nanoseconds
+	 * @param minInvocations the minimum number of invocations
+	 * @return boolean
+	 */
+	boolean exceedsBudget(long budget, long minInvocations) {
+		return getInvocationCount() >= minInvocations && getAverageTime() > budget;
+	}
+
+	/**
+	 * Discard all recorded values.
+	 */
+	public void reset() {
+		invocations.set(0);
+		totalTime.set(0);
+		maxTime.set(0);
+		exceptions.set(0);
+		for (int i = 0; i < histogram.length(); i++) {
+			histogram.set(i, 0);
+		}
+		lastException = null;
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.layout.TableColumnLayout;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ColumnWeightData;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.part.ViewPart;
+
+/**
+ * The DecoratorStatisticsView shows the {@link DecoratorStatistics} of all
+ * decorators, so that slow or failing decorators can be found. The view
+ * refreshes itself periodically while it is visible.
+ */
+public class DecoratorStatisticsView extends ViewPart {
+
+	/**
+	 * The id of the view.
+	 */
+	public static final String ID = "org.eclipse.ui.internal.decorators.DecoratorStatisticsView"; //$NON-NLS-1$
+
+	private static final int REFRESH_INTERVAL = 1000;
+
+	private TableViewer viewer;
+
+	private final Runnable refreshRunnable = this::refreshPeriodically;
+
+	@Override
+	public void createPartControl(Composite parent) {
+		Composite composite = new Composite(parent, SWT.NONE);
+		TableColumnLayout layout = new TableColumnLayout();
+		composite.setLayout(layout);
+		viewer = new TableViewer(composite, SWT.SINGLE | SWT.FULL_SELECTION);
+		viewer.getTable().setHeaderVisible(true);
+		viewer.getTable().setLinesVisible(true);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+
+		createColumn(layout, WorkbenchMessages.DecoratorStatisticsView_decorator, 4, false,
+				definition -> definition.getName() == null ? definition.getId() : definition.getName());
+		createColumn(layout, WorkbenchMessages.DecoratorStatisticsView_state, 2, false, this::getState);
+		createColumn(layout, WorkbenchMessages.DecoratorStatisticsView_invocations, 2, true,
+				definition -> Long.toString(definition.getStatistics().getInvocationCount()));
+		createColumn(layout, WorkbenchMessages.DecoratorStatisticsView_average, 2, true,
+				definition -> formatTime(definition.getStatistics().getAverageTime()));
+		createColumn(layout, WorkbenchMessages.DecoratorStatisticsView_max, 2, true,
+				definition -> formatTime(definition.getStatistics().getMaxTime()));
+		long[] limits = DecoratorStatistics.getBucketLimits();
+		for (int i = 0; i <= limits.length; i++) {
+			final int bucket = i;
+			String label = i < limits.length
+					? NLS.bind(WorkbenchMessages.DecoratorStatisticsView_bucket, Long.valueOf(limits[i]))
+					: NLS.bind(WorkbenchMessages.DecoratorStatisticsView_lastBucket, Long.valueOf(limits[i - 1]));
+			createColumn(layout, label, 1, true,
+					definition -> Long.toString(definition.getStatistics().getHistogram()[bucket]));
+		}
+		createColumn(layout, WorkbenchMessages.DecoratorStatisticsView_exceptions, 2, true,
+				definition -> Long.toString(definition.getStatistics().getExceptionCount()));
+
+		// Show the most expensive decorators first
+		viewer.setComparator(new ViewerComparator() {
+			@Override
+			public int compare(Viewer aViewer, Object e1, Object e2) {
+				return Comparator.comparingLong((DecoratorDefinition definition) -> definition.getStatistics()
+						.getTotalTime()).reversed().compare((DecoratorDefinition) e1, (DecoratorDefinition) e2);
+			}
+		});
+		viewer.setInput(getDecoratorManager().getAllDecoratorDefinitions());
+
+		Action resetAction = new Action(WorkbenchMessages.DecoratorStatisticsView_reset) {
+			@Override
+			public void run() {
+				getDecoratorManager().resetStatistics();
+				viewer.refresh();
+			}
+		};
+		ISharedImages images = PlatformUI.getWorkbench().getSharedImages();
+		resetAction.setImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ELCL_REMOVEALL));
+		resetAction.setDisabledImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ELCL_REMOVEALL_DISABLED));
+		getViewSite().getActionBars().getToolBarManager().add(resetAction);
+
+		viewer.getControl().getDisplay().timerExec(REFRESH_INTERVAL, refreshRunnable);
+	}
+
+	private void createColumn(TableColumnLayout layout, String title, int weight, boolean numeric,
+			Function<DecoratorDefinition, String> text) {
+		TableViewerColumn column = new TableViewerColumn(viewer, numeric ? SWT.RIGHT : SWT.LEFT);
+		column.getColumn().setText(title);
+		column.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return text.apply((DecoratorDefinition) element);
+			}
+		});
+		layout.setColumnData(column.getColumn(), new ColumnWeightData(weight));
+	}
+
+	private String getState(DecoratorDefinition definition) {
+		if (!definition.isEnabled()) {
+			return WorkbenchMessages.DecoratorStatisticsView_disabled;
+		}
+		if (getDecoratorManager().isDeferred(definition)) {
+			return WorkbenchMessages.DecoratorStatisticsView_deferred;
+		}
+		return WorkbenchMessages.DecoratorStatisticsView_enabled;
+	}
+
+	private static String formatTime(long nanos) {
+		return String.format("%.3f", Double.valueOf(nanos / 1000000.0)); //$NON-NLS-1$
+	}
+
+	private void refreshPeriodically() {
+		Control control = viewer.getControl();
+		if (control.isDisposed()) {
+			return;
+		}
+		if (control.isVisible()) {
+			// Decorators may have been added or removed
+			viewer.setInput(getDecoratorManager().getAllDecoratorDefinitions());
+		}
+		control.getDisplay().timerExec(REFRESH_INTERVAL, refreshRunnable);
+	}
+
+	@Override
+	public void setFocus() {
+		viewer.getControl().setFocus();
+	}
+
+	@Override
+	public void dispose() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.getControl().getDisplay().timerExec(-1, refreshRunnable);
+		}
+		super.dispose();
+	}
+
+	private DecoratorManager getDecoratorManager() {
+		return WorkbenchPlugin.getDefault().getDecoratorManager();
+	}
+}
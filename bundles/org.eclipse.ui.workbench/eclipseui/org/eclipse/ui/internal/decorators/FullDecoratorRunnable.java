@@ -45,6 +45,7 @@ abstract class FullDecoratorRunnable implements ISafeRunnable {
 		IStatus status = StatusUtil.newStatus(IStatus.ERROR, exception.getMessage(), exception);
 		String message = NLS.bind(WorkbenchMessages.DecoratorWillBeDisabled, decorator.getName());
 		WorkbenchPlugin.log(message, status);
+		decorator.getStatistics().addException(exception);
 		decorator.crashDisable();
 	}
 
@@ -16,11 +16,15 @@ package org.eclipse.ui.internal.decorators;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.internal.ObjectContributorManager;
 import org.eclipse.ui.internal.WorkbenchMessages;
@@ -31,6 +35,17 @@ import org.eclipse.ui.internal.util.Util;
 /**
  * The LightweightDecoratorManager is a decorator manager that encapsulates the
  * behavior for the lightweight decorators.
+ * <p>
+ * Decorators that take longer than {@link #PARALLEL_THRESHOLD} on average are
+ * run in parallel with the other decorators of the same element, each with its
+ * own {@link DecorationBuilder}. The results are combined in the order of the
+ * decorators, so the decoration is the same as if they had run one after
+ * another. Elements are decorated one at a time by the
+ * {@link DecorationScheduler}, so while different decorators may be called at
+ * the same time, a decorator is never called by two threads at once. A
+ * decorator that does not return within {@link #PARALLEL_TIMEOUT} is left
+ * running, its result is dropped and it is skipped until it returns.
+ * </p>
  */
 public class LightweightDecoratorManager extends ObjectContributorManager {
 
@@ -88,6 +103,7 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 			}
 			WorkbenchPlugin.log(message, status);
 			if (decorator != null) {
+				decorator.getStatistics().addException(exception);
 				decorator.crashDisable();
 			}
 			clearReferences();
@@ -117,13 +133,31 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		}
 	}
 
-	private LightweightRunnable runnable = new LightweightRunnable();
-
 	// The lightweight definitions read from the registry
 	private LightweightDecoratorDefinition[] lightweightDefinitions;
 
 	private static final LightweightDecoratorDefinition[] EMPTY_LIGHTWEIGHT_DEF = new LightweightDecoratorDefinition[0];
 
+	/**
+	 * The number of invocations a decorator must have had before it can be
+	 * deferred for exceeding the budget.
+	 */
+	private static final int MIN_INVOCATIONS_FOR_DEFERRAL = 20;
+
+	/**
+	 * The average time in nanoseconds above which a decorator is run in
+	 * parallel with the other decorators of an element.
+	 */
+	private static final long PARALLEL_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * The time in milliseconds to wait for the decorators that run in parallel.
+	 */
+	private static final long PARALLEL_TIMEOUT = 1000;
+
+	// The decorators that are being run in a job
+	private final Set<LightweightDecoratorDefinition> runningDecorators = ConcurrentHashMap.newKeySet();
+
 	LightweightDecoratorManager(LightweightDecoratorDefinition[] definitions) {
 		super();
 		lightweightDefinitions = definitions;
@@ -274,7 +308,7 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 * Reset any cached values.
 	 */
 	void reset() {
-		runnable.clearReferences();
+		// Nothing is cached, the runnables only live for a single decoration
 	}
 
 	/**
@@ -340,14 +374,127 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 *                   true.
 	 */
 	public void getDecorations(Object element, DecorationBuilder decoration) {
+		getDecorations(element, decoration, 0);
+	}
+
+	/**
+	 * Fill the decoration with the results of the decorators that take no longer
+	 * than the given budget on average.
+	 *
+	 * @param element    The source element
+	 * @param decoration The DecorationResult we are working on.
+	 * @param budget     The average time in nanoseconds a decorator may take, or
+	 *                   <code>0</code> to apply all decorators
+	 * @return <code>true</code> if a decorator has been skipped because it
+	 *         exceeds the budget
+	 */
+	boolean getDecorations(Object element, DecorationBuilder decoration, long budget) {
+		boolean skipped = false;
+		List<LightweightDecoratorDefinition> decorators = new ArrayList<>();
+		boolean parallel = false;
 		for (LightweightDecoratorDefinition decorator : getDecoratorsFor(element)) {
-			decoration.setCurrentDefinition(decorator);
-			decorate(element, decoration, decorator);
+			if (runningDecorators.contains(decorator)) {
+				// still busy with an element that timed out
+				continue;
+			}
+			if (budget > 0 && isDeferred(decorator, budget)) {
+				skipped = true;
+				continue;
+			}
+			decorators.add(decorator);
+			parallel |= isParallel(decorator);
+		}
+		if (parallel && decorators.size() > 1) {
+			decorateInParallel(element, decoration, decorators);
+		} else {
+			for (LightweightDecoratorDefinition decorator : decorators) {
+				decoration.setCurrentDefinition(decorator);
+				decorate(element, decoration, decorator);
+			}
+		}
+		return skipped;
+	}
+
+	/**
+	 * Run the slow decorators in jobs and the others in the calling thread, and
+	 * add their results to the decoration in the order of the decorators.
+	 */
+	private void decorateInParallel(Object element, DecorationBuilder decoration,
+			List<LightweightDecoratorDefinition> decorators) {
+		int count = decorators.size();
+		DecorationBuilder[] builders = new DecorationBuilder[count];
+		Job[] jobs = new Job[count];
+		for (int i = 0; i < count; i++) {
+			LightweightDecoratorDefinition decorator = decorators.get(i);
+			DecorationBuilder builder = new DecorationBuilder(decoration.getDecorationContext());
+			builder.setCurrentDefinition(decorator);
+			builders[i] = builder;
+			if (isParallel(decorator)) {
+				runningDecorators.add(decorator);
+				jobs[i] = Job.createSystem(WorkbenchMessages.DecorationScheduler_CalculationJobName,
+						monitor -> {
+							try {
+								decorate(element, builder, decorator);
+							} finally {
+								runningDecorators.remove(decorator);
+							}
+						});
+				jobs[i].schedule();
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			if (jobs[i] == null) {
+				decorate(element, builders[i], decorators.get(i));
+			}
+		}
+		// a decorator that is still running after the timeout stays in
+		// runningDecorators, so it is never called by two threads at once
+		long deadline = System.currentTimeMillis() + PARALLEL_TIMEOUT;
+		boolean interrupted = false;
+		for (int i = 0; i < count; i++) {
+			if (jobs[i] != null) {
+				boolean done = jobs[i].getResult() != null;
+				if (!done && !interrupted) {
+					try {
+						done = jobs[i].join(Math.max(1, deadline - System.currentTimeMillis()), null);
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+				if (!done) {
+					continue;
+				}
+			}
+			decoration.addAll(builders[i]);
 		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Return whether the decorator is slow enough to be run in parallel with the
+	 * other decorators of an element.
+	 */
+	private static boolean isParallel(DecoratorDefinition decorator) {
+		return decorator.getStatistics().exceedsBudget(PARALLEL_THRESHOLD, MIN_INVOCATIONS_FOR_DEFERRAL);
+	}
+
+	/**
+	 * Return whether the decorator has taken longer than the given budget on
+	 * average.
+	 *
+	 * @param decorator the decorator
+	 * @param budget    the average time in nanoseconds a decorator may take
+	 * @return boolean
+	 */
+	static boolean isDeferred(DecoratorDefinition decorator, long budget) {
+		return decorator.getStatistics().exceedsBudget(budget, MIN_INVOCATIONS_FOR_DEFERRAL);
 	}
 
 	/**
-	 * Decorate the element receiver in a SafeRunnable.
+	 * Decorate the element receiver in a SafeRunnable. Decorators may run in
+	 * parallel, so every decoration uses its own runnable.
 	 *
 	 * @param element    The Object to be decorated
 	 * @param decoration The object building decorations.
@@ -355,8 +502,11 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 */
 	private void decorate(Object element, DecorationBuilder decoration, LightweightDecoratorDefinition decorator) {
 
+		LightweightRunnable runnable = new LightweightRunnable();
 		runnable.setValues(element, decoration, decorator);
+		long start = System.nanoTime();
 		SafeRunner.run(runnable);
+		decorator.getStatistics().addInvocation(System.nanoTime() - start);
 	}
 
 	/**
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.core.internal.filebuffers.MappedFileDocument;
+import org.eclipse.core.internal.filebuffers.MappedFileTextStore;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+
+public class MappedFileTextStoreTest {
+
+	@Rule
+	public TemporaryFolder fTemporaryFolder= new TemporaryFolder();
+
+	private IDocument createMappedDocument(String content, Charset charset, byte[] prefix) throws IOException {
+		Path file= fTemporaryFolder.newFile().toPath();
+		byte[] bytes= content.getBytes(charset);
+		byte[] all= new byte[prefix.length + bytes.length];
+		System.arraycopy(prefix, 0, all, 0, prefix.length);
+		System.arraycopy(bytes, 0, all, prefix.length, bytes.length);
+		Files.write(file, all);
+		MappedFileTextStore store= new MappedFileTextStore(file, prefix.length, charset);
+		return new MappedFileDocument(store, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+	}
+
+	private static String createContent(int lines, String... extra) {
+		Random random= new Random(42);
+		String[] delimiters= { "\n", "\r", "\r\n" };
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < lines; i++) {
+			buffer.append("line ").append(i);
+			buffer.append("x".repeat(random.nextInt(200)));
+			if (extra.length > 0)
+				buffer.append(extra[random.nextInt(extra.length)]);
+			buffer.append(delimiters[random.nextInt(delimiters.length)]);
+		}
+		return buffer.toString();
+	}
+
+	private static void assertSameRegion(IRegion expected, IRegion actual) {
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+	}
+
+	private static void assertSameContent(IDocument expected, IDocument actual) throws BadLocationException {
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.get(), actual.get());
+		assertEquals(expected.getNumberOfLines(), actual.getNumberOfLines());
+		for (int line= 0; line < expected.getNumberOfLines(); line++) {
+			IRegion expectedLine= expected.getLineInformation(line);
+			assertSameRegion(expectedLine, actual.getLineInformation(line));
+			assertEquals(expected.getLineDelimiter(line), actual.getLineDelimiter(line));
+			assertEquals(expected.getLineLength(line), actual.getLineLength(line));
+			assertEquals(expected.getLineOfOffset(expectedLine.getOffset()), actual.getLineOfOffset(expectedLine.getOffset()));
+		}
+		for (int offset= 0; offset <= expected.getLength(); offset+= 97) {
+			assertEquals(expected.getLineOfOffset(offset), actual.getLineOfOffset(offset));
+			assertSameRegion(expected.getLineInformationOfOffset(offset), actual.getLineInformationOfOffset(offset));
+		}
+		int length= expected.getLength();
+		assertEquals(expected.getLineOfOffset(length), actual.getLineOfOffset(length));
+		assertSameRegion(expected.getLineInformationOfOffset(length), actual.getLineInformationOfOffset(length));
+	}
+
+	@Test
+	public void testUTF8() throws Exception {
+		String content= createContent(5000, "", "äöü", "😀");
+		assertSameContent(new Document(content), createMappedDocument(content, StandardCharsets.UTF_8, new byte[0]));
+	}
+
+	@Test
+	public void testISO88591() throws Exception {
+		String content= createContent(5000, "", "äöü");
+		assertSameContent(new Document(content), createMappedDocument(content, StandardCharsets.ISO_8859_1, new byte[0]));
+	}
+
+	@Test
+	public void testBOM() throws Exception {
+		String content= createContent(100);
+		byte[] bom= { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+		assertSameContent(new Document(content), createMappedDocument(content, StandardCharsets.UTF_8, bom));
+	}
+
+	@Test
+	public void testDelimiterAtEnd() throws Exception {
+		for (String content : new String[] { "", "a", "a\r", "a\n", "a\r\n", "\r\n\r", "\r\r\n\n" }) {
+			assertSameContent(new Document(content), createMappedDocument(content, StandardCharsets.UTF_8, new byte[0]));
+		}
+	}
+
+	@Test
+	public void testCRLFAcrossBlocks() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		while (buffer.length() < 3 * 64 * 1024)
+			buffer.append("ab\r\n");
+		buffer.insert(64 * 1024 - 1, '\r');
+		String content= buffer.toString();
+		assertSameContent(new Document(content), createMappedDocument(content, StandardCharsets.UTF_8, new byte[0]));
+	}
+
+	@Test
+	public void testModification() throws Exception {
+		String content= createContent(3000);
+		IDocument expected= new Document(content);
+		IDocument actual= createMappedDocument(content, StandardCharsets.UTF_8, new byte[0]);
+		Random random= new Random(7);
+		for (int i= 0; i < 100; i++) {
+			int offset= random.nextInt(expected.getLength());
+			int length= Math.min(random.nextInt(10), expected.getLength() - offset);
+			String text= random.nextBoolean() ? "new\r\n" : "";
+			expected.replace(offset, length, text);
+			actual.replace(offset, length, text);
+		}
+		assertSameContent(expected, actual);
+		expected.set("set\ncontent");
+		actual.set("set\ncontent");
+		assertSameContent(expected, actual);
+	}
+
+	@Test
+	public void testReleaseMappedContent() throws Exception {
+		String content= createContent(100);
+		MappedFileDocument modified= (MappedFileDocument) createMappedDocument(content, StandardCharsets.UTF_8, new byte[0]);
+		modified.replace(0, 0, "new\n");
+		modified.releaseMappedContent();
+		assertSameContent(new Document("new\n" + content), modified);
+
+		MappedFileDocument unmodified= (MappedFileDocument) createMappedDocument(content, StandardCharsets.UTF_8, new byte[0]);
+		unmodified.releaseMappedContent();
+		assertSameContent(new Document(), unmodified);
+	}
+
+	@Test
+	public void testTruncatedFile() throws Exception {
+		Path file= fTemporaryFolder.newFile().toPath();
+		String content= createContent(5000);
+		Files.writeString(file, content);
+		MappedFileTextStore store= new MappedFileTextStore(file, 0, StandardCharsets.UTF_8);
+		try (FileChannel channel= FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(content.length() / 2);
+		}
+		assertEquals(content.length(), store.getLength());
+		assertEquals(content.length(), store.get(0, content.length()).length());
+		assertEquals(content.charAt(0), store.get(0));
+		assertEquals('\uFFFD', store.get(content.length() - 1));
+	}
+
+	@Test
+	public void testOverwriteFile() throws Exception {
+		Path file= fTemporaryFolder.newFile().toPath();
+		String content= createContent(5000);
+		Files.writeString(file, content);
+		MappedFileTextStore store= new MappedFileTextStore(file, 0, StandardCharsets.UTF_8);
+		assertEquals(content, store.get(0, store.getLength()));
+		// the store must not keep the file mapped, so that it can be saved
+		Files.writeString(file, "saved");
+		Files.delete(file);
+		assertEquals(content.length(), store.getLength());
+		store.close();
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		Path file= fTemporaryFolder.newFile().toPath();
+		String content= createContent(5000);
+		Files.writeString(file, content);
+		MappedFileTextStore store= new MappedFileTextStore(file, 0, StandardCharsets.UTF_8);
+		assertEquals(content.charAt(content.length() - 1), store.get(content.length() - 1));
+		store.close();
+		// the file is opened again
+		assertEquals(content, store.get(0, store.getLength()));
+		store.close();
+	}
+}
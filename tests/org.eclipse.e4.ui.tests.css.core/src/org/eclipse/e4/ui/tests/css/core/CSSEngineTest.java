@@ -16,17 +16,27 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.tests.css.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
+import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandler;
+import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandlerProvider;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
 import org.eclipse.e4.ui.tests.css.core.util.TestElement;
 import org.junit.jupiter.api.Test;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
 
 class CSSEngineTest {
 
@@ -36,6 +46,61 @@ class CSSEngineTest {
 		}
 	}
 
+	/**
+	 * An element that is its own native widget, so that the engine keeps a
+	 * context for each element.
+	 */
+	private static class WidgetTestElement extends TestElement {
+
+		WidgetTestElement(String type, CSSEngine engine) {
+			super(type, engine);
+		}
+
+		WidgetTestElement(String type, TestElement parent, CSSEngine engine) {
+			super(type, parent, engine);
+		}
+
+		@Override
+		public Object getNativeWidget() {
+			return this;
+		}
+	}
+
+	/**
+	 * Records the properties applied to the elements, as
+	 * <code>element:property=value</code>.
+	 */
+	private static class RecordingHandlerProvider implements ICSSPropertyHandlerProvider {
+
+		final List<String> applied = new ArrayList<>();
+
+		private final ICSSPropertyHandler handler = (element, property, value, pseudo, engine) -> {
+			applied.add(((Element) element).getLocalName() + ":" + property + "=" + value.getCssText());
+			return true;
+		};
+
+		@Override
+		public Collection<ICSSPropertyHandler> getCSSPropertyHandlers(String property) {
+			return Collections.singletonList(handler);
+		}
+
+		@Override
+		public CSSStyleDeclaration getDefaultCSSStyleDeclaration(CSSEngine engine, Object element,
+				CSSStyleDeclaration newStyle, String pseudoE) {
+			return null;
+		}
+
+		@Override
+		public Collection<ICSSPropertyHandler> getCSSPropertyHandlers(Object element, String property) {
+			return Collections.singletonList(handler);
+		}
+
+		@Override
+		public Collection<String> getCSSProperties(Object element) {
+			return Collections.emptyList();
+		}
+	}
+
 	@Test
 	void testSelectorMatch() throws Exception {
 		TestCSSEngine engine = new TestCSSEngine();
@@ -91,4 +156,75 @@ class CSSEngineTest {
 		return engine;
 	}
 
+	@Test
+	void testApplyStylesSkipsUnchangedChildNodes() throws Exception {
+		TestCSSEngine engine = new TestCSSEngine();
+		RecordingHandlerProvider provider = new RecordingHandlerProvider();
+		engine.registerCSSPropertyHandlerProvider(provider);
+		engine.parseStyleSheet(new StringReader("Label { color: red; }\n" //
+				+ ".warning Label { color: orange; }"));
+		TestElement shell = new WidgetTestElement("Shell", engine);
+		TestElement composite = new WidgetTestElement("Composite", shell, engine);
+		new WidgetTestElement("Label", composite, engine);
+		new WidgetTestElement("Label", composite, engine);
+
+		engine.applyStyles(shell, true);
+		assertEquals(List.of("Label:color=red", "Label:color=red"), provider.applied);
+
+		provider.applied.clear();
+		engine.applyStyles(shell, true);
+		assertEquals(List.of(), provider.applied);
+
+		composite.setClass("warning");
+		engine.applyStyles(shell, true);
+		assertEquals(List.of("Label:color=orange", "Label:color=orange"), provider.applied);
+	}
+
+	@Test
+	void testApplyStylesSkipsAppliedValues() throws Exception {
+		TestCSSEngine engine = new TestCSSEngine();
+		RecordingHandlerProvider provider = new RecordingHandlerProvider();
+		engine.registerCSSPropertyHandlerProvider(provider);
+		engine.parseStyleSheet(new StringReader("Label { color: red; font-weight: bold; }\n" //
+				+ "Label.error { color: blue; }"));
+		TestElement composite = new WidgetTestElement("Composite", engine);
+		TestElement label = new WidgetTestElement("Label", composite, engine);
+
+		engine.applyStyles(composite, true);
+		assertEquals(2, provider.applied.size());
+
+		provider.applied.clear();
+		label.setClass("error");
+		engine.applyStyles(composite, true);
+		assertEquals(List.of("Label:color=blue"), provider.applied);
+	}
+
+	@Test
+	void testApplyStylesAlwaysStylesElement() throws Exception {
+		TestCSSEngine engine = new TestCSSEngine();
+		RecordingHandlerProvider provider = new RecordingHandlerProvider();
+		engine.registerCSSPropertyHandlerProvider(provider);
+		engine.parseStyleSheet(new StringReader("Label { color: red; }"));
+		TestElement label = new WidgetTestElement("Label", engine);
+
+		engine.applyStyles(label, false);
+		engine.applyStyles(label, false);
+		assertEquals(List.of("Label:color=red", "Label:color=red"), provider.applied);
+	}
+
+	@Test
+	void testApplyStylesAfterStyleSheetChange() throws Exception {
+		TestCSSEngine engine = new TestCSSEngine();
+		RecordingHandlerProvider provider = new RecordingHandlerProvider();
+		engine.registerCSSPropertyHandlerProvider(provider);
+		engine.parseStyleSheet(new StringReader("Label { color: red; }"));
+		TestElement composite = new WidgetTestElement("Composite", engine);
+		new WidgetTestElement("Label", composite, engine);
+		engine.applyStyles(composite, true);
+
+		provider.applied.clear();
+		engine.parseStyleSheet(new StringReader("Label { color: green; }"));
+		engine.applyStyles(composite, true);
+		assertEquals(List.of("Label:color=green"), provider.applied);
+	}
 }
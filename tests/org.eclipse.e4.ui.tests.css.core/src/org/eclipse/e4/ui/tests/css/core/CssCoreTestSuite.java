@@ -23,8 +23,10 @@ import org.eclipse.e4.ui.tests.css.core.parser.ImportTest;
 import org.eclipse.e4.ui.tests.css.core.parser.InheritTest;
 import org.eclipse.e4.ui.tests.css.core.parser.MediaRulesTest;
 import org.eclipse.e4.ui.tests.css.core.parser.RGBColorImplTest;
+import org.eclipse.e4.ui.tests.css.core.parser.SelectorMatchingTest;
 import org.eclipse.e4.ui.tests.css.core.parser.SelectorTest;
 import org.eclipse.e4.ui.tests.css.core.parser.StyleRuleTest;
+import org.eclipse.e4.ui.tests.css.core.parser.StyleSheetCacheTest;
 import org.eclipse.e4.ui.tests.css.core.parser.ValueTest;
 import org.eclipse.e4.ui.tests.css.core.parser.ViewCSSTest;
 import org.junit.platform.suite.api.SelectClasses;
@@ -39,6 +41,8 @@ import org.junit.platform.suite.api.Suite;
 	ViewCSSTest.class,
 	ValueTest.class,
 	SelectorTest.class,
+	SelectorMatchingTest.class,
+	StyleSheetCacheTest.class,
 	CSSEngineTest.class,
 	ImportTest.class,
 	InheritTest.class,
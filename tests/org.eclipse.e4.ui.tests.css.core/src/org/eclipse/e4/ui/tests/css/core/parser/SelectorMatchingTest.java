@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
+import org.eclipse.e4.ui.tests.css.core.util.TestElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.DocumentCSS;
+import org.w3c.dom.css.ViewCSS;
+import org.w3c.dom.stylesheets.StyleSheetList;
+
+/**
+ * Tests the compiled selectors of the style engine against the SAC
+ * implementations of the selectors, and checks that matching them does not
+ * create any objects.
+ */
+public class SelectorMatchingTest {
+
+	private static class TestCSSEngine extends CSSEngineImpl {
+		@Override
+		public void reapply() {
+		}
+	}
+
+	private static class PseudoTestElement extends TestElement {
+
+		final Set<String> pseudoClasses = new HashSet<>();
+
+		PseudoTestElement(String type, CSSEngine engine) {
+			super(type, engine);
+		}
+
+		PseudoTestElement(String type, TestElement parent, CSSEngine engine) {
+			super(type, parent, engine);
+		}
+
+		@Override
+		public boolean isPseudoInstanceOf(String s) {
+			return pseudoClasses.contains(s) || super.isPseudoInstanceOf(s);
+		}
+	}
+
+	private TestCSSEngine engine;
+
+	private final List<PseudoTestElement> elements = new ArrayList<>();
+
+	@BeforeEach
+	public void setUp() {
+		engine = new TestCSSEngine();
+	}
+
+	@Test
+	void testCompiledSelectorsMatchLikeSAC() throws Exception {
+		String css = """
+			* { border-color: gray; }
+			Shell { color: black; }
+			Button.primary { color: red; }
+			.primary.large { font-size: 12; }
+			#ok { font-weight: bold; }
+			Shell Button { font-style: italic; }
+			Shell > Composite > Button { background-color: blue; }
+			Composite * Label { color: green; }
+			Composite > .primary:hover { color: yellow; }
+			Label:selected { background-color: white; }
+			Label:disabled:hover { background-color: gray; }
+			Text[style~='SWT.SEARCH'] { border-color: red; }
+			Text[style='SWT.BORDER'] { border-color: green; }
+			Text + Label { font-style: normal; }
+			*.primary#ok > Label { font-weight: normal; }
+			""";
+		engine.parseStyleSheet(new StringReader(css));
+
+		PseudoTestElement shell = add(new PseudoTestElement("Shell", engine));
+		PseudoTestElement composite = add(new PseudoTestElement("Composite", shell, engine));
+		PseudoTestElement nested = add(new PseudoTestElement("Composite", composite, engine));
+		nested.setClass("primary");
+		nested.setId("ok");
+		PseudoTestElement button = add(new PseudoTestElement("Button", composite, engine));
+		button.setClass("large  primary");
+		button.setId("ok");
+		button.pseudoClasses.add("hover");
+		PseudoTestElement nestedButton = add(new PseudoTestElement("Button", nested, engine));
+		nestedButton.setClass("primary other");
+		PseudoTestElement label = add(new PseudoTestElement("Label", nested, engine));
+		label.pseudoClasses.add("selected");
+		label.pseudoClasses.add("hover");
+		PseudoTestElement disabledLabel = add(new PseudoTestElement("Label", composite, engine));
+		disabledLabel.setClass("primary");
+		disabledLabel.pseudoClasses.add("disabled");
+		disabledLabel.pseudoClasses.add("hover");
+		PseudoTestElement staticLabel = add(new PseudoTestElement("Label", shell, engine));
+		staticLabel.addStaticPseudoInstance("selected");
+		PseudoTestElement searchText = add(new PseudoTestElement("Text", nested, engine));
+		searchText.setAttribute("style", "SWT.BORDER\tSWT.SEARCH");
+		PseudoTestElement borderText = add(new PseudoTestElement("Text", shell, engine));
+		borderText.setAttribute("style", "SWT.BORDER");
+
+		ViewCSS linear = createLinearViewCSS();
+		for (Element element : elements) {
+			for (String pseudo : new String[] { null, "hover", "selected", "disabled" }) {
+				assertEquals(getCssText(linear.getComputedStyle(element, pseudo)),
+						getCssText(engine.getViewCSS().getComputedStyle(element, pseudo)),
+						element.getLocalName() + " " + pseudo);
+			}
+		}
+		CSSStyleDeclaration buttonStyle = engine.getViewCSS().getComputedStyle(button, null);
+		assertEquals(6, buttonStyle.getLength());
+		assertEquals("yellow", buttonStyle.getPropertyCSSValue("color").getCssText());
+		assertEquals("blue", buttonStyle.getPropertyCSSValue("background-color").getCssText());
+		CSSStyleDeclaration labelStyle = engine.getViewCSS().getComputedStyle(staticLabel, "selected");
+		assertEquals("white", labelStyle.getPropertyCSSValue("background-color").getCssText());
+	}
+
+	@Test
+	void testMatchingDoesNotAllocate() throws Exception {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+		// every element matches at most one rule, so that computing its style
+		// does not have to merge the styles of several rules
+		String css = """
+			Shell > Composite Button.primary#ok { color: red; }
+			Composite Label.secondary:hover { color: blue; }
+			Text[style~='SWT.SEARCH'] { color: green; }
+			#other { color: black; }
+			""";
+		engine.parseStyleSheet(new StringReader(css));
+		PseudoTestElement shell = add(new PseudoTestElement("Shell", engine));
+		PseudoTestElement composite = add(new PseudoTestElement("Composite", shell, engine));
+		PseudoTestElement nested = add(new PseudoTestElement("Composite", composite, engine));
+		nested.setClass("primary secondary");
+		PseudoTestElement button = add(new PseudoTestElement("Button", nested, engine));
+		button.setClass("primary");
+		button.setId("ok");
+		PseudoTestElement label = add(new PseudoTestElement("Label", nested, engine));
+		label.setClass("secondary");
+		label.pseudoClasses.add("hover");
+		PseudoTestElement text = add(new PseudoTestElement("Text", nested, engine));
+		text.setAttribute("style", "SWT.BORDER SWT.SEARCH");
+		add(new PseudoTestElement("Button", nested, engine)).setId("unknown");
+
+		ViewCSS viewCSS = engine.getViewCSS();
+		computeStyles(viewCSS, 100);
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		int matches = computeStyles(viewCSS, 10000);
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+		assertEquals(30000, matches);
+		// allow for the allocations of the measurement itself
+		assertTrue(allocated < 1024, "Matching allocated " + allocated + " bytes");
+	}
+
+	private int computeStyles(ViewCSS viewCSS, int iterations) {
+		int matches = 0;
+		int size = elements.size();
+		for (int i = 0; i < iterations; i++) {
+			// no iterator, which would be allocated
+			for (int j = 0; j < size; j++) {
+				if (viewCSS.getComputedStyle(elements.get(j), null) != null) {
+					matches++;
+				}
+			}
+		}
+		return matches;
+	}
+
+	private PseudoTestElement add(PseudoTestElement element) {
+		elements.add(element);
+		return element;
+	}
+
+	/**
+	 * Creates a view that matches all selectors of the engine by their SAC
+	 * implementation.
+	 */
+	private ViewCSS createLinearViewCSS() {
+		DocumentCSS documentCSS = engine.getDocumentCSS();
+		return new ViewCSSImpl(new DocumentCSS() {
+			@Override
+			public StyleSheetList getStyleSheets() {
+				return documentCSS.getStyleSheets();
+			}
+
+			@Override
+			public CSSStyleDeclaration getOverrideStyle(Element elt, String pseudoElt) {
+				return documentCSS.getOverrideStyle(elt, pseudoElt);
+			}
+		});
+	}
+
+	private static String getCssText(CSSStyleDeclaration style) {
+		return style == null ? null : style.getCssText();
+	}
+}
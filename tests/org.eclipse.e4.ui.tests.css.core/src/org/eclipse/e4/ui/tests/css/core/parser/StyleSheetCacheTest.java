@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+
+import org.eclipse.e4.ui.css.core.engine.CSSStyleSheetCache;
+import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleSheet;
+
+/**
+ * Tests that style sheets rebuilt from the {@link CSSStyleSheetCache} are the
+ * same as parsed ones, and that changed style sheets are parsed again.
+ */
+public class StyleSheetCacheTest {
+
+	private static final String IMPORTED_CSS = """
+		.MPartStack, .MPart#editor {
+			font-size: 9;
+			swt-tab-renderer: url('bundleclass://org.eclipse.e4.ui.workbench.renderers.swt/org.eclipse.e4.ui.workbench.renderers.swt.CTabRendering');
+		}
+		""";
+
+	private static final String IMPORTING_CSS = """
+		@import url("imported.css");
+		* { color: inherit; }
+		Shell > Composite Button.primary:hover {
+			background-color: #1e1f22;
+			color: rgb(238, 238, 238) !important;
+			border: 1px solid RGB(80, 80, 80);
+		}
+		Text[style~='SWT.SEARCH'], Label[lang|='en'] {
+			swt-selected-tab-fill: #2f2f2f 0% #3f3f3f 100%;
+			margin: -2.5em 0.5px 10% 3pt;
+			font-family: "Segoe UI", sans-serif;
+		}
+		CTabFolder::tab {
+			swt-tab-height: 22px;
+			eclipse-preferences: org.eclipse.ui.editors:lineNumberColor=164,164,164;
+		}
+		""";
+
+	private static class TestCSSEngine extends CSSEngineImpl {
+		@Override
+		public void reapply() {
+		}
+	}
+
+	private File folder;
+
+	private File cacheFile;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		folder = Files.createTempDirectory("stylesheetcache").toFile();
+		cacheFile = new File(folder, "parsed-stylesheets.bin");
+		Files.writeString(new File(folder, "imported.css").toPath(), IMPORTED_CSS);
+		Files.writeString(new File(folder, "importing.css").toPath(), IMPORTING_CSS);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		for (File file : folder.listFiles()) {
+			file.delete();
+		}
+		folder.delete();
+	}
+
+	@Test
+	void testCachedStyleSheetIsParsedStyleSheet() throws Exception {
+		String parsed = getCssText(parse(null));
+
+		CSSStyleSheetCache cache = CSSStyleSheetCache.create(cacheFile, "1");
+		assertEquals(parsed, getCssText(parse(cache)));
+		cache.save();
+		assertTrue(cacheFile.isFile());
+
+		cache = CSSStyleSheetCache.create(cacheFile, "1");
+		assertEquals(parsed, getCssText(parse(cache)));
+		// all style sheets came from the cache, so there is nothing to save
+		assertTrue(cacheFile.delete());
+		cache.save();
+		assertFalse(cacheFile.exists());
+	}
+
+	@Test
+	void testChangedStyleSheetIsParsedAgain() throws Exception {
+		CSSStyleSheetCache cache = CSSStyleSheetCache.create(cacheFile, "1");
+		parse(cache);
+		cache.save();
+
+		Files.writeString(new File(folder, "imported.css").toPath(), ".MPartStack { font-size: 11; }");
+		String parsed = getCssText(parse(null));
+		cache = CSSStyleSheetCache.create(cacheFile, "1");
+		String cached = getCssText(parse(cache));
+		assertEquals(parsed, cached);
+		assertTrue(cached.contains("font-size: 11"), cached);
+		assertTrue(cacheFile.delete());
+		cache.save();
+		assertTrue(cacheFile.isFile());
+	}
+
+	@Test
+	void testCacheOfOtherVersionIsDiscarded() throws Exception {
+		CSSStyleSheetCache cache = CSSStyleSheetCache.create(cacheFile, "1");
+		parse(cache);
+		cache.save();
+
+		cache = CSSStyleSheetCache.create(cacheFile, "2");
+		assertEquals(getCssText(parse(null)), getCssText(parse(cache)));
+		assertTrue(cacheFile.delete());
+		cache.save();
+		assertTrue(cacheFile.isFile());
+	}
+
+	private CSSStyleSheet parse(CSSStyleSheetCache cache) throws IOException {
+		TestCSSEngine engine = new TestCSSEngine();
+		engine.setStyleSheetCache(cache);
+		URL url = new File(folder, "importing.css").toURI().toURL();
+		try (InputStream stream = url.openStream()) {
+			InputSource source = new InputSource();
+			source.setURI(url.toString());
+			source.setByteStream(stream);
+			return (CSSStyleSheet) engine.parseStyleSheet(source);
+		}
+	}
+
+	private static String getCssText(CSSStyleSheet styleSheet) {
+		StringBuilder builder = new StringBuilder();
+		CSSRuleList rules = styleSheet.getCssRules();
+		for (int i = 0; i < rules.getLength(); i++) {
+			builder.append(rules.item(i).getCssText()).append('\n');
+		}
+		return builder.toString();
+	}
+}
@@ -123,6 +123,50 @@ public class ViewCSSTest {
 		assertEquals("color: blue;", buttonStyle.getCssText());
 	}
 
+	@Test
+	void testRuleIndex() throws Exception {
+		String css = """
+			* { border-color: gray; }
+			Button { color: black; }
+			.primary { background-color: blue; }
+			#ok { font-weight: bold; }
+			Button.primary#ok { color: red; }
+			Shell Button { font-style: italic; }
+			Label.primary { color: green; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement button = new TestElement("Button", shell, engine);
+		button.setClass("other primary");
+		button.setId("ok");
+		final TestElement label = new TestElement("Label", shell, engine);
+		label.setClass("other");
+
+		CSSStyleDeclaration buttonStyle = viewCSS.getComputedStyle(button, null);
+		assertNotNull(buttonStyle);
+		assertEquals(5, buttonStyle.getLength());
+		assertEquals("red", buttonStyle.getPropertyCSSValue("color").getCssText());
+		assertEquals("blue", buttonStyle.getPropertyCSSValue("background-color").getCssText());
+		assertEquals("bold", buttonStyle.getPropertyCSSValue("font-weight").getCssText());
+		assertEquals("italic", buttonStyle.getPropertyCSSValue("font-style").getCssText());
+		assertEquals("gray", buttonStyle.getPropertyCSSValue("border-color").getCssText());
+
+		CSSStyleDeclaration labelStyle = viewCSS.getComputedStyle(label, null);
+		assertNotNull(labelStyle);
+		assertEquals("border-color: gray;", labelStyle.getCssText());
+
+		// the symbols of the same class attribute are reused, but the selectors
+		// must still be matched against the ancestors of the element
+		final TestElement otherButton = new TestElement("Button", engine);
+		otherButton.setClass("other primary");
+		otherButton.setId("ok");
+		CSSStyleDeclaration otherButtonStyle = viewCSS.getComputedStyle(otherButton, null);
+		assertNotNull(otherButtonStyle);
+		assertEquals(4, otherButtonStyle.getLength());
+		assertNull(otherButtonStyle.getPropertyCSSValue("font-style"));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testRuleCaching() throws Exception {
@@ -156,12 +200,17 @@ public class ViewCSSTest {
 		// check caching: a 2nd call retrieves cached list
 		assertSame(cssRules, getCombinedRulesMethod.invoke(viewCSS));
 
+		Field currentRuleIndexField = ViewCSSImpl.class.getDeclaredField("currentRuleIndex");
+		currentRuleIndexField.setAccessible(true);
+		assertNotNull(currentRuleIndexField.get(viewCSS));
+
 		// add a new stylesheet => flush cache
 		css = "Shell > * > * { color: blue; }\n" + "Label { color: green; }\n";
 		styleSheet = ParserTestUtil.parseCss(css);
 		docCss.addStyleSheet(styleSheet);
 
 		assertNull(currentCombinedRulesField.get(viewCSS));
+		assertNull(currentRuleIndexField.get(viewCSS));
 
 		List<CSSRule> cssRules2 = (List<CSSRule>) getCombinedRulesMethod.invoke(viewCSS);
 		assertNotSame(cssRules, cssRules2);
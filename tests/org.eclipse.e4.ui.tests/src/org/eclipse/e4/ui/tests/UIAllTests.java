@@ -19,6 +19,7 @@ package org.eclipse.e4.ui.tests;
 import org.eclipse.e4.ui.tests.application.Bug299755Test;
 import org.eclipse.e4.ui.tests.application.Bug308220Test;
 import org.eclipse.e4.ui.tests.application.Bug320857Test;
+import org.eclipse.e4.ui.tests.application.E4BinaryResourceTest;
 import org.eclipse.e4.ui.tests.application.E4ResourceTest;
 import org.eclipse.e4.ui.tests.application.ModelElementTest;
 import org.eclipse.e4.ui.tests.application.ModelRobustnessTest;
@@ -101,6 +102,7 @@ import org.junit.runners.Suite;
 		ModelAssemblerTests.class,
 		ModelAssemblerFragmentOrderingTests.class,
 		E4ResourceTest.class,
+		E4BinaryResourceTest.class,
 		AreaRendererTest.class,
 		SWTPartRendererTest.class,
 		ModelServiceImplTest.class,
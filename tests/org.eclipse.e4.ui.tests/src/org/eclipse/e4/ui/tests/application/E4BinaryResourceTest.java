@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.workbench.IWorkbench;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+public class E4BinaryResourceTest {
+
+	@Test
+	public void testBinaryModelIsSavedModel() throws IOException {
+		E4XMIResource resource = createResource();
+
+		byte[] bytes = save(resource, true, false);
+		assertFalse(new String(bytes, 0, 5, StandardCharsets.ISO_8859_1).startsWith("<?xml"));
+
+		E4XMIResource loaded = load(bytes);
+		assertModelEquals(resource, loaded);
+	}
+
+	@Test
+	public void testXMIModelIsLoaded() throws IOException {
+		E4XMIResource resource = createResource();
+
+		E4XMIResource loaded = load(save(resource, false, false));
+		assertModelEquals(resource, loaded);
+
+		// a model migrated from XMI is the same when saved in binary form
+		assertModelEquals(resource, load(save(loaded, true, false)));
+	}
+
+	@Test
+	public void testFilteredElementsAreNotSaved() throws IOException {
+		E4XMIResource resource = createResource();
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MPartStack stack = getStack(application);
+		MPart part = (MPart) stack.getSelectedElement();
+		part.getPersistedState().put(IWorkbench.PERSIST_STATE, Boolean.FALSE.toString());
+
+		E4XMIResource loaded = load(save(resource, true, true));
+		MPartStack loadedStack = getStack((MApplication) loaded.getContents().get(0));
+		assertEquals(stack.getChildren().size() - 1, loadedStack.getChildren().size());
+		// the reference to the filtered part is dropped
+		assertNull(loadedStack.getSelectedElement());
+		assertNull(loaded.getEObject(resource.getID((EObject) part)));
+	}
+
+	private static E4XMIResource createResource() {
+		MApplication application = MApplicationFactory.INSTANCE.createApplication();
+		application.setElementId("org.eclipse.e4.ui.tests.application");
+		application.getTags().add("tag");
+
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		window.setLabel("Window \u00e4\u00f6\u00fc");
+		window.setX(-10);
+		window.setWidth(800);
+		application.getChildren().add(window);
+
+		MPartSashContainer sash = MBasicFactory.INSTANCE.createPartSashContainer();
+		sash.setHorizontal(true);
+		window.getChildren().add(sash);
+
+		MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+		stack.setContainerData("7500");
+		sash.getChildren().add(stack);
+		for (int i = 0; i < 3; i++) {
+			MPart part = MBasicFactory.INSTANCE.createPart();
+			part.setElementId("part" + i);
+			part.setContributionURI("bundleclass://org.eclipse.e4.ui.tests/org.eclipse.e4.ui.tests.Part");
+			part.setCloseable(true);
+			part.getTags().add("View");
+			part.getPersistedState().put("memento", "<memento index=\"" + i + "\"/>");
+			stack.getChildren().add(part);
+		}
+		stack.setSelectedElement(stack.getChildren().get(1));
+		window.setSelectedElement(sash);
+		application.setSelectedElement(window);
+
+		E4XMIResource resource = new E4XMIResource();
+		resource.getContents().add((EObject) application);
+		return resource;
+	}
+
+	private static MPartStack getStack(MApplication application) {
+		MPartSashContainer sash = (MPartSashContainer) application.getChildren().get(0).getChildren().get(0);
+		return (MPartStack) sash.getChildren().get(0);
+	}
+
+	private static byte[] save(E4XMIResource resource, boolean binary, boolean filter) throws IOException {
+		Map<String, Object> options = new HashMap<>();
+		options.put(E4XMIResource.OPTION_BINARY_FORMAT, Boolean.valueOf(binary));
+		options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.valueOf(filter));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, options);
+		return out.toByteArray();
+	}
+
+	private static E4XMIResource load(byte[] bytes) throws IOException {
+		E4XMIResource resource = new E4XMIResource();
+		resource.load(new ByteArrayInputStream(bytes), null);
+		return resource;
+	}
+
+	private static void assertModelEquals(E4XMIResource expected, E4XMIResource actual) {
+		assertEquals(1, actual.getContents().size());
+		EObject expectedRoot = expected.getContents().get(0);
+		EObject actualRoot = actual.getContents().get(0);
+		assertTrue(EcoreUtil.equals(expectedRoot, actualRoot));
+
+		TreeIterator<EObject> expectedContents = EcoreUtil.getAllContents(expectedRoot, true);
+		Iterator<EObject> actualContents = EcoreUtil.getAllContents(actualRoot, true);
+		while (expectedContents.hasNext()) {
+			EObject expectedObject = expectedContents.next();
+			EObject actualObject = actualContents.next();
+			assertEquals(expected.getID(expectedObject), actual.getID(actualObject));
+			if (expected.getID(expectedObject) != null) {
+				assertSame(actualObject, actual.getEObject(expected.getID(expectedObject)));
+			}
+		}
+		assertFalse(actualContents.hasNext());
+	}
+}
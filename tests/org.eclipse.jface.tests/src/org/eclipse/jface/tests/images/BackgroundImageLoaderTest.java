@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jface.resource.BackgroundImageLoader;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.resource.LocalResourceManager;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BackgroundImageLoaderTest {
+
+	private static final long TIMEOUT = 10_000;
+
+	/**
+	 * A descriptor that records the thread creating its image data by zoom
+	 * level.
+	 */
+	private static class TestDescriptor extends ImageDescriptor {
+		private final boolean threadSafe;
+		private final boolean missing;
+		final Map<Integer, Thread> threads = new ConcurrentHashMap<>();
+
+		TestDescriptor(boolean threadSafe, boolean missing) {
+			this.threadSafe = threadSafe;
+			this.missing = missing;
+		}
+
+		@Override
+		public ImageData getImageData(int zoom) {
+			threads.putIfAbsent(Integer.valueOf(zoom), Thread.currentThread());
+			if (missing) {
+				return null;
+			}
+			int size = 16 * zoom / 100;
+			return new ImageData(size, size, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000));
+		}
+
+		@Override
+		protected boolean isImageDataThreadSafe() {
+			return threadSafe;
+		}
+	}
+
+	private Display display;
+
+	private LocalResourceManager resourceManager;
+
+	private Image placeholder;
+
+	@Before
+	public void setUp() {
+		display = Display.getDefault();
+		resourceManager = new LocalResourceManager(JFaceResources.getResources(display));
+		placeholder = new Image(display, 16, 16);
+	}
+
+	@After
+	public void tearDown() {
+		resourceManager.dispose();
+		placeholder.dispose();
+	}
+
+	private void waitFor(BooleanSupplier condition) {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			assertTrue("Timed out", System.currentTimeMillis() < end);
+			if (!display.readAndDispatch()) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	@Test
+	public void testLoad() {
+		BackgroundImageLoader loader = new BackgroundImageLoader(resourceManager);
+		ImageDescriptor descriptor = ImageDescriptor
+				.createFromURL(BackgroundImageLoaderTest.class.getResource("anything.gif"));
+		AtomicInteger callbacks = new AtomicInteger();
+		Runnable callback = callbacks::incrementAndGet;
+
+		assertSame(placeholder, loader.getImage(descriptor, placeholder, callback));
+		assertSame(placeholder, loader.getImage(descriptor, placeholder, callback));
+		waitFor(() -> callbacks.get() > 0);
+
+		assertTrue(loader.isLoaded(descriptor));
+		Image image = loader.getImage(descriptor, placeholder, callback);
+		assertNotSame(placeholder, image);
+		assertEquals(descriptor.getImageData(100).width, image.getBounds().width);
+		// the callback is only run once, although it was passed twice
+		assertEquals(1, callbacks.get());
+
+		loader.dispose();
+		assertTrue(image.isDisposed());
+		assertThrows(IllegalStateException.class, () -> loader.getImage(descriptor, placeholder, null));
+	}
+
+	@Test
+	public void testThreadSafeDescriptor() {
+		BackgroundImageLoader loader = new BackgroundImageLoader(resourceManager, 100, 150, 200);
+		TestDescriptor descriptor = new TestDescriptor(true, false);
+		AtomicInteger callbacks = new AtomicInteger();
+		loader.getImage(descriptor, placeholder, callbacks::incrementAndGet);
+		waitFor(() -> callbacks.get() > 0);
+
+		for (int zoom : new int[] { 100, 150, 200 }) {
+			Thread thread = descriptor.threads.get(Integer.valueOf(zoom));
+			assertNotNull("No image data created for zoom " + zoom, thread);
+			assertNotSame("Image data created in the UI thread", display.getThread(), thread);
+		}
+		assertNotSame(placeholder, loader.getImage(descriptor, placeholder, null));
+		loader.dispose();
+	}
+
+	@Test
+	public void testDescriptorNotThreadSafe() {
+		BackgroundImageLoader loader = new BackgroundImageLoader(resourceManager, 100, 150, 200);
+		TestDescriptor descriptor = new TestDescriptor(false, false);
+		AtomicInteger callbacks = new AtomicInteger();
+		assertSame(placeholder, loader.getImage(descriptor, placeholder, callbacks::incrementAndGet));
+		waitFor(() -> callbacks.get() > 0);
+
+		// getImageData(int) of the descriptor must not run concurrently
+		assertTrue(descriptor.threads.keySet().containsAll(Set.of(100, 150, 200)));
+		assertEquals(Set.of(display.getThread()), Set.copyOf(descriptor.threads.values()));
+		assertNotSame(placeholder, loader.getImage(descriptor, placeholder, null));
+		loader.dispose();
+	}
+
+	@Test
+	public void testMissingImageData() {
+		BackgroundImageLoader loader = new BackgroundImageLoader(resourceManager);
+		TestDescriptor descriptor = new TestDescriptor(true, true);
+		AtomicInteger callbacks = new AtomicInteger();
+		loader.getImage(descriptor, placeholder, callbacks::incrementAndGet);
+		waitFor(() -> callbacks.get() > 0);
+
+		// the default image of the resource manager is used
+		Image image = loader.getImage(descriptor, placeholder, null);
+		assertNotNull(image);
+		assertNotSame(placeholder, image);
+		loader.dispose();
+		assertFalse(image.isDisposed());
+	}
+}
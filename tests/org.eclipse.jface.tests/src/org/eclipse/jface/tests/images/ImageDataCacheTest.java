@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jface.internal.ImageDataCache;
+import org.eclipse.jface.util.ILogger;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImageDataCacheTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private File cacheDirectory;
+
+	private File icons;
+
+	private File image;
+
+	private URL imageURL;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Before
+	public void setUp() throws IOException {
+		cacheDirectory = new File(tempFolder.getRoot(), "cache");
+		icons = tempFolder.newFolder("icons");
+		image = new File(icons, "icon.png");
+		Files.write(image.toPath(), new byte[] { 1, 2, 3 });
+		imageURL = image.toURI().toURL();
+	}
+
+	private IntFunction<ImageData> loader(int size) {
+		return zoom -> {
+			loads.incrementAndGet();
+			return createImageData(size * zoom / 100);
+		};
+	}
+
+	private static ImageData createImageData(int size) {
+		ImageData data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int i = 0; i < data.data.length; i++) {
+			data.data[i] = (byte) i;
+		}
+		data.alphaData = new byte[size * size];
+		data.alphaData[0] = 42;
+		return data;
+	}
+
+	private static void assertImageDataEquals(ImageData expected, ImageData actual) {
+		assertNotNull(actual);
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		assertEquals(expected.depth, actual.depth);
+		assertEquals(expected.palette.redMask, actual.palette.redMask);
+		assertArrayEquals(expected.data, actual.data);
+		assertArrayEquals(expected.alphaData, actual.alphaData);
+	}
+
+	private static URL writeJar(File jar, byte[] content) throws IOException {
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			out.putNextEntry(new ZipEntry("icons/icon.png"));
+			out.write(content);
+			out.closeEntry();
+		}
+		return new URL("jar:" + jar.toURI() + "!/icons/icon.png");
+	}
+
+	private File[] getCacheFiles() {
+		return cacheDirectory.listFiles((dir, name) -> name.endsWith(".cache"));
+	}
+
+	@Test
+	public void testImageDataIsCached() {
+		ImageData data = new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 100, loader(16));
+		assertEquals(1, loads.get());
+
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+		assertImageDataEquals(data, cache.getImageData(imageURL, 100, loader(16)));
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+
+		// other zoom levels are cached separately
+		assertImageDataEquals(createImageData(32), cache.getImageData(imageURL, 200, loader(16)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testMissingImageDataIsCached() {
+		IntFunction<ImageData> missing = zoom -> {
+			loads.incrementAndGet();
+			return null;
+		};
+		assertNull(new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 150, missing));
+		assertNull(new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 150, missing));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testModifiedImageIsLoadedAgain() {
+		new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 100, loader(16));
+		assertTrue(image.setLastModified(image.lastModified() - 10000));
+
+		ImageData data = new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 100, loader(8));
+		assertImageDataEquals(createImageData(8), data);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testNextSessionDoesNotDecode() throws IOException {
+		List<URL> urls = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			File file = new File(icons, "icon" + i + ".png");
+			Files.write(file.toPath(), new byte[] { (byte) i });
+			urls.add(file.toURI().toURL());
+		}
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+		for (URL url : urls) {
+			for (int zoom = 100; zoom <= 200; zoom += 50) {
+				cache.getImageData(url, zoom, loader(16));
+			}
+		}
+		assertEquals(60, loads.get());
+		assertEquals(60, cache.getMissCount());
+
+		// the next session finds all image data, including the missing ones
+		cache = new ImageDataCache(cacheDirectory, false);
+		for (URL url : urls) {
+			for (int zoom = 100; zoom <= 200; zoom += 50) {
+				assertImageDataEquals(createImageData(16 * zoom / 100), cache.getImageData(url, zoom, loader(16)));
+			}
+		}
+		assertEquals(60, loads.get());
+		assertEquals(60, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void testUpdatedBundleIsLoadedAgain() throws IOException {
+		File jar = new File(tempFolder.getRoot(), "bundle_1.0.0.jar");
+		URL url = writeJar(jar, new byte[] { 1 });
+		new ImageDataCache(cacheDirectory, false).getImageData(url, 100, loader(16));
+		assertImageDataEquals(createImageData(16),
+				new ImageDataCache(cacheDirectory, false).getImageData(url, 100, loader(8)));
+		assertEquals(1, loads.get());
+
+		// the bundle is replaced in place
+		writeJar(jar, new byte[] { 1, 2 });
+		assertImageDataEquals(createImageData(8),
+				new ImageDataCache(cacheDirectory, false).getImageData(url, 100, loader(8)));
+		assertEquals(2, loads.get());
+
+		// a new version of the bundle is installed next to the old one
+		URL newURL = writeJar(new File(tempFolder.getRoot(), "bundle_1.1.0.jar"), new byte[] { 1, 2 });
+		assertImageDataEquals(createImageData(4),
+				new ImageDataCache(cacheDirectory, false).getImageData(newURL, 100, loader(4)));
+		assertEquals(3, loads.get());
+		assertImageDataEquals(createImageData(8),
+				new ImageDataCache(cacheDirectory, false).getImageData(url, 100, loader(4)));
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	public void testHasImageData() {
+		assertFalse(new ImageDataCache(cacheDirectory, false).hasImageData(imageURL));
+
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+		cache.getImageData(imageURL, 200, loader(16));
+		// only the zoom level an image is created with first counts
+		assertFalse(cache.hasImageData(imageURL));
+		cache.getImageData(imageURL, 100, loader(16));
+		assertTrue(cache.hasImageData(imageURL));
+		assertTrue(new ImageDataCache(cacheDirectory, false).hasImageData(imageURL));
+	}
+
+	@Test
+	public void testEntriesOfOtherCachesAreKept() throws IOException {
+		File other = new File(icons, "other.png");
+		Files.write(other.toPath(), new byte[] { 4 });
+		URL otherURL = other.toURI().toURL();
+
+		// two caches that share the directory, like two processes
+		ImageDataCache cache1 = new ImageDataCache(cacheDirectory, false);
+		ImageDataCache cache2 = new ImageDataCache(cacheDirectory, false);
+		cache1.getImageData(imageURL, 100, loader(16));
+		cache2.getImageData(otherURL, 100, loader(8));
+		cache1.getImageData(imageURL, 200, loader(16));
+		assertEquals(3, loads.get());
+
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+		assertImageDataEquals(createImageData(16), cache.getImageData(imageURL, 100, loader(16)));
+		assertImageDataEquals(createImageData(8), cache.getImageData(otherURL, 100, loader(8)));
+		assertImageDataEquals(createImageData(32), cache.getImageData(imageURL, 200, loader(16)));
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	public void testIncompleteEntryIsIgnored() throws IOException {
+		new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 100, loader(16));
+		File[] files = getCacheFiles();
+		assertEquals(1, files.length);
+		try (FileOutputStream out = new FileOutputStream(files[0], true)) {
+			// the start of an entry that was not written completely
+			out.write(new byte[] { 0, 0, 0, 10, 'i', 'c' });
+		}
+
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+		assertImageDataEquals(createImageData(16), cache.getImageData(imageURL, 100, loader(16)));
+		cache.getImageData(imageURL, 200, loader(16));
+		assertEquals(2, loads.get());
+
+		cache = new ImageDataCache(cacheDirectory, false);
+		assertImageDataEquals(createImageData(16), cache.getImageData(imageURL, 100, loader(16)));
+		assertImageDataEquals(createImageData(32), cache.getImageData(imageURL, 200, loader(16)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testCacheFileIsCompacted() {
+		int size = 256;
+		long entrySize = 4L * size * size;
+		for (int i = 0; i < 10; i++) {
+			assertTrue(image.setLastModified(image.lastModified() - 10000));
+			new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 100, loader(size));
+		}
+		assertEquals(10, loads.get());
+		File[] files = getCacheFiles();
+		assertEquals(1, files.length);
+		assertTrue("Cache file not compacted: " + files[0].length(), files[0].length() < 6 * entrySize);
+
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+		assertImageDataEquals(createImageData(size), cache.getImageData(imageURL, 100, loader(size)));
+		assertEquals(10, loads.get());
+	}
+
+	@Test
+	public void testCacheReadsWhileAnotherCacheCompacts() {
+		int size = 256;
+		ImageDataCache reader = new ImageDataCache(cacheDirectory, false);
+		File other = new File(icons, "other.png");
+		for (int i = 0; i < 10; i++) {
+			if (i == 2) {
+				// after two entries that are replaced later
+				reader.getImageData(imageURL, 100, loader(size));
+			}
+			try {
+				Files.write(other.toPath(), new byte[] { (byte) i });
+				assertTrue(other.setLastModified(10000L * (i + 1)));
+				new ImageDataCache(cacheDirectory, false).getImageData(other.toURI().toURL(), 100, loader(size));
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		}
+		// the entries the reader knows have moved
+		assertImageDataEquals(createImageData(size), reader.getImageData(imageURL, 100, loader(size)));
+		assertEquals(11, loads.get());
+	}
+
+	@Test
+	public void testReadOnlyCache() {
+		new ImageDataCache(cacheDirectory, false).getImageData(imageURL, 100, loader(16));
+		File[] files = getCacheFiles();
+		long length = files[0].length();
+
+		ImageDataCache cache = new ImageDataCache(cacheDirectory, true);
+		assertImageDataEquals(createImageData(16), cache.getImageData(imageURL, 100, loader(16)));
+		cache.getImageData(imageURL, 200, loader(16));
+		assertEquals(2, loads.get());
+		assertEquals(length, files[0].length());
+	}
+
+	@Test
+	public void testUnwritableCacheDoesNotLog() throws IOException {
+		// a file where the directory is expected cannot be written to
+		Files.write(cacheDirectory.toPath(), new byte[0]);
+		List<IStatus> logged = new ArrayList<>();
+		ILogger logger = Policy.getLog();
+		Policy.setLog(logged::add);
+		try {
+			ImageDataCache cache = new ImageDataCache(cacheDirectory, false);
+			for (int zoom = 100; zoom <= 200; zoom += 25) {
+				assertImageDataEquals(createImageData(16 * zoom / 100), cache.getImageData(imageURL, zoom, loader(16)));
+			}
+			assertEquals(5, loads.get());
+			assertEquals(5, cache.getMissCount());
+		} finally {
+			Policy.setLog(logger);
+		}
+		assertEquals(List.of(), logged);
+	}
+}
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jface.tests.images;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -30,6 +31,8 @@ import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.resource.LazyResourceManager;
 import org.eclipse.jface.resource.ResourceManager;
+import org.eclipse.jface.viewers.DecorationOverlayIcon;
+import org.eclipse.jface.viewers.IDecoration;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
 import org.junit.Test;
@@ -367,6 +370,100 @@ public class LazyResourceManagerTest {
 		assertCached(expected2, mgr, tst, descriptor2); // 2 still cached, because recently used
 	}
 
+	/**
+	 * Creates resources for 3 Descriptors. The handle budget only leaves room
+	 * for 1 unreferenced resource while another one is referenced.
+	 **/
+	@Test
+	public void testHandleBudget() {
+		TestResourceManager tst = new TestResourceManager();
+		LazyResourceManager mgr = new LazyResourceManager(10, 2, tst);
+
+		DeviceResourceDescriptor descriptor1 = new CachableTestDescriptor();
+		DeviceResourceDescriptor descriptor2 = new CachableTestDescriptor();
+		DeviceResourceDescriptor descriptor3 = new CachableTestDescriptor();
+		AtomicReference<DeviceResourceDescriptor> expected1 = (AtomicReference<DeviceResourceDescriptor>) mgr
+				.create(descriptor1);
+		mgr.destroy(descriptor1);
+		AtomicReference<DeviceResourceDescriptor> expected2 = (AtomicReference<DeviceResourceDescriptor>) mgr
+				.create(descriptor2);
+		mgr.destroy(descriptor2);
+		assertCached(expected1, mgr, tst, descriptor1);
+		assertCached(expected2, mgr, tst, descriptor2);
+
+		AtomicReference<DeviceResourceDescriptor> expected3 = (AtomicReference<DeviceResourceDescriptor>) mgr
+				.create(descriptor3);
+		assertDestroyed(expected1, mgr, tst, descriptor1); // handle budget exceeded
+		assertCached(expected2, mgr, tst, descriptor2);
+		assertAlife(expected3, mgr, tst, descriptor3);
+		assertEquals(1, mgr.getReferencedCount());
+		assertEquals(1, mgr.getUnreferencedCount());
+		assertEquals(1, mgr.getEvictionCount());
+	}
+
+	/**
+	 * Counts hits, misses and evictions of a cache that holds 1 unreferenced
+	 * resource.
+	 **/
+	@Test
+	public void testStatistics() {
+		TestResourceManager tst = new TestResourceManager();
+		LazyResourceManager mgr = new LazyResourceManager(1, tst);
+
+		DeviceResourceDescriptor descriptor1 = new CachableTestDescriptor();
+		DeviceResourceDescriptor descriptor2 = new CachableTestDescriptor();
+		mgr.create(descriptor1); // miss
+		mgr.create(descriptor1); // hit, still referenced
+		assertEquals(1, mgr.getReferencedCount());
+		mgr.destroy(descriptor1);
+		mgr.destroy(descriptor1);
+		assertEquals(0, mgr.getReferencedCount());
+		assertEquals(1, mgr.getUnreferencedCount());
+		mgr.create(descriptor1); // hit, from the LRU cache
+		mgr.destroy(descriptor1);
+		mgr.create(descriptor2); // miss
+		mgr.destroy(descriptor2); // evicts descriptor1
+
+		assertEquals(2, mgr.getHitCount());
+		assertEquals(2, mgr.getMissCount());
+		assertEquals(1, mgr.getEvictionCount());
+		assertEquals(0, mgr.getReferencedCount());
+		assertEquals(1, mgr.getUnreferencedCount());
+		assertEquals("LazyResourceManager [referenced=0, unreferenced=1, hits=2, misses=2, evictions=1]",
+				mgr.toString());
+	}
+
+	/**
+	 * Decoration overlay icons are only cached if their equality does not
+	 * depend on an Image handle.
+	 **/
+	@Test
+	public void testDecorationOverlayIcon() {
+		TestResourceManager tst = new TestResourceManager();
+		LazyResourceManager mgr = new LazyResourceManager(10, tst);
+
+		ImageRegistry reg = JFaceResources.getImageRegistry();
+		ImageDescriptor base = reg.getDescriptor(Dialog.DLG_IMG_HELP);
+		ImageDescriptor overlay = reg.getDescriptor(Dialog.DLG_IMG_MESSAGE_INFO);
+		DeviceResourceDescriptor cachable = new DecorationOverlayIcon(base, overlay, IDecoration.TOP_LEFT);
+		AtomicReference<DeviceResourceDescriptor> expected1 = (AtomicReference<DeviceResourceDescriptor>) mgr
+				.create(cachable);
+		mgr.destroy(cachable);
+		assertCached(expected1, mgr, tst, new DecorationOverlayIcon(base, overlay, IDecoration.TOP_LEFT));
+
+		Image image = base.createImage();
+		try {
+			DeviceResourceDescriptor uncachable = new DecorationOverlayIcon(ImageDescriptor.createFromImage(image),
+					overlay, IDecoration.TOP_LEFT);
+			AtomicReference<DeviceResourceDescriptor> expected2 = (AtomicReference<DeviceResourceDescriptor>) mgr
+					.create(uncachable);
+			mgr.destroy(uncachable);
+			assertDestroyed(expected2, mgr, tst, uncachable);
+		} finally {
+			image.dispose();
+		}
+	}
+
 	@Test
 	public void testNullDescriptor() {
 		TestResourceManager tst = new TestResourceManager();
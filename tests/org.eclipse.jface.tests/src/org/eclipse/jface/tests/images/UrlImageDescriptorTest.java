@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IPath;
@@ -67,6 +68,24 @@ public class UrlImageDescriptorTest {
 		assertEquals(imageData.width * 2, imageDataZoomed.width);
 	}
 
+	@Test
+	public void testGetImageDataAsync() throws Exception {
+		ImageDescriptor descriptor = ImageDescriptor
+				.createFromURL(FileImageDescriptorTest.class.getResource("/icons/imagetests/zoomIn.png"));
+		ImageData imageData = descriptor.getImageDataAsync(100).get(10, TimeUnit.SECONDS);
+		assertNotNull(imageData);
+		ImageData imageDataZoomed = descriptor.getImageDataAsync(200).get(10, TimeUnit.SECONDS);
+		assertNotNull(imageDataZoomed);
+		assertEquals(imageData.width * 2, imageDataZoomed.width);
+	}
+
+	@Test
+	public void testGetImageDataAsyncMissing() throws Exception {
+		ImageDescriptor descriptor = ImageDescriptor
+				.createFromURL(new URL("file:/does/not/exist.png"));
+		assertNull(descriptor.getImageDataAsync(100).get(10, TimeUnit.SECONDS));
+	}
+
 	@Test
 	public void testGetxPath() {
 		ImageDescriptor descriptor = ImageDescriptor
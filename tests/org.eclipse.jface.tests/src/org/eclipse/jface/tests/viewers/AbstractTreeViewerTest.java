@@ -27,6 +27,7 @@ import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.tests.harness.util.DisplayHelper;
 import org.junit.After;
@@ -103,6 +104,82 @@ public abstract class AbstractTreeViewerTest extends StructuredItemViewerTest {
 		assertEquals("no children", 0, getItemCount(first));
 	}
 
+	@Test
+	public void testBatchUpdates() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement first2 = first.getFirstChild();
+		TestElement last = fRootElement.getLastChild();
+		fTreeViewer.expandToLevel(first2, 0);
+		List<TestElement> added = new ArrayList<>();
+
+		fTreeViewer.batchUpdates(() -> {
+			first.deleteChild(first2);
+			added.add(first.addChild(TestModelChange.INSERT));
+			fRootElement.deleteChild(last);
+			added.add(fRootElement.addChild(TestModelChange.INSERT));
+			// nothing is applied before the batch ends
+			assertNotNull("deleted child is still visible", fViewer.testFindItem(first2));
+			assertNull("added child is not visible yet", fViewer.testFindItem(added.get(0)));
+		});
+
+		assertNull("deleted child is not visible", fViewer.testFindItem(first2));
+		assertNull("deleted sibling is not visible", fViewer.testFindItem(last));
+		assertNotNull("added child is visible", fViewer.testFindItem(added.get(0)));
+		assertNotNull("added sibling is visible", fViewer.testFindItem(added.get(1)));
+		assertEquals(first.getChildCount(), ((TreeItem) fViewer.testFindItem(first)).getItemCount());
+		assertEquals(fRootElement.getChildCount(), ((Tree) fTreeViewer.getControl()).getItemCount());
+	}
+
+	@Test
+	public void testBatchUpdatesWithRefresh() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement first2 = first.getFirstChild();
+		fTreeViewer.expandToLevel(first2, 0);
+
+		fTreeViewer.batchUpdates(() -> {
+			first2.deleteChildren();
+			first.basicDeleteChild(first.getLastChild());
+			fTreeViewer.batchUpdates(() -> first.addChild(TestModelChange.INSERT));
+			fTreeViewer.refresh(first);
+			fTreeViewer.refresh(first2, false);
+		});
+
+		assertEquals(first.getChildCount(), ((TreeItem) fViewer.testFindItem(first)).getItemCount());
+		assertEquals(0, ((TreeItem) fViewer.testFindItem(first2)).getItemCount());
+	}
+
+	@Test
+	public void testBatchUpdatesCollapsed() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement first2 = first.getFirstChild();
+		TestElement leaf = first2.getFirstChild();
+		fTreeViewer.expandToLevel(first2, 1);
+		leaf.deleteChildren();
+		TreeItem leafItem = (TreeItem) fViewer.testFindItem(leaf);
+		assertEquals(0, leafItem.getItemCount());
+
+		fTreeViewer.batchUpdates(() -> leaf.addChild(TestModelChange.INSERT));
+		assertFalse("leaf is collapsed", leafItem.getExpanded());
+		assertEquals("leaf shows a plus", 1, leafItem.getItemCount());
+
+		fTreeViewer.setExpandedState(first, false);
+		List<TestElement> added = new ArrayList<>();
+		fTreeViewer.batchUpdates(() -> {
+			first.deleteChild(first.getLastChild());
+			added.add(first.addChild(TestModelChange.INSERT));
+		});
+
+		// the children of a collapsed item are created again when it is expanded
+		TreeItem firstItem = (TreeItem) fViewer.testFindItem(first);
+		assertFalse("first is collapsed", firstItem.getExpanded());
+		assertNull("child of collapsed item is not created", fViewer.testFindItem(first2));
+		assertEquals("collapsed item has a dummy", 1, firstItem.getItemCount());
+
+		fTreeViewer.setExpandedState(first, true);
+		assertNotNull("added child is visible", fViewer.testFindItem(added.get(0)));
+		assertEquals(first.getChildCount(), firstItem.getItemCount());
+	}
+
 	@Test
 	public void testExpand() {
 		TestElement first = fRootElement.getFirstChild();
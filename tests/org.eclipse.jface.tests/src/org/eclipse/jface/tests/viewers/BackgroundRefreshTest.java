@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ListViewer;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link StructuredViewer#setBackgroundRefresh(boolean)}.
+ */
+public class BackgroundRefreshTest {
+
+	private Shell shell;
+
+	private List<String> input;
+
+	private ContentProvider contentProvider;
+
+	/**
+	 * Records the threads it is called in, and blocks if asked to.
+	 */
+	private static class ContentProvider implements IStructuredContentProvider {
+		volatile Thread lastThread;
+		volatile CountDownLatch block;
+
+		@Override
+		public Object[] getElements(Object inputElement) {
+			lastThread = Thread.currentThread();
+			CountDownLatch latch = block;
+			if (latch != null) {
+				try {
+					latch.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			synchronized (inputElement) {
+				return ((List<?>) inputElement).toArray();
+			}
+		}
+	}
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		shell.setSize(400, 400);
+		shell.setLayout(new FillLayout());
+		input = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			input.add("item " + i);
+		}
+		contentProvider = new ContentProvider();
+		shell.open();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+		shell = null;
+	}
+
+	private TableViewer createTableViewer() {
+		TableViewer viewer = new TableViewer(shell);
+		viewer.setContentProvider(contentProvider);
+		viewer.setComparator(new ViewerComparator());
+		viewer.setInput(input);
+		shell.layout();
+		return viewer;
+	}
+
+	private void setInput(String... elements) {
+		synchronized (input) {
+			input.clear();
+			input.addAll(List.of(elements));
+		}
+	}
+
+	private static String[] getItems(TableViewer viewer) {
+		TableItem[] items = viewer.getTable().getItems();
+		String[] texts = new String[items.length];
+		for (int i = 0; i < items.length; i++) {
+			texts[i] = items[i].getText();
+		}
+		return texts;
+	}
+
+	private void waitForItems(TableViewer viewer, String... expected) {
+		Display display = shell.getDisplay();
+		DisplayHelper.waitAndAssertCondition(display, () -> assertArrayEquals(expected, getItems(viewer)));
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		TableViewer viewer = createTableViewer();
+		assertFalse(viewer.isBackgroundRefresh());
+		setInput("b", "a");
+		viewer.refresh();
+		assertSame(Thread.currentThread(), contentProvider.lastThread);
+		assertArrayEquals(new String[] { "a", "b" }, getItems(viewer));
+	}
+
+	@Test
+	public void testRefreshInBackground() {
+		TableViewer viewer = createTableViewer();
+		viewer.setBackgroundRefresh(true);
+		assertTrue(viewer.isBackgroundRefresh());
+		viewer.setSelection(new StructuredSelection("item 5"));
+
+		setInput("c", "item 5", "a", "b");
+		viewer.refresh();
+		waitForItems(viewer, "a", "b", "c", "item 5");
+		assertNotSame(Thread.currentThread(), contentProvider.lastThread);
+		assertEquals(new StructuredSelection("item 5"), viewer.getStructuredSelection());
+	}
+
+	@Test
+	public void testStaleRefreshDiscarded() {
+		TableViewer viewer = createTableViewer();
+		viewer.setBackgroundRefresh(true);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		contentProvider.block = latch;
+		setInput("stale");
+		viewer.refresh();
+		contentProvider.block = null;
+		setInput("z", "y", "x");
+		viewer.refresh();
+		latch.countDown();
+
+		waitForItems(viewer, "x", "y", "z");
+		DisplayHelper.sleep(shell.getDisplay(), 100);
+		assertArrayEquals(new String[] { "x", "y", "z" }, getItems(viewer));
+	}
+
+	@Test
+	public void testSetInputCancelsRefresh() {
+		TableViewer viewer = createTableViewer();
+		viewer.setBackgroundRefresh(true);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		contentProvider.block = latch;
+		setInput("stale");
+		viewer.refresh();
+		contentProvider.block = null;
+		List<String> newInput = new ArrayList<>(List.of("new"));
+		viewer.setInput(newInput);
+		latch.countDown();
+
+		DisplayHelper.sleep(shell.getDisplay(), 100);
+		assertArrayEquals(new String[] { "new" }, getItems(viewer));
+	}
+
+	@Test
+	public void testAddRestartsRefresh() {
+		TableViewer viewer = createTableViewer();
+		viewer.setBackgroundRefresh(true);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		contentProvider.block = latch;
+		setInput("b");
+		viewer.refresh();
+		contentProvider.block = null;
+		synchronized (input) {
+			input.add("a");
+		}
+		viewer.add("a");
+		latch.countDown();
+
+		waitForItems(viewer, "a", "b");
+	}
+
+	@Test
+	public void testListViewer() {
+		ListViewer viewer = new ListViewer(shell);
+		viewer.setContentProvider(contentProvider);
+		viewer.setComparator(new ViewerComparator());
+		viewer.setInput(input);
+		viewer.setBackgroundRefresh(true);
+
+		setInput("c", "b", "a");
+		viewer.refresh();
+		DisplayHelper.waitAndAssertCondition(shell.getDisplay(),
+				() -> assertArrayEquals(new String[] { "a", "b", "c" }, viewer.getList().getItems()));
+		assertNotSame(Thread.currentThread(), contentProvider.lastThread);
+	}
+}
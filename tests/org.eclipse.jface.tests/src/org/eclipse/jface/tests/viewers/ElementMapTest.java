@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the map from elements to widgets of a structured viewer that uses hash
+ * lookup.
+ */
+public class ElementMapTest {
+
+	/**
+	 * A hash code that the map assigns to its last slot, whatever its size, so
+	 * that colliding elements wrap around to the first slots.
+	 */
+	private static final int LAST_SLOT_HASH = 0xEBB34377;
+
+	/**
+	 * An element with a given hash code that equals the elements with the same
+	 * name.
+	 */
+	private static final class Element {
+		private final String name;
+		private final int hash;
+
+		Element(String name, int hash) {
+			this.name = name;
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Element && ((Element) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * A viewer that gives access to its element map.
+	 */
+	private static final class MapViewer extends TableViewer {
+		MapViewer(Composite parent) {
+			super(parent);
+			setUseHashlookup(true);
+		}
+
+		void map(Object element, Widget widget) {
+			mapElement(element, widget);
+		}
+
+		void unmap(Object element) {
+			unmapElement(element);
+		}
+
+		void unmap(Object element, Widget widget) {
+			unmapElement(element, widget);
+		}
+
+		Widget[] find(Object element) {
+			return findItems(element);
+		}
+	}
+
+	private Shell shell;
+
+	private MapViewer viewer;
+
+	@Before
+	public void setUp() {
+		Display display = Display.getCurrent();
+		if (display == null) {
+			display = new Display();
+		}
+		shell = new Shell(display);
+		viewer = new MapViewer(shell);
+	}
+
+	@After
+	public void tearDown() {
+		viewer = null;
+		if (shell != null) {
+			shell.dispose();
+			shell = null;
+		}
+	}
+
+	private Widget newWidget() {
+		return new Label(shell, SWT.NONE);
+	}
+
+	private void assertMapped(Object element, Widget... widgets) {
+		assertArrayEquals(String.valueOf(element), widgets, viewer.find(element));
+	}
+
+	@Test
+	public void testRemoveAcrossWrapAround() {
+		// the first three elements start at the last slot and wrap around to the
+		// first slots, where the fourth element is displaced from its own slot
+		Element[] elements = { new Element("a", LAST_SLOT_HASH), new Element("b", LAST_SLOT_HASH),
+				new Element("c", LAST_SLOT_HASH), new Element("d", 0) };
+		Widget[] widgets = new Widget[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			widgets[i] = newWidget();
+			viewer.map(elements[i], widgets[i]);
+		}
+
+		viewer.unmap(elements[0]);
+		assertMapped(elements[0]);
+		for (int i = 1; i < elements.length; i++) {
+			assertMapped(elements[i], widgets[i]);
+		}
+
+		viewer.unmap(elements[3]);
+		viewer.unmap(elements[1]);
+		assertMapped(elements[1]);
+		assertMapped(elements[2], widgets[2]);
+		assertMapped(elements[3]);
+
+		// equal elements are found at the slot the removal moved them to
+		assertMapped(new Element("c", LAST_SLOT_HASH), widgets[2]);
+	}
+
+	@Test
+	public void testResizeWhileRemoving() {
+		List<Element> elements = new ArrayList<>();
+		List<Widget> widgets = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			// few hash codes cause long runs of colliding elements
+			elements.add(new Element("e" + i, i % 3 == 0 ? LAST_SLOT_HASH : i % 7));
+			widgets.add(newWidget());
+			viewer.map(elements.get(i), widgets.get(i));
+			if (i % 2 == 1) {
+				// remove while the table grows
+				viewer.unmap(elements.get(i - 1));
+			}
+		}
+		for (int i = 0; i < 500; i++) {
+			if (i % 2 == 0) {
+				assertMapped(elements.get(i));
+				// map the element again to another widget
+				Widget widget = newWidget();
+				widgets.set(i, widget);
+				viewer.map(elements.get(i), widget);
+			} else {
+				assertMapped(elements.get(i), widgets.get(i));
+			}
+		}
+		for (int i = 0; i < 500; i++) {
+			assertMapped(elements.get(i), widgets.get(i));
+			viewer.unmap(elements.get(i));
+			for (int j = i + 1; j < 500; j += 37) {
+				assertMapped(elements.get(j), widgets.get(j));
+			}
+		}
+	}
+
+	@Test
+	public void testSeveralWidgets() {
+		Element element = new Element("a", 1);
+		Widget widget1 = newWidget();
+		Widget widget2 = newWidget();
+		Widget widget3 = newWidget();
+		viewer.map(element, widget1);
+		viewer.map(element, widget2);
+		viewer.map(element, widget2);
+		viewer.map(element, widget3);
+		assertMapped(element, widget1, widget2, widget3);
+
+		viewer.unmap(element, widget2);
+		assertMapped(element, widget1, widget3);
+		viewer.unmap(element, widget1);
+		assertMapped(element, widget3);
+		viewer.unmap(element, widget1);
+		assertMapped(element, widget3);
+		viewer.unmap(element, widget3);
+		assertMapped(element);
+	}
+
+	@Test
+	public void testComparer() {
+		IElementComparer comparer = new IElementComparer() {
+			@Override
+			public boolean equals(Object a, Object b) {
+				// the viewer also compares elements with its null input
+				return b != null && a.toString().equalsIgnoreCase(b.toString());
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return element.toString().toLowerCase().hashCode();
+			}
+		};
+		// the hash codes of the elements differ, the comparer makes them equal
+		Element lower = new Element("name", 1);
+		Element upper = new Element("NAME", 2);
+		Widget widget = newWidget();
+		viewer.setComparer(comparer);
+		viewer.map(lower, widget);
+		assertMapped(upper, widget);
+		assertMapped(new Element("other", 1));
+
+		// the elements are mapped again when the comparer changes
+		viewer.setComparer(null);
+		assertMapped(lower, widget);
+		assertMapped(upper);
+		viewer.setComparer(comparer);
+		assertMapped(upper, widget);
+
+		viewer.unmap(upper);
+		assertMapped(lower);
+	}
+
+	@Test
+	public void testNullRejected() {
+		Widget widget = newWidget();
+		assertThrows(NullPointerException.class, () -> viewer.map(null, widget));
+		assertThrows(NullPointerException.class, () -> viewer.map(new Element("a", 1), null));
+		assertMapped(new Element("a", 1));
+	}
+}
@@ -17,6 +17,7 @@ package org.eclipse.jface.tests.viewers;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.jface.viewers.ListViewer;
+import org.eclipse.jface.viewers.SortKeyViewerComparator;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.jface.viewers.ViewerSorter;
@@ -64,6 +65,19 @@ public class ListViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
 	}
 
+	@Test
+	public void testSortKeyViewerComparator() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		assertSortedResult(TEAM1_SORTED);
+	}
+
+	@Test
+	public void testSortKeyViewerComparatorInsertElement() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		team1.addMember("Duong");
+		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
+	}
+
 	private void assertSortedResult(String[] expected) {
 		String[] items = getListViewer().getList().getItems();
 		for (int i = 0; i < items.length; i++) {
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Random;
+
+import org.eclipse.jface.viewers.SortKeyViewerComparator;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.junit.Test;
+
+/**
+ * Tests that {@link SortKeyViewerComparator} sorts like {@link ViewerComparator}
+ * and asks for the category of each element only once.
+ */
+public class SortKeyViewerComparatorTest {
+
+	private static final String[] WORDS = { "apple", "Apple", "äpfel", "Banana", "banana", "cherry", "Çelik", "date",
+			"Éclair", "eclair", "fig", "" };
+
+	/**
+	 * Element whose label is its name, the category is its number.
+	 */
+	private static class Element {
+		final String name;
+		final int category;
+
+		Element(String name, int category) {
+			this.name = name;
+			this.category = category;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static class CountingComparator extends SortKeyViewerComparator {
+		int categoryCalls;
+
+		CountingComparator(Comparator<? super String> comparator) {
+			super(comparator);
+		}
+
+		@Override
+		public int category(Object element) {
+			categoryCalls++;
+			return ((Element) element).category;
+		}
+	}
+
+	private static ViewerComparator createViewerComparator(Comparator<? super String> comparator) {
+		return new ViewerComparator(comparator) {
+			@Override
+			public int category(Object element) {
+				return ((Element) element).category;
+			}
+		};
+	}
+
+	private static Element[] createElements(int count, int categories) {
+		Random random = new Random(count);
+		Element[] elements = new Element[count];
+		for (int i = 0; i < count; i++) {
+			elements[i] = new Element(WORDS[random.nextInt(WORDS.length)] + random.nextInt(count / 4 + 1),
+					random.nextInt(categories));
+		}
+		return elements;
+	}
+
+	private static void assertSortsLikeViewerComparator(Comparator<? super String> comparator, int count) {
+		Element[] elements = createElements(count, 3);
+		Element[] expected = elements.clone();
+		createViewerComparator(comparator).sort(null, expected);
+
+		CountingComparator sortKeyComparator = new CountingComparator(comparator);
+		sortKeyComparator.sort(null, elements);
+		assertArrayEquals(expected, elements);
+		assertEquals("category() calls", count, sortKeyComparator.categoryCalls);
+	}
+
+	@Test
+	public void testDefaultComparator() {
+		assertSortsLikeViewerComparator(null, 1000);
+	}
+
+	@Test
+	public void testStringComparator() {
+		assertSortsLikeViewerComparator(String.CASE_INSENSITIVE_ORDER, 1000);
+	}
+
+	@Test
+	public void testCollator() {
+		Collator collator = Collator.getInstance(Locale.GERMAN);
+		assertSortsLikeViewerComparator(collator, 1000);
+	}
+
+	@Test
+	public void testCollatorParallelSort() {
+		Collator collator = Collator.getInstance(Locale.FRENCH);
+		assertSortsLikeViewerComparator(collator, 50000);
+	}
+
+	@Test
+	public void testEmptyAndSingleElement() {
+		SortKeyViewerComparator comparator = new SortKeyViewerComparator();
+		Object[] empty = {};
+		comparator.sort(null, empty);
+		Object[] single = { "a" };
+		comparator.sort(null, single);
+		assertArrayEquals(new Object[] { "a" }, single);
+	}
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 
 import org.eclipse.jface.viewers.ColumnLayoutData;
 import org.eclipse.jface.viewers.ColumnWeightData;
+import org.eclipse.jface.viewers.SortKeyViewerComparator;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.TableLayout;
 import org.eclipse.jface.viewers.TableViewer;
@@ -89,6 +90,19 @@ public class TableViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
 	}
 
+	@Test
+	public void testSortKeyViewerComparator() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		assertSortedResult(TEAM1_SORTED);
+	}
+
+	@Test
+	public void testSortKeyViewerComparatorInsertElement() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		team1.addMember("Duong");
+		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
+	}
+
 	private void assertSortedResult(String[] expected) {
 		TableItem[] items = getTableViewer().getTable().getItems();
 		for (int i = 0; i < items.length; i++) {
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.SortKeyViewerComparator;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -131,6 +132,23 @@ public class TreeViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(expected);
 	}
 
+	@Test
+	public void testSortKeyViewerComparator() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		getTreeViewer().expandAll();
+		String[][] expected = { TEAM3_SORTED, TEAM2_SORTED, TEAM1_SORTED };
+		assertSortedResult(expected);
+	}
+
+	@Test
+	public void testSortKeyViewerComparatorInsertElement() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		getTreeViewer().expandAll();
+		team1.addMember("Duong");
+		String[][] expected = { TEAM3_SORTED, TEAM2_SORTED, TEAM1_SORTED_WITH_INSERT };
+		assertSortedResult(expected);
+	}
+
 	private void assertSortedResult(String[][] resultArrays) {
 		TreeItem[] rootItems = getTreeViewer().getTree().getItems();
 		assertEquals("Number of root items in tree not correct (actual=" + rootItems.length + ")", 3, rootItems.length);
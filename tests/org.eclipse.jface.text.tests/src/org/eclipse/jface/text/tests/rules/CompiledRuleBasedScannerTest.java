@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.CompiledRuleBasedScanner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.ICharacterScanner;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.PatternRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordPatternRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+/**
+ * Differential test comparing the tokens of {@link CompiledRuleBasedScanner} with the tokens of
+ * {@link RuleBasedScanner} on random documents.
+ */
+public class CompiledRuleBasedScannerTest {
+
+	private static final IToken COMMENT= new Token("comment");
+	private static final IToken STRING= new Token("string");
+	private static final IToken CHARACTER= new Token("character");
+	private static final IToken KEYWORD= new Token("keyword");
+	private static final IToken WORD= new Token("word");
+	private static final IToken NUMBER= new Token("number");
+	private static final IToken WHITESPACE= new Token("whitespace");
+	private static final IToken TAG= new Token("tag");
+	private static final IToken ANNOTATION= new Token("annotation");
+	private static final IToken DEFAULT= new Token("default");
+
+	private static final String[] FRAGMENTS= { "//", "/*", "*/", "/", "*", "\"", "'", "\\", "\n", "\r\n", "\r", " ", "\t",
+			"if", "while", "While", "x", "foo_1", "123", "4", "<", ">", "<b>", "@Override", "@", "ä", "€", "あ", "${", "}" };
+
+	private static class JavaWordDetector implements IWordDetector {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isJavaIdentifierStart(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isJavaIdentifierPart(c);
+		}
+	}
+
+	/** A rule of an unknown class, matching '@' followed by letters. */
+	private static class AnnotationRule implements IRule {
+		@Override
+		public IToken evaluate(ICharacterScanner scanner) {
+			if (scanner.read() != '@') {
+				scanner.unread();
+				return Token.UNDEFINED;
+			}
+			int c;
+			do {
+				c= scanner.read();
+			} while (c != ICharacterScanner.EOF && Character.isLetter((char) c));
+			scanner.unread();
+			return ANNOTATION;
+		}
+	}
+
+	private static IRule[] createJavaRules() {
+		WordRule keywords= new WordRule(new JavaWordDetector(), WORD);
+		keywords.addWord("if", KEYWORD);
+		keywords.addWord("while", KEYWORD);
+		return new IRule[] {
+				new EndOfLineRule("//", COMMENT),
+				new MultiLineRule("/*", "*/", COMMENT, (char) 0, true),
+				new SingleLineRule("\"", "\"", STRING, '\\'),
+				new SingleLineRule("'", "'", CHARACTER, '\\', false, true),
+				new WhitespaceRule(Character::isWhitespace, WHITESPACE),
+				new AnnotationRule(),
+				keywords,
+				new NumberRule(NUMBER),
+				new WordPatternRule(new JavaWordDetector(), "$", "}", TAG) };
+	}
+
+	private static IRule[] createConstrainedRules() {
+		WordRule keywords= new WordRule(new JavaWordDetector(), Token.UNDEFINED, true);
+		keywords.addWord("while", KEYWORD);
+		keywords.setColumnConstraint(1);
+		NumberRule numbers= new NumberRule(NUMBER);
+		numbers.setColumnConstraint(0);
+		PatternRule tags= new PatternRule("<", ">", TAG, (char) 0, false);
+		tags.setColumnConstraint(0);
+		return new IRule[] {
+				keywords,
+				numbers,
+				tags,
+				new MultiLineRule("\"", "\"", STRING, '\\', false),
+				new PatternRule("${", "}", TAG, '\\', true, true, true) };
+	}
+
+	@Test
+	public void testJavaRules() {
+		assertSameTokens(1, false);
+	}
+
+	@Test
+	public void testConstrainedRules() {
+		assertSameTokens(2, true);
+	}
+
+	@Test
+	public void testEmptyDocument() {
+		CompiledRuleBasedScanner scanner= new CompiledRuleBasedScanner();
+		scanner.setRules(createJavaRules());
+		scanner.setRange(new Document(), 0, 0);
+		assertSame(Token.EOF, scanner.nextToken());
+	}
+
+	@Test
+	public void testNoRules() {
+		IDocument document= new Document("if (x) {}");
+		RuleBasedScanner expected= new RuleBasedScanner();
+		expected.setDefaultReturnToken(DEFAULT);
+		CompiledRuleBasedScanner actual= new CompiledRuleBasedScanner();
+		actual.setDefaultReturnToken(DEFAULT);
+		assertSameTokens(document, 0, document.getLength(), expected, actual);
+	}
+
+	private void assertSameTokens(long seed, boolean constrained) {
+		Random random= new Random(seed);
+		for (int i= 0; i < 200; i++) {
+			StringBuilder buffer= new StringBuilder();
+			int fragments= random.nextInt(100);
+			for (int j= 0; j < fragments; j++)
+				buffer.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+			IDocument document= new Document(buffer.toString());
+
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= random.nextInt(document.getLength() - offset + 1);
+			if (i % 2 == 0) {
+				offset= 0;
+				length= document.getLength();
+			}
+
+			RuleBasedScanner expected= new RuleBasedScanner();
+			expected.setRules(constrained ? createConstrainedRules() : createJavaRules());
+			expected.setDefaultReturnToken(DEFAULT);
+			CompiledRuleBasedScanner actual= new CompiledRuleBasedScanner(1 + random.nextInt(16));
+			actual.setRules(constrained ? createConstrainedRules() : createJavaRules());
+			actual.setDefaultReturnToken(DEFAULT);
+			assertSameTokens(document, offset, length, expected, actual);
+		}
+	}
+
+	private void assertSameTokens(IDocument document, int offset, int length, RuleBasedScanner expected, RuleBasedScanner actual) {
+		expected.setRange(document, offset, length);
+		actual.setRange(document, offset, length);
+		IToken token;
+		do {
+			token= expected.nextToken();
+			String message= "'" + document.get() + "' at " + expected.getTokenOffset();
+			assertSame(message, token, actual.nextToken());
+			assertEquals(message, expected.getTokenOffset(), actual.getTokenOffset());
+			assertEquals(message, expected.getTokenLength(), actual.getTokenLength());
+			assertEquals(message, expected.getColumn(), actual.getColumn());
+		} while (!token.isEOF());
+	}
+}
@@ -15,6 +15,8 @@ package org.eclipse.jface.text.tests.rules;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -321,6 +323,68 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testEditInsideLongComment() throws BadLocationException {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 20; i++) {
+			buffer.append("class X").append(i).append(" {}\n/*\n");
+			for (int j= 0; j < 50; j++)
+				buffer.append(" * line ").append(j).append('\n');
+			buffer.append(" */\n");
+		}
+		fDoc.set(buffer.toString());
+
+		int offset= fDoc.getLineOffset(30) + 3;
+		fDoc.replace(offset, 0, "x");
+		assertSamePartitioning();
+		fDoc.replace(offset, 1, "*/");
+		assertSamePartitioning();
+		fDoc.replace(offset, 2, "");
+		assertSamePartitioning();
+		fDoc.replace(fDoc.getLineOffset(40), 0, "/*");
+		assertSamePartitioning();
+		fDoc.replace(fDoc.getLineOffset(52), 4, "");
+		assertSamePartitioning();
+	}
+
+	@Test
+	public void testRandomEdits() throws BadLocationException {
+		String[] fragments= { "/*", "*/", "*", "/", "\n", "x", "/* a */", "\r\n" };
+		Random random= new Random(42);
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 200; i++)
+			buffer.append(fragments[random.nextInt(fragments.length)]).append(i % 5 == 0 ? "\n" : " ");
+		fDoc.set(buffer.toString());
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDoc.getLength() + 1);
+			int length= Math.min(random.nextInt(4), fDoc.getLength() - offset);
+			fDoc.replace(offset, length, random.nextBoolean() ? fragments[random.nextInt(fragments.length)] : "");
+			assertSamePartitioning();
+		}
+	}
+
+	/**
+	 * Asserts that the partitioning after the previous changes equals the partitioning computed
+	 * from scratch.
+	 */
+	private void assertSamePartitioning() {
+		IDocument document= new Document(fDoc.get());
+		IDocumentPartitioner partitioner= createPartitioner(new RuleBasedPartitionScanner() {
+			{
+				setPredicateRules(new IPredicateRule[] { new MultiLineRule("/*", "*/", new Token(COMMENT)) });
+			}
+		});
+		document.setDocumentPartitioner(partitioner);
+		partitioner.connect(document);
+
+		ITypedRegion[] expected= partitioner.computePartitioning(0, document.getLength());
+		ITypedRegion[] actual= fPartitioner.computePartitioning(0, fDoc.getLength());
+		assertEquals(expected.length, actual.length);
+		for (int i= 0; i < expected.length; i++)
+			assertTypedRegion(actual[i], expected[i].getOffset(), expected[i].getOffset() + expected[i].getLength(), expected[i].getType());
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
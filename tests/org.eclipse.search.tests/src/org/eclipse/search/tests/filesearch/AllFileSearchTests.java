@@ -26,7 +26,9 @@ import org.junit.runners.Suite.SuiteClasses;
 		PositionTrackerTest.class,
 		ResultUpdaterTest.class,
 		SearchResultPageTest.class,
-		SortingTest.class
+		SortingTest.class,
+		TrigramIndexTest.class,
+		TrigramQueryTest.class
 })
 public class AllFileSearchTests {
 	@ClassRule
@@ -16,7 +16,10 @@
 package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -39,6 +42,7 @@ import org.eclipse.search.core.text.TextSearchEngine;
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
 import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.text.FileSegmentSearcher;
 import org.eclipse.search.internal.core.text.PatternConstructor;
 import org.eclipse.search.internal.ui.SearchPlugin;
 import org.eclipse.search.tests.ResourceHelper;
@@ -481,6 +485,73 @@ public class FileSearchTests {
 		assertEquals(0, collector.getNumberOfResults());
 	}
 
+	@Test
+	public void testLargeFileSerial() throws Exception {
+		testLargeFile(new SerialTestResultCollector());
+	}
+
+	@Test
+	public void testLargeFileParallel() throws Exception {
+		testLargeFile(new ParallelTestResultCollector());
+	}
+
+	private void testLargeFile(TestResultCollector collector) throws Exception {
+		String content= createLargeFileContent();
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file= ResourceHelper.createFile(folder, "file1", content, StandardCharsets.UTF_8.name());
+
+		Pattern searchPattern= PatternConstructor.createPattern("h?llo", false, false);
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, (String[]) null, false);
+		TextSearchEngine.create().search(scope, collector, searchPattern, null);
+
+		TestResult[] results= collector.getResults();
+		int lines= content.split("\n").length;
+		assertEquals("Number of total results", lines, results.length);
+		for (int i= 0; i < results.length; i++) {
+			assertEquals(file, results[i].resource);
+			String match= content.substring(results[i].offset, results[i].offset + results[i].length);
+			assertEquals("Wrong positions", i % 7 == 0 ? "hello" : "höllo", match);
+		}
+	}
+
+	@Test
+	public void testLargeFileAnchors() throws Exception {
+		assertTrue(FileSegmentSearcher.isLineLocal(Pattern.compile("^line \\d+$", Pattern.MULTILINE)));
+		assertFalse(FileSegmentSearcher.isLineLocal(Pattern.compile("^line")));
+		assertFalse(FileSegmentSearcher.isLineLocal(Pattern.compile("höllo$")));
+		assertFalse(FileSegmentSearcher.isLineLocal(Pattern.compile("\\Aline")));
+		assertFalse(FileSegmentSearcher.isLineLocal(Pattern.compile("höllo\\Z")));
+
+		String content= createLargeFileContent();
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		ResourceHelper.createFile(folder, "file1", content, StandardCharsets.UTF_8.name());
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, (String[]) null, false);
+
+		// without MULTILINE, ^ only matches at the start of the file and not at the start of a segment
+		TestResultCollector collector= new SerialTestResultCollector();
+		TextSearchEngine.create().search(scope, collector, Pattern.compile("^line \\d+"), null);
+		TestResult[] results= collector.getResults();
+		assertEquals("Number of total results", 1, results.length);
+		assertEquals(0, results[0].offset);
+
+		collector= new SerialTestResultCollector();
+		TextSearchEngine.create().search(scope, collector, Pattern.compile("^line \\d+", Pattern.MULTILINE), null);
+		assertEquals("Number of total results", content.split("\n").length, collector.getNumberOfResults());
+	}
+
+	/**
+	 * Returns the content of a file that is large enough to be searched in several segments.
+	 */
+	private static String createLargeFileContent() {
+		StringBuilder buf= new StringBuilder();
+		int lines= 0;
+		while (buf.length() < 3_000_000) {
+			buf.append("line ").append(lines).append(lines % 7 == 0 ? " hello wörld\n" : " höllo\r\n");
+			lines++;
+		}
+		return buf.toString();
+	}
+
 	@Test
 	public void testFileNamePatternsSerial() throws Exception {
 		testFileNamePatterns(new SerialTestResultCollector());
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.IndexedTextSearchEngine;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
+import org.eclipse.search.internal.core.text.TrigramQuery;
+import org.eclipse.search.tests.ResourceHelper;
+
+public class TrigramIndexTest {
+
+	@Rule
+	public TemporaryFolder fTemporaryFolder= new TemporaryFolder();
+
+	private IProject fProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("my-project"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject("my-project"); //$NON-NLS-1$
+	}
+
+	private static int[] trigrams(String... literals) throws IOException {
+		BitSet trigrams= new BitSet();
+		for (String literal : literals) {
+			TrigramIndex.collectTrigrams(new StringReader(literal), trigrams);
+		}
+		return trigrams.stream().toArray();
+	}
+
+	private static int[] query(String pattern, boolean isRegex) {
+		return TrigramQuery.getTrigrams(PatternConstructor.createPattern(pattern, isRegex, true, false, false));
+	}
+
+	@Test
+	public void testSelectCandidates() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "Hello World");
+		IFile file2= ResourceHelper.createFile(folder, "file2", "goodbye world");
+		IFile file3= ResourceHelper.createFile(folder, "file3", "not indexed");
+		IFile[] files= { file1, file2, file3 };
+
+		TrigramIndex index= new TrigramIndex();
+		add(index, file1, "Hello World");
+		add(index, file2, "goodbye world");
+
+		assertSelection(new IFile[] { file1, file3 }, index.selectCandidates(files, query("hello", false)));
+		assertSelection(new IFile[] { file1, file2, file3 }, index.selectCandidates(files, query("WORLD", false)));
+		assertSelection(new IFile[] { file3 }, index.selectCandidates(files, query("hello world again", false)));
+
+		// a changed file is selected until it is indexed again
+		file2.setContents(new ByteArrayInputStream("hello again".getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+		assertSelection(new IFile[] { file1, file2, file3 }, index.selectCandidates(files, query("hello", false)));
+		add(index, file2, "hello again");
+		assertSelection(new IFile[] { file2, file3 }, index.selectCandidates(files, query("again", false)));
+		assertEquals(2, index.getFileCount());
+
+		index.remove(file1.getFullPath().toString());
+		assertSelection(new IFile[] { file1, file2, file3 }, index.selectCandidates(files, query("hello", false)));
+		assertEquals(1, index.getFileCount());
+	}
+
+	@Test
+	public void testReadWrite() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		List<IFile> files= new ArrayList<>();
+		TrigramIndex index= new TrigramIndex();
+		for (int i= 0; i < 200; i++) {
+			String content= "file " + i + " contains " + Integer.toHexString(i * 7919) + "\nlänge\n";
+			IFile file= ResourceHelper.createFile(folder, "file" + i, content);
+			files.add(file);
+			add(index, file, content);
+		}
+		// replaced and removed files leave ids behind that are compacted when writing
+		for (int i= 0; i < 200; i+= 3) {
+			add(index, files.get(i), "replaced " + i);
+		}
+		index.remove(files.get(1).getFullPath().toString());
+
+		File indexFile= fTemporaryFolder.newFile("trigram.index");
+		index.write(indexFile);
+		TrigramIndex read= TrigramIndex.read(indexFile);
+		assertEquals(index.getFileCount(), read.getFileCount());
+
+		IFile[] scope= files.toArray(new IFile[files.size()]);
+		for (String pattern : new String[] { "contains", "replaced", "LÄNGE", "file 1", "e 12 c", "42" }) {
+			int[] trigrams= query(pattern, false);
+			if (trigrams != null) {
+				assertSelection(index.selectCandidates(scope, trigrams).toArray(new IFile[0]), read.selectCandidates(scope, trigrams));
+			}
+		}
+	}
+
+	@Test
+	public void testReplaceMany() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "Hello World");
+		IFile file2= ResourceHelper.createFile(folder, "file2", "goodbye world");
+		IFile[] files= { file1, file2 };
+
+		TrigramIndex index= new TrigramIndex();
+		add(index, file1, "Hello World");
+		// the ids of the replaced entries are compacted while the files are indexed
+		for (int i= 0; i <= 5000; i++) {
+			add(index, file2, i % 2 == 0 ? "goodbye world" : "hello again");
+		}
+		assertEquals(2, index.getFileCount());
+		assertSelection(new IFile[] { file1, file2 }, index.selectCandidates(files, query("world", false)));
+		assertSelection(new IFile[] { file1 }, index.selectCandidates(files, query("hello", false)));
+		assertSelection(new IFile[] { file2 }, index.selectCandidates(files, query("goodbye", false)));
+	}
+
+	@Test
+	public void testIndexedTextSearchEngine() throws Exception {
+		TrigramIndexManager manager= SearchCorePlugin.getDefault().getTrigramIndexManager();
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "File1\nhello\nmore hello\nworld\n");
+		IFile file2= ResourceHelper.createFile(folder, "file2", "File2\ngoodbye\nworld\n");
+		manager.join();
+
+		Pattern pattern= PatternConstructor.createPattern("hello", false, true);
+		IFile[] scope= { file1, file2 };
+		assertArrayEquals(new IFile[] { file1 }, manager.selectCandidates(scope, pattern));
+		assertEquals(2, search(pattern).size());
+
+		// changes are searched before they are indexed
+		file2.setContents(new ByteArrayInputStream("hello again".getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+		assertEquals(3, search(pattern).size());
+		manager.join();
+		assertArrayEquals(new IFile[] { file1, file2 }, manager.selectCandidates(scope, pattern));
+		assertEquals(3, search(pattern).size());
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		TrigramIndexManager manager= new TrigramIndexManager(new File(fTemporaryFolder.getRoot(), "trigram.index")); //$NON-NLS-1$
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "hello world");
+		IFile file2= ResourceHelper.createFile(folder, "file2", "goodbye world");
+		IFile file3= ResourceHelper.createFile(folder, "file3", "goodbye");
+		IFile file4= ResourceHelper.createFile(folder, "file4", "again");
+		IFile[] scope= { file1, file2, file3, file4 };
+		assertEquals(-1, manager.getBuildTime());
+		assertEquals(-1, manager.getIndexSize());
+		assertEquals(0, manager.getHitRate(), 0);
+
+		manager.startup();
+		try {
+			manager.join();
+			assertTrue(manager.getIndexedFileCount() >= scope.length);
+			assertTrue(manager.getBuildTime() >= 0);
+			assertTrue(manager.getIndexSize() > 0);
+
+			assertArrayEquals(new IFile[] { file1 }, manager.selectCandidates(scope, PatternConstructor.createPattern("hello", false, true))); //$NON-NLS-1$
+			assertEquals(0.75, manager.getHitRate(), 0.001);
+			// the index does not help with short literals
+			assertArrayEquals(scope, manager.selectCandidates(scope, PatternConstructor.createPattern("ab", false, true))); //$NON-NLS-1$
+			assertEquals(0.375, manager.getHitRate(), 0.001);
+		} finally {
+			manager.shutdown();
+		}
+	}
+
+	private List<IFile> search(Pattern pattern) {
+		List<IFile> matches= new ArrayList<>();
+		TextSearchRequestor requestor= new TextSearchRequestor() {
+			@Override
+			public boolean acceptPatternMatch(TextSearchMatchAccess matchAccess) throws CoreException {
+				matches.add(matchAccess.getFile());
+				return true;
+			}
+		};
+		TextSearchScope scope= TextSearchScope.newSearchScope(new IResource[] { fProject }, null, false);
+		new IndexedTextSearchEngine().search(scope, requestor, pattern, null);
+		return matches;
+	}
+
+	private static void add(TrigramIndex index, IFile file, String content) throws IOException {
+		BitSet trigrams= new BitSet();
+		TrigramIndex.collectTrigrams(new StringReader(content), trigrams);
+		index.add(file.getFullPath().toString(), file.getModificationStamp(), trigrams);
+	}
+
+	private static void assertSelection(IFile[] expected, List<IFile> actual) {
+		assertArrayEquals(expected, actual.toArray(new IFile[actual.size()]));
+	}
+}
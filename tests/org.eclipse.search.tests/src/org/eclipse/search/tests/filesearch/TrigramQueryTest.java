@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramQuery;
+
+public class TrigramQueryTest {
+
+	private static int[] trigrams(String... literals) throws IOException {
+		BitSet trigrams= new BitSet();
+		for (String literal : literals) {
+			TrigramIndex.collectTrigrams(new StringReader(literal), trigrams);
+		}
+		return trigrams.stream().toArray();
+	}
+
+	private static int[] query(String pattern, boolean isRegex) {
+		return TrigramQuery.getTrigrams(PatternConstructor.createPattern(pattern, isRegex, true, false, false));
+	}
+
+	@Test
+	public void testQuery() throws Exception {
+		assertArrayEquals(trigrams("hello"), query("hello", false));
+		assertArrayEquals(trigrams("hello"), query("HeLLo", false));
+		assertArrayEquals(trigrams("a.b"), query("a.b*c", false));
+		assertArrayEquals(trigrams("foo", "barbaz"), query("foo.*barbaz", true));
+		assertArrayEquals(trigrams("hello", "world"), query("hello+world", true));
+		assertArrayEquals(trigrams("a.bc"), query("a\\.bc", true));
+		assertArrayEquals(trigrams("size", "length"), query("size(\\w+)length", true));
+		assertArrayEquals(trigrams("abc"), query("ab?abc", true));
+
+		assertNull(query("ab", false));
+		assertNull(query("foo|bar", true));
+		assertArrayEquals(trigrams("hello"), query("(?i)hello", true));
+		assertNull(query("(?x)hello", true));
+		assertNull(query("(?<=a)hello", true));
+		assertNull(query("hel?lo", true));
+		assertNull(query("a[bcd]ef", true));
+		assertNull(query("ab{2}c", true));
+		assertNull(query("\\x41BC", true));
+		assertNull(query("(hello)", true));
+	}
+
+	@Test
+	public void testQuotedQuery() throws Exception {
+		assertArrayEquals(trigrams("abc"), query("\\Qabc\\E", true));
+		assertArrayEquals(trigrams("x.bcd"), query("x\\Q.bc\\Ed", true));
+		assertArrayEquals(trigrams("abc"), query("\\Qabc", true));
+		assertArrayEquals(trigrams("abc"), query("\\Q\\Eabc", true));
+
+		// a quantifier applies to the last quoted character only
+		assertNull(query("\\Qabc\\E?", true));
+		assertNull(query("\\Qabc\\E*", true));
+		assertNull(query("\\Qabc\\E{0,2}", true));
+		assertArrayEquals(trigrams("abc"), query("\\Qabcd\\E?", true));
+		assertArrayEquals(trigrams("abc"), query("\\Qabcd\\E*x", true));
+		assertArrayEquals(trigrams("abc", "xyz"), query("\\Qabc\\E+xyz", true));
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.text.quicksearch.internal.core.ResourceWalker;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceWalkerTest {
+
+	private static final int FILES = 40;
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName() + System.currentTimeMillis());
+		project.create(null);
+		project.open(null);
+		for (int i = 0; i < FILES; i++) {
+			project.getFile("file" + i).create(new ByteArrayInputStream(new byte[0]), true, null);
+		}
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		project.delete(true, null);
+	}
+
+	/**
+	 * Files that take longer to search are taken first, but their results must still come first.
+	 */
+	@Test
+	public void testResultsInPriorityOrder() throws Exception {
+		List<String> results = new ArrayList<>();
+		ResourceWalker<String> walker = new ResourceWalker<>() {
+			@Override
+			protected boolean searchIn(IFile f, BooleanSupplier canceled, Consumer<String> found) {
+				int index = indexOf(f);
+				try {
+					Thread.sleep(index % 4 == 0 ? 20 : 1);
+				} catch (InterruptedException e) {
+					return false;
+				}
+				found.accept(f.getName() + "/1");
+				found.accept(f.getName() + "/2");
+				return true;
+			}
+
+			@Override
+			protected void accept(String result) {
+				results.add(result);
+			}
+		};
+		walker.setPriorityFun(new PriorityFunction() {
+			@Override
+			public double priority(IResource r) {
+				if (r.getType() == IResource.PROJECT) {
+					return r.equals(project) ? PRIORITY_DEFAULT : PRIORITY_IGNORE;
+				}
+				return r.getType() == IResource.FILE ? FILES - indexOf(r) : PRIORITY_DEFAULT;
+			}
+		});
+		walker.schedule();
+		walker.join();
+
+		assertTrue(walker.isDone());
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < FILES; i++) {
+			expected.add("file" + i + "/1");
+			expected.add("file" + i + "/2");
+		}
+		assertEquals(expected, results);
+	}
+
+	private static int indexOf(IResource file) {
+		return Integer.parseInt(file.getName().substring("file".length()));
+	}
+}
@@ -15,11 +15,16 @@ package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Random;
+
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
 
 public class DefaultLineTrackerTest {
 
@@ -37,4 +42,70 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testSetLargeText() throws BadLocationException {
+		String text = createText(3 * 1024 * 1024 + 17);
+		ILineTracker expected = new ConfigurableLineTracker(DefaultLineTracker.DELIMITERS);
+		expected.set(text);
+
+		DefaultLineTracker tracker = new DefaultLineTracker();
+		tracker.set(text);
+		assertSameLines(expected, tracker);
+
+		// switches to the tree implementation
+		tracker.replace(0, 0, "");
+		expected.replace(0, 0, "");
+		tracker.set(text);
+		assertSameLines(expected, tracker);
+
+		tracker.replace(text.length() - 1, 1, "\r");
+		expected.replace(text.length() - 1, 1, "\r");
+		tracker.replace(text.length() / 2, 100, "a\r\nb\rc\n");
+		expected.replace(text.length() / 2, 100, "a\r\nb\rc\n");
+		tracker.replace(0, 3, "");
+		expected.replace(0, 3, "");
+		assertSameLines(expected, tracker);
+	}
+
+	@Test
+	public void testSetText() throws BadLocationException {
+		String[] texts = { "", "a", "\n", "\r", "\r\n", "\n\r", "a\r\n", "a\r\nb", "\r\r\n\n", createText(5000) };
+		for (String text : texts) {
+			ILineTracker expected = new DefaultLineTracker();
+			expected.replace(0, 0, text);
+
+			DefaultLineTracker tracker = new DefaultLineTracker();
+			tracker.replace(0, 0, "");
+			tracker.set(text);
+			assertSameLines(expected, tracker);
+
+			tracker.replace(0, 0, "x\n");
+			expected.replace(0, 0, "x\n");
+			assertSameLines(expected, tracker);
+		}
+	}
+
+	private static String createText(int length) {
+		// many delimiters, so that "\r\n" is split at some chunk boundaries
+		char[] chars = { 'a', 'b', '\r', '\n' };
+		Random random = new Random(42);
+		StringBuilder buffer = new StringBuilder(length);
+		for (int i = 0; i < length; i++)
+			buffer.append(chars[random.nextInt(chars.length)]);
+		return buffer.toString();
+	}
+
+	private static void assertSameLines(ILineTracker expected, ILineTracker actual) throws BadLocationException {
+		int lines = expected.getNumberOfLines();
+		assertEquals(lines, actual.getNumberOfLines());
+		for (int i = 0; i < lines; i++) {
+			assertEquals(expected.getLineOffset(i), actual.getLineOffset(i));
+			assertEquals(expected.getLineLength(i), actual.getLineLength(i));
+			assertEquals(expected.getLineDelimiter(i), actual.getLineDelimiter(i));
+		}
+		int length = expected.getLineOffset(lines - 1) + expected.getLineLength(lines - 1);
+		for (int offset = 0; offset <= length; offset += 997)
+			assertEquals(expected.getLineNumberOfOffset(offset), actual.getLineNumberOfOffset(offset));
+	}
 }
@@ -16,14 +16,23 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.Position;
 
 
@@ -355,4 +364,128 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	@Test
+	public void testFindOverlappingPositions() throws BadLocationException, BadPositionCategoryException {
+		Position[] positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 38, 1, true, true);
+		checkPositions(new Position[] { new Position(38, 111) }, positions);
+
+		positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 70, 10, true, true);
+		checkPositions(new Position[] { new Position(38, 111), new Position(61, 12), new Position(75, 27) }, positions);
+
+		fDocument.replace(0, 0, "\n");
+		positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 70, 10, true, true);
+		checkPositions(new Position[] { new Position(39, 111), new Position(62, 12), new Position(76, 27) }, positions);
+	}
+
+	@Test
+	public void testRandomPositionUpdates() throws BadLocationException, BadPositionCategoryException {
+		// the subclass updates all positions, the plain updater only the ones it considers affected
+		String category= "reference";
+		fDocument.addPositionCategory(category);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(category) {
+		});
+
+		Random random= new Random(17);
+		List<Position> positions= new ArrayList<>();
+		List<Position> references= new ArrayList<>();
+		for (int i= 0; i < 3000; i++) {
+			int length= fDocument.getLength();
+			switch (random.nextInt(4)) {
+				case 0: {
+					int offset= random.nextInt(length + 1);
+					int positionLength= random.nextInt(length - offset + 1) / (1 + random.nextInt(10));
+					Position position= new Position(offset, positionLength);
+					Position reference= new Position(offset, positionLength);
+					fDocument.addPosition(position);
+					fDocument.addPosition(category, reference);
+					positions.add(position);
+					references.add(reference);
+					break;
+				}
+				case 1:
+					if (!positions.isEmpty()) {
+						int index= random.nextInt(positions.size());
+						fDocument.removePosition(positions.remove(index));
+						fDocument.removePosition(category, references.remove(index));
+					}
+					break;
+				default: {
+					int offset= random.nextInt(length + 1);
+					int replaced= Math.min(random.nextInt(20), length - offset);
+					fDocument.replace(offset, replaced, "abcdefghij".substring(random.nextInt(10)));
+				}
+			}
+
+			for (int j= 0; j < positions.size(); j++) {
+				Position position= positions.get(j);
+				Position reference= references.get(j);
+				assertEquals(reference, position);
+				assertEquals(reference.isDeleted(), position.isDeleted());
+			}
+
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length2= random.nextInt(50);
+			List<Position> expected= new ArrayList<>();
+			for (Position reference : fDocument.getPositions(IDocument.DEFAULT_CATEGORY)) {
+				if (new Position(offset, length2).overlapsWith(reference.getOffset(), reference.getLength()))
+					expected.add(reference);
+			}
+			// the order of positions with the same offset is not specified
+			Comparator<Position> order= Comparator.comparingInt(Position::getOffset).thenComparingInt(Position::getLength);
+			expected.sort(order);
+			Position[] actual= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, offset, length2, true, true);
+			Arrays.sort(actual, order);
+			checkPositions(expected.toArray(new Position[expected.size()]), actual);
+		}
+	}
+
+	@Test
+	public void testFindOverlappingPositionsWithCustomUpdater() throws BadLocationException, BadPositionCategoryException {
+		// moves a position without telling the document which one
+		Position moved= fDocument.getPositions(IDocument.DEFAULT_CATEGORY)[3];
+		assertEquals(new Position(61, 12), moved);
+		fDocument.addPositionUpdater(new IPositionUpdater() {
+			@Override
+			public void update(DocumentEvent event) {
+				moved.offset+= 100;
+			}
+		});
+		checkPositions(new Position[] { new Position(38, 111), new Position(61, 12), new Position(75, 27) },
+				fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 70, 10, true, true));
+
+		fDocument.replace(0, 0, "\n");
+		checkPositions(new Position[] { new Position(39, 111), new Position(76, 27) },
+				fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 70, 10, true, true));
+		checkPositions(new Position[] { new Position(162, 12) },
+				fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 165, 1, true, true));
+
+		// the removal must find the moved position although the updater did not report it
+		fDocument.removePosition(moved);
+		checkPositions(new Position[0], fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 165, 1, true, true));
+	}
+
+	/**
+	 * Document that modifies its position lists directly, like subclasses may do.
+	 */
+	private static class DirectAccessDocument extends Document {
+		DirectAccessDocument(String text) {
+			super(text);
+		}
+
+		void replaceFirstPosition(Position position) {
+			getDocumentManagedPositions().get(DEFAULT_CATEGORY).set(0, position);
+		}
+	}
+
+	@Test
+	public void testFindOverlappingPositionsAfterDirectListChange() throws BadLocationException, BadPositionCategoryException {
+		DirectAccessDocument document= new DirectAccessDocument("0123456789");
+		document.addPosition(new Position(2, 2));
+		checkPositions(new Position[] { new Position(2, 2) }, document.getPositions(IDocument.DEFAULT_CATEGORY, 3, 1, true, true));
+
+		// a removal and an addition that leave the number of positions unchanged
+		document.replaceFirstPosition(new Position(2, 1));
+		checkPositions(new Position[0], document.getPositions(IDocument.DEFAULT_CATEGORY, 3, 1, true, true));
+	}
 }
@@ -16,6 +16,7 @@
 package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
@@ -23,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Locale;
 import java.util.regex.PatternSyntaxException;
 
@@ -32,9 +34,17 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.text.undo.DocumentUndoManagerRegistry;
+import org.eclipse.text.undo.IDocumentUndoManager;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocumentRewriteSessionListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -243,6 +253,137 @@ public class FindReplaceDocumentAdapterTest {
 		}
 	}
 
+	@Test
+	public void testReplaceAll() throws Exception {
+		String original= fDocument.get();
+		int[] sessionEvents= new int[1];
+		IDocumentRewriteSessionListener listener= (DocumentRewriteSessionEvent event) -> sessionEvents[0]++;
+		fDocument.addDocumentRewriteSessionListener(listener);
+		DocumentUndoManagerRegistry.connect(fDocument);
+		IDocumentUndoManager undoManager= DocumentUndoManagerRegistry.getDocumentUndoManager(fDocument);
+		undoManager.connect(this);
+		try {
+			FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+			int count= findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "public", "private", true, false, false); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(3, count);
+			assertEquals(original.replace("public", "private"), fDocument.get()); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(2, sessionEvents[0]);
+
+			undoManager.undo();
+			assertEquals(original, fDocument.get());
+			assertFalse(undoManager.undoable());
+		} finally {
+			undoManager.disconnect(this);
+			DocumentUndoManagerRegistry.disconnect(fDocument);
+			fDocument.removeDocumentRewriteSessionListener(listener);
+		}
+	}
+
+	@Test
+	public void testReplaceAllInRange() throws Exception {
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		int offset= fDocument.get().indexOf("public void method1"); //$NON-NLS-1$
+		int count= findReplaceDocumentAdapter.replaceAll(offset, fDocument.getLength() - offset, "PUBLIC", "private", false, true, false); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, count);
+		assertTrue(fDocument.get().contains("	public class Class {")); //$NON-NLS-1$
+		assertTrue(fDocument.get().contains("		private void method1() {")); //$NON-NLS-1$
+		assertTrue(fDocument.get().contains("		private void method2() {")); //$NON-NLS-1$
+
+		assertEquals(0, findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "protected", "private", true, false, false)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testRegexReplaceAll() throws Exception {
+		fDocument.set("foo Foo FOO\nbar(1) bar(22)"); //$NON-NLS-1$
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		assertEquals(3, findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "foo", "\\Cxyz", false, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "bar\\((\\d+)\\)", "[$1]", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "x*(?=q)", "y", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("xyz Xyz XYZ\n[1] [22]", fDocument.get()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRegexReplaceAllEmptyMatches() throws Exception {
+		fDocument.set("a\nb\n\nc\n"); //$NON-NLS-1$
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		assertEquals(4, findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "^", "// ", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("// a\n// b\n// \n// c\n", fDocument.get()); //$NON-NLS-1$
+
+		fDocument.set("aab"); //$NON-NLS-1$
+		assertEquals(3, findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "a*", "X", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("aab".replaceAll("a*", "X"), fDocument.get()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testRegexReplaceAllGroupsInRange() throws Exception {
+		String original= "a(1) b(2) c(3) d(4)"; //$NON-NLS-1$
+		fDocument.set(original);
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		int offset= original.indexOf('b');
+		int length= original.indexOf('d') - offset;
+		assertEquals(2, findReplaceDocumentAdapter.replaceAll(offset, length, "(?<name>\\w)\\((\\d)\\)", "$2${name}\\$$10", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("a(1) " + original.substring(offset, offset + length).replaceAll("(?<name>\\w)\\((\\d)\\)", "$2${name}\\$$10") + "d(4)", fDocument.get()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals("a(1) 2b$b0 3c$c0 d(4)", fDocument.get()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRegexReplaceAllInvalidGroup() throws Exception {
+		fDocument.set("a(1) b(2)"); //$NON-NLS-1$
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		assertThrows(PatternSyntaxException.class, () -> findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "\\w\\((\\d)\\)", "$2", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertThrows(PatternSyntaxException.class, () -> findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "\\w\\((\\d)\\)", "${name}", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertThrows(PatternSyntaxException.class, () -> findReplaceDocumentAdapter.replaceAll(0, fDocument.getLength(), "\\w\\((\\d)\\)", "$x", true, false, true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("a(1) b(2)", fDocument.get()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testFindWithMonitor() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		while (buffer.length() < 3 * 1024 * 1024)
+			buffer.append("line ").append(buffer.length()).append(" of some text\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("needle and\nmore needles"); //$NON-NLS-1$
+		fDocument.set(buffer.toString());
+
+		Document copy= new Document(fDocument.get());
+		FindReplaceDocumentAdapter expected= new FindReplaceDocumentAdapter(fDocument);
+		FindReplaceDocumentAdapter actual= new FindReplaceDocumentAdapter(copy);
+		String[] patterns= { "needle", "needle.*", "ne+dle(s|\\R)*", "text\\Rline 1048", "(?s)and.*$", "\\bof\\b", "^line \\d+5 " }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+		int[] offsets= { 0, 1024 * 1024 - 10, 2 * 1024 * 1024, fDocument.getLength() - 30 };
+		for (String pattern : patterns) {
+			for (int offset : offsets) {
+				offset= Math.min(offset, fDocument.getLength());
+				IRegion region= expected.find(offset, pattern, true, true, false, true);
+				assertEquals(pattern + " at " + offset, region, actual.find(offset, pattern, true, true, false, true, new NullProgressMonitor())); //$NON-NLS-1$
+				if (region != null)
+					assertEquals(expected.replace("X", true), actual.replace("X", true)); //$NON-NLS-1$ //$NON-NLS-2$
+				// the chunked search must not leave its region on the matcher of the adapter
+				assertEquals(pattern + " backward at " + offset, expected.find(offset, pattern, false, true, false, true), actual.find(offset, pattern, false, true, false, true)); //$NON-NLS-1$
+			}
+		}
+		assertEquals(fDocument.get(), copy.get());
+	}
+
+	@Test
+	public void testFindCanceled() {
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		assertThrows(OperationCanceledException.class, () -> findReplaceDocumentAdapter.find(0, "public", true, true, false, false, monitor)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testFindInModifiedDocument() {
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				fDocument.set("modified"); //$NON-NLS-1$
+				return false;
+			}
+		};
+		assertThrows(ConcurrentModificationException.class, () -> findReplaceDocumentAdapter.find(0, "public", true, true, false, false, monitor)); //$NON-NLS-1$
+	}
+
 	@Test
 	@Ignore
 	public void _testRegexReplace() throws Exception {
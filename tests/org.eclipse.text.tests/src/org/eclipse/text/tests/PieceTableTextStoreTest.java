@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+public class PieceTableTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTableTextStore();
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(1234);
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder("0123456789abcdefghij\n".repeat(50));
+		store.set(expected.toString());
+
+		for (int i= 0; i < 5000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(20, expected.length() - offset) + 1);
+			String text= "x".repeat(random.nextInt(4)) + (random.nextBoolean() ? "\n" : "");
+			if (random.nextInt(10) == 0) {
+				// consecutive typing after the previous change
+				offset= Math.min(offset, expected.length());
+				length= 0;
+			}
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+
+			assertEquals(expected.length(), store.getLength());
+			if (expected.length() > 0) {
+				int probe= random.nextInt(expected.length());
+				assertEquals(expected.charAt(probe), store.get(probe));
+				int rangeLength= random.nextInt(expected.length() - probe + 1);
+				assertEquals(expected.substring(probe, probe + rangeLength), store.get(probe, rangeLength));
+			}
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testTyping() {
+		ITextStore store= createTextStore();
+		store.set("ab");
+		StringBuilder expected= new StringBuilder("ab");
+		for (int i= 0; i < 1000; i++) {
+			store.replace(1 + i, 0, "c");
+			expected.insert(1 + i, 'c');
+		}
+		store.replace(500, 2, null);
+		expected.delete(500, 502);
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < expected.length(); i++)
+			assertEquals(expected.charAt(i), store.get(i));
+	}
+
+	@Test
+	public void testLargeInsert() {
+		ITextStore store= createTextStore();
+		String large= "y".repeat(100 * 1024);
+		store.set("ab");
+		store.replace(1, 0, large);
+		store.replace(2, 0, "z");
+		assertEquals("a" + "y" + "z" + large.substring(1) + "b", store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testHeapOrderAfterSplits() throws ReflectiveOperationException {
+		ITextStore store= createTextStore();
+		store.set("x".repeat(100000));
+		Random random= new Random(42);
+		// every insert splits a piece in the middle
+		for (int i= 0; i < 20000; i++)
+			store.replace(random.nextInt(store.getLength() + 1), 0, "y");
+
+		Field root= PieceTableTextStore.class.getDeclaredField("fRoot");
+		root.setAccessible(true);
+		int depth= checkHeapOrder(root.get(store));
+		assertTrue("depth " + depth, depth < 100);
+	}
+
+	private static int checkHeapOrder(Object node) throws ReflectiveOperationException {
+		if (node == null)
+			return 0;
+		Class<?> nodeClass= node.getClass();
+		Field priority= nodeClass.getDeclaredField("fPriority");
+		Field left= nodeClass.getDeclaredField("fLeft");
+		Field right= nodeClass.getDeclaredField("fRight");
+		priority.setAccessible(true);
+		left.setAccessible(true);
+		right.setAccessible(true);
+		int depth= 0;
+		for (Field child : new Field[] { left, right }) {
+			Object childNode= child.get(node);
+			if (childNode != null)
+				assertTrue(priority.getInt(node) >= priority.getInt(childNode));
+			depth= Math.max(depth, checkHeapOrder(childNode));
+		}
+		return depth + 1;
+	}
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
+import org.eclipse.ui.tests.performance.BasicPerformanceTest;
+
+/**
+ * The ElementMapPerformanceTest measures the map from elements to items that
+ * viewers use when hash lookup is enabled. The elements are mapped to a small
+ * pool of items, so that the cost of the map is not hidden by the cost of
+ * creating the widgets.
+ */
+public class ElementMapPerformanceTest extends BasicPerformanceTest {
+
+	private static final int ELEMENTS = 1000000;
+
+	private static final int ITEMS = 1000;
+
+	private static final int ITERATIONS = 10;
+
+	private Shell shell;
+
+	private MapViewer viewer;
+
+	private Object[] elements;
+
+	private TableItem[] items;
+
+	/**
+	 * Exposes the mapping methods of the viewer.
+	 */
+	private static class MapViewer extends TableViewer {
+
+		MapViewer(Shell shell) {
+			super(shell, SWT.NONE);
+		}
+
+		void unmapAll() {
+			unmapAllElements();
+		}
+
+		void map(Object element, Widget item) {
+			mapElement(element, item);
+		}
+
+		void unmap(Object element, Widget item) {
+			unmapElement(element, item);
+		}
+
+		void associateItem(Object element, Item item) {
+			associate(element, item);
+		}
+
+		void disassociateItem(Item item) {
+			disassociate(item);
+		}
+	}
+
+	public ElementMapPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Display display = Display.getCurrent();
+		if (display == null) {
+			display = new Display();
+		}
+		shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		viewer = new MapViewer(shell);
+		viewer.setUseHashlookup(true);
+		items = new TableItem[ITEMS];
+		for (int i = 0; i < ITEMS; i++) {
+			items[i] = new TableItem(viewer.getTable(), SWT.NONE);
+		}
+		elements = new Object[ELEMENTS];
+		for (int i = 0; i < ELEMENTS; i++) {
+			elements[i] = new TestElement(i);
+		}
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		shell.dispose();
+		super.doTearDown();
+	}
+
+	/**
+	 * Test the time for mapping one million elements.
+	 */
+	public void testMapElements() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			viewer.unmapAll();
+			startMeasuring();
+			mapAll();
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for finding the items of one million mapped elements.
+	 */
+	public void testFindItems() {
+		mapAll();
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (Object element : elements) {
+				viewer.testFindItem(element);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for unmapping one million elements.
+	 */
+	public void testUnmapElements() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			mapAll();
+			startMeasuring();
+			for (int j = 0; j < ELEMENTS; j++) {
+				viewer.unmap(elements[j], items[j % ITEMS]);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for associating and disassociating one million elements
+	 * with the items of the pool.
+	 */
+	public void testAssociateDisassociate() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (int j = 0; j < ELEMENTS; j++) {
+				viewer.associateItem(elements[j], items[j % ITEMS]);
+			}
+			for (TableItem item : items) {
+				viewer.disassociateItem(item);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void mapAll() {
+		for (int j = 0; j < ELEMENTS; j++) {
+			viewer.map(elements[j], items[j % ITEMS]);
+		}
+	}
+}
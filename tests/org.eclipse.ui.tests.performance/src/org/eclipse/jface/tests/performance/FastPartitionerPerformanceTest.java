@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.ui.tests.performance.BasicPerformanceTest;
+
+/**
+ * Measures the keystroke latency of a {@link FastPartitioner} in documents of
+ * 10k to 1M lines that consist of long multi-line comments and code.
+ */
+public class FastPartitionerPerformanceTest extends BasicPerformanceTest {
+
+	private static final String COMMENT = "comment";
+
+	private static final String STRING = "string";
+
+	private static final int COMMENT_LINES = 1000;
+
+	private static final int KEYSTROKES = 200;
+
+	private static final int ITERATIONS = 10;
+
+	public FastPartitionerPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	public void testTypingInComment10kLines() throws BadLocationException {
+		measureTyping(10000, true);
+	}
+
+	public void testTypingInComment100kLines() throws BadLocationException {
+		measureTyping(100000, true);
+	}
+
+	public void testTypingInComment1MLines() throws BadLocationException {
+		measureTyping(1000000, true);
+	}
+
+	public void testTypingInCode100kLines() throws BadLocationException {
+		measureTyping(100000, false);
+	}
+
+	/**
+	 * Types characters into the middle of the document, inside a long comment
+	 * or inside code.
+	 */
+	private void measureTyping(int lines, boolean inComment) throws BadLocationException {
+		String content = generateContent(lines);
+		for (int i = 0; i < ITERATIONS; i++) {
+			IDocument document = new Document(content);
+			IDocumentPartitioner partitioner = createPartitioner();
+			document.setDocumentPartitioner(partitioner);
+			partitioner.connect(document);
+
+			int line = lines / 2;
+			if (inComment) {
+				line += COMMENT_LINES / 2 - line % (2 * COMMENT_LINES);
+			} else {
+				line += COMMENT_LINES + COMMENT_LINES / 2 - line % (2 * COMMENT_LINES);
+			}
+			int offset = document.getLineOffset(line) + 3;
+			String expectedType = inComment ? COMMENT : IDocument.DEFAULT_CONTENT_TYPE;
+			assertEquals(expectedType, partitioner.getContentType(offset));
+
+			startMeasuring();
+			for (int j = 0; j < KEYSTROKES; j++) {
+				document.replace(offset++, 0, "a");
+				partitioner.getPartition(offset);
+			}
+			stopMeasuring();
+			assertEquals(expectedType, partitioner.getContentType(offset));
+			partitioner.disconnect();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static IDocumentPartitioner createPartitioner() {
+		RuleBasedPartitionScanner scanner = new RuleBasedPartitionScanner();
+		IToken comment = new Token(COMMENT);
+		IToken string = new Token(STRING);
+		scanner.setPredicateRules(new IPredicateRule[] { new MultiLineRule("/*", "*/", comment),
+				new SingleLineRule("\"", "\"", string, '\\') });
+		return new FastPartitioner(scanner, new String[] { IDocument.DEFAULT_CONTENT_TYPE, COMMENT, STRING });
+	}
+
+	/**
+	 * Generates alternating blocks of {@link #COMMENT_LINES} comment lines and
+	 * {@link #COMMENT_LINES} code lines.
+	 */
+	private static String generateContent(int lines) {
+		StringBuilder buffer = new StringBuilder(lines * 40);
+		for (int i = 0; i < lines; i++) {
+			int lineInBlock = i % (2 * COMMENT_LINES);
+			if (lineInBlock == 0) {
+				buffer.append("/**\n");
+			} else if (lineInBlock < COMMENT_LINES - 1) {
+				buffer.append(" * comment line ").append(i).append('\n');
+			} else if (lineInBlock == COMMENT_LINES - 1) {
+				buffer.append(" */\n");
+			} else {
+				buffer.append("\tString s").append(i).append(" = \"value\";\n");
+			}
+		}
+		return buffer.toString();
+	}
+}
@@ -45,6 +45,9 @@ public class JFacePerformanceSuite extends FilteredTestSuite {
 		addTestSuite(ProgressMonitorDialogPerformanceTest.class);
 		addTestSuite(ShrinkingTreeTest.class);
 		addTestSuite(CollatorPerformanceTest.class);
+		addTestSuite(TextStorePerformanceTest.class);
+		addTestSuite(FastPartitionerPerformanceTest.class);
+		addTestSuite(ElementMapPerformanceTest.class);
 
 	}
 }
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.eclipse.jface.text.CopyOnWriteTextStore;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+import org.eclipse.ui.tests.performance.BasicPerformanceTest;
+
+/**
+ * Compares the {@link ITextStore} implementations under random and sequential
+ * edit workloads on a large document.
+ */
+public class TextStorePerformanceTest extends BasicPerformanceTest {
+
+	private static final int LINES = 200000;
+
+	private static final int EDITS = 2000;
+
+	private static final int ITERATIONS = 10;
+
+	private static String fContent;
+
+	public TextStorePerformanceTest(String testName) {
+		super(testName);
+		generateContent();
+	}
+
+	public void testGapTextStoreRandomEdits() {
+		measureRandomEdits(GapTextStore::new);
+	}
+
+	public void testCopyOnWriteTextStoreRandomEdits() {
+		measureRandomEdits(() -> new CopyOnWriteTextStore(new GapTextStore()));
+	}
+
+	public void testPieceTableTextStoreRandomEdits() {
+		measureRandomEdits(PieceTableTextStore::new);
+	}
+
+	public void testGapTextStoreSequentialEdits() {
+		measureSequentialEdits(GapTextStore::new);
+	}
+
+	public void testCopyOnWriteTextStoreSequentialEdits() {
+		measureSequentialEdits(() -> new CopyOnWriteTextStore(new GapTextStore()));
+	}
+
+	public void testPieceTableTextStoreSequentialEdits() {
+		measureSequentialEdits(PieceTableTextStore::new);
+	}
+
+	/**
+	 * Applies edits at random locations, reading a line-sized slice after each.
+	 */
+	private void measureRandomEdits(Supplier<ITextStore> factory) {
+		for (int i = 0; i < ITERATIONS; i++) {
+			ITextStore store = factory.get();
+			store.set(fContent);
+			Random random = new Random(i);
+			startMeasuring();
+			for (int j = 0; j < EDITS; j++) {
+				int offset = random.nextInt(store.getLength() - 100);
+				store.replace(offset, random.nextInt(3), "edit");
+				store.get(offset, 80);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Types characters one at a time at consecutive locations.
+	 */
+	private void measureSequentialEdits(Supplier<ITextStore> factory) {
+		for (int i = 0; i < ITERATIONS; i++) {
+			ITextStore store = factory.get();
+			store.set(fContent);
+			int offset = fContent.length() / 2;
+			startMeasuring();
+			for (int j = 0; j < EDITS * 10; j++) {
+				store.replace(offset++, 0, "a");
+				store.get(offset - 1);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static void generateContent() {
+		if (fContent == null) {
+			StringBuilder buffer = new StringBuilder(LINES * 50);
+			for (int i = 0; i < LINES; i++) {
+				buffer.append("\tgenerated line ").append(i).append(" with some content to edit\n");
+			}
+			fContent = buffer.toString();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.Widget;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.DocumentCSS;
+import org.w3c.dom.css.ViewCSS;
+import org.w3c.dom.stylesheets.StyleSheetList;
+
+/**
+ * Measures the computation of the styles of a widget tree with the dark theme.
+ * The rule index of the engine is compared with a linear scan of all style
+ * rules.
+ */
+public class CSSCascadePerformanceTest extends BasicPerformanceTest {
+
+	private static final String THEME = "platform:/plugin/org.eclipse.ui.themes/css/e4-dark_linux.css";
+
+	private static final int COMPOSITES = 60;
+
+	private static final int ITERATIONS = 20;
+
+	private Shell shell;
+
+	private CSSSWTEngineImpl engine;
+
+	private final List<Element> elements = new ArrayList<>();
+
+	public CSSCascadePerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Display display = Display.getCurrent();
+		engine = new CSSSWTEngineImpl(display);
+		URL url = FileLocator.resolve(new URL(THEME));
+		try (InputStream stream = url.openStream()) {
+			InputSource source = new InputSource();
+			source.setURI(url.toString());
+			source.setByteStream(stream);
+			engine.parseStyleSheet(source);
+		}
+
+		shell = new Shell(display);
+		for (int i = 0; i < COMPOSITES; i++) {
+			Composite composite = new Composite(shell, SWT.NONE);
+			new Label(composite, SWT.NONE);
+			new Text(composite, SWT.BORDER);
+			new Button(composite, SWT.PUSH);
+			new Button(composite, SWT.CHECK);
+			new Tree(composite, SWT.NONE);
+		}
+		addElements(shell);
+	}
+
+	private void addElements(Widget widget) {
+		elements.add(engine.getElement(widget));
+		if (widget instanceof Composite) {
+			for (Control child : ((Composite) widget).getChildren()) {
+				addElements(child);
+			}
+		}
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		shell.dispose();
+		engine.dispose();
+		elements.clear();
+		super.doTearDown();
+	}
+
+	/**
+	 * Computes the styles with the rule index of the engine.
+	 */
+	public void testIndexedCascade() {
+		measureCascade(engine.getViewCSS());
+	}
+
+	/**
+	 * Computes the styles by matching every rule against every element.
+	 */
+	public void testLinearCascade() {
+		DocumentCSS documentCSS = engine.getDocumentCSS();
+		ViewCSS linear = new ViewCSSImpl(new DocumentCSS() {
+			@Override
+			public StyleSheetList getStyleSheets() {
+				return documentCSS.getStyleSheets();
+			}
+
+			@Override
+			public CSSStyleDeclaration getOverrideStyle(Element elt, String pseudoElt) {
+				return documentCSS.getOverrideStyle(elt, pseudoElt);
+			}
+		});
+		for (Element element : elements) {
+			CSSStyleDeclaration expected = engine.getViewCSS().getComputedStyle(element, null);
+			CSSStyleDeclaration actual = linear.getComputedStyle(element, null);
+			assertEquals(expected == null ? null : expected.getCssText(),
+					actual == null ? null : actual.getCssText());
+		}
+		measureCascade(linear);
+	}
+
+	private void measureCascade(ViewCSS view) {
+		for (int i = 0; i < ITERATIONS; i++) {
+			processEvents();
+			startMeasuring();
+			for (Element element : elements) {
+				view.getComputedStyle(element, null);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.e4.ui.css.core.engine.CSSStyleSheetCache;
+import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
+import org.eclipse.swt.widgets.Display;
+import org.w3c.css.sac.InputSource;
+
+/**
+ * Measures loading the style sheets of the dark theme, as done when the first
+ * window is opened, by parsing them and by rebuilding them from a
+ * {@link CSSStyleSheetCache} of a previous start.
+ */
+public class CSSStyleSheetCachePerformanceTest extends BasicPerformanceTest {
+
+	private static final String THEME = "platform:/plugin/org.eclipse.ui.themes/css/e4-dark_linux.css";
+
+	private static final String CACHE_VERSION = "test";
+
+	private static final int ITERATIONS = 20;
+
+	private File cacheFile;
+
+	public CSSStyleSheetCachePerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		cacheFile = File.createTempFile("parsed-stylesheets", ".bin");
+		cacheFile.delete();
+		CSSStyleSheetCache cache = CSSStyleSheetCache.create(cacheFile, CACHE_VERSION);
+		loadTheme(cache);
+		cache.save();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		cacheFile.delete();
+		super.doTearDown();
+	}
+
+	/**
+	 * Parses the style sheets of the theme.
+	 */
+	public void testParseStyleSheets() throws Exception {
+		measureLoad(false);
+	}
+
+	/**
+	 * Rebuilds the style sheets of the theme from the cache, which is read
+	 * again like on a new start.
+	 */
+	public void testCachedStyleSheets() throws Exception {
+		measureLoad(true);
+	}
+
+	private void measureLoad(boolean cached) throws Exception {
+		for (int i = 0; i < ITERATIONS; i++) {
+			processEvents();
+			startMeasuring();
+			loadTheme(cached ? CSSStyleSheetCache.create(cacheFile, CACHE_VERSION) : null);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void loadTheme(CSSStyleSheetCache cache) throws Exception {
+		CSSSWTEngineImpl engine = new CSSSWTEngineImpl(Display.getCurrent());
+		try {
+			engine.setStyleSheetCache(cache);
+			URL url = FileLocator.resolve(new URL(THEME));
+			try (InputStream stream = url.openStream()) {
+				InputSource source = new InputSource();
+				source.setURI(url.toString());
+				source.setByteStream(stream);
+				engine.parseStyleSheet(source);
+			}
+		} finally {
+			engine.dispose();
+		}
+	}
+}
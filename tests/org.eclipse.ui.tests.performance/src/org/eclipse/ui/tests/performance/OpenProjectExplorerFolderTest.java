@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.performance;
 
+import static org.eclipse.ui.tests.harness.util.UITestCase.processEvents;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -21,16 +23,23 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
 import org.eclipse.test.performance.PerformanceTestCase;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.navigator.CommonViewer;
+import org.eclipse.ui.navigator.CommonViewerSorter;
 import org.eclipse.ui.navigator.resources.ProjectExplorer;
 import org.osgi.framework.Bundle;
 
@@ -58,6 +67,11 @@ import org.osgi.framework.Bundle;
  * Time).
  */
 public class OpenProjectExplorerFolderTest extends PerformanceTestCase {
+
+	private static final int LARGE_FOLDER_SIZE = 20000;
+
+	private static final int ITERATIONS = 5;
+
 	/*
 	 * performance testcase for bug 106158
 	 * https://bugs.eclipse.org/bugs/show_bug.cgi?id=106158
@@ -120,6 +134,59 @@ public class OpenProjectExplorerFolderTest extends PerformanceTestCase {
 		assertPerformance();
 	}
 
+	/**
+	 * Measures expanding a folder with {@value #LARGE_FOLDER_SIZE} files in a
+	 * viewer with the content of the Project Explorer, which creates an item
+	 * for every file.
+	 */
+	public void testExpandLargeFolder() throws CoreException {
+		expandLargeFolder(SWT.NONE);
+	}
+
+	/**
+	 * Measures expanding a folder with {@value #LARGE_FOLDER_SIZE} files in a
+	 * virtual viewer with the content of the Project Explorer, which only
+	 * creates the visible items.
+	 */
+	public void testExpandLargeFolderVirtual() throws CoreException {
+		expandLargeFolder(SWT.VIRTUAL);
+	}
+
+	private void expandLargeFolder(int style) throws CoreException {
+		IProject project = createProject("testLargeFolderProject");
+		IFolder folder = project.getFolder("large");
+		if (!folder.exists()) {
+			ResourcesPlugin.getWorkspace().run(monitor -> {
+				folder.create(true, true, monitor);
+				for (int i = 0; i < LARGE_FOLDER_SIZE; i++) {
+					folder.getFile("file" + i + ".txt").create(new ByteArrayInputStream(new byte[0]), true, monitor);
+				}
+			}, new NullProgressMonitor());
+		}
+		for (int i = 0; i < ITERATIONS; i++) {
+			Shell shell = new Shell(PlatformUI.getWorkbench().getDisplay());
+			try {
+				shell.setLayout(new FillLayout());
+				shell.setSize(400, 600);
+				CommonViewer viewer = new CommonViewer(ProjectExplorer.VIEW_ID, shell,
+						SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | style);
+				viewer.setComparator(new CommonViewerSorter());
+				viewer.setInput(ResourcesPlugin.getWorkspace().getRoot());
+				shell.open();
+				processEvents();
+
+				startMeasuring();
+				viewer.expandToLevel(new TreePath(new Object[] { project, folder }), 1);
+				processEvents();
+				stopMeasuring();
+			} finally {
+				shell.dispose();
+			}
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
 	private IProject createProject(String name) {
 		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
 		if (!project.exists()) {
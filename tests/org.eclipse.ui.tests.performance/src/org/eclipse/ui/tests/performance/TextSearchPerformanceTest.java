@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+
+/**
+ * Measures the File Search over a synthetic workspace of about 300 MB, consisting of a few huge
+ * files and many small ones. The huge files are either searched as a whole, in parallel to the other
+ * files only, or split into segments that are searched concurrently.
+ */
+public class TextSearchPerformanceTest extends BasicPerformanceTest {
+
+	private static final String FOLDER_NAME = "textSearch";
+
+	private static final int HUGE_FILES = 4;
+
+	private static final int HUGE_FILE_SIZE = 64 << 20;
+
+	private static final int SMALL_FILES = 512;
+
+	private static final int SMALL_FILE_SIZE = 64 << 10;
+
+	private static final String[] WORDS = { "public", "static", "void", "return", "import", "final", "class",
+			"int", "for", "while", "if", "else", "new", "this", "null", "true", "false", "Object", "String",
+			"länge", "größe", "{", "}", "(", ")", ";", "=", "+", "//", "*" };
+
+	private static final int ITERATIONS = 3;
+
+	public TextSearchPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	/**
+	 * Searches every file as a whole, huge files run on one core.
+	 */
+	public void testSearchFiles() throws Exception {
+		// files are only split for line local patterns, which exclude the COMMENTS flag; the pattern
+		// contains neither white space nor '#', so the flag does not change its matches
+		measureSearch(Pattern.COMMENTS);
+	}
+
+	/**
+	 * Splits huge files into segments that are searched concurrently.
+	 */
+	public void testSearchSegments() throws Exception {
+		measureSearch(0);
+	}
+
+	private void measureSearch(int additionalFlags) throws Exception {
+		IFolder folder = createWorkspace();
+		TextSearchScope scope = TextSearchScope.newSearchScope(new IResource[] { folder }, null, false);
+		Pattern pattern = TextSearchEngine.createPattern("größe*null", false, false);
+		pattern = Pattern.compile(pattern.pattern(), pattern.flags() | additionalFlags);
+		AtomicInteger matches = new AtomicInteger();
+		TextSearchRequestor requestor = new TextSearchRequestor() {
+			@Override
+			public boolean acceptPatternMatch(TextSearchMatchAccess matchAccess) throws CoreException {
+				matches.incrementAndGet();
+				return true;
+			}
+
+			@Override
+			public boolean canRunInParallel() {
+				return true;
+			}
+		};
+
+		int expected = -1;
+		for (int i = 0; i < ITERATIONS; i++) {
+			matches.set(0);
+			processEvents();
+			startMeasuring();
+			TextSearchEngine.create().search(scope, requestor, pattern, null);
+			stopMeasuring();
+			if (expected == -1) {
+				expected = matches.get();
+				assertTrue("No matches found", expected > 0);
+			}
+			assertEquals("Number of matches", expected, matches.get());
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Creates the files of the synthetic workspace unless they exist from a previous test.
+	 */
+	private IFolder createWorkspace() throws CoreException, IOException {
+		IProject project = getProject();
+		if (!project.exists()) {
+			project.create(null);
+		}
+		if (!project.isOpen()) {
+			project.open(null);
+		}
+		IFolder folder = project.getFolder(FOLDER_NAME);
+		if (folder.exists()) {
+			return folder;
+		}
+
+		Path location = project.getLocation().append(FOLDER_NAME).toFile().toPath();
+		Files.createDirectories(location);
+		Random random = new Random(42);
+		for (int i = 0; i < HUGE_FILES; i++) {
+			writeFile(location.resolve("huge" + i + ".txt"), HUGE_FILE_SIZE, random);
+		}
+		for (int i = 0; i < SMALL_FILES; i++) {
+			writeFile(location.resolve("small" + i + ".txt"), SMALL_FILE_SIZE, random);
+		}
+		folder.refreshLocal(IResource.DEPTH_INFINITE, null);
+		folder.setDefaultCharset(StandardCharsets.UTF_8.name(), null);
+		return folder;
+	}
+
+	private static void writeFile(Path file, int size, Random random) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+			int written = 0;
+			while (written < size) {
+				StringBuilder line = new StringBuilder();
+				int words = random.nextInt(16);
+				for (int i = 0; i < words; i++) {
+					line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+				}
+				line.append('\n');
+				byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+				out.write(bytes);
+				written += bytes.length;
+			}
+		}
+	}
+}
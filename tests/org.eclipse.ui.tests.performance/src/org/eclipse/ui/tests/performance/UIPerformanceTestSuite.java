@@ -46,5 +46,9 @@ public class UIPerformanceTestSuite extends FilteredTestSuite {
 		addTest(new JUnit4TestAdapter(LabelProviderTest.class));
 		addTestSuite(ProgressReportingTest.class);
 		addTestSuite(OpenProjectExplorerFolderTest.class);
+		addTestSuite(TextSearchPerformanceTest.class);
+		addTestSuite(CSSCascadePerformanceTest.class);
+		addTestSuite(CSSStyleSheetCachePerformanceTest.class);
+		addTestSuite(WorkbenchModelPersistencePerformanceTest.class);
 	}
 }
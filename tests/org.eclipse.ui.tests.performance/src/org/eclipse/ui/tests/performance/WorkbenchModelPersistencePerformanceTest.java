@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MAdvancedFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Measures saving and loading a workbench model with hundreds of parts, as
+ * done on shutdown and startup, as XMI and in binary form.
+ */
+public class WorkbenchModelPersistencePerformanceTest extends BasicPerformanceTest {
+
+	private static final int PERSPECTIVES = 10;
+
+	private static final int STACKS = 5;
+
+	private static final int PARTS = 10;
+
+	private static final int ITERATIONS = 20;
+
+	public WorkbenchModelPersistencePerformanceTest(String testName) {
+		super(testName);
+	}
+
+	/**
+	 * Saves the model as XMI.
+	 */
+	public void testSaveXMI() throws Exception {
+		measureSave(false);
+	}
+
+	/**
+	 * Saves the model in binary form.
+	 */
+	public void testSaveBinary() throws Exception {
+		measureSave(true);
+	}
+
+	/**
+	 * Loads the model saved as XMI.
+	 */
+	public void testLoadXMI() throws Exception {
+		measureLoad(false);
+	}
+
+	/**
+	 * Loads the model saved in binary form.
+	 */
+	public void testLoadBinary() throws Exception {
+		measureLoad(true);
+	}
+
+	private void measureSave(boolean binary) throws Exception {
+		E4XMIResource resource = createResource();
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			save(resource, binary);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void measureLoad(boolean binary) throws Exception {
+		byte[] bytes = save(createResource(), binary);
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			E4XMIResource resource = new E4XMIResource();
+			resource.load(new ByteArrayInputStream(bytes), null);
+			stopMeasuring();
+			assertEquals(1, resource.getContents().size());
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static byte[] save(E4XMIResource resource, boolean binary) throws Exception {
+		Map<String, Object> options = new HashMap<>();
+		options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
+		options.put(E4XMIResource.OPTION_BINARY_FORMAT, Boolean.valueOf(binary));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, options);
+		return out.toByteArray();
+	}
+
+	private static E4XMIResource createResource() {
+		MApplication application = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		application.getChildren().add(window);
+		MPerspectiveStack perspectiveStack = MAdvancedFactory.INSTANCE.createPerspectiveStack();
+		window.getChildren().add(perspectiveStack);
+
+		for (int p = 0; p < PERSPECTIVES; p++) {
+			MPerspective perspective = MAdvancedFactory.INSTANCE.createPerspective();
+			perspective.setElementId("perspective" + p);
+			perspective.setLabel("Perspective " + p);
+			perspectiveStack.getChildren().add(perspective);
+			MPartSashContainer sash = MBasicFactory.INSTANCE.createPartSashContainer();
+			perspective.getChildren().add(sash);
+			for (int s = 0; s < STACKS; s++) {
+				MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+				stack.setElementId("stack" + s);
+				stack.setContainerData(Integer.toString(1000 * (s + 1)));
+				stack.getTags().add("View");
+				sash.getChildren().add(stack);
+				for (int i = 0; i < PARTS; i++) {
+					MPart part = MBasicFactory.INSTANCE.createPart();
+					part.setElementId("org.eclipse.ui.tests.part" + i);
+					part.setLabel("Part " + i);
+					part.setContributionURI("bundleclass://org.eclipse.ui.workbench/org.eclipse.ui.internal.e4.compatibility.CompatibilityView");
+					part.setCloseable(true);
+					part.getTags().add("View");
+					part.getTags().add("categoryTag:General");
+					part.getPersistedState().put("memento", "<?xml version=\"1.0\" encoding=\"UTF-8\"?><view id=\"" + i + "\"/>");
+					stack.getChildren().add(part);
+				}
+				stack.setSelectedElement(stack.getChildren().get(0));
+			}
+		}
+		perspectiveStack.setSelectedElement(perspectiveStack.getChildren().get(0));
+
+		E4XMIResource resource = new E4XMIResource();
+		resource.getContents().add((EObject) application);
+		return resource;
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.ui.internal.IPreferenceConstants;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.decorators.DecoratorDefinition;
+import org.eclipse.ui.internal.decorators.DecoratorManager;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests the order in which the DecorationScheduler decorates the elements.
+ */
+@RunWith(JUnit4.class)
+public class DecorationSchedulerTest extends UITestCase {
+
+	private static final long TIMEOUT = 10000;
+
+	private DecoratorDefinition definition;
+
+	public DecorationSchedulerTest() {
+		super(DecorationSchedulerTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		TestSlowDecorator.reset();
+		for (DecoratorDefinition candidate : getDecoratorManager().getAllDecoratorDefinitions()) {
+			if (candidate.getId().equals("org.eclipse.ui.tests.decorators.slowDecorator1")) {
+				definition = candidate;
+			}
+		}
+		definition.setEnabled(true);
+		getDecoratorManager().resetStatistics();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		TestSlowDecorator.reset();
+		definition.setEnabled(false);
+		getDecoratorManager().resetStatistics();
+		super.doTearDown();
+	}
+
+	private DecoratorManager getDecoratorManager() {
+		return WorkbenchPlugin.getDefault().getDecoratorManager();
+	}
+
+	/**
+	 * Queue the element for decoration and hold its decoration until the returned
+	 * gate is opened.
+	 */
+	private CountDownLatch queueGated(SlowDecoratorElement element) {
+		CountDownLatch gate = new CountDownLatch(1);
+		TestSlowDecorator.gates.put(element, gate);
+		queue(element);
+		return gate;
+	}
+
+	private void queue(SlowDecoratorElement element) {
+		getDecoratorManager().prepareDecoration(element, element.name);
+	}
+
+	private void waitUntilStarted(SlowDecoratorElement element) {
+		assertTrue("Decoration of " + element + " has not started", DisplayHelper
+				.waitForCondition(fWorkbench.getDisplay(), TIMEOUT, () -> TestSlowDecorator.started.contains(element)));
+	}
+
+	private void waitUntilDecorated(int count) {
+		assertTrue("Not all elements have been decorated", DisplayHelper.waitForCondition(fWorkbench.getDisplay(),
+				TIMEOUT, () -> TestSlowDecorator.decorated.size() >= count));
+	}
+
+	@Test
+	public void testNewestBatchFirst() {
+		SlowDecoratorElement blocker = new SlowDecoratorElement("blocker");
+		SlowDecoratorElement old1 = new SlowDecoratorElement("old1");
+		SlowDecoratorElement old2 = new SlowDecoratorElement("old2");
+		SlowDecoratorElement new1 = new SlowDecoratorElement("new1");
+		SlowDecoratorElement new2 = new SlowDecoratorElement("new2");
+
+		CountDownLatch blockerGate = queueGated(blocker);
+		waitUntilStarted(blocker);
+		// the older batch is queued while the blocker is being decorated
+		CountDownLatch old1Gate = queueGated(old1);
+		queue(old2);
+		blockerGate.countDown();
+		waitUntilStarted(old1);
+
+		// the newer batch is queued while the older one is being processed
+		queue(new1);
+		queue(new2);
+		old1Gate.countDown();
+		waitUntilDecorated(5);
+
+		assertEquals(Arrays.asList(blocker, old1, new1, new2, old2), TestSlowDecorator.decorated);
+	}
+
+	@Test
+	public void testPendingElementsAreRequeued() {
+		SlowDecoratorElement blocker = new SlowDecoratorElement("blocker");
+		SlowDecoratorElement first = new SlowDecoratorElement("first");
+		SlowDecoratorElement second = new SlowDecoratorElement("second");
+		SlowDecoratorElement third = new SlowDecoratorElement("third");
+		SlowDecoratorElement newer = new SlowDecoratorElement("newer");
+
+		CountDownLatch blockerGate = queueGated(blocker);
+		waitUntilStarted(blocker);
+		CountDownLatch firstGate = queueGated(first);
+		queue(second);
+		queue(third);
+		blockerGate.countDown();
+		waitUntilStarted(first);
+
+		// second and third are still pending, third is requested again
+		queue(newer);
+		queue(third);
+		firstGate.countDown();
+		waitUntilDecorated(5);
+
+		// every element is decorated exactly once and third moved to the newest batch
+		assertEquals(Arrays.asList(blocker, first, newer, third, second), TestSlowDecorator.decorated);
+	}
+
+	@Test
+	public void testDeferredElementsAreDecoratedAgain() {
+		IPreferenceStore store = WorkbenchPlugin.getDefault().getPreferenceStore();
+		try {
+			store.setValue(IPreferenceConstants.DECORATOR_BUDGET, 1);
+			TestSlowDecorator.delays.put("1", 2);
+			for (int i = 0; i < 20; i++) {
+				getDecoratorManager().getLightweightManager().getDecorationResult(new SlowDecoratorElement("prime"));
+			}
+			assertTrue(getDecoratorManager().isDeferred(definition));
+			TestSlowDecorator.decorated.clear();
+
+			// the slow decorator is skipped at first and applied once the queue is empty
+			SlowDecoratorElement element = new SlowDecoratorElement("element");
+			queue(element);
+			waitUntilDecorated(1);
+			assertEquals(Arrays.asList(element), TestSlowDecorator.decorated);
+		} finally {
+			store.setToDefault(IPreferenceConstants.DECORATOR_BUDGET);
+		}
+	}
+}
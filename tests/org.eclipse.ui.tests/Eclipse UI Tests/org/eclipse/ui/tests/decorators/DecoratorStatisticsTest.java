@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import java.util.Arrays;
+
+import org.eclipse.ui.internal.decorators.DecoratorStatistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests the statistics recorded for the decorator definitions.
+ */
+@RunWith(JUnit4.class)
+public class DecoratorStatisticsTest extends DecoratorEnablementTestCase {
+
+	public DecoratorStatisticsTest() {
+		super(DecoratorStatisticsTest.class.getSimpleName());
+	}
+
+	@Test
+	public void testInvocationsAreRecorded() {
+		definition.setEnabled(true);
+		getDecoratorManager().resetStatistics();
+		DecoratorStatistics statistics = definition.getStatistics();
+		assertEquals(0, statistics.getInvocationCount());
+
+		for (int i = 0; i < 3; i++) {
+			getDecoratorManager().getLightweightManager().getDecorationResult(testFile);
+		}
+
+		assertEquals(3, statistics.getInvocationCount());
+		assertEquals(3, Arrays.stream(statistics.getHistogram()).sum());
+		assertEquals(DecoratorStatistics.getBucketLimits().length + 1, statistics.getHistogram().length);
+		assertTrue(statistics.getMaxTime() >= statistics.getAverageTime());
+		assertEquals(0, statistics.getExceptionCount());
+	}
+
+	@Test
+	public void testResetStatistics() {
+		definition.setEnabled(true);
+		getDecoratorManager().getLightweightManager().getDecorationResult(testFile);
+		assertTrue(definition.getStatistics().getInvocationCount() > 0);
+
+		getDecoratorManager().resetStatistics();
+		assertEquals(0, definition.getStatistics().getInvocationCount());
+		assertEquals(0, definition.getStatistics().getTotalTime());
+	}
+
+	@Test
+	public void testNotDeferredWithoutBudget() {
+		definition.setEnabled(true);
+		for (int i = 0; i < 50; i++) {
+			getDecoratorManager().getLightweightManager().getDecorationResult(testFile);
+		}
+		assertEquals(0, getDecoratorManager().getDeferralBudget());
+		assertFalse(getDecoratorManager().isDeferred(definition));
+	}
+}
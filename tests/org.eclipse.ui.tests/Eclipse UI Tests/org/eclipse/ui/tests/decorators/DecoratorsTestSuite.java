@@ -27,6 +27,9 @@ import org.junit.runners.Suite;
 	DecoratorTableTest.class,
 	DecoratorAdaptableTests.class,
 	DecoratorCacheTest.class,
+	DecoratorStatisticsTest.class,
+	DecorationSchedulerTest.class,
+	ParallelDecoratorTest.class,
 })
 public class DecoratorsTestSuite {
 }
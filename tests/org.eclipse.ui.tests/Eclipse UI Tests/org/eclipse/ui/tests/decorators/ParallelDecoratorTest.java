@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.decorators.DecoratorDefinition;
+import org.eclipse.ui.internal.decorators.DecoratorManager;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests the lightweight decorators that are slow enough to run in parallel.
+ */
+@RunWith(JUnit4.class)
+public class ParallelDecoratorTest extends UITestCase {
+
+	private static final String ID_PREFIX = "org.eclipse.ui.tests.decorators.slowDecorator";
+
+	private static final String[] SUFFIXES = { "1", "2", "3" };
+
+	// the definitions of the test decorators by suffix
+	private final Map<String, DecoratorDefinition> definitions = new HashMap<>();
+
+	private final SlowDecoratorElement element = new SlowDecoratorElement("element");
+
+	public ParallelDecoratorTest() {
+		super(ParallelDecoratorTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		TestSlowDecorator.reset();
+		for (DecoratorDefinition definition : getDecoratorManager().getAllDecoratorDefinitions()) {
+			if (definition.getId().startsWith(ID_PREFIX)) {
+				definition.setEnabled(true);
+				definitions.put(definition.getId().substring(ID_PREFIX.length()), definition);
+			}
+		}
+		assertEquals(SUFFIXES.length, definitions.size());
+		getDecoratorManager().resetStatistics();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		TestSlowDecorator.reset();
+		for (DecoratorDefinition definition : definitions.values()) {
+			definition.setEnabled(false);
+		}
+		getDecoratorManager().resetStatistics();
+		super.doTearDown();
+	}
+
+	private DecoratorManager getDecoratorManager() {
+		return WorkbenchPlugin.getDefault().getDecoratorManager();
+	}
+
+	private String decorate() {
+		return getDecoratorManager().getLightweightManager().getDecorationResult(element)
+				.decorateWithText(element.name);
+	}
+
+	/**
+	 * Make all decorators slow enough on average to run in parallel.
+	 */
+	private void makeParallel() {
+		for (String suffix : SUFFIXES) {
+			TestSlowDecorator.delays.put(suffix, 2);
+		}
+		for (int i = 0; i < 20; i++) {
+			decorate();
+		}
+		TestSlowDecorator.delays.clear();
+	}
+
+	@Test
+	public void testResultsAreMergedInDecoratorOrder() {
+		String sequential = decorate();
+		for (String suffix : SUFFIXES) {
+			assertTrue(sequential.contains(suffix));
+		}
+		makeParallel();
+
+		// the first decorator finishes last
+		TestSlowDecorator.delays.put("1", 50);
+		TestSlowDecorator.delays.put("2", 20);
+		TestSlowDecorator.delays.put("3", 2);
+		assertEquals(sequential, decorate());
+		assertNotSame(Thread.currentThread(), TestSlowDecorator.threads.get("1"));
+	}
+
+	@Test
+	public void testFailingDecoratorDoesNotBlockOthers() {
+		String sequential = decorate();
+		makeParallel();
+
+		TestSlowDecorator.failing.add("2");
+		assertEquals(sequential.replace("2", ""), decorate());
+		assertFalse(definitions.get("2").isEnabled());
+		assertEquals(1, definitions.get("2").getStatistics().getExceptionCount());
+		assertEquals(sequential.replace("2", ""), decorate());
+	}
+
+	@Test
+	public void testHangingDecoratorDoesNotBlockOthers() {
+		String sequential = decorate();
+		makeParallel();
+
+		TestSlowDecorator.hanging.add("2");
+		assertEquals(sequential.replace("2", ""), decorate());
+		// the decorator that still hangs is skipped without waiting for it
+		long start = System.currentTimeMillis();
+		assertEquals(sequential.replace("2", ""), decorate());
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		assertTrue(definitions.get("2").isEnabled());
+
+		// and applied again once it has returned
+		TestSlowDecorator.reset();
+		assertTrue(DisplayHelper.waitForCondition(fWorkbench.getDisplay(), 10000,
+				() -> sequential.equals(decorate())));
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExecutableExtension;
+import org.eclipse.jface.viewers.IDecoration;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.ILightweightLabelDecorator;
+
+/**
+ * A lightweight decorator for {@link SlowDecoratorElement}s that adds the data
+ * of its class attribute as suffix and can be made slow, failing or hanging.
+ */
+public class TestSlowDecorator implements ILightweightLabelDecorator, IExecutableExtension {
+
+	/**
+	 * The time in milliseconds each decorator takes, by suffix.
+	 */
+	public static final Map<String, Integer> delays = new ConcurrentHashMap<>();
+
+	/**
+	 * The suffixes of the decorators that throw an exception.
+	 */
+	public static final List<String> failing = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The suffixes of the decorators that do not return until {@link #reset()}.
+	 */
+	public static final List<String> hanging = new CopyOnWriteArrayList<>();
+
+	private static volatile CountDownLatch released = new CountDownLatch(1);
+
+	/**
+	 * The decorators wait for the gate of an element before they decorate it.
+	 */
+	public static final Map<SlowDecoratorElement, CountDownLatch> gates = new ConcurrentHashMap<>();
+
+	/**
+	 * The elements in the order the decorators have started to decorate them.
+	 */
+	public static final List<SlowDecoratorElement> started = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The elements in the order they have been decorated.
+	 */
+	public static final List<SlowDecoratorElement> decorated = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The thread each decorator has last been called in, by suffix.
+	 */
+	public static final Map<String, Thread> threads = new ConcurrentHashMap<>();
+
+	private String suffix;
+
+	/**
+	 * Clear the behavior of all decorators.
+	 */
+	public static void reset() {
+		delays.clear();
+		failing.clear();
+		hanging.clear();
+		released.countDown();
+		released = new CountDownLatch(1);
+		gates.values().forEach(CountDownLatch::countDown);
+		gates.clear();
+		started.clear();
+		decorated.clear();
+		threads.clear();
+	}
+
+	@Override
+	public void setInitializationData(IConfigurationElement config, String propertyName, Object data) {
+		suffix = (String) data;
+	}
+
+	@Override
+	public void decorate(Object element, IDecoration decoration) {
+		SlowDecoratorElement slowElement = (SlowDecoratorElement) element;
+		threads.put(suffix, Thread.currentThread());
+		started.add(slowElement);
+		CountDownLatch gate = gates.get(slowElement);
+		try {
+			if (gate != null) {
+				gate.await();
+			}
+			if (hanging.contains(suffix)) {
+				released.await();
+				return;
+			}
+			Thread.sleep(delays.getOrDefault(suffix, 0));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (failing.contains(suffix)) {
+			throw new IllegalStateException("Decorator " + suffix + " failed");
+		}
+		decorated.add(slowElement);
+		decoration.addSuffix(suffix);
+	}
+
+	@Override
+	public void addListener(ILabelProviderListener listener) {
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	@Override
+	public boolean isLabelProperty(Object element, String property) {
+		return false;
+	}
+
+	@Override
+	public void removeListener(ILabelProviderListener listener) {
+	}
+}
@@ -69,6 +69,7 @@ import org.junit.runners.Suite;
 	LargeFileLimitsPreferenceHandlerTest.class,
 	WorkbookEditorsHandlerTest.class,
 	ScopeAreaTest.class,
+	WorkbenchAutoSaveTest.class,
 		MarkerTypeTests.class
 })
 public class InternalTestSuite {}
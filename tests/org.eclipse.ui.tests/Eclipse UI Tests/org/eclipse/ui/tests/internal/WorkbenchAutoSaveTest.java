@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.internal.workbench.ResourceHandler;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.workbench.IModelResourceHandler;
+import org.eclipse.ui.internal.Workbench;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests that the auto-save only writes the workbench model when it has
+ * changed.
+ */
+@RunWith(JUnit4.class)
+public class WorkbenchAutoSaveTest extends UITestCase {
+
+	private static final String KEY = WorkbenchAutoSaveTest.class.getName();
+
+	private final List<Job> saveJobs = new CopyOnWriteArrayList<>();
+
+	private final IJobChangeListener listener = new JobChangeAdapter() {
+		@Override
+		public void scheduled(IJobChangeEvent event) {
+			if (event.getJob().belongsTo(Workbench.WORKBENCH_AUTO_SAVE_JOB)) {
+				saveJobs.add(event.getJob());
+			}
+		}
+	};
+
+	private MApplication application;
+
+	private ResourceHandler resourceHandler;
+
+	public WorkbenchAutoSaveTest() {
+		super(WorkbenchAutoSaveTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		IEclipseContext context = fWorkbench.getService(IEclipseContext.class);
+		IModelResourceHandler handler = context.get(IModelResourceHandler.class);
+		assumeTrue(handler instanceof ResourceHandler);
+		resourceHandler = (ResourceHandler) handler;
+		application = fWorkbench.getService(MApplication.class);
+		Job.getJobManager().addJobChangeListener(listener);
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		Job.getJobManager().removeJobChangeListener(listener);
+		if (application != null) {
+			application.getPersistedState().remove(KEY);
+		}
+		super.doTearDown();
+	}
+
+	private void persistWorkbenchModel() throws Exception {
+		saveJobs.clear();
+		Method method = Workbench.class.getDeclaredMethod("persistWorkbenchModel");
+		method.setAccessible(true);
+		method.invoke(fWorkbench);
+		for (Job job : saveJobs) {
+			job.join();
+		}
+	}
+
+	@Test
+	public void testUnchangedModelIsNotSaved() throws Exception {
+		application.getPersistedState().put(KEY, "1");
+		assertTrue(resourceHandler.isModelModified());
+		persistWorkbenchModel();
+		assertEquals(1, saveJobs.size());
+		assertFalse(resourceHandler.isModelModified());
+
+		// nothing has changed since the model was saved
+		persistWorkbenchModel();
+		assertEquals(0, saveJobs.size());
+		assertFalse(resourceHandler.isModelModified());
+	}
+
+	@Test
+	public void testChangedModelIsSaved() throws Exception {
+		application.getPersistedState().put(KEY, "1");
+		persistWorkbenchModel();
+		assertFalse(resourceHandler.isModelModified());
+
+		application.getPersistedState().put(KEY, "2");
+		assertTrue(resourceHandler.isModelModified());
+		persistWorkbenchModel();
+		assertEquals(1, saveJobs.size());
+		assertFalse(resourceHandler.isModelModified());
+
+		// setting the same value again is no change
+		application.getPersistedState().put(KEY, "2");
+		assertFalse(resourceHandler.isModelModified());
+	}
+}
@@ -45,6 +45,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.text.TextViewer;
 
@@ -785,6 +786,49 @@ public class FindReplaceLogicTest {
 		verify((IFindReplaceTargetExtension3) mockedTarget, never()).replaceSelection(anyString(), anyBoolean());
 	}
 
+	@Test
+	public void replaceAllUsesBulkReplaceOfCustomTarget() {
+		IFindReplaceTarget mockedTarget= Mockito.mock(IFindReplaceTarget.class, withSettings().extraInterfaces(IFindReplaceTargetExtension5.class));
+		when(mockedTarget.isEditable()).thenReturn(true);
+		when(((IFindReplaceTargetExtension5) mockedTarget).replaceAll("a", "b", false, false, false)).thenReturn(3);
+
+		IFindReplaceLogic findReplaceLogic= new FindReplaceLogic();
+		findReplaceLogic.updateTarget(mockedTarget, true);
+		setFindAndReplaceString(findReplaceLogic, "a", "b");
+		findReplaceLogic.performReplaceAll();
+
+		expectStatusIsReplaceAllWithCount(findReplaceLogic, 3);
+		verify(mockedTarget, never()).findAndSelect(anyInt(), anyString(), anyBoolean(), anyBoolean(), anyBoolean());
+	}
+
+	@Test
+	public void replaceAllFallsBackIfCustomTargetCannotBulkReplace() {
+		IFindReplaceTarget mockedTarget= Mockito.mock(IFindReplaceTarget.class, withSettings().extraInterfaces(IFindReplaceTargetExtension5.class));
+		when(mockedTarget.isEditable()).thenReturn(true);
+		when(((IFindReplaceTargetExtension5) mockedTarget).replaceAll(anyString(), anyString(), anyBoolean(), anyBoolean(), anyBoolean())).thenReturn(-1);
+		when(mockedTarget.findAndSelect(anyInt(), anyString(), anyBoolean(), anyBoolean(), anyBoolean())).thenReturn(-1);
+
+		IFindReplaceLogic findReplaceLogic= new FindReplaceLogic();
+		findReplaceLogic.updateTarget(mockedTarget, true);
+		setFindAndReplaceString(findReplaceLogic, "a", "b");
+		findReplaceLogic.performReplaceAll();
+
+		expectStatusIsCode(findReplaceLogic, FindStatus.StatusCode.NO_MATCH);
+		verify(mockedTarget).findAndSelect(anyInt(), anyString(), anyBoolean(), anyBoolean(), anyBoolean());
+	}
+
+	@Test
+	public void testPerformReplaceAllEmptyMatchesRegEx() {
+		TextViewer textViewer= setupTextViewer("a" + lineSeparator() + "b");
+		IFindReplaceLogic findReplaceLogic= setupFindReplaceLogicObject(textViewer);
+		findReplaceLogic.activate(SearchOptions.REGEX);
+		setFindAndReplaceString(findReplaceLogic, "^", "// ");
+
+		findReplaceLogic.performReplaceAll();
+		assertThat(textViewer.getDocument().get(), equalTo("// a" + lineSeparator() + "// b"));
+		expectStatusIsReplaceAllWithCount(findReplaceLogic, 2);
+	}
+
 	@Test
 	public void testCanReplaceAfterWrap() {
 		TextViewer textViewer= setupTextViewer(LINE_STRING + lineSeparator() + LINE_STRING);